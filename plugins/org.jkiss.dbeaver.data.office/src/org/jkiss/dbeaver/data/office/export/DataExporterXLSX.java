@@ -82,6 +82,7 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
 
     private static final String PROP_DATE_FORMAT = "dateFormat";
     private static final String PROP_APPEND_STRATEGY = "appendStrategy";
+    private static final String PROP_THROUGHPUT_MODE = "throughputMode";
 
     private static final int EXCEL2007MAXROWS = 1048575;
     private static final int EXCEL_MAX_CELL_CHARACTERS = 32767; // Total number of characters that a cell can contain - 32,767 characters
@@ -90,6 +91,8 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
     enum FontStyleProp {NONE, BOLD, ITALIC, STRIKEOUT, UNDERLINE}
 
     private static final int ROW_WINDOW = 100;
+    // Bigger window means less frequent flushes to the sheet temp files
+    private static final int THROUGHPUT_ROW_WINDOW = 1000;
 
     private String nullString;
 
@@ -107,6 +110,7 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
     private boolean exportSql = false;
     private boolean splitSqlText = false;
     private AppendStrategy appendStrategy = AppendStrategy.CREATE_NEW_SHEETS;
+    private boolean throughputMode = false;
     private String exportTableName = WorksheetUtils.DEFAULT_SHEET_NAME;
 
     private int splitByRowCount = EXCEL2007MAXROWS;
@@ -117,6 +121,11 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
     private XSSFCellStyle style;
     private XSSFCellStyle styleDate;
     private XSSFCellStyle styleHeader;
+    // Cell styles with background color (by color spec)
+    private final Map<String, XSSFCellStyle> backgroundStyles = new HashMap<>();
+    // Cell types and styles by column
+    private CellType[] columnCellTypes;
+    private CellStyle[] columnCellStyles;
 
     private HashMap<Object, Worksheet> worksheets;
 
@@ -136,6 +145,7 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         properties.put(DataExporterXLSX.PROP_SPLIT_BYCOL, 0);
         properties.put(DataExporterXLSX.PROP_DATE_FORMAT, "");
         properties.put(DataExporterXLSX.PROP_APPEND_STRATEGY, AppendStrategy.CREATE_NEW_SHEETS.value);
+        properties.put(DataExporterXLSX.PROP_THROUGHPUT_MODE, false);
         return properties;
     }
 
@@ -158,10 +168,17 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         splitByCol = CommonUtils.toInt(properties.get(PROP_SPLIT_BYCOL), 0);
         String dateFormat = CommonUtils.toString(properties.get(PROP_DATE_FORMAT), "");
         appendStrategy = AppendStrategy.of(CommonUtils.toString(properties.get(PROP_APPEND_STRATEGY)));
+        throughputMode = CommonUtils.getBoolean(properties.get(PROP_THROUGHPUT_MODE), false);
 
         if (wb == null) {
-            wb = new SXSSFWorkbook(ROW_WINDOW);
+            if (throughputMode) {
+                // Compressed sheet temp files: sheet XML is verbose and flushed rows are written to disk twice
+                wb = new SXSSFWorkbook(null, THROUGHPUT_ROW_WINDOW, true);
+            } else {
+                wb = new SXSSFWorkbook(ROW_WINDOW);
+            }
         }
+        backgroundStyles.clear();
 
         worksheets = new HashMap<>(1);
         styleHeader = (XSSFCellStyle) wb.createCellStyle();
@@ -266,6 +283,7 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
             log.error("Dispose error", e);
         }
         wb = null;
+        backgroundStyles.clear();
         if (!CommonUtils.isEmpty(worksheets)) {
             for (Worksheet w : worksheets.values()) {
                 w.dispose();
@@ -285,6 +303,14 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
             DBExecUtils.bindAttributes(session, srcEntity, null, columns, null);
         }
         decorator = GeneralUtils.adapt(getSite().getSource(), DBDAttributeDecorator.class);
+        if (columns != null) {
+            columnCellTypes = new CellType[columns.length];
+            columnCellStyles = new CellStyle[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                columnCellTypes[i] = getCellType(columns[i]);
+                columnCellStyles[i] = style;
+            }
+        }
 
         if (columns != null && columns.length > 0) {
             exportTableName = DTUtils.getTableName(columns[0].getDataSource(), getSite().getSource(), true);
@@ -439,8 +465,9 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
 
         for (int i = 0; i < row.length; i++) {
             DBDAttributeBinding column = columns[i];
-            Cell cell = rowX.createCell(i + startCol, getCellType(column));
-            cell.setCellStyle(getCellStyle(column, rowCount));
+            Cell cell = rowX.createCell(i + startCol, columnCellTypes[i]);
+            // Decorator colors depend on row, so only decorated cells need style lookup
+            cell.setCellStyle(decorator == null ? columnCellStyles[i] : getCellStyle(column, rowCount, columnCellStyles[i]));
 
             if (DBUtils.isNullValue(row[i])) {
                 if (!CommonUtils.isEmpty(nullString)) {
@@ -504,7 +531,7 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
 
     @Override
     public void exportFooter(DBRProgressMonitor monitor) throws DBException, IOException {
-        if (wb != null && sheetIndex > 0) { // if any sheets are present, then sheetIndex > 0
+        if (wb != null && sheetIndex > 0 && !throughputMode) { // if any sheets are present, then sheetIndex > 0
             // Do it here because we can have a few sheets
             SXSSFSheet sheet = wb.getSheetAt(sheetIndex);
             HSSFFormulaEvaluator.evaluateAllFormulaCells(wb);
@@ -560,21 +587,23 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
     }
 
     @NotNull
-    private CellStyle getCellStyle(@NotNull DBDAttributeBinding attribute, int row) {
+    private CellStyle getCellStyle(@NotNull DBDAttributeBinding attribute, int row, @NotNull CellStyle columnStyle) {
         if (decorator != null) {
             final String bg = decorator.getCellBackground(attribute, row);
 
             if (bg != null) {
-                // Setting the foreground color sets the background color. Is this a bug/feature of POI?
-                final XSSFCellStyle style = (XSSFCellStyle) this.style.copy();
-                style.setFillForegroundColor(new XSSFColor(asColor(bg), new DefaultIndexedColorMap()));
-                style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-
-                return style;
+                // Reuse styles: workbook has a limited number of cell styles and copying style for each cell is slow
+                return backgroundStyles.computeIfAbsent(bg, color -> {
+                    // Setting the foreground color sets the background color. Is this a bug/feature of POI?
+                    final XSSFCellStyle style = (XSSFCellStyle) this.style.copy();
+                    style.setFillForegroundColor(new XSSFColor(asColor(color), new DefaultIndexedColorMap()));
+                    style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+                    return style;
+                });
             }
         }
 
-        return style;
+        return columnStyle;
     }
 
     /**
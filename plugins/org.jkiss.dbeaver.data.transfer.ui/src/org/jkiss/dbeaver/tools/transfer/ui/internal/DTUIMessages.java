@@ -63,6 +63,10 @@ public class DTUIMessages extends NLS {
     public static String database_consumer_wizard_ignore_duplicate_rows_tip;
     public static String database_consumer_wizard_use_bulk_load_label;
     public static String database_consumer_wizard_use_bulk_load_description;
+    public static String database_consumer_wizard_use_bulk_load_minimal_logging_label;
+    public static String database_consumer_wizard_use_bulk_load_minimal_logging_description;
+    public static String database_consumer_wizard_use_typed_pass_through_label;
+    public static String database_consumer_wizard_use_typed_pass_through_description;
     public static String database_consumer_wizard_on_duplicate_key_insert_method_text;
     public static String database_consumer_wizard_link_label_replace_method_wiki;
     public static String database_consumer_wizard_label_replace_method_not_supported;
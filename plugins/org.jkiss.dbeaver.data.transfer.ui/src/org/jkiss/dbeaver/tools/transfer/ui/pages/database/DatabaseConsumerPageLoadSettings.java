@@ -73,6 +73,7 @@ public class DatabaseConsumerPageLoadSettings extends DataTransferPageNodeSettin
     private Button useBatchCheck;
     private Button ignoreDuplicateRows;
     private Button useBulkLoadCheck;
+    private Button useBulkLoadMinimalLoggingCheck;
     private List<SQLDialectInsertReplaceMethod> availableInsertMethodsDescriptors;
     private final Map<String, EventProcessorComposite<?>> processors = new HashMap<>();
 
@@ -345,6 +346,34 @@ public class DatabaseConsumerPageLoadSettings extends DataTransferPageNodeSettin
                         }
                     }
                     onDuplicateKeyInsertMethods.setEnabled(!checkSelection);
+                    useBulkLoadMinimalLoggingCheck.setEnabled(checkSelection);
+                }
+            });
+
+            useBulkLoadMinimalLoggingCheck = UIUtils.createCheckbox(
+                performanceSettings,
+                DTUIMessages.database_consumer_wizard_use_bulk_load_minimal_logging_label,
+                DTUIMessages.database_consumer_wizard_use_bulk_load_minimal_logging_description,
+                settings.isUseBulkLoadMinimalLogging(),
+                4);
+            useBulkLoadMinimalLoggingCheck.setEnabled(settings.isUseBulkLoad());
+            useBulkLoadMinimalLoggingCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setUseBulkLoadMinimalLogging(useBulkLoadMinimalLoggingCheck.getSelection());
+                }
+            });
+
+            final Button useTypedPassThroughCheck = UIUtils.createCheckbox(
+                performanceSettings,
+                DTUIMessages.database_consumer_wizard_use_typed_pass_through_label,
+                DTUIMessages.database_consumer_wizard_use_typed_pass_through_description,
+                settings.isUseTypedPassThrough(),
+                4);
+            useTypedPassThroughCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setUseTypedPassThrough(useTypedPassThroughCheck.getSelection());
                 }
             });
         }
@@ -436,6 +465,9 @@ public class DatabaseConsumerPageLoadSettings extends DataTransferPageNodeSettin
             if (DBUtils.getAdapter(DBSDataBulkLoader.class, dataSource) == null) {
                 disableButton(useBulkLoadCheck);
                 settings.setUseBulkLoad(false);
+                if (buttonIsAvailable(useBulkLoadMinimalLoggingCheck)) {
+                    useBulkLoadMinimalLoggingCheck.setEnabled(false);
+                }
             }
         }
 
@@ -171,6 +171,7 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
     private Button singleFileCheck;
     private Button showFinalMessageCheckbox;
     private Button splitFilesCheckbox;
+    private Button splitFilesConcurrentCheckbox;
     private EnumSelectionGroup<DataFileConflictBehavior> dataFileConflictBehaviorSelector;
     private EnumSelectionGroup<BlobFileConflictBehavior> blobFileConflictBehaviorSelector;
     private Label maximumFileSizeLabel;
@@ -288,6 +289,19 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
                 gd = new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING);
                 gd.widthHint = UIUtils.getFontHeight(maximumFileSizeText) * 10;
                 maximumFileSizeText.setLayoutData(gd);
+
+                splitFilesConcurrentCheckbox = UIUtils.createCheckbox(
+                    outFilesSettings,
+                    DTMessages.data_transfer_wizard_output_checkbox_split_files_concurrent,
+                    DTMessages.data_transfer_wizard_output_checkbox_split_files_concurrent_tip,
+                    false,
+                    3);
+                splitFilesConcurrentCheckbox.addSelectionListener(new SelectionAdapter() {
+                    @Override
+                    public void widgetSelected(SelectionEvent e) {
+                        settings.setUseConcurrentSplitWriters(splitFilesConcurrentCheckbox.getSelection());
+                    }
+                });
             }
 
             {
@@ -426,6 +440,7 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
         splitFilesCheckbox.setEnabled(!clipboard);
         maximumFileSizeLabel.setEnabled(!clipboard && splitFilesCheckbox.getSelection());
         maximumFileSizeText.setEnabled(!clipboard && splitFilesCheckbox.getSelection());
+        splitFilesConcurrentCheckbox.setEnabled(!clipboard && !isBinary && splitFilesCheckbox.getSelection());
         encodingCombo.setEnabled(!isBinary && !clipboard);
         encodingBOMCheckbox.setEnabled(!isBinary && !clipboard);
         timestampPattern.setEnabled(!clipboard);
@@ -451,6 +466,7 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
         compressCheckbox.setSelection(settings.isCompressResults());
         splitFilesCheckbox.setSelection(settings.isSplitOutFiles());
         maximumFileSizeText.setText(String.valueOf(settings.getMaxOutFileSize()));
+        splitFilesConcurrentCheckbox.setSelection(settings.isUseConcurrentSplitWriters());
         encodingCombo.setText(CommonUtils.toString(settings.getOutputEncoding()));
         timestampPattern.setText(settings.getOutputTimestampPattern());
         encodingBOMCheckbox.setSelection(settings.isOutputEncodingBOM() && !descriptor.isBinaryFormat());
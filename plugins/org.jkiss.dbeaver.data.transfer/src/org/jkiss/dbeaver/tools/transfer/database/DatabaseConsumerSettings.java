@@ -65,6 +65,8 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
     private boolean disableUsingBatches = false;
     private boolean ignoreDuplicateRows;
     private boolean useBulkLoad = false;
+    private boolean useBulkLoadMinimalLogging = false;
+    private boolean useTypedPassThrough = false;
     private String onDuplicateKeyInsertMethodId;
     private boolean disableReferentialIntegrity;
     private final Map<String, Map<String, Object>> eventProcessors = new HashMap<>();
@@ -210,6 +212,22 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         this.useBulkLoad = useBulkLoad;
     }
 
+    public boolean isUseBulkLoadMinimalLogging() {
+        return useBulkLoadMinimalLogging;
+    }
+
+    public void setUseBulkLoadMinimalLogging(boolean useBulkLoadMinimalLogging) {
+        this.useBulkLoadMinimalLogging = useBulkLoadMinimalLogging;
+    }
+
+    public boolean isUseTypedPassThrough() {
+        return useTypedPassThrough;
+    }
+
+    public void setUseTypedPassThrough(boolean useTypedPassThrough) {
+        this.useTypedPassThrough = useTypedPassThrough;
+    }
+
     @Nullable
     public DBPDataSource getTargetDataSource(DatabaseMappingObject attrMapping) {
         DBSObjectContainer container = getContainer();
@@ -240,6 +258,8 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         transferAutoGeneratedColumns = CommonUtils.getBoolean(settings.get("transferAutoGeneratedColumns"), transferAutoGeneratedColumns);
         disableReferentialIntegrity = CommonUtils.getBoolean(settings.get("disableReferentialIntegrity"), disableReferentialIntegrity);
         useBulkLoad = CommonUtils.getBoolean(settings.get("useBulkLoad"), useBulkLoad);
+        useBulkLoadMinimalLogging = CommonUtils.getBoolean(settings.get("useBulkLoadMinimalLogging"), useBulkLoadMinimalLogging);
+        useTypedPassThrough = CommonUtils.getBoolean(settings.get("useTypedPassThrough"), useTypedPassThrough);
         truncateBeforeLoad = CommonUtils.getBoolean(settings.get("truncateBeforeLoad"), truncateBeforeLoad);
         openTableOnFinish = CommonUtils.getBoolean(settings.get("openTableOnFinish"), openTableOnFinish);
 
@@ -314,6 +334,8 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         settings.put("transferAutoGeneratedColumns", transferAutoGeneratedColumns);
         settings.put("disableReferentialIntegrity", disableReferentialIntegrity);
         settings.put("useBulkLoad", useBulkLoad);
+        settings.put("useBulkLoadMinimalLogging", useBulkLoadMinimalLogging);
+        settings.put("useTypedPassThrough", useTypedPassThrough);
         settings.put("truncateBeforeLoad", truncateBeforeLoad);
         settings.put("openTableOnFinish", openTableOnFinish);
 
@@ -353,6 +375,10 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_transfer_auto_generated_columns, transferAutoGeneratedColumns);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_disable_referential_integrity, disableReferentialIntegrity);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_use_bulk_load, useBulkLoad);
+        if (useBulkLoad) {
+            DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_use_bulk_load_minimal_logging, useBulkLoadMinimalLogging);
+        }
+        DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_use_typed_pass_through, useTypedPassThrough);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_truncate_before_load, truncateBeforeLoad);
 
         return summary.toString();
@@ -26,6 +26,7 @@ import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDAttributeBindingCustom;
 import org.jkiss.dbeaver.model.data.DBDInsertReplaceMethod;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.data.DBDValuePassThroughProvider;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
@@ -78,6 +79,8 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     private DBCSession targetSession;
     private DBSDataManipulator.ExecuteBatch executeBatch;
     private DBSDataBulkLoader.BulkLoadManager bulkLoadManager;
+    // Value handlers used to bind pass-through values (null elements mean default target handler)
+    private DBDValueHandler[] passThroughHandlers;
     private long rowsExported = 0;
     private boolean ignoreErrors = false;
 
@@ -108,6 +111,8 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         public int targetIndex = -1;
         public IDataTransferAttributeTransformer valueTransformer;
         public Map<String, Object> valueTransformerProperties;
+        // Pass-through value handler. If set then value is copied from source to target without conversion
+        public DBDValueHandler passThroughHandler;
 
         private ColumnMapping(DBDAttributeBinding sourceAttr) {
             this.sourceAttr = sourceAttr;
@@ -284,6 +289,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         Map<String, Object> options = new HashMap<>();
         options.put(DBSDataManipulator.OPTION_USE_MULTI_INSERT, settings.isUseMultiRowInsert());
         options.put(DBSDataManipulator.OPTION_SKIP_BIND_VALUES, settings.isSkipBindValues());
+        options.put(DBSDataBulkLoader.OPTION_MINIMAL_LOGGING, settings.isUseBulkLoadMinimalLogging());
 
         if (!isPreview && targetObject != null) {
             if (settings.isUseBulkLoad()) {
@@ -312,6 +318,38 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
             previewRows = new ArrayList<>();
             executeBatch = new PreviewBatch();
         }
+
+        if (executeBatch != null && !isPreview && !dynamicTarget && settings.isUseTypedPassThrough() && !settings.isSkipBindValues()) {
+            initPassThroughHandlers(resultSet);
+        }
+    }
+
+    /**
+     * Detects column pairs which can be copied directly (supported by target session, no transformers).
+     */
+    private void initPassThroughHandlers(@NotNull DBCResultSet resultSet) {
+        passThroughHandlers = null;
+        if (!(targetSession instanceof DBDValuePassThroughProvider passThroughProvider) ||
+            getTargetObject() instanceof DBSDocumentContainer) {
+            return;
+        }
+        DBDValueHandler[] handlers = new DBDValueHandler[targetAttributes.size()];
+        boolean hasPassThrough = false;
+        for (ColumnMapping column : columnMappings) {
+            if (column == null || column.targetIndex < 0 || column.valueTransformer != null) {
+                continue;
+            }
+            DBSAttributeBase targetAttr = targetAttributes.get(column.targetIndex);
+            column.passThroughHandler = passThroughProvider.getPassThroughHandler(
+                resultSet, column.sourceAttr, column.sourceValueHandler, targetAttr, column.targetValueHandler);
+            if (column.passThroughHandler != null) {
+                handlers[column.targetIndex] = column.passThroughHandler;
+                hasPassThrough = true;
+            }
+        }
+        if (hasPassThrough) {
+            passThroughHandlers = handlers;
+        }
     }
 
     private boolean isSkipColumn(DBDAttributeBinding attr) {
@@ -337,6 +375,14 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
             if (column == null || column.targetIndex < 0) {
                 continue;
             }
+            if (column.passThroughHandler != null) {
+                rowValues[column.targetIndex] = column.passThroughHandler.fetchValueObject(
+                    session,
+                    resultSet,
+                    column.sourceAttr,
+                    column.sourceAttr.getOrdinalPosition());
+                continue;
+            }
             Object attrValue;
             if (column.sourceValueHandler != null) {
                 if (column.sourceAttr instanceof DBDAttributeBindingCustom) {
@@ -428,6 +474,9 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                 options.put(DBSDataManipulator.OPTION_DISABLE_BATCHES, disableUsingBatches);
                 options.put(DBSDataManipulator.OPTION_MULTI_INSERT_BATCH_SIZE, settings.getMultiRowInsertBatch());
                 options.put(DBSDataManipulator.OPTION_SKIP_BIND_VALUES, settings.isSkipBindValues());
+                if (passThroughHandlers != null) {
+                    options.put(DBSDataManipulator.OPTION_VALUE_HANDLERS, passThroughHandlers);
+                }
 
                 boolean onDuplicateKeyCaseOn = settings.getOnDuplicateKeyInsertMethodId() != null &&
                     !settings.getOnDuplicateKeyInsertMethodId().equals(DBSDataManipulator.INSERT_NONE_METHOD);
@@ -605,6 +654,12 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
             }
         }
 
+        if (bulkLoadManager != null) {
+            // Bulk loader may need the target session to clean up
+            bulkLoadManager.close();
+            bulkLoadManager = null;
+        }
+
         try {
             if (targetSession != null) {
                 targetSession.close();
@@ -617,11 +672,6 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
             targetContext.close();
             targetContext = null;
         }
-
-        if (bulkLoadManager != null) {
-            bulkLoadManager.close();
-            bulkLoadManager = null;
-        }
     }
 
     @Override
@@ -34,6 +34,8 @@ public class DTMessages extends NLS {
     public static String data_transfer_wizard_output_checkbox_compress;
     public static String data_transfer_wizard_output_checkbox_split_files;
     public static String data_transfer_wizard_output_checkbox_split_files_tip;
+    public static String data_transfer_wizard_output_checkbox_split_files_concurrent;
+    public static String data_transfer_wizard_output_checkbox_split_files_concurrent_tip;
     public static String data_transfer_wizard_output_checkbox_new_connection;
     public static String data_transfer_wizard_output_checkbox_select_row_count;
     public static String data_transfer_wizard_output_checkbox_selected_columns_only;
@@ -142,6 +144,8 @@ public class DTMessages extends NLS {
     public static String database_consumer_settings_option_transfer_auto_generated_columns;
     public static String database_consumer_settings_option_disable_referential_integrity;
     public static String database_consumer_settings_option_use_bulk_load;
+    public static String database_consumer_settings_option_use_bulk_load_minimal_logging;
+    public static String database_consumer_settings_option_use_typed_pass_through;
     public static String database_consumer_settings_option_truncate_before_load;
 
     public static String data_transfer_settings_title_find_producer;
@@ -137,6 +137,7 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
     private boolean compressResults = false;
     private boolean splitOutFiles = false;
     private long maxOutFileSize = 10 * 1000 * 1000;
+    private boolean useConcurrentSplitWriters = false;
     private final Map<DBSDataContainer, StreamMappingContainer> dataMappings = new LinkedHashMap<>();
     private final Map<String, Map<String, Object>> eventProcessors = new HashMap<>();
 
@@ -260,6 +261,14 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         this.maxOutFileSize = maxOutFileSize;
     }
 
+    public boolean isUseConcurrentSplitWriters() {
+        return useConcurrentSplitWriters;
+    }
+
+    public void setUseConcurrentSplitWriters(boolean useConcurrentSplitWriters) {
+        this.useConcurrentSplitWriters = useConcurrentSplitWriters;
+    }
+
     @NotNull
     public Map<DBSDataContainer, StreamMappingContainer> getDataMappings() {
         return dataMappings;
@@ -331,6 +340,7 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         compressResults = CommonUtils.getBoolean(settings.get("compressResults"), compressResults);
         splitOutFiles = CommonUtils.getBoolean(settings.get("splitOutFiles"), splitOutFiles);
         maxOutFileSize = CommonUtils.toLong(settings.get("maxOutFileSize"), maxOutFileSize);
+        useConcurrentSplitWriters = CommonUtils.getBoolean(settings.get("concurrentSplitWriters"), useConcurrentSplitWriters);
 
         final boolean openFolderOnFinish = CommonUtils.getBoolean(settings.get("openFolderOnFinish"), false);
         final boolean deleteFileInCaseOfFail = CommonUtils.getBoolean(settings.get("deleteFileInCaseOfFail"), true);
@@ -418,6 +428,7 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         settings.put("compressResults", compressResults);
         settings.put("splitOutFiles", splitOutFiles);
         settings.put("maxOutFileSize", maxOutFileSize);
+        settings.put("concurrentSplitWriters", useConcurrentSplitWriters);
 
         if (formatterProfile != null) {
             settings.put("formatterProfile", formatterProfile.getProfileName());
@@ -459,6 +470,9 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         }
 
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_compress, compressResults);
+        if (splitOutFiles) {
+            DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_split_files_concurrent, useConcurrentSplitWriters);
+        }
 
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_label_binaries, lobExtractType);
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_label_encoding, lobEncoding);
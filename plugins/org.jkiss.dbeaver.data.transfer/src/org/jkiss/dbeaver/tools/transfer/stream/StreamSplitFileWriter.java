@@ -0,0 +1,283 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Completes split file chunks in background threads.
+ * Chunk contents are written by the consumer straight to the target file (or to a temporary file if it must be compressed),
+ * writers only compress and sync completed chunks, so the consumer continues fetching rows into the next chunk meanwhile.
+ * The number of chunks in flight is limited by the pool size.
+ * Writer errors are reported by the next call of this writer.
+ */
+public class StreamSplitFileWriter {
+
+    private static final Log log = Log.getLog(StreamSplitFileWriter.class);
+
+    private final ExecutorService executor;
+    private final Semaphore freeSlots;
+    private final List<Future<?>> pendingChunks = new ArrayList<>();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private volatile Throwable writeError;
+    private Chunk currentChunk;
+
+    public StreamSplitFileWriter(int threadCount) {
+        this.executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "Data export file writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.freeSlots = new Semaphore(threadCount);
+    }
+
+    /**
+     * Returns default writers count
+     */
+    public static int getDefaultThreadCount() {
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, 4));
+    }
+
+    /**
+     * Bytes of completed chunks written to disk (after compression)
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * Opens next chunk. Previous chunk must be completed.
+     *
+     * @param file         target file
+     * @param openOptions  target file open options
+     * @param zipEntryName zip entry name or null if no compression is needed
+     * @return chunk contents stream. Closing it doesn't complete the chunk
+     */
+    @NotNull
+    public OutputStream openChunk(
+        @NotNull Path file,
+        @NotNull OpenOption[] openOptions,
+        @Nullable String zipEntryName
+    ) throws DBException {
+        checkErrors();
+        if (currentChunk != null) {
+            throw new IllegalStateException("Previous chunk is not completed");
+        }
+        try {
+            currentChunk = new Chunk(file, openOptions, zipEntryName);
+        } catch (IOException e) {
+            throw new DBException("Error opening output file '" + file + "'", e);
+        }
+        return currentChunk;
+    }
+
+    /**
+     * Schedules compression and sync of the current chunk. Blocks if all writers are busy.
+     */
+    public void completeChunk() throws DBException {
+        Chunk chunk = currentChunk;
+        if (chunk == null) {
+            return;
+        }
+        currentChunk = null;
+        try {
+            freeSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunk.discard();
+            throw new DBException("Interrupted while waiting for file writer", e);
+        }
+        try {
+            pendingChunks.removeIf(Future::isDone);
+            pendingChunks.add(executor.submit(() -> {
+                try {
+                    chunk.complete();
+                } catch (Throwable e) {
+                    log.debug("Error writing file '" + chunk.file + "'", e);
+                    if (writeError == null) {
+                        writeError = e;
+                    }
+                } finally {
+                    freeSlots.release();
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            freeSlots.release();
+            chunk.discard();
+            throw new DBException("File writer is closed", e);
+        }
+        checkErrors();
+    }
+
+    /**
+     * Waits for all scheduled chunks.
+     */
+    public void waitForChunks() throws DBException {
+        for (Future<?> chunk : pendingChunks) {
+            try {
+                chunk.get();
+            } catch (ExecutionException e) {
+                log.debug(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DBException("Interrupted while waiting for file writers", e);
+            }
+        }
+        pendingChunks.clear();
+        checkErrors();
+    }
+
+    /**
+     * Completes current chunk in the caller thread, waits for all scheduled chunks and stops writer threads.
+     */
+    public void finish() throws DBException {
+        try {
+            Chunk chunk = currentChunk;
+            currentChunk = null;
+            if (chunk != null) {
+                try {
+                    chunk.complete();
+                } catch (IOException e) {
+                    throw new DBException("Error writing output file '" + chunk.file + "'", e);
+                }
+            }
+            waitForChunks();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void checkErrors() throws DBException {
+        Throwable error = writeError;
+        if (error != null) {
+            throw new DBException("Error writing output file", error);
+        }
+    }
+
+    private class Chunk extends OutputStream {
+        private final Path file;
+        private final OpenOption[] openOptions;
+        private final String zipEntryName;
+        // Target file or temporary file with uncompressed contents
+        private final Path contentFile;
+        private final FileChannel channel;
+        private final long startPosition;
+        private final OutputStream out;
+
+        Chunk(@NotNull Path file, @NotNull OpenOption[] openOptions, @Nullable String zipEntryName) throws IOException {
+            this.file = file;
+            this.openOptions = openOptions;
+            this.zipEntryName = zipEntryName;
+            if (zipEntryName != null) {
+                Path folder = file.toAbsolutePath().getParent();
+                this.contentFile = Files.createTempFile(folder, file.getFileName().toString(), ".tmp");
+                this.channel = FileChannel.open(contentFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            } else {
+                this.contentFile = file;
+                this.channel = FileChannel.open(file, openOptions);
+            }
+            this.startPosition = channel.position();
+            this.out = new BufferedOutputStream(Channels.newOutputStream(channel), StreamTransferConsumer.OUT_FILE_BUFFER_SIZE);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(@NotNull byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Channel is closed when the chunk is completed
+            out.flush();
+        }
+
+        void complete() throws IOException {
+            try {
+                out.flush();
+                if (zipEntryName == null) {
+                    channel.force(true);
+                    bytesWritten.addAndGet(channel.position() - startPosition);
+                } else {
+                    channel.close();
+                    compressContents();
+                }
+            } finally {
+                discard();
+            }
+        }
+
+        void discard() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug(e);
+            }
+            if (contentFile != file) {
+                try {
+                    Files.deleteIfExists(contentFile);
+                } catch (IOException e) {
+                    log.debug("Error deleting temporary file '" + contentFile + "'", e);
+                }
+            }
+        }
+
+        private void compressContents() throws IOException {
+            try (FileChannel targetChannel = FileChannel.open(file, openOptions)) {
+                long targetStartPosition = targetChannel.position();
+                ZipOutputStream zipStream = new ZipOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(targetChannel), StreamTransferConsumer.OUT_FILE_BUFFER_SIZE));
+                zipStream.putNextEntry(new ZipEntry(zipEntryName));
+                Files.copy(contentFile, zipStream);
+                zipStream.closeEntry();
+                zipStream.finish();
+                zipStream.flush();
+                targetChannel.force(true);
+                bytesWritten.addAndGet(targetChannel.position() - targetStartPosition);
+            }
+        }
+    }
+
+}
@@ -66,6 +66,7 @@ import org.jkiss.utils.io.ByteOrderMark;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
@@ -150,11 +151,18 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     private final List<Path> outputFiles = new ArrayList<>();
     private StatOutputStream statStream;
+
+    // Concurrent split files writing
+    private StreamSplitFileWriter splitFileWriter;
+    private DBException splitFileWriterError;
     
     public StreamTransferConsumer() {
     }
 
     protected long getBytesWritten() {
+        if (splitFileWriter != null) {
+            return splitFileWriter.getBytesWritten();
+        }
         return statStream == null ? 0 : statStream.getBytesWritten();
     }
 
@@ -241,6 +249,8 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             // Export row
             processor.exportRow(session, resultSet, targetRow);
             firstRow = false;
+        } catch (DBCException e) {
+            throw e;
         } catch (IOException e) {
             throw new DBCException("IO error", e);
         } catch (Throwable e) {
@@ -270,6 +280,14 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     @Override
     public void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        if (splitFileWriter != null) {
+            // Report errors of completed files. The last file is completed with the footer
+            try {
+                splitFileWriter.waitForChunks();
+            } catch (DBException e) {
+                throw new DBCException("Error writing output files", e);
+            }
+        }
     }
 
     @Override
@@ -379,11 +397,17 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
                 this.outputBuffer = new StringWriter(2048);
                 this.writer = new PrintWriter(this.outputBuffer, true);
             } else {
+                if (settings.isSplitOutFiles() && settings.isUseConcurrentSplitWriters() && !parameters.isBinary) {
+                    splitFileWriter = new StreamSplitFileWriter(StreamSplitFileWriter.getDefaultThreadCount());
+                }
                 openOutputStreams(session.getProgressMonitor());
             }
         } catch (IOException e) {
             closeExporter();
             throw new DBCException("Data transfer IO error", e);
+        } catch (DBException e) {
+            closeExporter();
+            throw new DBCException("Data transfer error", e);
         }
 
         try {
@@ -413,6 +437,15 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             processor = null;
         }
         closeOutputStreams();
+        if (splitFileWriter != null) {
+            try {
+                splitFileWriter.finish();
+            } catch (DBException e) {
+                splitFileWriterError = e;
+                log.error("Error writing output files", e);
+            }
+            splitFileWriter = null;
+        }
     }
     
     private DataFileConflictBehavior prepareDataFileConflictBehavior(String fileName) {
@@ -475,7 +508,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         return behavior;
     }
     
-    private void openOutputStreams(DBRProgressMonitor monitor) throws IOException {
+    private void openOutputStreams(DBRProgressMonitor monitor) throws IOException, DBException {
         final boolean truncate;
 
         boolean fileExists = Files.exists(outputFile);
@@ -495,25 +528,33 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             truncate = true;
         }
 
-        OutputStream stream;
+        OpenOption[] openOptions;
         if (!fileExists) {
             log.debug("Export to the new file \"" + outputFile + "\"");
-            stream = Files.newOutputStream(outputFile, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+            openOptions = new OpenOption[] { StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW };
         } else {
             log.debug("Export to the existing file \"" + outputFile + "\"");
-            stream = Files.newOutputStream(
-                outputFile,
+            openOptions = new OpenOption[] {
                 StandardOpenOption.WRITE,
-                (truncate ? StandardOpenOption.TRUNCATE_EXISTING : StandardOpenOption.APPEND));
+                (truncate ? StandardOpenOption.TRUNCATE_EXISTING : StandardOpenOption.APPEND) };
         }
-        this.outputStream = new BufferedOutputStream(stream, OUT_FILE_BUFFER_SIZE);
-        this.outputStream = this.statStream = new StatOutputStream(outputStream);
-
-        if (settings.isCompressResults()) {
-            log.debug("\tUse ZIP compression");
-            this.zipStream = new ZipOutputStream(this.outputStream);
-            this.zipStream.putNextEntry(new ZipEntry(getOutputFileName()));
-            this.outputStream = zipStream;
+        if (splitFileWriter != null) {
+            // File is compressed and synced by background writer once it is complete
+            this.outputStream = splitFileWriter.openChunk(
+                outputFile,
+                openOptions,
+                settings.isCompressResults() ? getOutputFileName() : null);
+        } else {
+            OutputStream stream = Files.newOutputStream(outputFile, openOptions);
+            this.outputStream = new BufferedOutputStream(stream, OUT_FILE_BUFFER_SIZE);
+            this.outputStream = this.statStream = new StatOutputStream(outputStream);
+
+            if (settings.isCompressResults()) {
+                log.debug("\tUse ZIP compression");
+                this.zipStream = new ZipOutputStream(this.outputStream);
+                this.zipStream.putNextEntry(new ZipEntry(getOutputFileName()));
+                this.outputStream = zipStream;
+            }
         }
 
         // If we need to split files - use stream wrapper to calculate file size
@@ -570,7 +611,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
     }
 
-    private void createNewOutFile(DBRProgressMonitor monitor) throws IOException {
+    private void createNewOutFile(DBRProgressMonitor monitor) throws IOException, DBCException {
         closeOutputStreams();
 
         bytesWritten = 0;
@@ -578,7 +619,15 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         outputFile = makeOutputFile(monitor);
         outputFiles.add(outputFile);
 
-        openOutputStreams(monitor);
+        try {
+            if (splitFileWriter != null) {
+                // Pass complete file to the background writer
+                splitFileWriter.completeChunk();
+            }
+            openOutputStreams(monitor);
+        } catch (DBException e) {
+            throw new DBCException("Error writing output files", e);
+        }
     }
 
     @Override
@@ -629,7 +678,13 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             exportFooterInFile(monitor);
 
             closeExporter();
-            return;
+            if (splitFileWriterError == null) {
+                return;
+            }
+        }
+        if (error == null) {
+            // Last split file failed to be written, let event processors clean up partially written files
+            error = splitFileWriterError;
         }
 
         if (!parameters.isBinary && settings.isOutputClipboard() && error == null) {
@@ -0,0 +1,457 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.tools.transfer.database.DatabaseTransferUtils;
+import org.jkiss.utils.Pair;
+import org.jkiss.utils.csv.CSVParser;
+import org.jkiss.utils.csv.CSVReader;
+import org.jkiss.utils.io.BOMInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Scans all records of a CSV file to guess column types.
+ * The file is memory-mapped and split into chunks at record boundaries (newlines outside of quotes).
+ * Chunks are parsed in parallel and per-column results are merged.
+ * Values are classified the same way as sample rows, see {@link DatabaseTransferUtils#getDataType(String)}.
+ * Type lattice: integer -> bigint -> numeric(p,s) -> real -> string, boolean and timestamp values
+ * mixed with anything else also become strings. Numeric precision and scale are the maximums over all values.
+ */
+class CSVColumnTypeScanner {
+
+    private static final long MIN_CHUNK_SIZE = 4 * 1024 * 1024;
+    // Chunk is mapped in a single buffer, leave space for the last record
+    private static final long MAX_CHUNK_SIZE = 512 * 1024 * 1024;
+    private static final int READ_WINDOW_SIZE = 64 * 1024 * 1024;
+    // Wider numbers aren't supported by most databases, such columns are imported as floating point
+    private static final int MAX_NUMERIC_PRECISION = 38;
+
+    enum ValueType {
+        UNKNOWN(DBPDataKind.UNKNOWN, null),
+        BOOLEAN(DBPDataKind.BOOLEAN, "BOOLEAN"),
+        TIMESTAMP(DBPDataKind.DATETIME, "TIMESTAMP"),
+        INTEGER(DBPDataKind.NUMERIC, "INTEGER"),
+        BIGINT(DBPDataKind.NUMERIC, "BIGINT"),
+        NUMERIC(DBPDataKind.NUMERIC, "NUMERIC"),
+        REAL(DBPDataKind.NUMERIC, "REAL"),
+        STRING(DBPDataKind.STRING, "VARCHAR");
+
+        final DBPDataKind dataKind;
+        final String typeName;
+
+        ValueType(DBPDataKind dataKind, String typeName) {
+            this.dataKind = dataKind;
+            this.typeName = typeName;
+        }
+
+        boolean isNumeric() {
+            return this == INTEGER || this == BIGINT || this == NUMERIC || this == REAL;
+        }
+
+        @NotNull
+        ValueType merge(@NotNull ValueType other) {
+            if (this == other || other == UNKNOWN) {
+                return this;
+            } else if (this == UNKNOWN) {
+                return other;
+            } else if (isNumeric() && other.isNumeric()) {
+                return ordinal() > other.ordinal() ? this : other;
+            } else {
+                return STRING;
+            }
+        }
+    }
+
+    static class ColumnStats {
+        ValueType type = ValueType.UNKNOWN;
+        long maxLength;
+        // Numeric values digits
+        int maxIntegerDigits;
+        int maxScale;
+
+        void merge(@NotNull ColumnStats other) {
+            type = type.merge(other.type);
+            maxLength = Math.max(maxLength, other.maxLength);
+            maxIntegerDigits = Math.max(maxIntegerDigits, other.maxIntegerDigits);
+            maxScale = Math.max(maxScale, other.maxScale);
+        }
+
+        /**
+         * Returns column type. Numeric columns which don't fit into the maximum precision are floating point.
+         */
+        @NotNull
+        ValueType getType() {
+            if (type == ValueType.NUMERIC && getPrecision() > MAX_NUMERIC_PRECISION) {
+                return ValueType.REAL;
+            }
+            return type;
+        }
+
+        int getPrecision() {
+            return Math.max(1, maxIntegerDigits + maxScale);
+        }
+
+        int getScale() {
+            return maxScale;
+        }
+    }
+
+    private final Path file;
+    private final Charset charset;
+    private final Function<Reader, CSVReader> readerFactory;
+    private final boolean skipHeader;
+    private final char quoteChar;
+    private final char escapeChar;
+    private final boolean trimWhitespaces;
+    private final String nullValueMark;
+    private final boolean byteLength;
+    @Nullable
+    private final DateTimeFormatter timestampFormat;
+
+    CSVColumnTypeScanner(
+        @NotNull Path file,
+        @NotNull Charset charset,
+        @NotNull Function<Reader, CSVReader> readerFactory,
+        boolean skipHeader,
+        char quoteChar,
+        char escapeChar,
+        boolean trimWhitespaces,
+        @Nullable String nullValueMark,
+        boolean byteLength,
+        @Nullable DateTimeFormatter timestampFormat
+    ) {
+        this.file = file;
+        this.charset = charset;
+        this.readerFactory = readerFactory;
+        this.skipHeader = skipHeader;
+        this.quoteChar = quoteChar;
+        this.escapeChar = escapeChar;
+        this.trimWhitespaces = trimWhitespaces;
+        this.nullValueMark = nullValueMark;
+        this.byteLength = byteLength;
+        this.timestampFormat = timestampFormat;
+    }
+
+    /**
+     * Scans the file and returns statistics for the specified number of columns
+     */
+    @NotNull
+    ColumnStats[] scan(int columnCount) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            int threadCount = Math.max(1, Runtime.getRuntime().availableProcessors());
+            List<long[]> chunks = isSplittable() ? splitChunks(channel, fileSize, threadCount) : null;
+            if (chunks == null) {
+                // Record boundaries can't be found at the byte level, scan sequentially
+                ColumnStats[] result = createStats(columnCount);
+                scanChunk(channel, 0, fileSize, result);
+                return result;
+            }
+            if (chunks.isEmpty()) {
+                return createStats(columnCount);
+            }
+            if (chunks.size() == 1) {
+                ColumnStats[] result = createStats(columnCount);
+                long[] chunk = chunks.get(0);
+                scanChunk(channel, chunk[0], chunk[1], result);
+                return result;
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, chunks.size()), runnable -> {
+                Thread thread = new Thread(runnable, "CSV column types scanner");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<ColumnStats[]>> results = new ArrayList<>(chunks.size());
+                for (long[] chunk : chunks) {
+                    results.add(executor.submit(() -> {
+                        ColumnStats[] chunkStats = createStats(columnCount);
+                        scanChunk(channel, chunk[0], chunk[1], chunkStats);
+                        return chunkStats;
+                    }));
+                }
+                ColumnStats[] result = createStats(columnCount);
+                for (Future<ColumnStats[]> chunkResult : results) {
+                    ColumnStats[] chunkStats = chunkResult.get();
+                    for (int i = 0; i < columnCount; i++) {
+                        result[i].merge(chunkStats[i]);
+                    }
+                }
+                return result;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("CSV file scan interrupted");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException ioe) {
+                    throw ioe;
+                }
+                throw new IOException("Error scanning CSV file", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Newline, quote and escape bytes can be found without decoding only in ASCII-compatible encodings
+     */
+    private boolean isSplittable() {
+        return (charset.equals(StandardCharsets.UTF_8) || charset.newEncoder().maxBytesPerChar() == 1) &&
+            quoteChar < 0x80 && escapeChar < 0x80;
+    }
+
+    /**
+     * Finds chunk boundaries. Tracks quotes state, so newlines inside quoted values are skipped.
+     * The header record (if any) is excluded from the first chunk.
+     *
+     * @return list of [offset, length] pairs or null if chunk can't be mapped
+     */
+    @Nullable
+    private List<long[]> splitChunks(@NotNull FileChannel channel, long fileSize, int threadCount) throws IOException {
+        long chunkSize = Math.min(MAX_CHUNK_SIZE / 2, Math.max(MIN_CHUNK_SIZE, fileSize / threadCount + 1));
+        List<long[]> chunks = new ArrayList<>();
+        long chunkStart = 0;
+        boolean inHeader = skipHeader;
+        boolean headerHasContent = false;
+        boolean inQuotes = false;
+        boolean escaped = false;
+        for (long windowStart = 0; windowStart < fileSize; windowStart += READ_WINDOW_SIZE) {
+            int windowSize = (int) Math.min(READ_WINDOW_SIZE, fileSize - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+            for (int i = 0; i < windowSize; i++) {
+                byte b = window.get(i);
+                if (escaped) {
+                    escaped = false;
+                } else if (b == escapeChar && escapeChar != quoteChar && escapeChar != CSVParser.NULL_CHARACTER) {
+                    escaped = true;
+                } else if (b == quoteChar && quoteChar != CSVParser.NULL_CHARACTER) {
+                    // Doubled quotes toggle the state twice
+                    inQuotes = !inQuotes;
+                } else if (b == '\n' && !inQuotes) {
+                    long position = windowStart + i + 1;
+                    if (inHeader) {
+                        if (headerHasContent) {
+                            inHeader = false;
+                            chunkStart = position;
+                        }
+                    } else if (position - chunkStart >= chunkSize) {
+                        chunks.add(new long[]{chunkStart, position - chunkStart});
+                        chunkStart = position;
+                    }
+                } else if (inHeader && b != '\r') {
+                    headerHasContent = true;
+                }
+            }
+        }
+        if (!inHeader && chunkStart < fileSize) {
+            chunks.add(new long[]{chunkStart, fileSize - chunkStart});
+        }
+        for (long[] chunk : chunks) {
+            if (chunk[1] > MAX_CHUNK_SIZE) {
+                // Too long record
+                return null;
+            }
+        }
+        return chunks;
+    }
+
+    private void scanChunk(@NotNull FileChannel channel, long offset, long length, @NotNull ColumnStats[] stats) throws IOException {
+        InputStream inputStream;
+        boolean isFileStart = offset == 0;
+        if (length <= MAX_CHUNK_SIZE) {
+            inputStream = new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+        } else {
+            // Sequential scan of a huge file
+            inputStream = new ByteBufferInputStream(null) {
+                private final ByteBuffer buffer = ByteBuffer.allocate(DataImporterCSV.READ_BUFFER_SIZE);
+                private long position = offset;
+
+                @Override
+                protected ByteBuffer nextBuffer() throws IOException {
+                    buffer.clear();
+                    int count = channel.read(buffer, position);
+                    if (count <= 0) {
+                        return null;
+                    }
+                    position += count;
+                    buffer.flip();
+                    return buffer;
+                }
+            };
+        }
+        if (isFileStart) {
+            try {
+                inputStream = new BOMInputStream(inputStream, charset);
+            } catch (IllegalArgumentException ignored) {
+                // This charset does not have BOM, suppress and continue
+            }
+        }
+        try (CSVReader csvReader = readerFactory.apply(new InputStreamReader(inputStream, charset))) {
+            // Header is excluded from chunks, unless we scan the whole file sequentially
+            boolean headerRead = !(skipHeader && isFileStart);
+            for (String[] line = csvReader.readNext(); line != null; line = csvReader.readNext()) {
+                if (line.length == 0) {
+                    continue;
+                }
+                if (!headerRead) {
+                    headerRead = true;
+                    continue;
+                }
+                for (int i = 0; i < Math.min(line.length, stats.length); i++) {
+                    String value = line[i];
+                    if (value == null) {
+                        continue;
+                    }
+                    if (trimWhitespaces) {
+                        value = value.trim();
+                    }
+                    if (value.isEmpty() || (nullValueMark != null && nullValueMark.equals(value))) {
+                        continue;
+                    }
+                    ColumnStats columnStats = stats[i];
+                    columnStats.type = columnStats.type.merge(getValueType(value, columnStats));
+                    columnStats.maxLength = Math.max(
+                        columnStats.maxLength,
+                        byteLength ? value.getBytes(charset).length : value.length());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns value type and updates numeric digits of the column
+     */
+    @NotNull
+    private ValueType getValueType(@NotNull String value, @NotNull ColumnStats stats) {
+        Pair<DBPDataKind, String> dataType = DatabaseTransferUtils.getDataType(value);
+        switch (dataType.getFirst()) {
+            case NUMERIC:
+                if (ValueType.INTEGER.typeName.equals(dataType.getSecond())) {
+                    long longValue = Long.parseLong(value);
+                    stats.maxIntegerDigits = Math.max(stats.maxIntegerDigits, getIntegerDigits(longValue));
+                    return longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE ? ValueType.INTEGER : ValueType.BIGINT;
+                }
+                BigDecimal decimalValue;
+                try {
+                    decimalValue = new BigDecimal(value);
+                } catch (NumberFormatException e) {
+                    // Floating point notation only (e.g. hexadecimal)
+                    return ValueType.REAL;
+                }
+                int scale = Math.max(decimalValue.scale(), 0);
+                stats.maxScale = Math.max(stats.maxScale, scale);
+                stats.maxIntegerDigits = Math.max(stats.maxIntegerDigits, decimalValue.precision() - decimalValue.scale());
+                return ValueType.NUMERIC;
+            case BOOLEAN:
+                return ValueType.BOOLEAN;
+            default:
+                if (timestampFormat != null && Character.isDigit(value.charAt(0))) {
+                    try {
+                        timestampFormat.parse(value);
+                        return ValueType.TIMESTAMP;
+                    } catch (DateTimeParseException ignored) {
+                    }
+                }
+                return ValueType.STRING;
+        }
+    }
+
+    private static int getIntegerDigits(long value) {
+        if (value == Long.MIN_VALUE) {
+            return 19;
+        }
+        return String.valueOf(Math.abs(value)).length();
+    }
+
+    @NotNull
+    private static ColumnStats[] createStats(int columnCount) {
+        ColumnStats[] stats = new ColumnStats[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            stats[i] = new ColumnStats();
+        }
+        return stats;
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private ByteBuffer buffer;
+
+        ByteBufferInputStream(@Nullable ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Nullable
+        protected ByteBuffer nextBuffer() throws IOException {
+            return null;
+        }
+
+        private boolean ensureData() throws IOException {
+            while (buffer == null || !buffer.hasRemaining()) {
+                buffer = nextBuffer();
+                if (buffer == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return ensureData() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(@NotNull byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureData()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer == null ? 0 : buffer.remaining();
+        }
+    }
+}
@@ -58,6 +58,7 @@ public class DataImporterCSV extends StreamImporterAbstract {
     private static final String PROP_EMPTY_STRING_NULL = "emptyStringNull";
     private static final String PROP_ESCAPE_CHAR = "escapeChar";
     private static final String PROP_TRIM_WHITESPACES = "trimWhitespaces";
+    private static final String PROP_COLUMN_TYPE_SCAN_FILE = "columnTypeScanFile";
     public static final int READ_BUFFER_SIZE = 255 * 1024;
 
     public enum HeaderPosition {
@@ -79,6 +80,7 @@ public class DataImporterCSV extends StreamImporterAbstract {
         final int columnSamplesCount = Math.max(CommonUtils.toInt(processorProperties.get(PROP_COLUMN_TYPE_SAMPLES), 100), 0);
         final int columnMinimalLength = Math.max(CommonUtils.toInt(processorProperties.get(PROP_COLUMN_TYPE_LENGTH), 1), 1);
         final boolean columnIsByteLength = CommonUtils.getBoolean(processorProperties.get(PROP_COLUMN_IS_BYTE_LENGTH), false);
+        final boolean scanWholeFile = CommonUtils.getBoolean(processorProperties.get(PROP_COLUMN_TYPE_SCAN_FILE), false);
 
         try (Reader reader = openStreamReader(inputStream, processorProperties, true)) {
             try (CSVReader csvReader = openCSVReader(reader, processorProperties)) {
@@ -100,7 +102,18 @@ public class DataImporterCSV extends StreamImporterAbstract {
                     columnsInfo.add(columnInfo);
                 }
 
-                for (int sample = 0; sample < columnSamplesCount; sample++) {
+                boolean fileScanned = false;
+                if (scanWholeFile && entityMapping.getInputFile() != null) {
+                    try {
+                        scanColumnTypes(entityMapping, processorProperties, columnsInfo);
+                        fileScanned = true;
+                    } catch (IOException | RuntimeException e) {
+                        // E.g. file system doesn't support file channels. Column types are taken from samples then.
+                        log.warn("Error scanning CSV file '" + entityMapping.getInputFile() + "', sample rows are used for column types", e);
+                    }
+                }
+
+                for (int sample = 0; !fileScanned && sample < columnSamplesCount; sample++) {
                     String[] line;
 
                     if (sample == 0 && headerPosition == HeaderPosition.none) {
@@ -147,6 +160,52 @@ public class DataImporterCSV extends StreamImporterAbstract {
         return columnsInfo;
     }
 
+    private void scanColumnTypes(
+        @NotNull StreamEntityMapping entityMapping,
+        @NotNull Map<String, Object> processorProperties,
+        @NotNull List<StreamDataImporterColumnInfo> columnsInfo
+    ) throws IOException {
+        final String encoding = CommonUtils.toString(processorProperties.get(PROP_ENCODING), GeneralUtils.UTF8_ENCODING);
+        final String nullValueMark = CommonUtils.toString(processorProperties.get(PROP_NULL_STRING));
+        CSVColumnTypeScanner scanner = new CSVColumnTypeScanner(
+            entityMapping.getInputFile(),
+            Charset.forName(encoding),
+            reader -> openCSVReader(reader, processorProperties),
+            getHeaderPosition(processorProperties) != HeaderPosition.none,
+            getSpecialChar(processorProperties, PROP_QUOTE_CHAR),
+            getSpecialChar(processorProperties, PROP_ESCAPE_CHAR),
+            CommonUtils.getBoolean(processorProperties.get(PROP_TRIM_WHITESPACES), false),
+            CommonUtils.isEmpty(nullValueMark) ? null : nullValueMark,
+            CommonUtils.getBoolean(processorProperties.get(PROP_COLUMN_IS_BYTE_LENGTH), false),
+            getTimeStampFormat(processorProperties, PROP_TIMESTAMP_FORMAT));
+
+        long startTime = System.currentTimeMillis();
+        CSVColumnTypeScanner.ColumnStats[] stats = scanner.scan(columnsInfo.size());
+        log.debug("CSV file '" + entityMapping.getInputFile() + "' scanned in " + (System.currentTimeMillis() - startTime) + "ms");
+
+        for (int i = 0; i < stats.length; i++) {
+            CSVColumnTypeScanner.ColumnStats columnStats = stats[i];
+            StreamDataImporterColumnInfo columnInfo = columnsInfo.get(i);
+            CSVColumnTypeScanner.ValueType type = columnStats.getType();
+            if (type == CSVColumnTypeScanner.ValueType.UNKNOWN) {
+                continue;
+            }
+            columnInfo.setDataKind(type.dataKind);
+            columnInfo.setTypeName(type.typeName);
+            if (type == CSVColumnTypeScanner.ValueType.STRING) {
+                columnInfo.updateMaxLength(entityMapping.getDataSource(), columnStats.maxLength);
+            } else if (type == CSVColumnTypeScanner.ValueType.NUMERIC) {
+                columnInfo.setPrecision(columnStats.getPrecision());
+                columnInfo.setScale(columnStats.getScale());
+            }
+        }
+    }
+
+    private static char getSpecialChar(Map<String, Object> processorProperties, String propName) {
+        String value = CommonUtils.toString(processorProperties.get(propName));
+        return CommonUtils.isEmpty(value) ? CSVParser.NULL_CHARACTER : value.charAt(0);
+    }
+
     private int roundToNextPowerOf2(int value) {
         int power = 1;
         while(power < value)
@@ -160,15 +219,11 @@ public class DataImporterCSV extends StreamImporterAbstract {
 
     private CSVReader openCSVReader(Reader reader, Map<String, Object> processorProperties) {
         String delimiter = StreamTransferUtils.getDelimiterString(processorProperties, PROP_DELIMITER);
-        String quoteChar = CommonUtils.toString(processorProperties.get(PROP_QUOTE_CHAR));
-        if (CommonUtils.isEmpty(quoteChar)) {
-            quoteChar = String.valueOf(CSVParser.NULL_CHARACTER);
-        }
-        String escapeChar = CommonUtils.toString(processorProperties.get(PROP_ESCAPE_CHAR));
-        if (CommonUtils.isEmpty(escapeChar)) {
-            escapeChar = String.valueOf(CSVParser.NULL_CHARACTER);
-        }
-        return new CSVReader(reader, delimiter.charAt(0), quoteChar.charAt(0), escapeChar.charAt(0));
+        return new CSVReader(
+            reader,
+            delimiter.charAt(0),
+            getSpecialChar(processorProperties, PROP_QUOTE_CHAR),
+            getSpecialChar(processorProperties, PROP_ESCAPE_CHAR));
     }
 
     private Reader openStreamReader(InputStream inputStream, Map<String, Object> processorProperties, boolean useBufferedStream) throws UnsupportedEncodingException {
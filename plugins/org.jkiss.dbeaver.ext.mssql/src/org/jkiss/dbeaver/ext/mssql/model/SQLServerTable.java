@@ -22,7 +22,9 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ext.mssql.SQLServerUtils;
 import org.jkiss.dbeaver.model.*;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
@@ -47,7 +49,7 @@ import java.util.Map;
  * SQLServerTable
  */
 public class SQLServerTable extends SQLServerTableBase
-        implements DBPObjectStatistics, DBSCheckConstraintContainer, DBPReferentialIntegrityController, DBSEntityConstrainable {
+        implements DBPObjectStatistics, DBSCheckConstraintContainer, DBPReferentialIntegrityController, DBSEntityConstrainable, DBSDataCountEstimator {
     private static final Log log = Log.getLog(SQLServerTable.class);
 
     private static final String DISABLE_REFERENTIAL_INTEGRITY_STATEMENT = "ALTER TABLE ? NOCHECK CONSTRAINT ALL";
@@ -202,6 +204,29 @@ public class SQLServerTable extends SQLServerTableBase
         // Nope
     }
 
+    /**
+     * Returns row count of the heap or clustered index partitions.
+     * Filtered row count isn't estimated because showplan mode can't be enabled for a single statement.
+     */
+    @Override
+    public long estimateDataCount(@NotNull DBCSession session, @Nullable DBDDataFilter dataFilter) throws DBCException {
+        if (!isPersisted() || (dataFilter != null && dataFilter.hasConditions()) ||
+            SQLServerUtils.isDriverBabelfish(getDataSource().getContainer().getDriver()))
+        {
+            return -1;
+        }
+        try {
+            Long rows = JDBCUtils.queryLong(
+                (JDBCSession) session,
+                "SELECT SUM(p.rows) FROM " + SQLServerUtils.getSystemTableName(getDatabase(), "partitions") + " p\n" +
+                    "WHERE p.object_id=? AND p.index_id IN (0,1)",
+                getObjectId());
+            return rows == null ? -1 : rows;
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getExecutionContext());
+        }
+    }
+
     @Override
     public boolean hasStatistics() {
         return totalBytes != -1;
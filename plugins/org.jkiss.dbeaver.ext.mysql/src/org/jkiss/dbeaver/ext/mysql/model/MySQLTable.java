@@ -23,7 +23,9 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ext.mysql.MySQLConstants;
 import org.jkiss.dbeaver.model.*;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.*;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCConstants;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
@@ -50,7 +52,7 @@ import java.util.*;
  * MySQLTable
  */
 public class MySQLTable extends MySQLTableBase
-    implements DBPObjectStatistics, DBPReferentialIntegrityController, DBSPartitionContainer, DBSEntityConstrainable
+    implements DBPObjectStatistics, DBPReferentialIntegrityController, DBSPartitionContainer, DBSEntityConstrainable, DBSDataCountEstimator
 {
     private static final Log log = Log.getLog(MySQLTable.class);
 
@@ -403,6 +405,41 @@ public class MySQLTable extends MySQLTableBase
         return triggers;
     }
 
+    /**
+     * Uses TABLE_ROWS statistics if there are no filter conditions, otherwise uses EXPLAIN rows and filtered estimates.
+     */
+    @Override
+    public long estimateDataCount(@NotNull DBCSession session, @Nullable DBDDataFilter dataFilter) throws DBCException {
+        if (!isPersisted()) {
+            return -1;
+        }
+        JDBCSession jdbcSession = (JDBCSession) session;
+        try {
+            if (dataFilter == null || !dataFilter.hasConditions()) {
+                Long rowCount = JDBCUtils.queryLong(
+                    jdbcSession,
+                    "SELECT " + MySQLConstants.COL_TABLE_ROWS + " FROM " + MySQLConstants.META_TABLE_TABLES +
+                        " WHERE " + MySQLConstants.COL_TABLE_SCHEMA + "=? AND " + MySQLConstants.COL_TABLE_NAME + "=?",
+                    getContainer().getName(),
+                    getName());
+                return rowCount == null ? -1 : rowCount;
+            }
+            try (JDBCStatement dbStat = jdbcSession.createStatement()) {
+                try (JDBCResultSet dbResult = dbStat.executeQuery("EXPLAIN " + makeFilteredSelectQuery(session, dataFilter))) {
+                    if (dbResult.next()) {
+                        long rowCount = JDBCUtils.safeGetLong(dbResult, "rows");
+                        // Percentage of rows left after condition filtering (MySQL 5.7+)
+                        double filtered = JDBCUtils.safeGetDouble(dbResult, "filtered");
+                        return filtered > 0 && filtered < 100 ? (long) (rowCount * filtered / 100) : rowCount;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getExecutionContext());
+        }
+        return -1;
+    }
+
     @Association
     public Collection<MySQLPartition> getPartitions(DBRProgressMonitor monitor)
         throws DBException
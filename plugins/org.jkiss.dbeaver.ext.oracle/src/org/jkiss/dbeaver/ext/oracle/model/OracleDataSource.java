@@ -53,6 +53,7 @@ import org.jkiss.dbeaver.model.meta.ForTest;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLConstants;
 import org.jkiss.dbeaver.model.sql.SQLState;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
 import org.jkiss.dbeaver.model.struct.DBSDataType;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.struct.DBSObjectFilter;
@@ -634,6 +635,11 @@ public class OracleDataSource extends JDBCDataSource implements DBPObjectStatist
             return adapter.cast(new OracleChangeUserPasswordManager(this));
         } else if (adapter == DBDAttributeContentTypeProvider.class) {
             return adapter.cast(OracleAttributeContentTypeProvider.INSTANCE);
+        } else if (adapter == DBSDataBulkLoader.class) {
+            // APPEND_VALUES hint is supported since 11gR2 (11gR1 ignores it)
+            if (isServerVersionAtLeast(11, 2)) {
+                return adapter.cast(new OracleDirectPathLoader(this));
+            }
         }
         return super.getAdapter(adapter);
     }
@@ -0,0 +1,222 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.oracle.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDValueBinder;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBStructUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Bulk loader based on direct-path inserts.
+ * Rows are inserted with APPEND_VALUES hint using JDBC batches (array binding in Oracle driver).
+ * Direct-path insert requires commit before the table can be modified again in the same transaction,
+ * so each executed batch is committed regardless of the transaction settings of the target.
+ * Optionally switches table to NOLOGGING mode during the load. Logging mode is restored in the loader session
+ * after the last commit: DDL from another session would wait for the direct-path insert lock.
+ */
+public class OracleDirectPathLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
+
+    private static final Log log = Log.getLog(OracleDirectPathLoader.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 10000;
+
+    private final OracleDataSource dataSource;
+    private JDBCSession loadSession;
+    private OracleTableBase table;
+    private DBSAttributeBase[] attributes;
+    private DBDValueHandler[] valueHandlers;
+    private JDBCPreparedStatement statement;
+    private int batchSize;
+    private int pendingRows;
+    private long loadedRows;
+    private boolean restoreLogging;
+
+    public OracleDirectPathLoader(OracleDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @NotNull
+    @Override
+    public BulkLoadManager createBulkLoad(
+        @NotNull DBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source,
+        int batchSize,
+        Map<String, Object> options) throws DBCException
+    {
+        if (!(dataContainer instanceof OracleTableBase)) {
+            throw new DBCException("Direct-path load is not supported for " + DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.UI));
+        }
+        this.table = (OracleTableBase) dataContainer;
+        this.attributes = attributes;
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+        this.valueHandlers = new DBDValueHandler[attributes.length];
+
+        String tableName = table.getFullyQualifiedName(DBPEvaluationContext.DML);
+        StringBuilder query = new StringBuilder(200);
+        query.append("INSERT /*+ APPEND_VALUES */ INTO ").append(tableName).append(" ("); //$NON-NLS-1$
+        for (int i = 0; i < attributes.length; i++) {
+            if (i > 0) query.append(","); //$NON-NLS-1$
+            query.append(DBStructUtils.getAttributeName(attributes[i]));
+        }
+        query.append(")\n\tVALUES ("); //$NON-NLS-1$
+        for (int i = 0; i < attributes.length; i++) {
+            DBDValueHandler valueHandler = DBUtils.findValueHandler(session, attributes[i]);
+            valueHandlers[i] = valueHandler;
+            if (i > 0) query.append(","); //$NON-NLS-1$
+            if (valueHandler instanceof DBDValueBinder valueBinder) {
+                query.append(valueBinder.makeQueryBind(attributes[i], null));
+            } else {
+                query.append("?"); //$NON-NLS-1$
+            }
+        }
+        query.append(")"); //$NON-NLS-1$
+
+        JDBCSession jdbcSession = (JDBCSession) session;
+        this.loadSession = jdbcSession;
+        if (CommonUtils.getBoolean(options.get(OPTION_MINIMAL_LOGGING), false) && !table.isView()) {
+            disableLogging(jdbcSession, tableName);
+        }
+        try {
+            statement = jdbcSession.prepareStatement(query.toString());
+            statement.setStatementSource(source);
+        } catch (SQLException e) {
+            close();
+            throw new DBCException(e, session.getExecutionContext());
+        }
+        return this;
+    }
+
+    @Override
+    public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        for (int i = 0; i < attributes.length; i++) {
+            valueHandlers[i].bindValueObject(session, statement, attributes[i], i, attributeValues[i]);
+        }
+        try {
+            statement.addBatch();
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getExecutionContext());
+        }
+        pendingRows++;
+        if (pendingRows >= batchSize) {
+            executeBatch(session);
+        }
+    }
+
+    @Override
+    public void flushRows(@NotNull DBCSession session) throws DBCException {
+        executeBatch(session);
+    }
+
+    @Override
+    public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
+        executeBatch(session);
+        if (restoreLogging) {
+            restoreLogging(loadSession);
+        }
+        log.debug("Direct-path load into " + table.getFullyQualifiedName(DBPEvaluationContext.UI) + " finished (" + loadedRows + " rows)");
+    }
+
+    @Override
+    public void close() {
+        if (statement != null) {
+            statement.close();
+            statement = null;
+        }
+        if (restoreLogging) {
+            // Load was interrupted. DDL commits implicitly, so discard rows of the failed batch first
+            try {
+                DBCTransactionManager txnManager = DBUtils.getTransactionManager(loadSession.getExecutionContext());
+                if (txnManager != null && !txnManager.isAutoCommit()) {
+                    txnManager.rollback(loadSession, null);
+                }
+                restoreLogging(loadSession);
+            } catch (DBCException e) {
+                log.error(e);
+            }
+        }
+    }
+
+    private void executeBatch(@NotNull DBCSession session) throws DBCException {
+        if (pendingRows == 0) {
+            return;
+        }
+        session.getProgressMonitor().subTask("Direct-path insert (" + (loadedRows + pendingRows) + ")");
+        try {
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getExecutionContext());
+        }
+        loadedRows += pendingRows;
+        pendingRows = 0;
+
+        // Direct-path inserted rows must be committed before next insert into the same table
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+        if (txnManager != null && !txnManager.isAutoCommit()) {
+            txnManager.commit(session);
+        }
+    }
+
+    private void restoreLogging(@NotNull JDBCSession session) throws DBCException {
+        restoreLogging = false;
+        String tableName = table.getFullyQualifiedName(DBPEvaluationContext.DML);
+        try {
+            JDBCUtils.executeStatement(session, "ALTER TABLE " + tableName + " LOGGING");
+        } catch (SQLException e) {
+            throw new DBCException("Error restoring logging mode of " + tableName, e, session.getExecutionContext());
+        }
+    }
+
+    private void disableLogging(@NotNull JDBCSession session, @NotNull String tableName) throws DBCException {
+        try {
+            String logging = JDBCUtils.queryString(
+                session,
+                "SELECT LOGGING FROM " + OracleUtils.getAdminAllViewPrefix(session.getProgressMonitor(), dataSource, "TABLES") +
+                    " WHERE OWNER=? AND TABLE_NAME=?",
+                table.getContainer().getName(),
+                table.getName());
+            if (!"YES".equals(logging)) {
+                // Already NOLOGGING or partitioned table (logging is defined per partition)
+                return;
+            }
+            JDBCUtils.executeStatement(session, "ALTER TABLE " + tableName + " NOLOGGING");
+            restoreLogging = true;
+        } catch (SQLException e) {
+            throw new DBCException("Error switching " + tableName + " to NOLOGGING mode", e, session.getExecutionContext());
+        }
+    }
+
+}
@@ -24,6 +24,7 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBConstants;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
@@ -38,6 +39,7 @@ import org.jkiss.dbeaver.model.meta.*;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSDataCountEstimator;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.struct.DBSObjectLazy;
 import org.jkiss.dbeaver.model.struct.rdb.DBSPartitionContainer;
@@ -51,7 +53,7 @@ import java.util.stream.Collectors;
 /**
  * Oracle physical table
  */
-public abstract class OracleTablePhysical extends OracleTableBase implements DBSObjectLazy<OracleDataSource>, DBSPartitionContainer {
+public abstract class OracleTablePhysical extends OracleTableBase implements DBSObjectLazy<OracleDataSource>, DBSPartitionContainer, DBSDataCountEstimator {
     private static final Log log = Log.getLog(OracleTablePhysical.class);
     private static final String SUB_PART_KEY_TYPE = "SUBPART";
 
@@ -123,6 +125,29 @@ public abstract class OracleTablePhysical extends OracleTableBase implements DBS
         return realRowCount;
     }
 
+    /**
+     * Returns NUM_ROWS optimizer statistics.
+     * Filtered row count isn't estimated because EXPLAIN PLAN requires write access to the plan table.
+     */
+    @Override
+    public long estimateDataCount(@NotNull DBCSession session, @Nullable DBDDataFilter dataFilter) throws DBCException {
+        if (!isPersisted() || (dataFilter != null && dataFilter.hasConditions())) {
+            return -1;
+        }
+        try {
+            Long numRows = JDBCUtils.queryLong(
+                (JDBCSession) session,
+                "SELECT NUM_ROWS FROM " + OracleUtils.getAdminAllViewPrefix(session.getProgressMonitor(), getDataSource(), "TABLES") +
+                    " WHERE OWNER=? AND TABLE_NAME=?",
+                getContainer().getName(),
+                getName());
+            // Null if statistics weren't gathered
+            return numRows == null ? -1 : numRows;
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getExecutionContext());
+        }
+    }
+
     @Nullable
     @Override
     public Object getLazyReference(Object propertyId)
@@ -23,6 +23,8 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBConstants;
 import org.jkiss.dbeaver.model.DBPObjectStatistics;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
@@ -38,6 +40,7 @@ import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.preferences.DBPPropertySource;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSDataCountEstimator;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.struct.DBSObjectType;
 import org.jkiss.utils.ByteNumberFormat;
@@ -48,13 +51,16 @@ import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * PostgreTable base
  */
-public abstract class PostgreTableReal extends PostgreTableBase implements DBPObjectStatistics
+public abstract class PostgreTableReal extends PostgreTableBase implements DBPObjectStatistics, DBSDataCountEstimator
 {
     private static final Log log = Log.getLog(PostgreTableReal.class);
+    private static final Pattern PLAN_ROWS_PATTERN = Pattern.compile("\\brows=(\\d+)");
 
     protected long rowCountEstimate;
     protected transient volatile Long rowCount;
@@ -125,6 +131,48 @@ public abstract class PostgreTableReal extends PostgreTableBase implements DBPOb
         return rowCount;
     }
 
+    /**
+     * Uses actual reltuples value if there are no filter conditions. Otherwise (or if table wasn't analyzed yet)
+     * returns planner estimate of the filtered query.
+     */
+    @Override
+    public long estimateDataCount(@NotNull DBCSession session, @Nullable DBDDataFilter dataFilter) throws DBCException {
+        JDBCSession jdbcSession = (JDBCSession) session;
+        try {
+            if ((dataFilter == null || !dataFilter.hasConditions()) && isPersisted() && !(this instanceof PostgreViewBase)) {
+                try (JDBCPreparedStatement dbStat = jdbcSession.prepareStatement(
+                    "SELECT reltuples FROM pg_catalog.pg_class WHERE oid=?"))
+                {
+                    dbStat.setLong(1, getObjectId());
+                    try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                        if (dbResult.next()) {
+                            // reltuples is negative (or zero in old versions) if table was never analyzed
+                            rowCountEstimate = (long) dbResult.getDouble(1);
+                            if (rowCountEstimate > 0) {
+                                return rowCountEstimate;
+                            }
+                        }
+                    }
+                }
+            }
+            try (JDBCStatement dbStat = jdbcSession.createStatement()) {
+                try (JDBCResultSet dbResult = dbStat.executeQuery("EXPLAIN " + makeFilteredSelectQuery(session, dataFilter))) {
+                    if (dbResult.next()) {
+                        // Top plan node: "Seq Scan on t  (cost=0.00..35.50 rows=2550 width=4)"
+                        String planNode = dbResult.getString(1);
+                        Matcher matcher = planNode == null ? null : PLAN_ROWS_PATTERN.matcher(planNode);
+                        if (matcher != null && matcher.find()) {
+                            return Long.parseLong(matcher.group(1));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getExecutionContext());
+        }
+        return -1;
+    }
+
     @Property(category = DBConstants.CAT_STATISTICS, viewable = false, order = 24, formatter = ByteNumberFormat.class)
     public Long getDiskSpace(DBRProgressMonitor monitor)
     {
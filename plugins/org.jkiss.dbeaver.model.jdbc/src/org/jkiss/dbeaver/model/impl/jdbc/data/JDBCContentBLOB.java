@@ -58,6 +58,7 @@ public class JDBCContentBLOB extends JDBCContentLOB {
 
     private Blob blob;
     private InputStream tmpStream;
+    private byte[] preview;
 
     public JDBCContentBLOB(DBCExecutionContext dataSource, Blob blob) {
         super(dataSource);
@@ -83,6 +84,18 @@ public class JDBCContentBLOB extends JDBCContentLOB {
         return MimeTypes.OCTET_STREAM;
     }
 
+    @Override
+    public void readPreview(int maxLength) {
+        if (blob == null) {
+            return;
+        }
+        try {
+            preview = blob.getBytes(1, (int) Math.min(maxLength, blob.length()));
+        } catch (Throwable e) {
+            log.debug("Can't read BLOB preview: " + e.getMessage());
+        }
+    }
+
     @Override
     public DBDContentStorage getContents(@NotNull DBRProgressMonitor monitor)
         throws DBCException
@@ -272,6 +285,10 @@ public class JDBCContentBLOB extends JDBCContentLOB {
                 return DBValueFormatting.formatBinaryString(executionContext.getDataSource(), (byte[]) cachedValue, format);
             }
         }
+        if (preview != null && isPreviewVisible(format)) {
+            // Formatter marks preview truncated if it is longer than binary string length
+            return DBValueFormatting.formatBinaryString(executionContext.getDataSource(), preview, format);
+        }
         return "[BLOB]";
     }
 
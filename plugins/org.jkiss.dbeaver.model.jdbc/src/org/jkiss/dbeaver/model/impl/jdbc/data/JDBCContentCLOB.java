@@ -59,6 +59,8 @@ public class JDBCContentCLOB extends JDBCContentLOB implements DBDContent {
 
     private Clob clob;
     private Reader tmpReader;
+    private String preview;
+    private boolean previewTruncated;
 
     public JDBCContentCLOB(DBCExecutionContext executionContext, Clob clob) {
         super(executionContext);
@@ -84,6 +86,20 @@ public class JDBCContentCLOB extends JDBCContentLOB implements DBDContent {
         return MimeTypes.TEXT_PLAIN;
     }
 
+    @Override
+    public void readPreview(int maxLength) {
+        if (clob == null) {
+            return;
+        }
+        try {
+            long length = clob.length();
+            preview = clob.getSubString(1, (int) Math.min(maxLength, length));
+            previewTruncated = length > preview.length();
+        } catch (Throwable e) {
+            log.debug("Can't read CLOB preview: " + e.getMessage());
+        }
+    }
+
     @Override
     public DBDContentStorage getContents(@NotNull DBRProgressMonitor monitor)
         throws DBCException
@@ -247,6 +263,9 @@ public class JDBCContentCLOB extends JDBCContentLOB implements DBDContent {
                 }
             }
         }
+        if (preview != null && isPreviewVisible(format)) {
+            return previewTruncated ? preview + "..." : preview;
+        }
         return "[CLOB]";
     }
 }
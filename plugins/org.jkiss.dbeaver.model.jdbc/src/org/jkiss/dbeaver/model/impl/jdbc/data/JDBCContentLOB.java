@@ -19,7 +19,9 @@ package org.jkiss.dbeaver.model.impl.jdbc.data;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.data.DBDContentCached;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.data.DBDValueCloneable;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
@@ -62,6 +64,25 @@ public abstract class JDBCContentLOB extends JDBCContentAbstract implements DBDC
 
     protected abstract long getLOBLength() throws DBCException;
 
+    /**
+     * Reads the beginning of the content. Preview is shown in grid instead of the whole content,
+     * which is read only when it is really needed.
+     * Errors are ignored - content is shown without preview then.
+     *
+     * @param maxLength max preview length (bytes or characters)
+     */
+    public void readPreview(int maxLength) {
+        // No preview by default
+    }
+
+    /**
+     * Checks whether preview may be shown instead of the content.
+     */
+    protected boolean isPreviewVisible(@NotNull DBDDisplayFormat format) {
+        // Preview is not a value, so it can't be used for editing or copying
+        return format == DBDDisplayFormat.UI && !modified && !(storage instanceof DBDContentCached);
+    }
+
     @Override
     public boolean updateContents(
         @NotNull DBRProgressMonitor monitor,
@@ -196,6 +196,13 @@ public class JDBCContentValueHandler extends JDBCAbstractValueHandler implements
             {
                 // Precache content
                 blob.getContents(session.getProgressMonitor());
+            } else if (preferenceStore.getBoolean(ModelPreferences.CONTENT_PREVIEW_BLOB) &&
+                preferenceStore.getInt(ModelPreferences.CONTENT_PREVIEW_MAX_SIZE) > 0)
+            {
+                // Binary strings are truncated in grid anyway. Extra byte makes formatter show that value is truncated.
+                blob.readPreview(Math.min(
+                    preferenceStore.getInt(ModelPreferences.CONTENT_PREVIEW_MAX_SIZE),
+                    preferenceStore.getInt(ModelPreferences.RESULT_SET_BINARY_STRING_MAX_LEN) + 1));
             }
             return blob;
         } else if (object instanceof Clob) {
@@ -206,6 +213,8 @@ public class JDBCContentValueHandler extends JDBCAbstractValueHandler implements
             {
                 // Precache content
                 clob.getContents(session.getProgressMonitor());
+            } else if (preferenceStore.getInt(ModelPreferences.CONTENT_PREVIEW_MAX_SIZE) > 0) {
+                clob.readPreview(preferenceStore.getInt(ModelPreferences.CONTENT_PREVIEW_MAX_SIZE));
             }
             return clob;
         } else if (object instanceof SQLXML) {
@@ -0,0 +1,218 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.data.handlers;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+import org.jkiss.utils.CommonUtils;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Pass-through value handler.
+ * Moves raw JDBC values from a result set to a prepared statement without intermediate
+ * value wrappers (DBDContent, formatted strings, etc).
+ * Used for database-to-database transfer when source and target columns belong to the same JDBC type family.
+ * LOBs are read fully into byte[]/String because rows are accumulated in batches and
+ * outlive the result set cursor position.
+ * Date/time values are not copied directly: their handlers apply native format and client time zone settings.
+ */
+public class JDBCPassThroughValueHandler extends JDBCAbstractValueHandler {
+
+    public enum TypeFamily {
+        INTEGER(Long.class),
+        FLOAT(Double.class),
+        DECIMAL(BigDecimal.class),
+        BOOLEAN(Boolean.class),
+        STRING(String.class),
+        BINARY(byte[].class);
+
+        private final Class<?> valueType;
+
+        TypeFamily(Class<?> valueType) {
+            this.valueType = valueType;
+        }
+    }
+
+    private final TypeFamily family;
+
+    private JDBCPassThroughValueHandler(@NotNull TypeFamily family) {
+        this.family = family;
+    }
+
+    @NotNull
+    public TypeFamily getFamily() {
+        return family;
+    }
+
+    @Override
+    protected Object fetchColumnValue(DBCSession session, JDBCResultSet resultSet, DBSTypedObject type, int index)
+        throws SQLException
+    {
+        Object value;
+        switch (family) {
+            case INTEGER: {
+                long longValue = resultSet.getLong(index);
+                return resultSet.wasNull() ? null : longValue;
+            }
+            case FLOAT: {
+                double doubleValue = resultSet.getDouble(index);
+                return resultSet.wasNull() ? null : doubleValue;
+            }
+            case BOOLEAN: {
+                boolean boolValue = resultSet.getBoolean(index);
+                return resultSet.wasNull() ? null : boolValue;
+            }
+            case DECIMAL:
+                value = resultSet.getBigDecimal(index);
+                break;
+            case STRING:
+                value = resultSet.getString(index);
+                break;
+            case BINARY:
+                value = resultSet.getBytes(index);
+                break;
+            default:
+                value = resultSet.getObject(index);
+                break;
+        }
+        return value;
+    }
+
+    @Override
+    protected void bindParameter(JDBCSession session, JDBCPreparedStatement statement, DBSTypedObject paramType,
+                                 int paramIndex, Object value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(paramIndex, paramType.getTypeID());
+            return;
+        }
+        switch (family) {
+            case INTEGER:
+                statement.setLong(paramIndex, ((Number) value).longValue());
+                break;
+            case FLOAT:
+                statement.setDouble(paramIndex, ((Number) value).doubleValue());
+                break;
+            case BOOLEAN:
+                statement.setBoolean(paramIndex, (Boolean) value);
+                break;
+            case DECIMAL:
+                statement.setBigDecimal(paramIndex, (BigDecimal) value);
+                break;
+            case STRING:
+                statement.setString(paramIndex, (String) value);
+                break;
+            case BINARY:
+                statement.setBytes(paramIndex, (byte[]) value);
+                break;
+            default:
+                statement.setObject(paramIndex, value);
+                break;
+        }
+    }
+
+    @NotNull
+    @Override
+    public Class<?> getValueObjectType(@NotNull DBSTypedObject attribute) {
+        return family.valueType;
+    }
+
+    @Nullable
+    @Override
+    public Object getValueFromObject(@NotNull DBCSession session, @NotNull DBSTypedObject type, @Nullable Object object, boolean copy, boolean validateValue) {
+        // Values are produced by this handler and consumed as is
+        return object;
+    }
+
+    /**
+     * Returns pass-through handler for the source/target column pair or null if values must be converted.
+     * Only standard JDBC value handlers are considered: custom (driver-specific) handlers may
+     * read or bind values in a special way.
+     */
+    @Nullable
+    public static JDBCPassThroughValueHandler getPassThroughHandler(
+        @NotNull DBSTypedObject sourceType,
+        @Nullable DBDValueHandler sourceHandler,
+        @NotNull DBSTypedObject targetType,
+        @Nullable DBDValueHandler targetHandler)
+    {
+        if (sourceHandler == null || targetHandler == null || sourceHandler.getClass() != targetHandler.getClass() || !isStandardHandler(sourceHandler)) {
+            return null;
+        }
+        TypeFamily sourceFamily = getTypeFamily(sourceType);
+        if (sourceFamily == null || sourceFamily != getTypeFamily(targetType)) {
+            return null;
+        }
+        return new JDBCPassThroughValueHandler(sourceFamily);
+    }
+
+    @Nullable
+    public static TypeFamily getTypeFamily(@NotNull DBSTypedObject type) {
+        switch (type.getTypeID()) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return TypeFamily.INTEGER;
+            case Types.BIGINT:
+                // Unsigned BIGINT doesn't fit into long
+                return CommonUtils.notEmpty(type.getTypeName()).toUpperCase().contains("UNSIGNED") ? null : TypeFamily.INTEGER;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return TypeFamily.FLOAT;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return TypeFamily.DECIMAL;
+            case Types.BOOLEAN:
+                return TypeFamily.BOOLEAN;
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+            case Types.CLOB:
+            case Types.NCLOB:
+                return TypeFamily.STRING;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return TypeFamily.BINARY;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isStandardHandler(@NotNull DBDValueHandler handler) {
+        Class<?> handlerClass = handler.getClass();
+        return handlerClass == JDBCNumberValueHandler.class ||
+            handlerClass == JDBCStringValueHandler.class ||
+            handlerClass == JDBCBooleanValueHandler.class ||
+            handlerClass == JDBCContentValueHandler.class;
+    }
+
+}
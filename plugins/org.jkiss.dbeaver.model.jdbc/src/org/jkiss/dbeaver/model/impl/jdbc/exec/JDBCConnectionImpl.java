@@ -22,6 +22,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPErrorAssistant;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.data.DBDValuePassThroughProvider;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.*;
 import org.jkiss.dbeaver.model.impl.AbstractSession;
@@ -29,9 +30,11 @@ import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCException;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCPassThroughValueHandler;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRBlockingObject;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
 
 import java.sql.*;
 import java.util.Map;
@@ -41,7 +44,7 @@ import java.util.concurrent.Executor;
 /**
  * Manageable connection
  */
-public class JDBCConnectionImpl extends AbstractSession implements JDBCSession, DBRBlockingObject {
+public class JDBCConnectionImpl extends AbstractSession implements JDBCSession, DBRBlockingObject, DBDValuePassThroughProvider {
 
     private static final Log log = Log.getLog(JDBCConnectionImpl.class);
 
@@ -751,5 +754,20 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         return context.getDataSource().getJdbcFactory().createCallableStatement(this, original, sql, !isLoggingEnabled());
     }
 
+    @Nullable
+    @Override
+    public DBDValueHandler getPassThroughHandler(
+        @NotNull DBCResultSet sourceResultSet,
+        @NotNull DBSTypedObject sourceType,
+        @Nullable DBDValueHandler sourceHandler,
+        @NotNull DBSTypedObject targetType,
+        @Nullable DBDValueHandler targetHandler
+    ) {
+        if (!(sourceResultSet instanceof JDBCResultSet)) {
+            return null;
+        }
+        return JDBCPassThroughValueHandler.getPassThroughHandler(sourceType, sourceHandler, targetType, targetHandler);
+    }
+
 
 }
@@ -0,0 +1,208 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Adaptive fetch size controller.
+ * Picks result set fetch size which transfers approximately {@link #DEFAULT_BYTE_BUDGET} bytes per round trip.
+ * Row width is estimated from result set metadata.
+ * Fetch time is measured for each fetched window: if round trip latency dominates rows processing
+ * then byte budget grows (fewer round trips), otherwise it goes back to default.
+ */
+public class JDBCFetchSizeController {
+
+    private static final Log log = Log.getLog(JDBCFetchSizeController.class);
+
+    public static final int DEFAULT_BYTE_BUDGET = 1024 * 1024;
+    static final int MAX_BUDGET_FACTOR = 4;
+    static final int MIN_FETCH_SIZE = 10;
+    // Drivers allocate row buffers of fetch size, so fetch size is limited for narrow rows too
+    static final int MAX_FETCH_SIZE = 10000;
+
+    // Estimated width of values with unknown size
+    static final int VARIABLE_VALUE_WIDTH = 256;
+    // Max estimated width of string/binary values. Values are rarely as long as declared
+    static final int MAX_VALUE_WIDTH = 4000;
+    static final int COLUMN_OVERHEAD = 4;
+
+    // Round trips faster than this are cheap anyway
+    private static final long MIN_SLOW_ROUND_TRIP_NANOS = 10_000_000L;
+    // Fetch size isn't changed for small differences
+    private static final double MIN_CHANGE_RATIO = 0.25;
+
+    private final ResultSet resultSet;
+    private final long maxRows;
+    private boolean initialized;
+    private boolean disabled;
+
+    private int rowWidth;
+    private int budgetFactor = 1;
+    private int fetchSize;
+
+    private long rowsFetched;
+    private int windowRows;
+    private long windowStartTime;
+    private long windowMaxFetchTime;
+
+    JDBCFetchSizeController(@NotNull ResultSet resultSet, long maxRows) {
+        this.resultSet = resultSet;
+        this.maxRows = maxRows;
+    }
+
+    int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Must be called before each ResultSet.next()
+     */
+    long beforeFetch() {
+        if (!initialized) {
+            initialized = true;
+            initialize();
+        }
+        return disabled ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Must be called after successful ResultSet.next()
+     */
+    void afterFetch(long fetchStartTime) {
+        if (disabled) {
+            return;
+        }
+        long currentTime = System.nanoTime();
+        long fetchTime = currentTime - fetchStartTime;
+        if (windowRows == 0) {
+            windowStartTime = fetchStartTime;
+            windowMaxFetchTime = 0;
+        }
+        // The slowest fetch in the window is the one which made a round trip
+        windowMaxFetchTime = Math.max(windowMaxFetchTime, fetchTime);
+        windowRows++;
+        rowsFetched++;
+        if (windowRows >= fetchSize) {
+            adjustBudget(windowMaxFetchTime, currentTime - windowStartTime);
+            windowRows = 0;
+            applyFetchSize(calculateFetchSize(rowWidth, DEFAULT_BYTE_BUDGET * budgetFactor, remainingRows()));
+        }
+    }
+
+    private void initialize() {
+        try {
+            if (resultSet.getType() != ResultSet.TYPE_FORWARD_ONLY || resultSet.getFetchSize() < 0) {
+                // Scrollable or streaming (MySQL) result set
+                disabled = true;
+                return;
+            }
+            rowWidth = estimateRowWidth(resultSet.getMetaData());
+            fetchSize = resultSet.getFetchSize();
+            applyFetchSize(calculateFetchSize(rowWidth, DEFAULT_BYTE_BUDGET, remainingRows()));
+        } catch (Throwable e) {
+            log.debug("Adaptive fetch size is not supported: " + e.getMessage());
+            disabled = true;
+        }
+    }
+
+    private void adjustBudget(long roundTripTime, long windowTime) {
+        if (roundTripTime >= MIN_SLOW_ROUND_TRIP_NANOS && roundTripTime * 2 > windowTime) {
+            // Waiting for the network takes more than half of the time
+            budgetFactor = Math.min(budgetFactor * 2, MAX_BUDGET_FACTOR);
+        } else if (roundTripTime < MIN_SLOW_ROUND_TRIP_NANOS / 2) {
+            budgetFactor = 1;
+        }
+    }
+
+    private long remainingRows() {
+        return maxRows > 0 ? maxRows - rowsFetched : -1;
+    }
+
+    private void applyFetchSize(int newFetchSize) {
+        if (fetchSize > 0 && Math.abs(newFetchSize - fetchSize) < fetchSize * MIN_CHANGE_RATIO) {
+            return;
+        }
+        try {
+            resultSet.setFetchSize(newFetchSize);
+            fetchSize = newFetchSize;
+        } catch (Throwable e) {
+            log.debug("Error changing result set fetch size: " + e.getMessage());
+            disabled = true;
+        }
+    }
+
+    /**
+     * Returns fetch size for specified row width and byte budget.
+     *
+     * @param remainingRows number of rows left to read or -1 if unknown
+     */
+    public static int calculateFetchSize(int rowWidth, long byteBudget, long remainingRows) {
+        long fetchSize = byteBudget / Math.max(rowWidth, 1);
+        if (remainingRows > 0) {
+            fetchSize = Math.min(fetchSize, remainingRows);
+        }
+        return (int) Math.max(MIN_FETCH_SIZE, Math.min(fetchSize, MAX_FETCH_SIZE));
+    }
+
+    public static int estimateRowWidth(@NotNull ResultSetMetaData metaData) throws SQLException {
+        int width = 0;
+        int columnCount = metaData.getColumnCount();
+        for (int i = 1; i <= columnCount; i++) {
+            int size;
+            try {
+                size = metaData.getPrecision(i);
+            } catch (Exception e) {
+                // Some drivers fail for non-numeric columns
+                size = 0;
+            }
+            width += estimateColumnWidth(metaData.getColumnType(i), size);
+        }
+        return Math.max(width, 1);
+    }
+
+    /**
+     * Estimates average transferred size of a column value.
+     *
+     * @param size column precision or length. Zero or negative if unknown
+     */
+    public static int estimateColumnWidth(int typeId, int size) {
+        int width = switch (typeId) {
+            case Types.BIT, Types.BOOLEAN, Types.TINYINT -> 1;
+            case Types.SMALLINT -> 2;
+            case Types.INTEGER, Types.REAL -> 4;
+            case Types.BIGINT, Types.DOUBLE, Types.FLOAT, Types.DATE, Types.TIME -> 8;
+            case Types.TIMESTAMP, Types.TIME_WITH_TIMEZONE, Types.TIMESTAMP_WITH_TIMEZONE -> 12;
+            case Types.NUMERIC, Types.DECIMAL -> size > 0 && size < 40 ? size / 2 + 2 : 22;
+            case Types.CHAR, Types.NCHAR, Types.BINARY -> size > 0 ? Math.min(size, MAX_VALUE_WIDTH) : VARIABLE_VALUE_WIDTH;
+            // Variable length values are usually shorter than declared
+            case Types.VARCHAR, Types.NVARCHAR, Types.VARBINARY ->
+                size > 0 ? Math.min(Math.max(size / 2, 1), MAX_VALUE_WIDTH) : VARIABLE_VALUE_WIDTH;
+            case Types.LONGVARCHAR, Types.LONGNVARCHAR, Types.LONGVARBINARY, Types.CLOB, Types.NCLOB, Types.BLOB, Types.SQLXML ->
+                MAX_VALUE_WIDTH;
+            default -> VARIABLE_VALUE_WIDTH;
+        };
+        return width + COLUMN_OVERHEAD;
+    }
+
+}
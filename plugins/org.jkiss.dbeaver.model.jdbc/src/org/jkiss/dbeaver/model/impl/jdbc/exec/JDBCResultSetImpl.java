@@ -49,6 +49,8 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
     private JDBCResultSetMetaData metaData;
     private long rowsFetched;
     private long maxRows = -1;
+    @Nullable
+    private JDBCFetchSizeController fetchSizeController;
     private final boolean fake;
     private final boolean disableLogging;
 
@@ -264,6 +266,13 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
         this.maxRows = maxRows;
     }
 
+    /**
+     * Sets adaptive fetch size controller. It must be set before the first row fetch.
+     */
+    public void setFetchSizeController(@Nullable JDBCFetchSizeController fetchSizeController) {
+        this.fetchSizeController = fetchSizeController;
+    }
+
     @Override
     public boolean next()
         throws SQLException
@@ -279,9 +288,13 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
         this.beforeFetch();
         try {
             // Fetch next row
+            long fetchStartTime = fetchSizeController == null ? 0 : fetchSizeController.beforeFetch();
             boolean fetched = original.next();
             if (fetched) {
                 rowsFetched++;
+                if (fetchSizeController != null) {
+                    fetchSizeController.afterFetch(fetchStartTime);
+                }
             }
             if (fetched && JDBCTrace.isApiTraceEnabled()) {
                 JDBCTrace.dumpResultSetRow(this.original);
@@ -53,6 +53,7 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
 
     private long rsOffset = -1;
     private long rsMaxRows = -1;
+    private boolean adaptiveFetchSize;
 
     private long updateCount;
     private Throwable executeError;
@@ -256,6 +257,9 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         if (rsMaxRows > 0 && connection.getDataSource().getInfo().supportsResultSetLimit()) {
             dbResult.setMaxRows(rsMaxRows);
         }
+        if (adaptiveFetchSize && dbResult instanceof JDBCResultSetImpl resultSetImpl) {
+            resultSetImpl.setFetchSizeController(new JDBCFetchSizeController(resultSet, rsMaxRows));
+        }
         return dbResult;
     }
 
@@ -645,6 +649,11 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         }
     }
 
+    @Override
+    public void setAdaptiveFetchSize(boolean adaptiveFetchSize) {
+        this.adaptiveFetchSize = adaptiveFetchSize;
+    }
+
     @Override
     public void setResultsFetchSize(int fetchSize) throws DBCException {
         try {
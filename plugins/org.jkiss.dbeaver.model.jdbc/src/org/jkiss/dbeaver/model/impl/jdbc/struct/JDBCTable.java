@@ -61,8 +61,15 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
     private static final Log log = Log.getLog(JDBCTable.class);
 
     private static final String DEFAULT_TABLE_ALIAS = "x";
+    // Max number of cached dictionary labels per table
+    private static final int DICTIONARY_LABEL_CACHE_SIZE = 10000;
+    // Cached dictionary labels are re-read after this time (ms), so changes made by others become visible
+    private static final long DICTIONARY_LABEL_CACHE_TTL = 60 * 1000;
+    // Max number of keys in one IN (...) condition. Oracle doesn't support more than 1000 list items.
+    private static final int DICTIONARY_KEYS_BATCH_SIZE = 500;
 
     private boolean persisted;
+    private transient DictionaryLabelCache dictionaryLabelCache;
 
     protected JDBCTable(CONTAINER container, boolean persisted)
     {
@@ -147,12 +154,8 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         // Always use alias if we have data filter or ROWID.
         // Some criteria doesn't work without alias
         // (e.g. structured attributes in Oracle or composite types in PostgreSQL requires table alias)
-        String tableAlias = null;
         String tableFullName = getTableName();
-        if (needAliasInSelect(dataFilter, rowIdAttribute, dataSource)) {
-            SQLDialect sqlDialect = SQLUtils.getDialectFromObject(this);
-            tableAlias = SQLUtils.generateEntityAlias(this, s -> sqlDialect.getKeywordType(s) != null);
-        }
+        String tableAlias = makeSelectAlias(dataFilter, rowIdAttribute, dataSource);
 
         if (rowIdAttribute != null && tableAlias == null) {
             log.warn("Can't query ROWID - table alias not supported");
@@ -163,12 +166,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         query.append("SELECT ");
         appendSelectSource(monitor, query, tableAlias, rowIdAttribute);
         query.append(" FROM ").append(tableFullName);
-        if (tableAlias != null) {
-            if (dataSource.getSQLDialect().supportsAsKeywordBeforeAliasInFromClause()) {
-                query.append(" AS");
-            }
-            query.append(" ").append(tableAlias); //$NON-NLS-1$
-        }
+        appendSelectAlias(query, tableAlias, dataSource);
         appendExtraSelectParameters(query);
         try {
             SQLUtils.appendQueryConditions(dataSource, query, tableAlias, dataFilter);
@@ -285,6 +283,28 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         return (dataFilter != null || rowIdAttribute != null) && dataSource.getSQLDialect().supportsAliasInSelect();
     }
 
+    @Nullable
+    private String makeSelectAlias(
+        @Nullable DBDDataFilter dataFilter,
+        @Nullable DBDPseudoAttribute rowIdAttribute,
+        @NotNull DBPDataSource dataSource
+    ) {
+        if (!needAliasInSelect(dataFilter, rowIdAttribute, dataSource)) {
+            return null;
+        }
+        SQLDialect sqlDialect = SQLUtils.getDialectFromObject(this);
+        return SQLUtils.generateEntityAlias(this, s -> sqlDialect.getKeywordType(s) != null);
+    }
+
+    private static void appendSelectAlias(@NotNull StringBuilder query, @Nullable String tableAlias, @NotNull DBPDataSource dataSource) {
+        if (tableAlias != null) {
+            if (dataSource.getSQLDialect().supportsAsKeywordBeforeAliasInFromClause()) {
+                query.append(" AS");
+            }
+            query.append(" ").append(tableAlias); //$NON-NLS-1$
+        }
+    }
+
     protected void appendExtraSelectParameters(@NotNull StringBuilder query) {
 
     }
@@ -342,6 +362,27 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         }
     }
 
+    /**
+     * Makes query which reads table rows matching the data filter.
+     * Table alias is the same as in {@link #readData}, so filter conditions which refer to it remain valid.
+     * Used to get query planner estimates of filtered row count.
+     */
+    @NotNull
+    protected String makeFilteredSelectQuery(@NotNull DBCSession session, @Nullable DBDDataFilter dataFilter) throws DBCException {
+        DBPDataSource dataSource = session.getDataSource();
+        String tableAlias = makeSelectAlias(dataFilter, null, dataSource);
+        StringBuilder query = new StringBuilder();
+        query.append("SELECT * FROM ").append(getTableName()); //$NON-NLS-1$
+        appendSelectAlias(query, tableAlias, dataSource);
+        appendExtraSelectParameters(query);
+        try {
+            SQLUtils.appendQueryConditions(dataSource, query, tableAlias, dataFilter);
+        } catch (DBException e) {
+            throw new DBCException("Can't generate query conditions", e, session.getExecutionContext());
+        }
+        return query.toString();
+    }
+
     ////////////////////////////////////////////////////////////////////
     // Insert
 
@@ -355,6 +396,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
     public ExecuteBatch insertData(@NotNull DBCSession session, @NotNull final DBSAttributeBase[] attributes, @Nullable DBDDataReceiver keysReceiver, @NotNull final DBCExecutionSource source, @NotNull Map<String, Object> options)
         throws DBCException
     {
+        resetDictionaryLabelCache();
         readRequiredMeta(session.getProgressMonitor());
 
         boolean multiRowInsertSupported = getDataSource().getSQLDialect().getDefaultMultiValueInsertMode() == SQLDialect.MultiValueInsertMode.GROUP_ROWS;
@@ -385,6 +427,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                 source,
                 Collections.emptyMap());
         }
+        resetDictionaryLabelCache();
         readRequiredMeta(session.getProgressMonitor());
 
         DBSAttributeBase[] attributes = ArrayUtils.concatArrays(updateAttributes, keyAttributes);
@@ -467,6 +510,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
     public ExecuteBatch deleteData(@NotNull DBCSession session, @NotNull final DBSAttributeBase[] keyAttributes, @NotNull final DBCExecutionSource source)
         throws DBCException
     {
+        resetDictionaryLabelCache();
         readRequiredMeta(session.getProgressMonitor());
 
         return new ExecuteBatchImpl(keyAttributes, null, false) {
@@ -589,7 +633,54 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         if (omitNonDescriptive && (descColumns == null || descColumns.equals(DBUtils.getQuotedIdentifier(keyColumns.get(0))))) {
             return Collections.emptyList();
         }
+        if (keyColumns.size() > 1 || !CommonUtils.isEmpty(preceedingKeys)) {
+            return readDictionaryValues(monitor, keyColumns, keyValues, preceedingKeys, descColumns, sortByValue, sortAsc);
+        }
 
+        // Labels of single column keys are cached
+        DBSEntityAttribute keyColumn = keyColumns.get(0);
+        DictionaryLabelCache labelCache = getDictionaryLabelCache();
+        List<DBDLabelValuePair> result = new ArrayList<>(keyValues.size());
+        List<Object[]> keysToRead = new ArrayList<>(keyValues.size());
+        for (Object[] keyValue : keyValues) {
+            DBDLabelValuePair cachedEntry = keyValue.length == 1 ? labelCache.get(keyColumn, descColumns, keyValue[0]) : null;
+            if (cachedEntry != null) {
+                result.add(cachedEntry);
+            } else {
+                keysToRead.add(keyValue);
+            }
+        }
+        if (keysToRead.isEmpty()) {
+            return sortDictionaryValues(result, sortByValue, sortAsc);
+        }
+        List<DBDLabelValuePair> entries = readDictionaryValues(monitor, keyColumns, keysToRead, null, descColumns, sortByValue, sortAsc);
+        labelCache.putAll(keyColumn, descColumns, entries);
+        if (result.isEmpty()) {
+            return entries;
+        }
+        result.addAll(entries);
+        return sortDictionaryValues(result, sortByValue, sortAsc);
+    }
+
+    @NotNull
+    private static List<DBDLabelValuePair> sortDictionaryValues(@NotNull List<DBDLabelValuePair> values, boolean sortByValue, boolean sortAsc) {
+        Comparator<DBDLabelValuePair> comparator = sortByValue ?
+            (v1, v2) -> DBUtils.compareDataValues(v1.getValue(), v2.getValue()) :
+            Comparator.comparing(DBDLabelValuePair::getLabel, Comparator.nullsLast(Comparator.naturalOrder()));
+        values.sort(sortAsc ? comparator : comparator.reversed());
+        return values;
+    }
+
+    @NotNull
+    private List<DBDLabelValuePair> readDictionaryValues(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull List<DBSEntityAttribute> keyColumns,
+        @NotNull List<Object[]> keyValues,
+        @Nullable List<DBDAttributeValue[]> preceedingKeys,
+        @Nullable String descColumns,
+        boolean sortByValue,
+        boolean sortAsc) throws DBException
+    {
         List<DBDValueHandler> keyValueHandler = keyColumns.stream()
             .map(c -> DBUtils.findValueHandler(c.getDataSource(), c)).toList();
 
@@ -925,12 +1016,28 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         return new DictionaryAccessor(monitor, preceedingKeys, keyColumn, sortAsc, sortByDesc);
     }
 
+    /**
+     * Clears cached dictionary labels. Must be called when table data changes.
+     */
+    public synchronized void resetDictionaryLabelCache() {
+        dictionaryLabelCache = null;
+    }
+
+    @NotNull
+    private synchronized DictionaryLabelCache getDictionaryLabelCache() {
+        if (dictionaryLabelCache == null || dictionaryLabelCache.isExpired()) {
+            dictionaryLabelCache = new DictionaryLabelCache();
+        }
+        return dictionaryLabelCache;
+    }
+
     ////////////////////////////////////////////////////////////////////
     // Truncate
 
     @NotNull
     @Override
     public DBCStatistics truncateData(@NotNull DBCSession session, @NotNull DBCExecutionSource source) throws DBCException {
+        resetDictionaryLabelCache();
         if (!isTruncateSupported()) {
             try (ExecuteBatch batch = deleteData(session, new DBSAttributeBase[0], source)) {
                 batch.add(new Object[0]);
@@ -1029,6 +1136,51 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         return "DELETE FROM " + tableName;
     }
 
+    /**
+     * Dictionary labels of recently resolved keys (in least recently used order).
+     * Cache key is a list of key column name, description columns and key value.
+     * Whole cache expires after {@link #DICTIONARY_LABEL_CACHE_TTL}.
+     */
+    private static class DictionaryLabelCache {
+        private final long expireTime = System.currentTimeMillis() + DICTIONARY_LABEL_CACHE_TTL;
+        private final Map<List<Object>, DBDLabelValuePair> labels = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, DBDLabelValuePair> eldest) {
+                return size() > DICTIONARY_LABEL_CACHE_SIZE;
+            }
+        };
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expireTime;
+        }
+
+        @Nullable
+        synchronized DBDLabelValuePair get(@NotNull DBSEntityAttribute keyColumn, @Nullable String descColumns, @Nullable Object keyValue) {
+            List<Object> key = makeKey(keyColumn, descColumns, keyValue);
+            DBDLabelValuePair entry = key == null ? null : labels.get(key);
+            // Copy because value may be changed by caller
+            return entry == null ? null : new DBDLabelValuePair(entry.getLabel(), entry.getValue());
+        }
+
+        synchronized void putAll(@NotNull DBSEntityAttribute keyColumn, @Nullable String descColumns, @NotNull List<DBDLabelValuePair> entries) {
+            for (DBDLabelValuePair entry : entries) {
+                List<Object> key = makeKey(keyColumn, descColumns, entry.getValue());
+                if (key != null) {
+                    labels.put(key, new DBDLabelValuePair(entry.getLabel(), entry.getValue()));
+                }
+            }
+        }
+
+        @Nullable
+        private static List<Object> makeKey(@NotNull DBSEntityAttribute keyColumn, @Nullable String descColumns, @Nullable Object keyValue) {
+            if (DBUtils.isNullValue(keyValue) || keyValue.getClass().isArray()) {
+                return null;
+            }
+            // Key values passed by caller and values read from the dictionary may have different numeric types
+            return List.of(keyColumn.getName(), CommonUtils.notEmpty(descColumns), DBUtils.normalizeNumericValue(keyValue));
+        }
+    }
+
     private static class AttrInfo<T> {
         public final T attr;
         public final DBDValueHandler handler;
@@ -1132,6 +1284,54 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                 return readValues(dbStat);
             }
         }
+
+        /**
+         * Reads entries with IN (...) queries. Entries of tables without preceding keys are cached,
+         * so repeated lookups of the same keys (e.g. when user scrolls results back and forth) don't query database.
+         */
+        @NotNull
+        @Override
+        public List<DBDLabelValuePair> getValueEntries(@NotNull Collection<Object> keyValues) throws DBException {
+            List<DBDLabelValuePair> result = new ArrayList<>(keyValues.size());
+            DictionaryLabelCache labelCache = preceedingKeysInfo.isEmpty() ? getDictionaryLabelCache() : null;
+            Set<Object> keysToRead = new LinkedHashSet<>();
+            for (Object keyValue : keyValues) {
+                if (DBUtils.isNullValue(keyValue)) {
+                    continue;
+                }
+                DBDLabelValuePair cachedEntry = labelCache == null ? null : labelCache.get(keyColumn, descColumns, keyValue);
+                if (cachedEntry != null) {
+                    result.add(cachedEntry);
+                } else {
+                    keysToRead.add(keyValue);
+                }
+            }
+            List<Object> keyList = new ArrayList<>(keysToRead);
+            for (int i = 0; i < keyList.size() && !session.getProgressMonitor().isCanceled(); i += DICTIONARY_KEYS_BATCH_SIZE) {
+                List<Object> batch = keyList.subList(i, Math.min(i + DICTIONARY_KEYS_BATCH_SIZE, keyList.size()));
+                StringBuilder query = prepareQueryString(filter);
+                query.append(filter.getConstraints().isEmpty() ? " WHERE " : " AND ");
+                query.append(DBUtils.getQuotedIdentifier(keyColumn, DBPAttributeReferencePurpose.DATA_SELECTION)).append(" IN (");
+                for (int k = 0; k < batch.size(); k++) {
+                    if (k > 0) query.append(",");
+                    query.append("?");
+                }
+                query.append(")");
+                List<DBDLabelValuePair> entries;
+                try (DBCStatement dbStat = DBUtils.makeStatement(null, session, DBCStatementType.QUERY, query.toString(), 0, batch.size())) {
+                    int paramPos = bindPrecedingKeys(dbStat);
+                    for (Object keyValue : batch) {
+                        keyValueHandler.bindValueObject(session, dbStat, keyColumn, paramPos++, keyValue);
+                    }
+                    entries = readValues(dbStat);
+                }
+                if (labelCache != null) {
+                    labelCache.putAll(keyColumn, descColumns, entries);
+                }
+                result.addAll(entries);
+            }
+            return result;
+        }
         
         @NotNull
         @Override
@@ -0,0 +1,87 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.transformers;
+
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectBody;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.sql.*;
+import org.jkiss.dbeaver.model.sql.parser.SQLSemanticProcessor;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.List;
+
+/**
+ * SQLQueryTransformerAggregate.
+ * Transforms SQL query into SELECT <aggregate expressions> FROM (<query>) query.
+ * Expressions must refer to the source query columns by their names.
+*/
+public class SQLQueryTransformerAggregate implements SQLQueryTransformer {
+
+    private static final Log log = Log.getLog(SQLQueryTransformerAggregate.class);
+
+    private static final String AGGREGATE_WRAP_POSTFIX = "\n) dbvragg";
+
+    private final List<String> expressions;
+
+    public SQLQueryTransformerAggregate(@NotNull List<String> expressions) {
+        this.expressions = expressions;
+    }
+
+    @Override
+    public SQLQuery transformQuery(DBPDataSource dataSource, SQLSyntaxManager syntaxManager, SQLQuery query) throws DBException {
+        if (expressions.isEmpty()) {
+            throw new DBException("No aggregate expressions");
+        }
+        if (!dataSource.getSQLDialect().supportsSubqueries()) {
+            throw new DBException("Aggregate query requires subqueries support");
+        }
+        String queryText = null;
+        try {
+            // Orderings don't affect aggregates
+            Statement statement = SQLSemanticProcessor.parseQuery(query.getText());
+            if (statement instanceof Select) {
+                SelectBody selectBody = ((Select) statement).getSelectBody();
+                if (selectBody instanceof PlainSelect plainSelect && !CommonUtils.isEmpty(plainSelect.getOrderByElements())) {
+                    plainSelect.setOrderByElements(null);
+                    queryText = statement.toString();
+                }
+            }
+        } catch (Throwable e) {
+            log.debug("Error parsing query for aggregate transformation: " + e.getMessage());
+        }
+        if (queryText == null) {
+            queryText = query.getText();
+        }
+        String srcQuery = SQLUtils.trimQueryStatement(syntaxManager, queryText, true);
+
+        StringBuilder aggregateQuery = new StringBuilder("SELECT ");
+        for (int i = 0; i < expressions.size(); i++) {
+            if (i > 0) {
+                aggregateQuery.append(", ");
+            }
+            aggregateQuery.append(expressions.get(i));
+        }
+        aggregateQuery.append(" FROM (\n").append(srcQuery).append(AGGREGATE_WRAP_POSTFIX);
+        return new SQLQuery(dataSource, aggregateQuery.toString(), query, false);
+    }
+}
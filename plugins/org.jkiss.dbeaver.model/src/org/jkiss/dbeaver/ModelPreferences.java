@@ -196,6 +196,8 @@ public final class ModelPreferences
     public static final String CONTENT_CACHE_CLOB = "content.cache.clob"; //$NON-NLS-1$
     public static final String CONTENT_CACHE_BLOB = "content.cache.blob"; //$NON-NLS-1$
     public static final String CONTENT_CACHE_MAX_SIZE = "content.cache.maxsize"; //$NON-NLS-1$
+    public static final String CONTENT_PREVIEW_MAX_SIZE = "content.preview.maxsize"; //$NON-NLS-1$
+    public static final String CONTENT_PREVIEW_BLOB = "content.preview.blob"; //$NON-NLS-1$
     public static final String META_SEPARATE_CONNECTION = "database.meta.separate.connection"; //$NON-NLS-1$
     public static final String META_DISABLE_EXTRA_READ = "database.meta.disableAdditionalRead"; //$NON-NLS-1$
     public static final String META_CASE_SENSITIVE = "database.meta.casesensitive"; //$NON-NLS-1$
@@ -221,6 +223,7 @@ public final class ModelPreferences
 
     // ResultSet
     public static final String RESULT_SET_USE_FETCH_SIZE = "resultset.fetch.size"; //$NON-NLS-1$
+    public static final String RESULT_SET_ADAPTIVE_FETCH_SIZE = "resultset.fetch.size.adaptive"; //$NON-NLS-1$
     public static final String RESULT_SET_MAX_ROWS_USE_SQL = "resultset.maxrows.sql"; //$NON-NLS-1$
     public static final String RESULT_SET_BINARY_PRESENTATION = "resultset.binary.representation"; //$NON-NLS-1$
     public static final String RESULT_SET_BINARY_STRING_MAX_LEN = "resultset.binary.stringMaxLength"; //$NON-NLS-1$
@@ -229,6 +232,9 @@ public final class ModelPreferences
 
     public static final String RESULT_SET_REREAD_ON_SCROLLING = "resultset.reread.on.scroll"; //$NON-NLS-1$
     public static final String RESULT_SET_MAX_ROWS = "resultset.maxrows"; //$NON-NLS-1$
+    public static final String RESULT_SET_CACHE_ENABLED = "resultset.cache.enabled"; //$NON-NLS-1$
+    public static final String RESULT_SET_CACHE_TTL = "resultset.cache.ttl"; //$NON-NLS-1$
+    public static final String RESULT_SET_CACHE_MEMORY_LIMIT = "resultset.cache.memoryLimit"; //$NON-NLS-1$
 
 
     public static final String SQL_PARAMETERS_ENABLED = "sql.parameter.enabled"; //$NON-NLS-1$
@@ -343,11 +349,16 @@ public final class ModelPreferences
 
         PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_REREAD_ON_SCROLLING, true);
         PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_MAX_ROWS, 200);
+        PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_CACHE_ENABLED, false);
+        PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_CACHE_TTL, 300);
+        PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_CACHE_MEMORY_LIMIT, 64);
 
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_HEX_ENCODING, GeneralUtils.getDefaultFileEncoding());
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_CACHE_CLOB, true);
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_CACHE_BLOB, false);
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_CACHE_MAX_SIZE, 1000000);
+        PrefUtils.setDefaultPreferenceValue(store, CONTENT_PREVIEW_MAX_SIZE, 1000);
+        PrefUtils.setDefaultPreferenceValue(store, CONTENT_PREVIEW_BLOB, false);
 
         // Network
         PrefUtils.setDefaultPreferenceValue(store, NET_TUNNEL_PORT_MIN, 10000);
@@ -358,6 +369,7 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_BINARY_PRESENTATION, DBConstants.BINARY_FORMATS[0].getId());
         PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_BINARY_STRING_MAX_LEN, 32);
         PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_USE_FETCH_SIZE, false);
+        PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_ADAPTIVE_FETCH_SIZE, false);
         PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_IGNORE_COLUMN_LABEL, false);
 
         // QM
@@ -61,6 +61,8 @@ import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.Pair;
 
 import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.*;
 
 /**
@@ -2134,6 +2136,41 @@ public final class DBUtils {
         }
     }
 
+    /**
+     * Converts number to the canonical form, so numerically equal values of different types
+     * (e.g. Integer 1, Long 1 and BigDecimal 1.00) become equal in terms of equals/hashCode.
+     * Integral values which fit into long are converted to Long, other numbers to BigDecimal without trailing zeros.
+     * Non-numeric values, NaN and infinite values are returned as is.
+     */
+    public static Object normalizeNumericValue(Object value) {
+        BigDecimal decimal;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        } else if (value instanceof BigInteger bigInteger) {
+            decimal = new BigDecimal(bigInteger);
+        } else if (value instanceof BigDecimal bigDecimal) {
+            decimal = bigDecimal;
+        } else if (value instanceof Double || value instanceof Float) {
+            double doubleValue = ((Number) value).doubleValue();
+            if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                return value;
+            }
+            // Float is converted via string to avoid binary representation artifacts
+            decimal = value instanceof Float ? new BigDecimal(value.toString()) : BigDecimal.valueOf(doubleValue);
+        } else {
+            return value;
+        }
+        decimal = decimal.signum() == 0 ? BigDecimal.ZERO : decimal.stripTrailingZeros();
+        if (decimal.scale() <= 0 && decimal.precision() - decimal.scale() <= 19) {
+            try {
+                return decimal.longValueExact();
+            } catch (ArithmeticException e) {
+                // Out of long range
+            }
+        }
+        return decimal;
+    }
+
     /**
      * Compares two values read from database.
      * Main difference with regular compare is that all numbers are compared as doubles (i.e. data type doesn't matter).
@@ -2497,6 +2534,28 @@ public final class DBUtils {
         return result[0];
     }
 
+    /**
+     * Estimates row count using database statistics (see {@link DBSDataCountEstimator}).
+     *
+     * @return estimated row count or negative value if estimation is not supported by data container
+     */
+    public static long estimateRowCount(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCExecutionContext executionContext,
+        @NotNull DBSDataContainer dataContainer,
+        @Nullable DBDDataFilter dataFilter
+    ) throws DBCException {
+        if (!(dataContainer instanceof DBSDataCountEstimator estimator)) {
+            return -1;
+        }
+        try (DBCSession session = executionContext.openSession(
+            monitor,
+            DBCExecutionPurpose.UTIL,
+            "Estimate total row count")) {
+            return estimator.estimateDataCount(session, dataFilter);
+        }
+    }
+
     public static long countDataFromQuery(
         @NotNull DBCExecutionSource source,
         @NotNull DBCSession session,
@@ -52,6 +52,13 @@ public interface DBDDataFormatterProfile {
 
     boolean isOverridesParent();
 
+    /**
+     * Returns counter of settings modifications. Settings may be inherited from other profiles,
+     * so the counter changes on modification of any profile.
+     * Can be used to invalidate values formatted with previous settings.
+     */
+    int getModificationCount();
+
     void reset(@NotNull DBPPreferenceStore store);
 
     void saveProfile(@NotNull DBPPreferenceStore store) throws IOException;
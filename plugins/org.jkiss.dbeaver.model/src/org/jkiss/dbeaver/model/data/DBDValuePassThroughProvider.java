@@ -0,0 +1,43 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+
+/**
+ * Provides value handlers which copy values from a source result set to the target statement without conversion.
+ * Implemented by target sessions which support such copy.
+ */
+public interface DBDValuePassThroughProvider {
+
+    /**
+     * Returns handler which reads value from the source result set and binds it to the target statement as is.
+     *
+     * @return null if values of this column pair must be converted by the regular value handlers
+     */
+    @Nullable
+    DBDValueHandler getPassThroughHandler(
+        @NotNull DBCResultSet sourceResultSet,
+        @NotNull DBSTypedObject sourceType,
+        @Nullable DBDValueHandler sourceHandler,
+        @NotNull DBSTypedObject targetType,
+        @Nullable DBDValueHandler targetHandler);
+
+}
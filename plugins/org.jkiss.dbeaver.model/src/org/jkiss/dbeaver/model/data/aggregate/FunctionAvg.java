@@ -16,10 +16,12 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
+
 /**
  * FunctionAvg
  */
-public class FunctionAvg extends FunctionNumeric {
+public class FunctionAvg extends FunctionNumeric implements IAggregateFunctionMergeable {
 
     protected double result = Double.NaN;
 
@@ -46,4 +48,12 @@ public class FunctionAvg extends FunctionNumeric {
         }
         return result / valueCount;
     }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction other) {
+        double otherResult = ((FunctionAvg) other).result;
+        if (!Double.isNaN(otherResult)) {
+            result = Double.isNaN(result) ? otherResult : result + otherResult;
+        }
+    }
 }
@@ -16,10 +16,12 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
+
 /**
  * FunctionCount
  */
-public class FunctionCount implements IAggregateFunction {
+public class FunctionCount implements IAggregateFunctionMergeable {
 
     private int count = 0;
 
@@ -33,4 +35,9 @@ public class FunctionCount implements IAggregateFunction {
     public Object getResult(int valueCount) {
         return count;
     }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction other) {
+        count += ((FunctionCount) other).count;
+    }
 }
@@ -16,13 +16,15 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
+
 import java.util.HashSet;
 import java.util.Set;
 
 /**
  * FunctionCountDistinct
  */
-public class FunctionCountDistinct implements IAggregateFunction {
+public class FunctionCountDistinct implements IAggregateFunctionMergeable {
 
     private int count = 0;
     private Set<Object> cache = new HashSet<>();
@@ -41,4 +43,10 @@ public class FunctionCountDistinct implements IAggregateFunction {
     public Object getResult(int valueCount) {
         return count;
     }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction other) {
+        cache.addAll(((FunctionCountDistinct) other).cache);
+        count = cache.size();
+    }
 }
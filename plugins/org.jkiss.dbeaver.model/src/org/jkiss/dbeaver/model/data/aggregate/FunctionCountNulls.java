@@ -16,9 +16,10 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.DBUtils;
 
-public class FunctionCountNulls implements IAggregateFunction {
+public class FunctionCountNulls implements IAggregateFunctionMergeable {
     private long count = 0;
 
     @Override
@@ -33,4 +34,9 @@ public class FunctionCountNulls implements IAggregateFunction {
     public Object getResult(int valueCount) {
         return count;
     }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction other) {
+        count += ((FunctionCountNulls) other).count;
+    }
 }
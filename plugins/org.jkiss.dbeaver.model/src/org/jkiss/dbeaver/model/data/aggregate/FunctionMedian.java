@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
 
 import java.util.ArrayList;
@@ -24,7 +25,7 @@ import java.util.List;
 /**
  * Median
  */
-public class FunctionMedian implements IAggregateFunction {
+public class FunctionMedian implements IAggregateFunctionMergeable {
 
     private static final Log log = Log.getLog(FunctionMedian.class);
 
@@ -40,6 +41,11 @@ public class FunctionMedian implements IAggregateFunction {
         return false;
     }
 
+    @Override
+    public void merge(@NotNull IAggregateFunction other) {
+        cache.addAll(((FunctionMedian) other).cache);
+    }
+
     @Override
     public Object getResult(int valueCount) {
         try {
@@ -16,10 +16,12 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
+
 /**
  * FunctionSum
  */
-public class FunctionMin implements IAggregateFunction {
+public class FunctionMin implements IAggregateFunctionMergeable {
 
     Comparable<?> result = null;
 
@@ -39,4 +41,12 @@ public class FunctionMin implements IAggregateFunction {
     public Object getResult(int valueCount) {
         return result;
     }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction other) {
+        Comparable<?> otherResult = ((FunctionMin) other).result;
+        if (otherResult != null && (result == null || AggregateUtils.compareValues(otherResult, result) < 0)) {
+            result = otherResult;
+        }
+    }
 }
@@ -16,15 +16,18 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
-import java.util.ArrayList;
-import java.util.List;
+import org.jkiss.code.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Mode
  */
-public class FunctionMode implements IAggregateFunction {
+public class FunctionMode implements IAggregateFunctionMergeable {
 
-    private final List<Object> cache = new ArrayList<>();
+    // Value counts in order of first occurrence
+    private final Map<Object, Integer> counts = new LinkedHashMap<>();
 
     @Override
     public boolean accumulate(Object value, boolean aggregateAsStrings) {
@@ -33,32 +36,30 @@ public class FunctionMode implements IAggregateFunction {
             value = num;
         }
         if (value != null) {
-            cache.add(value);
+            counts.merge(value, 1, Integer::sum);
             return true;
         }
         return false;
     }
 
+    @Override
+    public void merge(@NotNull IAggregateFunction other) {
+        for (Map.Entry<Object, Integer> entry : ((FunctionMode) other).counts.entrySet()) {
+            counts.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        }
+    }
+
     @Override
     public Object getResult(int valueCount) {
         Object maxValue = null;
         int maxCount = 0;
-
-        for (int i = 0; i < cache.size(); ++i) {
-            int count = 0;
-            for (int j = 0; j < cache.size(); ++j) {
-                if (cache.get(j).equals(cache.get(i))) {
-                    count++;
-                }
-            }
-            if (count > maxCount) {
-                maxCount = count;
-                maxValue = cache.get(i);
+        // The first of the most frequent values
+        for (Map.Entry<Object, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > maxCount) {
+                maxCount = entry.getValue();
+                maxValue = entry.getKey();
             }
         }
-//        if (maxCount <= 1) {
-//            return null;
-//        }
         return maxValue;
     }
 }
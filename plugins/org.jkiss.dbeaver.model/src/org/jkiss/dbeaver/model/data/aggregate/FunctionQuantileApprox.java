@@ -0,0 +1,63 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Approximate quantile of numeric values (t-digest)
+ */
+public abstract class FunctionQuantileApprox extends FunctionNumeric implements IAggregateFunctionMergeable {
+
+    private final double quantile;
+    private final TDigest digest = new TDigest();
+
+    protected FunctionQuantileApprox(double quantile) {
+        this.quantile = quantile;
+    }
+
+    @Override
+    public boolean accumulate(Object value, boolean aggregateAsStrings) {
+        Number num = getNumeric(value);
+        if (num != null) {
+            double doubleValue = num.doubleValue();
+            if (!Double.isNaN(doubleValue)) {
+                digest.add(doubleValue);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction other) {
+        digest.add(((FunctionQuantileApprox) other).digest);
+    }
+
+    @Override
+    public Object getResult(int valueCount) {
+        if (digest.isEmpty()) {
+            return null;
+        }
+        return digest.quantile(quantile);
+    }
+
+    @Override
+    public boolean isExactResult() {
+        return false;
+    }
+}
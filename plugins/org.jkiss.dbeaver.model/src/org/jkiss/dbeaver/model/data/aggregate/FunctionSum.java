@@ -16,10 +16,12 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
+
 /**
  * FunctionSum
  */
-public class FunctionSum extends FunctionNumeric {
+public class FunctionSum extends FunctionNumeric implements IAggregateFunctionMergeable {
 
     protected double result = Double.NaN;
 
@@ -44,4 +46,12 @@ public class FunctionSum extends FunctionNumeric {
         return result;
     }
 
+    @Override
+    public void merge(@NotNull IAggregateFunction other) {
+        double otherResult = ((FunctionSum) other).result;
+        if (!Double.isNaN(otherResult)) {
+            result = Double.isNaN(result) ? otherResult : result + otherResult;
+        }
+    }
+
 }
@@ -0,0 +1,65 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Sample variance.
+ * Evaluated in a single pass (Welford's algorithm), partial results are combined with Chan's formula.
+ */
+public class FunctionVariance extends FunctionNumeric implements IAggregateFunctionMergeable {
+
+    private long count;
+    private double mean;
+    private double m2;
+
+    @Override
+    public boolean accumulate(Object value, boolean aggregateAsStrings) {
+        Number num = getNumeric(value);
+        if (num != null) {
+            double doubleValue = num.doubleValue();
+            count++;
+            double delta = doubleValue - mean;
+            mean += delta / count;
+            m2 += delta * (doubleValue - mean);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction other) {
+        FunctionVariance variance = (FunctionVariance) other;
+        if (variance.count == 0) {
+            return;
+        }
+        long totalCount = count + variance.count;
+        double delta = variance.mean - mean;
+        mean += delta * variance.count / totalCount;
+        m2 += variance.m2 + delta * delta * count * variance.count / totalCount;
+        count = totalCount;
+    }
+
+    @Override
+    public Object getResult(int valueCount) {
+        if (count < 2) {
+            return null;
+        }
+        return m2 / (count - 1);
+    }
+}
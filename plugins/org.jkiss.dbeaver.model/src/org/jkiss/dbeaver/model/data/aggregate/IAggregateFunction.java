@@ -25,4 +25,11 @@ public interface IAggregateFunction {
 
     Object getResult(int valueCount);
 
+    /**
+     * Returns false if function result is an estimation (e.g. evaluated by a probabilistic sketch)
+     */
+    default boolean isExactResult() {
+        return true;
+    }
+
 }
@@ -0,0 +1,143 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.code.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest.
+ * Keeps a bounded number of centroids; quantile error is lowest near the distribution tails.
+ */
+class TDigest {
+
+    private static final double COMPRESSION = 100;
+    private static final int BUFFER_SIZE = (int) (COMPRESSION * 10);
+
+    // Centroids and not yet merged points (weight 1)
+    private double[] means = new double[BUFFER_SIZE];
+    private double[] weights = new double[BUFFER_SIZE];
+    private int size;
+    private int mergedSize;
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    void add(double value) {
+        add(value, 1);
+    }
+
+    void add(@NotNull TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.size; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    boolean isEmpty() {
+        return totalWeight == 0;
+    }
+
+    double quantile(double q) {
+        compress();
+        if (size == 0) {
+            return Double.NaN;
+        }
+        if (size == 1) {
+            return means[0];
+        }
+        double target = q * totalWeight;
+        double cumulative = 0;
+        for (int i = 0; i < size; i++) {
+            double center = cumulative + weights[i] / 2;
+            if (target < center) {
+                // Interpolate between the previous centroid center (or min) and this one
+                double prevMean = i == 0 ? min : means[i - 1];
+                double prevCenter = i == 0 ? 0 : cumulative - weights[i - 1] / 2;
+                return interpolate(target, prevCenter, prevMean, center, means[i]);
+            }
+            cumulative += weights[i];
+        }
+        double lastCenter = totalWeight - weights[size - 1] / 2;
+        return interpolate(target, lastCenter, means[size - 1], totalWeight, max);
+    }
+
+    private void add(double mean, double weight) {
+        if (size == means.length) {
+            compress();
+            if (size == means.length) {
+                means = Arrays.copyOf(means, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+        }
+        means[size] = mean;
+        weights[size] = weight;
+        size++;
+        totalWeight += weight;
+        min = Math.min(min, mean);
+        max = Math.max(max, mean);
+    }
+
+    private void compress() {
+        if (size == mergedSize) {
+            return;
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (o1, o2) -> Double.compare(means[o1], means[o2]));
+
+        double[] newMeans = new double[means.length];
+        double[] newWeights = new double[weights.length];
+        int newSize = 0;
+        double cumulative = 0;
+        for (Integer index : order) {
+            double mean = means[index];
+            double weight = weights[index];
+            if (newSize > 0) {
+                double proposed = newWeights[newSize - 1] + weight;
+                double q = (cumulative + proposed / 2) / totalWeight;
+                if (proposed <= 4 * totalWeight * q * (1 - q) / COMPRESSION) {
+                    // Merge into the current centroid
+                    newMeans[newSize - 1] += (mean - newMeans[newSize - 1]) * weight / proposed;
+                    newWeights[newSize - 1] = proposed;
+                    continue;
+                }
+                cumulative += newWeights[newSize - 1];
+            }
+            newMeans[newSize] = mean;
+            newWeights[newSize] = weight;
+            newSize++;
+        }
+        means = newMeans;
+        weights = newWeights;
+        size = newSize;
+        mergedSize = newSize;
+    }
+
+    private static double interpolate(double x, double x0, double y0, double x1, double y1) {
+        if (x1 <= x0) {
+            return y1;
+        }
+        return y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+    }
+
+}
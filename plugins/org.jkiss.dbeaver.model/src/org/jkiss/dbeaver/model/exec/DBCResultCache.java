@@ -0,0 +1,297 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.data.DBDValue;
+import org.jkiss.dbeaver.model.impl.local.CachedResultSet;
+import org.jkiss.dbeaver.model.qm.QMUtils;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.runtime.qm.DefaultExecutionHandler;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Per-datasource cache of read-only query results.
+ * Entries expire after configured time to live. Least recently used entries are evicted
+ * when total (estimated) size of cached rows exceeds memory limit.
+ * Entries are invalidated when DML or DDL query which refers to the same table is executed in any
+ * context of the datasource. Transaction rollback invalidates all datasource entries.
+ */
+public class DBCResultCache {
+
+    private static final Log log = Log.getLog(DBCResultCache.class);
+
+    /**
+     * Statistics info property which contains cached result timestamp
+     */
+    public static final String STAT_CACHED_TIME = "resultCache.cachedTime"; //$NON-NLS-1$
+
+    private static final int ROW_OVERHEAD = 16;
+    private static final int VALUE_OVERHEAD = 16;
+    // Session and transaction control queries which do not change data
+    private static final Pattern CONTROL_QUERY_PATTERN = Pattern.compile(
+        "^(SET|USE|SHOW|EXPLAIN|DESC|DESCRIBE|COMMIT)\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Map<DBPDataSourceContainer, DBCResultCache> caches = new IdentityHashMap<>();
+    private static QMHandler qmHandler;
+
+    private final DBPDataSourceContainer container;
+    private final Map<DBCResultCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSize;
+    private long hitCount;
+    private long missCount;
+
+    private DBCResultCache(@NotNull DBPDataSourceContainer container) {
+        this.container = container;
+    }
+
+    /**
+     * Returns result cache of the datasource.
+     *
+     * @return cache or null if result caching is disabled for this datasource
+     */
+    @Nullable
+    public static DBCResultCache getInstance(@NotNull DBPDataSourceContainer container) {
+        if (!container.getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_CACHE_ENABLED)) {
+            synchronized (caches) {
+                DBCResultCache cache = caches.remove(container);
+                if (cache != null) {
+                    cache.invalidateAll();
+                }
+            }
+            return null;
+        }
+        synchronized (caches) {
+            if (qmHandler == null) {
+                qmHandler = new QMHandler();
+                QMUtils.registerHandler(qmHandler);
+            }
+            return caches.computeIfAbsent(container, DBCResultCache::new);
+        }
+    }
+
+    @Nullable
+    private static DBCResultCache findInstance(@NotNull DBPDataSourceContainer container) {
+        synchronized (caches) {
+            return caches.get(container);
+        }
+    }
+
+    /**
+     * Returns cached result or null if there is no valid cached result for this key
+     */
+    @Nullable
+    public synchronized Entry get(@NotNull DBCResultCacheKey key) {
+        Entry entry = entries.get(key);
+        if (entry != null && System.currentTimeMillis() - entry.timestamp > getTimeToLive()) {
+            removeEntry(key);
+            entry = null;
+        }
+        if (entry == null) {
+            missCount++;
+        } else {
+            hitCount++;
+            log.debug("Result cache hit (" + entry.getRowCount() + " rows) for '" + key + "' [" + hitCount + "/" + (hitCount + missCount) + "]");
+        }
+        return entry;
+    }
+
+    /**
+     * Saves query results in cache.
+     * Results with complex or content values (which hold resources and may be modified) are not cached.
+     * Results which do not fit into the memory limit are not cached as well.
+     *
+     * @return true if results were cached
+     */
+    public synchronized boolean put(
+        @NotNull DBCResultCacheKey key,
+        @NotNull List<? extends DBCAttributeMetaData> attributes,
+        @NotNull Collection<Object[]> rows
+    ) {
+        long memoryLimit = getMemoryLimit();
+        List<Object[]> cachedRows = new ArrayList<>(rows.size());
+        long size = 0;
+        for (Object[] row : rows) {
+            size += ROW_OVERHEAD + (long) row.length * VALUE_OVERHEAD;
+            for (Object value : row) {
+                if (value instanceof DBDValue) {
+                    return false;
+                }
+                size += estimateValueSize(value);
+            }
+            if (size > memoryLimit) {
+                return false;
+            }
+            cachedRows.add(row.clone());
+        }
+        removeEntry(key);
+        entries.put(key, new Entry(List.copyOf(attributes), cachedRows, size));
+        totalSize += size;
+        for (Iterator<Map.Entry<DBCResultCacheKey, Entry>> iter = entries.entrySet().iterator(); totalSize > memoryLimit && iter.hasNext(); ) {
+            // Evict least recently used
+            totalSize -= iter.next().getValue().size;
+            iter.remove();
+        }
+        return true;
+    }
+
+    /**
+     * Removes all entries which refer to the specified table
+     *
+     * @param tableName unquoted table name (without schema or catalog)
+     */
+    public synchronized void invalidate(@NotNull String tableName) {
+        for (Iterator<Map.Entry<DBCResultCacheKey, Entry>> iter = entries.entrySet().iterator(); iter.hasNext(); ) {
+            Map.Entry<DBCResultCacheKey, Entry> entry = iter.next();
+            if (entry.getKey().refersTo(tableName)) {
+                totalSize -= entry.getValue().size;
+                iter.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        totalSize = 0;
+    }
+
+    private void invalidateByQuery(@NotNull String queryText) {
+        String normalizedText = DBCResultCacheKey.normalizeQuery(queryText);
+        if (normalizedText.isEmpty() ||
+            DBCResultCacheKey.isReadOnlyQuery(normalizedText) ||
+            CONTROL_QUERY_PATTERN.matcher(normalizedText).find())
+        {
+            return;
+        }
+        String tableName = DBCResultCacheKey.getModifiedTableName(normalizedText);
+        if (tableName != null) {
+            invalidate(tableName);
+        } else {
+            // Procedure call or something unknown. It may modify anything
+            invalidateAll();
+        }
+    }
+
+    private void removeEntry(@NotNull DBCResultCacheKey key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            totalSize -= entry.size;
+        }
+    }
+
+    private long getTimeToLive() {
+        return container.getPreferenceStore().getLong(ModelPreferences.RESULT_SET_CACHE_TTL) * 1000L;
+    }
+
+    private long getMemoryLimit() {
+        return container.getPreferenceStore().getLong(ModelPreferences.RESULT_SET_CACHE_MEMORY_LIMIT) * 1024L * 1024L;
+    }
+
+    private static long estimateValueSize(@Nullable Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof CharSequence str) {
+            return 24 + str.length() * 2L;
+        } else if (value instanceof byte[] bytes) {
+            return 16 + bytes.length;
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof Date) {
+            return 24;
+        } else {
+            return 64;
+        }
+    }
+
+    /**
+     * Cached query results
+     */
+    public static class Entry {
+        private final List<? extends DBCAttributeMetaData> attributes;
+        private final List<Object[]> rows;
+        private final long size;
+        private final long timestamp;
+
+        private Entry(@NotNull List<? extends DBCAttributeMetaData> attributes, @NotNull List<Object[]> rows, long size) {
+            this.attributes = attributes;
+            this.rows = rows;
+            this.size = size;
+            this.timestamp = System.currentTimeMillis();
+        }
+
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        /**
+         * Time when results were cached
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Opens result set which returns cached rows.
+         * Source statement of the result set refers to the specified execution source.
+         */
+        @NotNull
+        public DBCResultSet openResultSet(@NotNull DBCSession session, @Nullable DBCExecutionSource source, @NotNull String queryText) {
+            return new CachedResultSet(session, source, queryText, attributes, rows);
+        }
+    }
+
+    private static class QMHandler extends DefaultExecutionHandler {
+        @NotNull
+        @Override
+        public String getHandlerName() {
+            return "Result cache";
+        }
+
+        @Override
+        public void handleStatementExecuteEnd(@NotNull DBCStatement statement, long rows, Throwable error) {
+            DBCResultCache cache = findInstance(statement.getSession().getDataSource().getContainer());
+            String queryText = statement.getQueryString();
+            if (cache != null && queryText != null) {
+                cache.invalidateByQuery(queryText);
+            }
+        }
+
+        @Override
+        public void handleTransactionRollback(@NotNull DBCExecutionContext context, @Nullable DBCSavepoint savepoint) {
+            DBCResultCache cache = findInstance(context.getDataSource().getContainer());
+            if (cache != null) {
+                // Cached results may contain rolled back changes
+                cache.invalidateAll();
+            }
+        }
+
+        @Override
+        public void handleContextClose(@NotNull DBCExecutionContext context) {
+            if (context == context.getOwnerInstance().getDefaultContext(new VoidProgressMonitor(), false)) {
+                // Default context is closed on disconnect or reconnect
+                synchronized (caches) {
+                    caches.remove(context.getDataSource().getContainer());
+                }
+            }
+        }
+    }
+
+}
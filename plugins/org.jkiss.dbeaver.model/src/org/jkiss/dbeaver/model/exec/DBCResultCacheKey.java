@@ -0,0 +1,287 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Result cache key.
+ * Identifies read-only query results by normalized query text, bound parameters, data filter,
+ * execution context defaults (catalog and schema) and fetched rows range.
+ * Results of queries which call volatile functions (current time, sequences, random values) are never cached.
+ */
+public final class DBCResultCacheKey {
+
+    private static final Pattern READ_ONLY_QUERY_PATTERN = Pattern.compile("^[(\\s]*(SELECT|WITH)\\b", Pattern.CASE_INSENSITIVE);
+    // Queries which lock or create something and data modifying statements in WITH clause
+    private static final Pattern MODIFYING_SELECT_PATTERN = Pattern.compile(
+        "\\b(INTO|FOR\\s+UPDATE|FOR\\s+SHARE|INSERT|UPDATE|DELETE|MERGE|UPSERT)\\b", Pattern.CASE_INSENSITIVE);
+    // Functions which return different results for each call or change something
+    private static final Pattern VOLATILE_FUNCTION_PATTERN = Pattern.compile(
+        "\\b(NOW|SYSDATE|SYSTIMESTAMP|GETDATE|GETUTCDATE|SYSDATETIME|SYSUTCDATETIME|SYSDATETIMEOFFSET|" +
+            "CURRENT_DATE|CURRENT_TIME|CURRENT_TIMESTAMP|LOCALTIME|LOCALTIMESTAMP|UTC_DATE|UTC_TIME|UTC_TIMESTAMP|UNIX_TIMESTAMP|" +
+            "CLOCK_TIMESTAMP|STATEMENT_TIMESTAMP|TRANSACTION_TIMESTAMP|TIMEOFDAY|" +
+            "NEXTVAL|CURRVAL|LASTVAL|SETVAL|NEXT\\s+VALUE\\s+FOR|LAST_INSERT_ID|IDENTITY|SCOPE_IDENTITY|" +
+            "RAND|RANDOM|RANDOMBLOB|DBMS_RANDOM|NEWID|NEWSEQUENTIALID|UUID|UUID_SHORT|GEN_RANDOM_UUID|UUID_GENERATE_V\\d|SYS_GUID|" +
+            "SLEEP|PG_SLEEP)\\b",
+        Pattern.CASE_INSENSITIVE);
+    private static final Pattern MODIFIED_TABLE_PATTERN = Pattern.compile(
+        "^\\s*(?:INSERT\\s+(?:\\w+\\s+)?INTO|UPDATE|DELETE\\s+FROM|DELETE|MERGE\\s+INTO|UPSERT\\s+INTO|REPLACE\\s+INTO|TRUNCATE(?:\\s+TABLE)?|" +
+            "(?:CREATE(?:\\s+OR\\s+REPLACE)?|ALTER|DROP|RENAME)\\s+(?:\\w+\\s+)?(?:TABLE|VIEW)(?:\\s+IF\\s+(?:NOT\\s+)?EXISTS)?)\\s+" +
+            "((?:[\\w$#@]+|\"[^\"]+\"|`[^`]+`|\\[[^]]+])(?:\\s*\\.\\s*(?:[\\w$#@]+|\"[^\"]+\"|`[^`]+`|\\[[^]]+]))*)",
+        Pattern.CASE_INSENSITIVE);
+
+    @NotNull
+    private final String queryText;
+    @NotNull
+    private final List<Object> parameters;
+    @Nullable
+    private final DBDDataFilter dataFilter;
+    @NotNull
+    private final DBCCachedContextDefaults contextDefaults;
+    private final long offset;
+    private final long maxRows;
+
+    private DBCResultCacheKey(
+        @NotNull String queryText,
+        @NotNull List<Object> parameters,
+        @Nullable DBDDataFilter dataFilter,
+        @NotNull DBCCachedContextDefaults contextDefaults,
+        long offset,
+        long maxRows
+    ) {
+        this.queryText = queryText;
+        this.parameters = parameters;
+        this.dataFilter = dataFilter;
+        this.contextDefaults = contextDefaults;
+        this.offset = offset;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Creates result cache key.
+     *
+     * @return key or null if query results can't be cached (query is not read-only)
+     */
+    @Nullable
+    public static DBCResultCacheKey create(
+        @NotNull DBCExecutionContext executionContext,
+        @NotNull String queryText,
+        @Nullable List<?> parameters,
+        @Nullable DBDDataFilter dataFilter,
+        long offset,
+        long maxRows
+    ) {
+        String normalizedText = normalizeQuery(queryText);
+        if (!isReadOnlyQuery(normalizedText) || hasVolatileFunctions(normalizedText)) {
+            return null;
+        }
+        return new DBCResultCacheKey(
+            normalizedText,
+            parameters == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(parameters)),
+            dataFilter == null || !dataFilter.hasFilters() ? null : new DBDDataFilter(dataFilter),
+            getContextDefaults(executionContext),
+            offset,
+            maxRows);
+    }
+
+    @NotNull
+    public String getQueryText() {
+        return queryText;
+    }
+
+    /**
+     * Checks whether query refers to the specified table.
+     * Check is lexical, so it may give false positives (which is safe for cache invalidation).
+     *
+     * @param tableName unquoted table name (without schema or catalog)
+     */
+    public boolean refersTo(@NotNull String tableName) {
+        String text = queryText.toLowerCase(Locale.ENGLISH);
+        String name = tableName.toLowerCase(Locale.ENGLISH);
+        for (int pos = text.indexOf(name); pos >= 0; pos = text.indexOf(name, pos + 1)) {
+            int end = pos + name.length();
+            if ((pos == 0 || !isIdentifierPart(text.charAt(pos - 1))) && (end == text.length() || !isIdentifierPart(text.charAt(end)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collapses whitespaces (outside of quoted strings and identifiers) and removes trailing delimiter.
+     */
+    @NotNull
+    public static String normalizeQuery(@NotNull String queryText) {
+        StringBuilder result = new StringBuilder(queryText.length());
+        char quote = 0;
+        boolean whitespace = false;
+        for (int i = 0; i < queryText.length(); i++) {
+            char c = queryText.charAt(i);
+            if (quote != 0) {
+                result.append(c);
+                if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                whitespace = true;
+                continue;
+            }
+            if (whitespace && !result.isEmpty()) {
+                result.append(' ');
+            }
+            whitespace = false;
+            if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            }
+            result.append(c);
+        }
+        while (!result.isEmpty() && (result.charAt(result.length() - 1) == ';' || result.charAt(result.length() - 1) == ' ')) {
+            result.setLength(result.length() - 1);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Checks that query only reads data. Locking, SELECT INTO and WITH queries with data modifying statements
+     * aren't considered read-only. Check is lexical (string literals and quoted identifiers are skipped),
+     * so it may reject some read-only queries.
+     */
+    public static boolean isReadOnlyQuery(@NotNull String queryText) {
+        if (!READ_ONLY_QUERY_PATTERN.matcher(queryText).find()) {
+            return false;
+        }
+        return !MODIFYING_SELECT_PATTERN.matcher(removeQuotedText(queryText)).find();
+    }
+
+    /**
+     * Checks whether query calls functions which results differ for each execution
+     * (current date/time, sequences, random values, etc).
+     */
+    public static boolean hasVolatileFunctions(@NotNull String queryText) {
+        return VOLATILE_FUNCTION_PATTERN.matcher(removeQuotedText(queryText)).find();
+    }
+
+    /**
+     * Returns name of the table modified by DML or DDL query.
+     *
+     * @return unquoted table name (without schema or catalog) or null if it can't be determined
+     */
+    @Nullable
+    public static String getModifiedTableName(@NotNull String queryText) {
+        Matcher matcher = MODIFIED_TABLE_PATTERN.matcher(queryText);
+        if (!matcher.find()) {
+            return null;
+        }
+        String fullName = matcher.group(1);
+        String name = fullName.substring(fullName.lastIndexOf('.') + 1).trim();
+        if (name.length() > 1 && "\"`[".indexOf(name.charAt(0)) >= 0) {
+            name = name.substring(1, name.length() - 1);
+        }
+        return name;
+    }
+
+    @NotNull
+    private static DBCCachedContextDefaults getContextDefaults(@NotNull DBCExecutionContext executionContext) {
+        DBCExecutionContextDefaults<?, ?> contextDefaults = executionContext.getContextDefaults();
+        if (contextDefaults == null) {
+            return new DBCCachedContextDefaults(null, null);
+        }
+        DBSObject catalog = contextDefaults.getDefaultCatalog();
+        DBSObject schema = contextDefaults.getDefaultSchema();
+        return new DBCCachedContextDefaults(
+            catalog == null ? null : catalog.getName(),
+            schema == null ? null : schema.getName());
+    }
+
+    /**
+     * Replaces string literals and quoted identifiers with empty quotes.
+     */
+    @NotNull
+    private static String removeQuotedText(@NotNull String queryText) {
+        StringBuilder result = new StringBuilder(queryText.length());
+        char quote = 0;
+        for (int i = 0; i < queryText.length(); i++) {
+            char c = queryText.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    result.append(c);
+                    quote = 0;
+                }
+            } else {
+                if (c == '\'' || c == '"' || c == '`') {
+                    quote = c;
+                }
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#' || c == '@';
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DBCResultCacheKey key)) {
+            return false;
+        }
+        return offset == key.offset &&
+            maxRows == key.maxRows &&
+            queryText.equals(key.queryText) &&
+            parameters.equals(key.parameters) &&
+            contextDefaults.equals(key.contextDefaults) &&
+            (dataFilter == null ? key.dataFilter == null : key.dataFilter != null && dataFilter.equalFilters(key.dataFilter, true));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            queryText,
+            parameters,
+            contextDefaults,
+            offset,
+            maxRows,
+            dataFilter == null ? null : dataFilter.isAnyConstraint(),
+            dataFilter == null ? null : dataFilter.getConstraints().size(),
+            dataFilter == null ? null : dataFilter.getWhere(),
+            dataFilter == null ? null : dataFilter.getOrder());
+    }
+
+    @Override
+    public String toString() {
+        return queryText;
+    }
+
+}
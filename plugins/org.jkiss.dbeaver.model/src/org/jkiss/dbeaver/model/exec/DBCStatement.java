@@ -135,6 +135,14 @@ public interface DBCStatement extends DBPObject, DBRBlockingObject, DBPCloseable
 
     void setResultsFetchSize(int fetchSize) throws DBCException;
 
+    /**
+     * Enables adaptive fetch size. Fetch size of results is adjusted while rows are read,
+     * so each round trip transfers approximately the same amount of data.
+     * Explicit fetch size is used as initial value.
+     */
+    default void setAdaptiveFetchSize(boolean adaptiveFetchSize) {
+    }
+
     default boolean isStatementClosed() throws DBCException {
         return false;
     }
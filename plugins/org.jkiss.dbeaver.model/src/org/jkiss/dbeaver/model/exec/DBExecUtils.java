@@ -263,7 +263,12 @@ public class DBExecUtils {
     }
 
     public static void setStatementFetchSize(DBCStatement dbStat, long firstRow, long maxRows, int fetchSize) {
-        boolean useFetchSize = fetchSize > 0 || dbStat.getSession().getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE);
+        DBPPreferenceStore preferenceStore = dbStat.getSession().getDataSource().getContainer().getPreferenceStore();
+        // Explicit fetch size is never changed
+        if (fetchSize <= 0 && preferenceStore.getBoolean(ModelPreferences.RESULT_SET_ADAPTIVE_FETCH_SIZE)) {
+            dbStat.setAdaptiveFetchSize(true);
+        }
+        boolean useFetchSize = fetchSize > 0 || preferenceStore.getBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE);
         if (useFetchSize) {
             if (fetchSize <= 0) {
                 fetchSize = DEFAULT_READ_FETCH_SIZE;
@@ -0,0 +1,84 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.rdb.DBSManipulationType;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Splits data manipulation statements into batches of compatible statements
+ * (which may be executed by a single {@link org.jkiss.dbeaver.model.struct.DBSDataManipulator.ExecuteBatch}).
+ */
+public final class ExecuteBatchGrouper {
+
+    private ExecuteBatchGrouper() {
+    }
+
+    /**
+     * Statements with equal keys may be executed in a single batch
+     */
+    public record BatchKey(
+        @NotNull DBSManipulationType type,
+        @NotNull DBSEntity entity,
+        @NotNull List<DBSAttributeBase> updateAttributes,
+        @NotNull List<DBSAttributeBase> keyAttributes
+    ) {
+    }
+
+    /**
+     * Groups statements into batches.
+     *
+     * @param statements  statements in execution order
+     * @param keyFunction returns batch key of a statement. Null key means that statement is executed separately
+     * @param reorder     if false then only adjacent statements are batched together, so execution order is kept
+     * @param batchSize   max number of statements in a batch
+     */
+    @NotNull
+    public static <T> List<List<T>> groupStatements(
+        @NotNull List<T> statements,
+        @NotNull Function<T, BatchKey> keyFunction,
+        boolean reorder,
+        int batchSize
+    ) {
+        List<List<T>> batches = new ArrayList<>();
+        Map<BatchKey, List<T>> openBatches = new HashMap<>();
+        BatchKey prevKey = null;
+        for (T statement : statements) {
+            @Nullable BatchKey key = keyFunction.apply(statement);
+            if (!reorder && !Objects.equals(key, prevKey)) {
+                openBatches.clear();
+            }
+            prevKey = key;
+            List<T> batch = key == null ? null : openBatches.get(key);
+            if (batch == null || batch.size() >= batchSize) {
+                batch = new ArrayList<>();
+                batches.add(batch);
+                if (key != null) {
+                    openBatches.put(key, batch);
+                }
+            }
+            batch.add(statement);
+        }
+        return batches;
+    }
+}
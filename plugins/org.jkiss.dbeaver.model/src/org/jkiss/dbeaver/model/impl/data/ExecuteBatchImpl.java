@@ -33,6 +33,8 @@ import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -51,6 +53,8 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
     protected final List<Object[]> values = new ArrayList<>();
     protected final DBDDataReceiver keysReceiver;
     protected final boolean reuseStatement;
+    @Nullable
+    private boolean[] executedRows;
 
     /**
      * Constructs new batch
@@ -81,6 +85,12 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return processBatch(session, null, options);
     }
 
+    @Nullable
+    @Override
+    public boolean[] getExecutedRows() {
+        return executedRows;
+    }
+
     @NotNull
     @Override
     public void generatePersistActions(@NotNull DBCSession session, @NotNull List<DBEPersistAction> actions, Map<String, Object> options) throws DBCException {
@@ -99,14 +109,9 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
     DBCStatistics processBatch(@NotNull DBCSession session, @Nullable List<DBEPersistAction> actions, Map<String, Object> options) throws DBCException
     {
         //session.getProgressMonitor().subTask("Save batch (" + values.size() + ")");
-        DBDValueHandler[] handlers = new DBDValueHandler[attributes.length];
-        for (int i = 0; i < attributes.length; i++) {
-            if (attributes[i] instanceof DBDAttributeBinding) {
-                handlers[i] = ((DBDAttributeBinding)attributes[i]).getValueHandler();
-            } else {
-                handlers[i] = DBUtils.findValueHandler(session, attributes[i]);
-            }
-        }
+        DBDValueHandler[] handlers = getValueHandlers(session, options);
+        boolean reuseStatement = this.reuseStatement ||
+            (keysReceiver == null && CommonUtils.toBoolean(options.get(DBSDataManipulator.OPTION_REUSE_STATEMENT)));
 
         boolean useBatch = session.getDataSource().getInfo().supportsBatchUpdates() && reuseStatement && !CommonUtils.toBoolean(options.get(DBSDataManipulator.OPTION_DISABLE_BATCHES));
         if (values.size() <= 1) {
@@ -119,6 +124,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
 
         DBCStatistics statistics = new DBCStatistics();
         DBCStatement statement = null;
+        executedRows = actions == null ? new boolean[values.size()] : null;
 
         try {
             // Here we'll try to reuse prepared statement.
@@ -129,6 +135,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
             boolean[] prevNulls = new boolean[attributes.length];
             boolean[] nulls = new boolean[attributes.length];
             int statementsInBatch = 0;
+            int batchStart = 0;
 
             for (int rowIndex = 0; rowIndex < values.size(); rowIndex++) {
                 Object[] rowValues = values.get(rowIndex);
@@ -144,19 +151,16 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
                     for (int i = 0; i < rowValues.length; i++) {
                         nulls[i] = DBUtils.isNullValue(rowValues[i]);
                     }
-                    if (!Arrays.equals(prevNulls, nulls) && statementsInBatch > 0) {
-                        reuse = false;
-                    }
+                    boolean nullsChanged = !Arrays.equals(prevNulls, nulls);
                     System.arraycopy(nulls, 0, prevNulls, 0, nulls.length);
-                    if (!reuse && statementsInBatch > 0) {
+                    if (nullsChanged && statement != null) {
                         // Flush batch
-                        if (actions == null) {
-                            flushBatch(statistics, statement);
+                        if (actions == null && statementsInBatch > 0) {
+                            flushBatch(statistics, statement, batchStart, statementsInBatch);
                         }
                         statement.close();
                         statement = null;
                         statementsInBatch = 0;
-                        reuse = true;
                     }
                 }
                 if (statement == null || !reuse) {
@@ -170,6 +174,9 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
                     }
                     if (actions == null) {
                         if (useBatch) {
+                            if (statementsInBatch == 0) {
+                                batchStart = rowIndex;
+                            }
                             statement.addToBatch();
                             statementsInBatch++;
                         } else {
@@ -177,6 +184,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
                             long startTime = System.currentTimeMillis();
                             executeStatement(statistics, statement);
                             statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+                            executedRows[rowIndex] = true;
 
                             long rowCount = statement.getUpdateRowCount();
                             if (rowCount > 0) {
@@ -208,7 +216,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
 
             if (statementsInBatch > 0) {
                 if (actions == null) {
-                    flushBatch(statistics, statement);
+                    flushBatch(statistics, statement, batchStart, statementsInBatch);
                 }
                 statement.close();
                 statement = null;
@@ -226,6 +234,27 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return statistics;
     }
 
+    /**
+     * Resolves value handlers for batch attributes.
+     * Handlers passed in {@link DBSDataManipulator#OPTION_VALUE_HANDLERS} option override default attribute handlers.
+     */
+    @NotNull
+    protected DBDValueHandler[] getValueHandlers(@NotNull DBCSession session, @Nullable Map<String, Object> options) {
+        DBDValueHandler[] customHandlers = options == null ? null :
+            (DBDValueHandler[]) options.get(DBSDataManipulator.OPTION_VALUE_HANDLERS);
+        DBDValueHandler[] handlers = new DBDValueHandler[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            if (customHandlers != null && i < customHandlers.length && customHandlers[i] != null) {
+                handlers[i] = customHandlers[i];
+            } else if (attributes[i] instanceof DBDAttributeBinding) {
+                handlers[i] = ((DBDAttributeBinding)attributes[i]).getValueHandler();
+            } else {
+                handlers[i] = DBUtils.findValueHandler(session, attributes[i]);
+            }
+        }
+        return handlers;
+    }
+
     protected int getNextUsedParamIndex(Object[] attributeValues, int paramIndex) {
         return paramIndex + 1;
     }
@@ -286,6 +315,27 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return formatted.toString();
     }
 
+    private void flushBatch(DBCStatistics statistics, DBCStatement statement, int firstRow, int rowCount) throws DBCException {
+        try {
+            flushBatch(statistics, statement);
+            Arrays.fill(executedRows, firstRow, firstRow + rowCount, true);
+        } catch (DBCException e) {
+            // Some drivers report which statements of the batch were executed before the failure
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof BatchUpdateException batchError) {
+                    int[] updateCounts = batchError.getUpdateCounts();
+                    if (updateCounts != null) {
+                        for (int i = 0; i < updateCounts.length && i < rowCount; i++) {
+                            executedRows[firstRow + i] = updateCounts[i] != Statement.EXECUTE_FAILED;
+                        }
+                    }
+                    break;
+                }
+            }
+            throw e;
+        }
+    }
+
     void flushBatch(DBCStatistics statistics, DBCStatement statement) throws DBCException {
         long startTime = System.currentTimeMillis();
         long[] updatedRows = statement.executeStatementBatch();
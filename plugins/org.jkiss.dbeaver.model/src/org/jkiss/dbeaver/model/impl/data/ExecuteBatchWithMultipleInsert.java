@@ -19,7 +19,6 @@ package org.jkiss.dbeaver.model.impl.data;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBUtils;
-import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
@@ -82,15 +81,7 @@ public class ExecuteBatchWithMultipleInsert extends ExecuteInsertBatchImpl {
     @NotNull
     @Override
     public DBCStatistics processBatch(@NotNull DBCSession session, @Nullable List<DBEPersistAction> actions, Map<String, Object> options) throws DBCException {
-        int attributesLength = attributes.length;
-        DBDValueHandler[] handlers = new DBDValueHandler[attributesLength];
-        for (int i = 0; i < attributesLength; i++) {
-            if (attributes[i] instanceof DBDAttributeBinding) {
-                handlers[i] = ((DBDAttributeBinding)attributes[i]).getValueHandler();
-            } else {
-                handlers[i] = DBUtils.findValueHandler(session, attributes[i]);
-            }
-        }
+        DBDValueHandler[] handlers = getValueHandlers(session, options);
 
         DBCStatistics statistics = new DBCStatistics();
         DBCStatement batchStatement = null;
@@ -24,12 +24,8 @@ import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.time.ExtendedDateFormat;
 
 import java.text.DateFormat;
-import java.text.FieldPosition;
 import java.text.ParseException;
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
+import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.TemporalAccessor;
@@ -37,17 +33,32 @@ import java.util.Date;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Date/time formatter.
+ * Formatter is thread-safe. Dates are formatted by a compiled {@link DateTimeFormatter} if the pattern
+ * can be represented by it, otherwise by per-thread copies of {@link ExtendedDateFormat}.
+ */
 public class DateTimeDataFormatter implements DBDDataFormatter {
 
     public static final String PROP_PATTERN = "pattern";
     public static final String PROP_TIMEZONE = "timezone";
 
+    // Compiled formatter is used for dates from 1900-01-02 to 9999-12-30 UTC, so local dates are within 1900-9999 in any zone.
+    // Legacy formatter uses Julian calendar and different historical time zone offsets for earlier dates,
+    // and doesn't print sign of 5-digit years.
+    private static final long COMPILED_FORMAT_MIN_MILLIS = -2208902400000L;
+    private static final long COMPILED_FORMAT_MAX_MILLIS = 253402214399999L;
+    // Pattern letters which are formatted the same way by SimpleDateFormat and DateTimeFormatter
+    private static final String COMPATIBLE_PATTERN_LETTERS = "yMdHhmsaEDKk";
+
     private String pattern;
     private ZoneId zone;
     private DateFormat dateFormat;
-    private StringBuffer buffer;
-    private FieldPosition position;
+    private ThreadLocal<DateFormat> threadDateFormat;
     private DateTimeFormatter dateTimeFormatter;
+    @Nullable
+    private DateTimeFormatter compiledDateFormatter;
+    private ZoneId dateFormatZone;
 
     @Override
     public void init(DBSTypedObject type, Locale locale, Map<String, Object> properties)
@@ -61,8 +72,10 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
             locale);
         // We shouldn't use lenient formatter (#7244)
         dateFormat.setLenient(false);
-        buffer = new StringBuffer();
-        position = new FieldPosition(0);
+        DateFormat prototype = dateFormat;
+        threadDateFormat = ThreadLocal.withInitial(() -> (DateFormat) prototype.clone());
+        dateFormatZone = dateFormat.getTimeZone().toZoneId();
+        compiledDateFormatter = compileDatePattern(sdfPattern, locale);
         // DateTimeFormatter pattern for nanoseconds is "n" but old "f" (ExtendedDateFormat)
         String java8DatePattern = pattern.replaceAll("f+", "n");
         dateTimeFormatter = DateTimeFormatter.ofPattern(java8DatePattern);
@@ -87,8 +100,14 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
     @Override
     public String formatValue(Object value)
     {
-        if (value instanceof Date && zone != null) {
-            return dateTimeFormatter.format(ZonedDateTime.ofInstant(((Date) value).toInstant(), zone));
+        if (value instanceof Date date) {
+            if (zone != null) {
+                return dateTimeFormatter.format(ZonedDateTime.ofInstant(toInstant(date), zone));
+            }
+            long time = date.getTime();
+            if (compiledDateFormatter != null && time >= COMPILED_FORMAT_MIN_MILLIS && time <= COMPILED_FORMAT_MAX_MILLIS) {
+                return compiledDateFormatter.format(ZonedDateTime.ofInstant(toInstant(date), dateFormatZone));
+            }
         }
         if (value instanceof TemporalAccessor) {
             if (zone != null) {
@@ -104,10 +123,7 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
             }
             return dateTimeFormatter.format((TemporalAccessor) value);
         }
-        synchronized (dateFormat) {
-            buffer.setLength(0);
-            return value == null ? null : dateFormat.format(value, buffer, position).toString();
-        }
+        return value == null ? null : threadDateFormat.get().format(value);
     }
 
     @Override
@@ -129,7 +145,78 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
                 }
             }
         }
-        return dateFormat.parse(value);
+        return threadDateFormat.get().parse(value);
+    }
+
+    @NotNull
+    private static Instant toInstant(@NotNull Date date) {
+        if (date instanceof java.sql.Timestamp timestamp) {
+            return Instant.ofEpochSecond(Math.floorDiv(timestamp.getTime(), 1000), timestamp.getNanos());
+        }
+        // java.sql.Date and java.sql.Time do not support toInstant()
+        return Instant.ofEpochMilli(date.getTime());
+    }
+
+    private static int getMaxCompatibleLetterCount(char letter) {
+        return switch (letter) {
+            // Longer patterns mean narrow text in DateTimeFormatter
+            case 'M', 'E' -> 4;
+            default -> Integer.MAX_VALUE;
+        };
+    }
+
+    /**
+     * Converts ExtendedDateFormat pattern into equivalent DateTimeFormatter.
+     * Returns null if pattern uses letters which are formatted differently.
+     */
+    @Nullable
+    static DateTimeFormatter compileDatePattern(@NotNull String sdfPattern, @NotNull Locale locale) {
+        StringBuilder result = new StringBuilder(sdfPattern.length() + 8);
+        int length = sdfPattern.length();
+        for (int i = 0; i < length; ) {
+            char c = sdfPattern.charAt(i);
+            if (c == '\'') {
+                // Quoted text (or quote) has the same syntax
+                int end = sdfPattern.indexOf('\'', i + 1);
+                if (end < 0) {
+                    return null;
+                }
+                result.append(sdfPattern, i, end + 1);
+                i = end + 1;
+                continue;
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int count = 1;
+                while (i + count < length && sdfPattern.charAt(i + count) == c) {
+                    count++;
+                }
+                if (c == 'f' && count <= 9) {
+                    // Fraction of second
+                    result.append("S".repeat(count));
+                } else if (c == 'S' && count == 3) {
+                    // Milliseconds
+                    result.append("SSS");
+                } else if (COMPATIBLE_PATTERN_LETTERS.indexOf(c) >= 0 && count <= getMaxCompatibleLetterCount(c)) {
+                    result.append(String.valueOf(c).repeat(count));
+                } else {
+                    return null;
+                }
+                i += count;
+                continue;
+            }
+            if ("[]{}#".indexOf(c) >= 0) {
+                // Reserved by DateTimeFormatter
+                result.append('\'').append(c).append('\'');
+            } else {
+                result.append(c);
+            }
+            i++;
+        }
+        try {
+            return DateTimeFormatter.ofPattern(result.toString(), locale);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
 }
@@ -26,12 +26,17 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
-import java.text.FieldPosition;
+import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Number formatter.
+ * Formatter is thread-safe: common integer and decimal values are formatted by a lock-free fast path,
+ * other values are formatted by per-thread copies of the configured {@link DecimalFormat}.
+ */
 public class NumberDataFormatter implements DBDDataFormatter {
 
     public static final int MAX_DEFAULT_FRACTIONS_DIGITS = 16;
@@ -39,9 +44,20 @@ public class NumberDataFormatter implements DBDDataFormatter {
     private static final Log log = Log.getLog(NumberDataFormatter.class);
 
     private DecimalFormat numberFormat;
-    private StringBuffer buffer;
-    private FieldPosition position;
     private boolean nativeSpecialValues;
+    private ThreadLocal<DecimalFormat> threadFormat;
+    private volatile boolean disableUnnecessaryRounding;
+
+    // Fast path settings. Fast path is disabled if format has some special settings (prefixes, multiplier, etc)
+    private boolean fastPathEnabled;
+    private boolean fastPathGrouping;
+    private int fastPathGroupingSize;
+    private char fastPathGroupingSeparator;
+    private char fastPathDecimalSeparator;
+    private String fastPathNegativePrefix;
+    private int fastPathMaxIntDigits;
+    private int fastPathMinFractDigits;
+    private int fastPathMaxFractDigits;
 
     public NumberDataFormatter() {
     }
@@ -113,9 +129,32 @@ public class NumberDataFormatter implements DBDDataFormatter {
                 numberFormat.setGroupingUsed(false);
             }
         }
-        buffer = new StringBuffer();
-        position = new FieldPosition(0);
         nativeSpecialValues = CommonUtils.toBoolean(properties.get(NumberFormatSample.PROP_NATIVE_SPECIAL_VALUES));
+
+        DecimalFormat prototype = numberFormat;
+        threadFormat = ThreadLocal.withInitial(() -> (DecimalFormat) prototype.clone());
+        initFastPath();
+    }
+
+    private void initFastPath() {
+        DecimalFormatSymbols symbols = numberFormat.getDecimalFormatSymbols();
+        fastPathEnabled =
+            numberFormat.getMultiplier() == 1 &&
+            numberFormat.getMinimumIntegerDigits() == 1 &&
+            !numberFormat.isDecimalSeparatorAlwaysShown() &&
+            symbols.getZeroDigit() == '0' &&
+            numberFormat.getPositivePrefix().isEmpty() &&
+            numberFormat.getPositiveSuffix().isEmpty() &&
+            numberFormat.getNegativeSuffix().isEmpty() &&
+            !numberFormat.getNegativePrefix().isEmpty();
+        fastPathGrouping = numberFormat.isGroupingUsed() && numberFormat.getGroupingSize() > 0;
+        fastPathGroupingSize = numberFormat.getGroupingSize();
+        fastPathGroupingSeparator = symbols.getGroupingSeparator();
+        fastPathDecimalSeparator = symbols.getDecimalSeparator();
+        fastPathNegativePrefix = numberFormat.getNegativePrefix();
+        fastPathMaxIntDigits = numberFormat.getMaximumIntegerDigits();
+        fastPathMinFractDigits = numberFormat.getMinimumFractionDigits();
+        fastPathMaxFractDigits = numberFormat.getMaximumFractionDigits();
     }
 
     @Nullable
@@ -142,61 +181,151 @@ public class NumberDataFormatter implements DBDDataFormatter {
         } else if (!(value instanceof Number)) {
             return value.toString();
         }
+        String fastResult = formatFast(value);
+        if (fastResult != null) {
+            return fastResult;
+        }
         try {
-            synchronized (this) {
-                buffer.setLength(0);
-                try {
-                    return numberFormat.format(value, buffer, position).toString();
-                } catch (ArithmeticException e) {
-                    if (numberFormat.getRoundingMode() == RoundingMode.UNNECESSARY) {
-                        // This type can't use UNNECESSARY rounding. Let's set default one
-                        log.debug("Disabling UNNECESSARY rounding for numbers (" + e.getMessage() + ")");
-                        numberFormat.setRoundingMode(RoundingMode.HALF_EVEN);
-                    }
-                    return numberFormat.format(value, buffer, position).toString();
+            DecimalFormat format = getThreadFormat();
+            try {
+                return format.format(value);
+            } catch (ArithmeticException e) {
+                if (format.getRoundingMode() == RoundingMode.UNNECESSARY) {
+                    // This type can't use UNNECESSARY rounding. Let's set default one
+                    log.debug("Disabling UNNECESSARY rounding for numbers (" + e.getMessage() + ")");
+                    disableUnnecessaryRounding = true;
+                    format.setRoundingMode(RoundingMode.HALF_EVEN);
                 }
+                return format.format(value);
             }
         } catch (Exception e) {
             return value.toString();
         }
     }
 
+    private DecimalFormat getThreadFormat() {
+        DecimalFormat format = threadFormat.get();
+        if (disableUnnecessaryRounding && format.getRoundingMode() == RoundingMode.UNNECESSARY) {
+            format.setRoundingMode(RoundingMode.HALF_EVEN);
+        }
+        return format;
+    }
+
+    /**
+     * Formats integers and decimals which don't need rounding.
+     * Returns null if value must be formatted by DecimalFormat.
+     */
+    @Nullable
+    private String formatFast(Object value) {
+        if (!fastPathEnabled) {
+            return null;
+        }
+        String digits;
+        int scale;
+        boolean negative;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            long longValue = ((Number) value).longValue();
+            negative = longValue < 0;
+            digits = Long.toString(longValue);
+            if (negative) {
+                digits = digits.substring(1);
+            }
+            scale = 0;
+        } else if (value instanceof BigInteger bigInteger) {
+            negative = bigInteger.signum() < 0;
+            digits = bigInteger.abs().toString();
+            scale = 0;
+        } else if (value instanceof BigDecimal bigDecimal) {
+            if (bigDecimal.scale() > fastPathMaxFractDigits) {
+                // Needs rounding
+                return null;
+            }
+            if (bigDecimal.scale() < 0) {
+                bigDecimal = bigDecimal.setScale(0);
+            }
+            negative = bigDecimal.signum() < 0;
+            digits = bigDecimal.unscaledValue().abs().toString();
+            scale = bigDecimal.scale();
+        } else {
+            return null;
+        }
+        int intLength = digits.length() - scale;
+        String intDigits = intLength > 0 ? digits.substring(0, intLength) : "0";
+        if (intDigits.length() > fastPathMaxIntDigits) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder(digits.length() + 10);
+        if (negative) {
+            result.append(fastPathNegativePrefix);
+        }
+        if (fastPathGrouping) {
+            int length = intDigits.length();
+            for (int i = 0; i < length; i++) {
+                if (i > 0 && (length - i) % fastPathGroupingSize == 0) {
+                    result.append(fastPathGroupingSeparator);
+                }
+                result.append(intDigits.charAt(i));
+            }
+        } else {
+            result.append(intDigits);
+        }
+        // Fraction digits without trailing zeros
+        int fractLength = scale;
+        while (fractLength > fastPathMinFractDigits && getFractionDigit(digits, scale, fractLength - 1) == '0') {
+            fractLength--;
+        }
+        if (fractLength > 0 || fastPathMinFractDigits > 0) {
+            result.append(fastPathDecimalSeparator);
+            for (int i = 0; i < fractLength; i++) {
+                result.append(getFractionDigit(digits, scale, i));
+            }
+            for (int i = fractLength; i < fastPathMinFractDigits; i++) {
+                result.append('0');
+            }
+        }
+        return result.toString();
+    }
+
+    private static char getFractionDigit(String digits, int scale, int index) {
+        int digitIndex = digits.length() - scale + index;
+        return digitIndex < 0 ? '0' : digits.charAt(digitIndex);
+    }
+
     @Override
     public Object parseValue(String value, @Nullable Class<?> typeHint) throws ParseException
     {
-        synchronized (this) {
-            numberFormat.setParseBigDecimal(typeHint == BigDecimal.class || typeHint == BigInteger.class);
-            Number number = numberFormat.parse(value);
-            if (number != null && typeHint != null) {
-                boolean isFloat = number instanceof Double || number instanceof Float;
-                if (typeHint == Byte.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.byteValue();
-                } else if (typeHint == Short.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.shortValue();
-                } else if (typeHint == Integer.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.intValue();
-                } else if (typeHint == Long.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.longValue();
-                } else if (typeHint == Float.class) {
-                    return number.floatValue();
-                } else if (typeHint == Double.class) {
-                    return number.doubleValue();
+        DecimalFormat format = getThreadFormat();
+        format.setParseBigDecimal(typeHint == BigDecimal.class || typeHint == BigInteger.class);
+        Number number = format.parse(value);
+        if (number != null && typeHint != null) {
+            boolean isFloat = number instanceof Double || number instanceof Float;
+            if (typeHint == Byte.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.byteValue();
+            } else if (typeHint == Short.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.shortValue();
+            } else if (typeHint == Integer.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.intValue();
+            } else if (typeHint == Long.class) {
+                if (isFloat) {
+                    return number;
                 }
+                return number.longValue();
+            } else if (typeHint == Float.class) {
+                return number.floatValue();
+            } else if (typeHint == Double.class) {
+                return number.doubleValue();
             }
-            return number;
         }
+        return number;
     }
 
 }
@@ -0,0 +1,67 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.local;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.*;
+
+import java.util.List;
+
+/**
+ * Result set which returns rows from the result cache.
+ * Values are already fetched by value handlers, so data receivers may use them as is.
+ * Metadata is the metadata of the original result set.
+ */
+public class CachedResultSet extends LocalResultSet<LocalStatement> {
+
+    private final List<? extends DBCAttributeMetaData> attributes;
+
+    public CachedResultSet(
+        @NotNull DBCSession session,
+        @Nullable DBCExecutionSource source,
+        @NotNull String queryText,
+        @NotNull List<? extends DBCAttributeMetaData> attributes,
+        @NotNull List<Object[]> rows
+    ) {
+        super(session, new LocalStatement(session, queryText));
+        getSourceStatement().setStatementSource(source);
+        this.attributes = attributes;
+        for (Object[] row : rows) {
+            // Rows may be modified by receivers
+            this.rows.add(row.clone());
+        }
+    }
+
+    @Nullable
+    @Override
+    public Object getAttributeValue(String name) throws DBCException {
+        for (int i = 0; i < attributes.size(); i++) {
+            if (attributes.get(i).getName().equals(name)) {
+                return getAttributeValue(i);
+            }
+        }
+        throw new DBCException("Bad attribute name: " + name);
+    }
+
+    @NotNull
+    @Override
+    public DBCResultSetMetaData getMeta() {
+        return new LocalResultSetMeta(attributes);
+    }
+
+}
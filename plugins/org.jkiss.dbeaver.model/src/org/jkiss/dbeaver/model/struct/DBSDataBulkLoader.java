@@ -29,6 +29,11 @@ import java.util.Map;
  */
 public interface DBSDataBulkLoader {
 
+    /**
+     * Boolean option. Minimize (disable) redo/transaction logging of the target table during the load, if supported.
+     */
+    String OPTION_MINIMAL_LOGGING = "bulkLoad.minimalLogging";
+
     interface BulkLoadManager extends AutoCloseable {
         void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException;
 
@@ -39,6 +44,11 @@ public interface DBSDataBulkLoader {
         void close();
     }
 
+    /**
+     * Creates bulk load. Transaction settings of the session may be ignored.
+     *
+     * @param batchSize rows count in a batch. Loader may commit each batch.
+     */
     @NotNull
     BulkLoadManager createBulkLoad(
         @NotNull DBCSession session,
@@ -0,0 +1,43 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.struct;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+
+/**
+ * Data container which can estimate number of rows without reading them.
+ * Estimation uses table statistics or query planner, so it is fast even for very big tables
+ * (unlike {@link DBSDataContainer#countData}) but the result is approximate.
+ */
+public interface DBSDataCountEstimator extends DBSDataContainer {
+
+    /**
+     * Estimates number of rows in container.
+     *
+     * @param session session
+     * @param dataFilter data filter (may be null)
+     * @return estimated number of rows or negative value if estimation is not available
+     *  (e.g. statistics weren't collected or filter can't be estimated)
+     * @throws DBCException on any error
+     */
+    long estimateDataCount(@NotNull DBCSession session, @Nullable DBDDataFilter dataFilter) throws DBCException;
+
+}
@@ -48,6 +48,16 @@ public interface DBSDataManipulator extends DBSDataContainer {
     String OPTION_DISABLE_BATCHES = "data.manipulate.disableBatches";//$NON-NLS-1$
     String OPTION_INSERT_REPLACE_METHOD = "data.manipulate.insertReplaceMethod";//$NON-NLS-1$
     String OPTION_USE_CURRENT_DIALECT_SETTINGS = "data.manipulate.useCurrentDialect";//$NON-NLS-1$
+    /**
+     * Reuse single prepared statement for all rows of a batch which doesn't read generated keys,
+     * so rows are executed as a driver batch. Statement is re-prepared when NULL values pattern changes.
+     */
+    String OPTION_REUSE_STATEMENT = "data.manipulate.reuseStatement";//$NON-NLS-1$
+    /**
+     * Array of value handlers (DBDValueHandler[]) which override default attribute value handlers.
+     * Null elements mean default handler.
+     */
+    String OPTION_VALUE_HANDLERS = "data.manipulate.valueHandlers";//$NON-NLS-1$
 
     interface ExecuteBatch extends AutoCloseable {
         void add(@NotNull Object[] attributeValues) throws DBCException;
@@ -57,6 +67,16 @@ public interface DBSDataManipulator extends DBSDataContainer {
 
         void generatePersistActions(@NotNull DBCSession session, @NotNull List<DBEPersistAction> actions, Map<String, Object> options) throws DBCException;
 
+        /**
+         * Returns state of rows processed by the last {@link #execute} call (successful or not).
+         * Element is true if the corresponding row was executed successfully.
+         * Returns null if rows state is unknown.
+         */
+        @Nullable
+        default boolean[] getExecutedRows() {
+            return null;
+        }
+
         void close();
     }
 
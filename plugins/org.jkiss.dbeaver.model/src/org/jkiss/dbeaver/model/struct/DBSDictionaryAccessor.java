@@ -21,6 +21,8 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.data.DBDLabelValuePair;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -61,6 +63,27 @@ public interface DBSDictionaryAccessor extends AutoCloseable {
     @NotNull
     List<DBDLabelValuePair> getValueEntry(@NotNull Object keyValue) throws DBException;
 
+    /**
+     * Reads dictionary entries for several keys at once.
+     * Default implementation reads entries one by one, implementors should read them in batches.
+     *
+     * @param keyValues key values. Keys which don't exist in dictionary are omitted in result.
+     * @return found entries in no particular order
+     */
+    @NotNull
+    default List<DBDLabelValuePair> getValueEntries(@NotNull Collection<Object> keyValues) throws DBException {
+        List<DBDLabelValuePair> result = new ArrayList<>(keyValues.size());
+        for (Object keyValue : keyValues) {
+            if (getProgressMonitor().isCanceled()) {
+                break;
+            }
+            if (keyValue != null) {
+                result.addAll(getValueEntry(keyValue));
+            }
+        }
+        return result;
+    }
+
     @NotNull
     List<DBDLabelValuePair> getValues(long offset, int pageSize) throws DBException;
 }
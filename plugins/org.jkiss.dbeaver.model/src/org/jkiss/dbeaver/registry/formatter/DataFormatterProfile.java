@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * DataFormatterProfile
@@ -43,6 +44,9 @@ public class DataFormatterProfile implements DBDDataFormatterProfile, DBPPrefere
     public static final String DATAFORMAT_PREFIX = "dataformat."; //$NON-NLS-1$
     public static final String DATAFORMAT_TYPE_PREFIX = DATAFORMAT_PREFIX + "type."; //$NON-NLS-1$
 
+    // Profiles inherit settings of parent profiles, so modification of any profile counts
+    private static final AtomicInteger modificationCount = new AtomicInteger();
+
     private DBPPreferenceStore store;
     private String name;
     private Locale locale;
@@ -80,6 +84,7 @@ public class DataFormatterProfile implements DBDDataFormatterProfile, DBPPrefere
         store.setValue(PROP_VARIANT, locale.getVariant());
 
         PrefUtils.savePreferenceStore(store);
+        modificationCount.incrementAndGet();
     }
 
     @NotNull
@@ -112,6 +117,12 @@ public class DataFormatterProfile implements DBDDataFormatterProfile, DBPPrefere
     public void setLocale(@NotNull Locale locale)
     {
         this.locale = locale;
+        modificationCount.incrementAndGet();
+    }
+
+    @Override
+    public int getModificationCount() {
+        return modificationCount.get();
     }
 
     @NotNull
@@ -145,6 +156,7 @@ public class DataFormatterProfile implements DBDDataFormatterProfile, DBPPrefere
                 store.setToDefault(DATAFORMAT_TYPE_PREFIX + formatter.getId() + "." + prop.getId());
             }
         }
+        modificationCount.incrementAndGet();
     }
 
     @Override
@@ -186,6 +198,7 @@ public class DataFormatterProfile implements DBDDataFormatterProfile, DBPPrefere
             }
         }
         loadProfile(store);
+        modificationCount.incrementAndGet();
     }
 
     @NotNull
@@ -233,6 +246,7 @@ public class DataFormatterProfile implements DBDDataFormatterProfile, DBPPrefere
         if (event.getProperty() != null && event.getProperty().startsWith(DATAFORMAT_PREFIX)) {
             // Reload this profile
             loadProfile(store);
+            modificationCount.incrementAndGet();
         }
     }
 }
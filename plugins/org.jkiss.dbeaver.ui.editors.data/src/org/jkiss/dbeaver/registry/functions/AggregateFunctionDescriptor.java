@@ -18,6 +18,8 @@
 package org.jkiss.dbeaver.registry.functions;
 
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.DBPImage;
 import org.jkiss.dbeaver.model.data.aggregate.IAggregateFunction;
@@ -30,6 +32,7 @@ import org.jkiss.utils.CommonUtils;
 public class AggregateFunctionDescriptor extends AbstractContextDescriptor {
 
     public static final String EXTENSION_ID = "org.jkiss.dbeaver.aggregateFunction"; //$NON-NLS-1$
+    public static final String SQL_COLUMN_VARIABLE = "{column}"; //$NON-NLS-1$
 
     private final String id;
     private final String label;
@@ -38,6 +41,7 @@ public class AggregateFunctionDescriptor extends AbstractContextDescriptor {
     private final DBPImage icon;
     private final String type;
     private final boolean isDefault;
+    private final String sqlExpression;
 
     public AggregateFunctionDescriptor(IConfigurationElement config)
     {
@@ -49,6 +53,7 @@ public class AggregateFunctionDescriptor extends AbstractContextDescriptor {
         this.icon = iconToImage(config.getAttribute("icon"));
         this.type = config.getAttribute("type");
         this.isDefault = CommonUtils.toBoolean(config.getAttribute("default"));
+        this.sqlExpression = CommonUtils.nullIfEmpty(config.getAttribute("sql"));
     }
 
     public String getId() {
@@ -75,6 +80,23 @@ public class AggregateFunctionDescriptor extends AbstractContextDescriptor {
         return isDefault;
     }
 
+    /**
+     * SQL expression which evaluates this function on the server side or null if function can't be evaluated in SQL.
+     * Column reference is specified by {@link #SQL_COLUMN_VARIABLE} variable.
+     */
+    @Nullable
+    public String getSqlExpression() {
+        return sqlExpression;
+    }
+
+    /**
+     * SQL expression for the specified column
+     */
+    @NotNull
+    public String getSqlExpression(@NotNull String columnName) {
+        return CommonUtils.notEmpty(sqlExpression).replace(SQL_COLUMN_VARIABLE, columnName);
+    }
+
     public IAggregateFunction createFunction()
         throws DBException
     {
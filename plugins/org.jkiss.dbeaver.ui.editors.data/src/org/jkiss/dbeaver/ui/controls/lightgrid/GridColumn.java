@@ -286,10 +286,16 @@ public class GridColumn implements IGridColumn {
             int maxValueWidth = 0;
             if (topIndex >= 0 && bottomIndex >= topIndex) {
                 int itemCount = grid.getItemCount();
+                List<String> cellTexts = new ArrayList<>(bottomIndex - topIndex + 1);
+                List<Integer> extraWidths = new ArrayList<>(bottomIndex - topIndex + 1);
                 for (int i = topIndex; i <= bottomIndex && i < itemCount; i++) {
-                    maxValueWidth = Math.max(maxValueWidth, computeCellWidth(gc, grid.getRow(i)));
-                    newWidth = Math.max(newWidth, maxValueWidth);
+                    IGridContentProvider.CellInformation cellInfo = grid.getContentProvider().getCellInfo(
+                        this, grid.getRow(i), false);
+                    cellTexts.add(grid.getCellText(cellInfo.text));
+                    extraWidths.add(computeCellExtraWidth(cellInfo));
                 }
+                maxValueWidth = grid.getColumnSizer().computeMaxWidth(gc, cellTexts, extraWidths);
+                newWidth = Math.max(newWidth, maxValueWidth);
             }
             // Respect hints
             int columnHintsWidth = grid.getContentProvider().getColumnHintsWidth(this);
@@ -322,15 +328,12 @@ public class GridColumn implements IGridColumn {
         }
     }
 
-    private int computeCellWidth(GC gc, IGridRow row) {
-        int x = 0;
-
-        x += leftMargin;
-
-        IGridContentProvider.CellInformation cellInfo = grid.getContentProvider().getCellInfo(
-            this, row, false);
+    /**
+     * Returns width of cell margins and image
+     */
+    private int computeCellExtraWidth(IGridContentProvider.CellInformation cellInfo) {
+        int x = leftMargin + rightMargin;
 
-        String cellText = grid.getCellText(cellInfo.text);
         int state = cellInfo.state;
         Rectangle imageBounds;
         if (GridCellRenderer.isLinkState(state)) {
@@ -342,8 +345,6 @@ public class GridColumn implements IGridColumn {
         if (imageBounds != null) {
             x += imageBounds.width + insideMargin;
         }
-
-        x += gc.textExtent(cellText).x + rightMargin;
         return x;
     }
 
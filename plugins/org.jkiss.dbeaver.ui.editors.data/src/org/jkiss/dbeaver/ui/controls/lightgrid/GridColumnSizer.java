@@ -0,0 +1,130 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.lightgrid;
+
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.GC;
+import org.jkiss.code.NotNull;
+
+import java.util.*;
+
+/**
+ * Column auto-size helper.
+ * Widths of plain ASCII texts are estimated by cached glyph widths. The estimation is used as an upper bound:
+ * exact text extent is calculated only for texts which may be wider than the current max width.
+ * Exact widths are memoized by cell text.
+ */
+class GridColumnSizer {
+
+    // Glyph advances sum may be slightly less than text extent (e.g. because of rounding)
+    private static final int ESTIMATE_TOLERANCE = 2;
+    private static final int MAX_MEMOIZED_WIDTHS = 10000;
+
+    private Font font;
+    private FontData[] fontData;
+    private final int[] glyphWidths = new int[128];
+    private final Map<String, Integer> textWidths = new LinkedHashMap<>(1000, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > MAX_MEMOIZED_WIDTHS;
+        }
+    };
+
+    /**
+     * Returns max width of cells.
+     *
+     * @param texts       cell texts
+     * @param extraWidths widths of cell margins and images
+     */
+    int computeMaxWidth(@NotNull GC gc, @NotNull List<String> texts, @NotNull List<Integer> extraWidths) {
+        checkFont(gc);
+        int maxWidth = 0;
+        List<Integer> candidates = new ArrayList<>(texts.size());
+        int[] estimates = new int[texts.size()];
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            Integer width = textWidths.get(text);
+            if (width == null) {
+                int estimate = estimateWidth(gc, text);
+                if (estimate < 0) {
+                    // Can't estimate
+                    width = measureWidth(gc, text);
+                } else {
+                    estimates[i] = estimate + extraWidths.get(i);
+                    candidates.add(i);
+                    continue;
+                }
+            }
+            maxWidth = Math.max(maxWidth, width + extraWidths.get(i));
+        }
+        candidates.sort((o1, o2) -> Integer.compare(estimates[o2], estimates[o1]));
+        for (int index : candidates) {
+            if (estimates[index] + ESTIMATE_TOLERANCE <= maxWidth) {
+                // The rest texts are narrower
+                break;
+            }
+            maxWidth = Math.max(maxWidth, measureWidth(gc, texts.get(index)) + extraWidths.get(index));
+        }
+        return maxWidth;
+    }
+
+    private void checkFont(@NotNull GC gc) {
+        Font gcFont = gc.getFont();
+        if (gcFont == font) {
+            return;
+        }
+        // Font may be recreated with the same attributes (e.g. on theme change), so fonts are compared by font data
+        FontData[] gcFontData = gcFont.getFontData();
+        font = gcFont;
+        if (!Arrays.equals(gcFontData, fontData)) {
+            fontData = gcFontData;
+            Arrays.fill(glyphWidths, -1);
+            textWidths.clear();
+        }
+    }
+
+    /**
+     * Estimates width by glyph widths. Returns -1 for texts with non-ASCII or control characters.
+     */
+    private int estimateWidth(@NotNull GC gc, @NotNull String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < ' ' || c >= glyphWidths.length) {
+                return -1;
+            }
+            int glyphWidth = glyphWidths[c];
+            if (glyphWidth < 0) {
+                glyphWidth = gc.getAdvanceWidth(c);
+                glyphWidths[c] = glyphWidth;
+            }
+            width += glyphWidth;
+        }
+        return width;
+    }
+
+    private int measureWidth(@NotNull GC gc, @NotNull String text) {
+        Integer width = textWidths.get(text);
+        if (width == null) {
+            width = gc.textExtent(text).x;
+            textWidths.put(text, width);
+        }
+        return width;
+    }
+
+}
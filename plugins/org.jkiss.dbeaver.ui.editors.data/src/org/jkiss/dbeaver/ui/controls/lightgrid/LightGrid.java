@@ -320,6 +320,8 @@ public abstract class LightGrid extends Canvas {
      */
     private Listener disposeListener;
 
+    private final GridColumnSizer columnSizer = new GridColumnSizer();
+
     FontMetrics fontMetrics;
     Font normalFont;
     Font boldFont;
@@ -488,6 +490,11 @@ public abstract class LightGrid extends Canvas {
     @NotNull
     public abstract IGridContentProvider getContentProvider();
 
+    @NotNull
+    GridColumnSizer getColumnSizer() {
+        return columnSizer;
+    }
+
     @NotNull
     public abstract IGridLabelProvider getLabelProvider();
 
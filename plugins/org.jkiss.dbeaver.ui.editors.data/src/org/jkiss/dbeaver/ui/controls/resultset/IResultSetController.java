@@ -141,6 +141,13 @@ public interface IResultSetController extends IDataController, DBPContextProvide
      */
     void readNextSegment();
 
+    /**
+     * Notifies that the specified row is visible.
+     * Controller may start reading of the next segment in background.
+     */
+    default void prefetchNextSegment(int visibleRow) {
+    }
+
     /**
      * Reads all rows from data container.
      * Note: in case of huge resultset this function may eventually throw {@link java.lang.OutOfMemoryError}
@@ -144,6 +144,19 @@ public interface IResultSetPresentation {
     @NotNull
     String getFontId();
 
+    /**
+     * Returns estimated heap size of presentation caches built from result set rows (e.g. search index).
+     */
+    default long getCacheMemoryUsage() {
+        return 0;
+    }
+
+    /**
+     * Clears caches built from result set rows. Caches are rebuilt when they are needed again.
+     */
+    default void clearCaches() {
+    }
+
     void dispose();
 
 }
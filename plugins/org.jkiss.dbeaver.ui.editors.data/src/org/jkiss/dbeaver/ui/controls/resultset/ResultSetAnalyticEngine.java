@@ -0,0 +1,420 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDValue;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.local.LocalResultSet;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Embedded analytic database which holds a copy of the loaded result set rows.
+ * Rows are copied into a temporary table of in-memory DuckDB database (driver is downloaded on demand),
+ * so result set may be sliced (grouped, filtered, sorted) with local SQL queries without server round-trips.
+ * Rows are copied on first query. Engine must be closed when it is not needed anymore.
+ * Only numbers, dates and booleans are copied. Strings are never grouped or compared locally (server collation
+ * may differ), so they are not copied. Contents (LOBs), binary and complex values are not copied either.
+ * Exact numbers are copied as decimals. If some value doesn't fit, copy fails and query can't be executed locally.
+ * Queries must be written in the embedded database (DuckDB) syntax, not in the source database dialect.
+ */
+public class ResultSetAnalyticEngine implements AutoCloseable {
+
+    private static final Log log = Log.getLog(ResultSetAnalyticEngine.class);
+
+    public static final String DRIVER_ID = "duckdb_jdbc"; //$NON-NLS-1$
+    public static final String TABLE_NAME = "rs_data"; //$NON-NLS-1$
+
+    private static final String DATABASE_URL = "jdbc:duckdb:"; //$NON-NLS-1$
+    private static final String COLUMN_TYPE_DECIMAL = "DECIMAL"; //$NON-NLS-1$
+    private static final int MAX_DECIMAL_PRECISION = 38;
+    private static final int INSERT_BATCH_SIZE = 10000;
+
+    private final ResultSetModel model;
+    private final List<DBDAttributeBinding> attributes;
+    private final List<ResultSetRow> rows;
+    private final int modificationCount;
+    private final List<String> columnNames = new ArrayList<>();
+    private final List<String> columnTypes = new ArrayList<>();
+    @Nullable
+    private Connection connection;
+    private volatile boolean closed;
+
+    /**
+     * Creates engine for model rows. Must be called in UI thread.
+     */
+    public ResultSetAnalyticEngine(@NotNull ResultSetModel model) {
+        this.model = model;
+        this.attributes = new ArrayList<>();
+        this.rows = new ArrayList<>(model.getAllRows());
+        this.modificationCount = model.getModificationCount();
+        Set<String> names = new HashSet<>();
+        for (DBDAttributeBinding attribute : model.getVisibleAttributes()) {
+            String columnType = getColumnType(attribute);
+            if (columnType == null) {
+                continue;
+            }
+            String name = attribute.getName();
+            for (int i = 2; !names.add(name.toLowerCase(Locale.ENGLISH)); i++) {
+                name = attribute.getName() + "_" + i;
+            }
+            attributes.add(attribute);
+            columnNames.add(name);
+            columnTypes.add(columnType);
+        }
+    }
+
+    /**
+     * Checks whether embedded database driver is registered
+     */
+    public static boolean isSupported() {
+        return DBWorkbench.getPlatform().getDataSourceProviderRegistry().findDriver(DRIVER_ID) != null;
+    }
+
+    /**
+     * Checks whether engine contains the same rows and values as the model
+     */
+    public boolean isActual(@NotNull ResultSetModel model) {
+        return !closed && this.model == model && modificationCount == model.getModificationCount() &&
+            attributes.equals(model.getVisibleAttributes().stream().filter(a -> getColumnType(a) != null).toList());
+    }
+
+    /**
+     * Finds copied attribute by name
+     *
+     * @return null if attribute wasn't copied or its name is ambiguous
+     */
+    @Nullable
+    public DBDAttributeBinding getColumnAttribute(@NotNull String attributeName) {
+        DBDAttributeBinding result = null;
+        for (DBDAttributeBinding attribute : model.getVisibleAttributes()) {
+            if (attribute.getName().equalsIgnoreCase(attributeName)) {
+                if (result != null) {
+                    return null;
+                }
+                result = attribute;
+            }
+        }
+        return result == null || !attributes.contains(result) ? null : result;
+    }
+
+    /**
+     * Returns quoted name of rows table column which holds values of the copied attribute
+     */
+    @NotNull
+    public String getColumnName(@NotNull DBDAttributeBinding attribute) {
+        return quoteName(columnNames.get(attributes.indexOf(attribute)));
+    }
+
+    /**
+     * Executes query over rows table ({@link #TABLE_NAME}). Result is read into memory.
+     * Column names of the table are the same as result set attribute names.
+     */
+    @NotNull
+    public synchronized LocalResultSet<LocalStatement> executeQuery(
+        @NotNull DBCSession session,
+        @NotNull String sql,
+        long firstRow,
+        long maxRows
+    ) throws DBCException {
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        try {
+            Connection dbConnection = openConnection(monitor);
+            LocalResultSet<LocalStatement> resultSet = new LocalResultSet<>(session, new LocalStatement(session, sql));
+            try (Statement dbStat = dbConnection.createStatement()) {
+                if (maxRows > 0) {
+                    dbStat.setMaxRows((int) Math.min(Integer.MAX_VALUE, Math.max(firstRow, 0) + maxRows));
+                }
+                try (ResultSet dbResult = dbStat.executeQuery(sql)) {
+                    ResultSetMetaData metaData = dbResult.getMetaData();
+                    int columnCount = metaData.getColumnCount();
+                    for (int i = 1; i <= columnCount; i++) {
+                        String label = metaData.getColumnLabel(i);
+                        DBDAttributeBinding attribute = findAttribute(label);
+                        if (attribute != null && attribute.getDataKind() == getDataKind(metaData.getColumnType(i))) {
+                            resultSet.addColumn(label, attribute);
+                        } else {
+                            resultSet.addColumn(label, getDataKind(metaData.getColumnType(i)));
+                        }
+                    }
+                    for (long rowNumber = 0; dbResult.next() && !monitor.isCanceled(); rowNumber++) {
+                        if (rowNumber < firstRow) {
+                            continue;
+                        }
+                        Object[] values = new Object[columnCount];
+                        for (int i = 0; i < columnCount; i++) {
+                            values[i] = dbResult.getObject(i + 1);
+                        }
+                        resultSet.addRow(values);
+                    }
+                }
+            }
+            return resultSet;
+        } catch (SQLException e) {
+            throw new DBCException("Error executing local query", e);
+        } catch (DBException e) {
+            throw new DBCException("Can't open local analytic database", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        // Running rows copy checks this flag
+        closed = true;
+        synchronized (this) {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Error closing local analytic database", e);
+                }
+                connection = null;
+            }
+        }
+    }
+
+    @NotNull
+    private Connection openConnection(@NotNull DBRProgressMonitor monitor) throws DBException, SQLException {
+        if (closed) {
+            throw new DBException("Local analytic database is closed");
+        }
+        if (connection == null) {
+            DBPDriver driver = DBWorkbench.getPlatform().getDataSourceProviderRegistry().findDriver(DRIVER_ID);
+            if (driver == null) {
+                throw new DBException("Driver '" + DRIVER_ID + "' not found");
+            }
+            Driver jdbcDriver = driver.getDriverInstance(monitor);
+            Connection newConnection = jdbcDriver.connect(DATABASE_URL, new Properties());
+            if (newConnection == null) {
+                throw new DBException("Driver '" + DRIVER_ID + "' doesn't accept URL " + DATABASE_URL);
+            }
+            try {
+                copyRows(monitor, newConnection);
+            } catch (Throwable e) {
+                newConnection.close();
+                throw e;
+            }
+            connection = newConnection;
+        }
+        return connection;
+    }
+
+    private void copyRows(@NotNull DBRProgressMonitor monitor, @NotNull Connection dbConnection) throws DBException, SQLException {
+        for (int i = 0; i < attributes.size(); i++) {
+            if (COLUMN_TYPE_DECIMAL.equals(columnTypes.get(i))) {
+                columnTypes.set(i, getDecimalType(i));
+            }
+        }
+        StringBuilder ddl = new StringBuilder("CREATE TEMPORARY TABLE ").append(TABLE_NAME).append(" (");
+        StringBuilder dml = new StringBuilder("INSERT INTO ").append(TABLE_NAME).append(" VALUES (");
+        for (int i = 0; i < attributes.size(); i++) {
+            if (i > 0) {
+                ddl.append(", ");
+                dml.append(", ");
+            }
+            ddl.append(quoteName(columnNames.get(i))).append(' ').append(columnTypes.get(i));
+            dml.append('?');
+        }
+        ddl.append(')');
+        dml.append(')');
+        try (Statement dbStat = dbConnection.createStatement()) {
+            dbStat.execute(ddl.toString());
+        }
+
+        monitor.beginTask("Copy rows to local analytic database", rows.size());
+        try (PreparedStatement dbStat = dbConnection.prepareStatement(dml.toString())) {
+            int batchSize = 0;
+            for (ResultSetRow row : rows) {
+                if (monitor.isCanceled() || closed) {
+                    throw new DBException("Rows copy canceled");
+                }
+                for (int i = 0; i < attributes.size(); i++) {
+                    DBDAttributeBinding attribute = attributes.get(i);
+                    dbStat.setObject(i + 1, toColumnValue(model.getCellValue(attribute, row)));
+                }
+                dbStat.addBatch();
+                if (++batchSize >= INSERT_BATCH_SIZE) {
+                    dbStat.executeBatch();
+                    monitor.worked(batchSize);
+                    batchSize = 0;
+                }
+            }
+            if (batchSize > 0) {
+                dbStat.executeBatch();
+            }
+        } finally {
+            monitor.done();
+        }
+    }
+
+    /**
+     * Chooses decimal scale which keeps all values of unconstrained numeric column
+     */
+    @NotNull
+    private String getDecimalType(int columnIndex) throws DBException {
+        DBDAttributeBinding attribute = attributes.get(columnIndex);
+        int maxScale = 0;
+        int maxIntegerDigits = 0;
+        for (ResultSetRow row : rows) {
+            Object value = model.getCellValue(attribute, row);
+            if (DBUtils.isNullValue(value)) {
+                continue;
+            }
+            if (!(value instanceof Number number)) {
+                throw new DBException("Value of type " + value.getClass().getName() + " can't be copied as number");
+            }
+            BigDecimal decimal;
+            try {
+                decimal = number instanceof BigDecimal bd ? bd : new BigDecimal(number.toString());
+            } catch (NumberFormatException e) {
+                // NaN or infinity
+                throw new DBException("Value " + number + " can't be copied as decimal");
+            }
+            maxScale = Math.max(maxScale, decimal.scale());
+            maxIntegerDigits = Math.max(maxIntegerDigits, decimal.precision() - decimal.scale());
+        }
+        if (maxScale + maxIntegerDigits > MAX_DECIMAL_PRECISION) {
+            throw new DBException("Values of column " + attribute.getName() + " don't fit decimal type");
+        }
+        return "DECIMAL(" + MAX_DECIMAL_PRECISION + "," + maxScale + ")";
+    }
+
+    @Nullable
+    private DBDAttributeBinding findAttribute(@NotNull String columnName) {
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (columnNames.get(i).equalsIgnoreCase(columnName)) {
+                return attributes.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns rows table column type or null if attribute values can't be copied
+     */
+    @Nullable
+    private static String getColumnType(@NotNull DBDAttributeBinding attribute) {
+        switch (attribute.getDataKind()) {
+            case BOOLEAN:
+                return "BOOLEAN";
+            case NUMERIC:
+                switch (attribute.getTypeID()) {
+                    case Types.TINYINT:
+                    case Types.SMALLINT:
+                    case Types.INTEGER:
+                    case Types.BIGINT:
+                        return "BIGINT";
+                    case Types.REAL:
+                    case Types.FLOAT:
+                    case Types.DOUBLE:
+                        return "DOUBLE";
+                    default:
+                        // Exact numbers are never converted to floating point
+                        Integer precision = attribute.getPrecision();
+                        Integer scale = attribute.getScale();
+                        if (precision != null && scale != null && precision > 0 && precision <= MAX_DECIMAL_PRECISION && scale >= 0 && scale <= precision) {
+                            return "DECIMAL(" + precision + "," + scale + ")";
+                        }
+                        // Unconstrained number, scale is chosen on rows copy
+                        return COLUMN_TYPE_DECIMAL;
+                }
+            case DATETIME:
+                switch (attribute.getTypeID()) {
+                    case Types.DATE:
+                        return "DATE";
+                    case Types.TIME:
+                        return "TIME";
+                    default:
+                        return "TIMESTAMP";
+                }
+            default:
+                // Strings, contents, binaries and complex values
+                return null;
+        }
+    }
+
+    @Nullable
+    private static Object toColumnValue(@Nullable Object value) throws DBException {
+        if (DBUtils.isNullValue(value)) {
+            return null;
+        }
+        if (value instanceof DBDValue) {
+            // Some drivers return LOBs for string columns. Partial or display value would give wrong results.
+            throw new DBException("Value of type " + value.getClass().getName() + " can't be copied");
+        }
+        if (value instanceof BigInteger bigInteger) {
+            return new BigDecimal(bigInteger);
+        }
+        if (value instanceof java.util.Date date && !(value instanceof Timestamp) && !(value instanceof java.sql.Date) && !(value instanceof Time)) {
+            return new Timestamp(date.getTime());
+        }
+        return value;
+    }
+
+    @NotNull
+    private static DBPDataKind getDataKind(int typeID) {
+        switch (typeID) {
+            case Types.BOOLEAN:
+            case Types.BIT:
+                return DBPDataKind.BOOLEAN;
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return DBPDataKind.NUMERIC;
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+            case Types.TIME_WITH_TIMEZONE:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return DBPDataKind.DATETIME;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return DBPDataKind.BINARY;
+            default:
+                return DBPDataKind.STRING;
+        }
+    }
+
+    @NotNull
+    private static String quoteName(@NotNull String name) {
+        return '"' + name.replace("\"", "\"\"") + '"';
+    }
+
+}
@@ -0,0 +1,267 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Client-side rows sorter.
+ * Sort keys are extracted once per row and column. Keys of numeric, temporal and string columns
+ * are converted into primitive arrays (or normalized strings), then row indexes are sorted with parallel merge sort.
+ * Sort order is the same as {@link DBUtils#compareDataValues(Object, Object)} (case-insensitive for strings).
+ */
+class ResultSetClientSorter {
+
+    private final ResultSetModel model;
+    private final List<SortKey> keys = new ArrayList<>();
+
+    ResultSetClientSorter(@NotNull ResultSetModel model) {
+        this.model = model;
+    }
+
+    void addSortKey(@NotNull DBDAttributeBinding binding, boolean descending) {
+        keys.add(new SortKey(binding, descending));
+    }
+
+    /**
+     * Returns sorted copy of rows list or null if sort was canceled
+     */
+    @Nullable
+    List<ResultSetRow> sortRows(@NotNull DBRProgressMonitor monitor, @NotNull List<ResultSetRow> rows) {
+        int rowCount = rows.size();
+        monitor.beginTask("Sort rows", keys.size() + 1);
+        try {
+            for (SortKey key : keys) {
+                monitor.subTask("Extract values of " + key.binding.getName());
+                key.extract(rows);
+                if (monitor.isCanceled()) {
+                    return null;
+                }
+                monitor.worked(1);
+            }
+            monitor.subTask("Sort " + rowCount + " rows");
+            Integer[] order = new Integer[rowCount];
+            Arrays.setAll(order, i -> i);
+            try {
+                Arrays.parallelSort(order, (index1, index2) -> {
+                    if (monitor.isCanceled()) {
+                        throw new SortCanceledException();
+                    }
+                    for (SortKey key : keys) {
+                        int result = key.compare(index1, index2);
+                        if (result != 0) {
+                            return result;
+                        }
+                    }
+                    // Keep original order
+                    return Integer.compare(index1, index2);
+                });
+            } catch (SortCanceledException e) {
+                return null;
+            }
+            monitor.worked(1);
+            List<ResultSetRow> result = new ArrayList<>(rowCount);
+            for (Integer index : order) {
+                result.add(rows.get(index));
+            }
+            return result;
+        } finally {
+            monitor.done();
+        }
+    }
+
+    private enum KeyType {
+        LONG,
+        DOUBLE,
+        TIMESTAMP,
+        DATE,
+        STRING,
+        OBJECT
+    }
+
+    private class SortKey {
+        private final DBDAttributeBinding binding;
+        private final boolean descending;
+        @Nullable
+        private final Comparator<Object> comparator;
+
+        private KeyType type;
+        private BitSet nulls;
+        private long[] longKeys;
+        private int[] nanoKeys;
+        private double[] doubleKeys;
+        private String[] stringKeys;
+        private Object[] objectKeys;
+
+        SortKey(@NotNull DBDAttributeBinding binding, boolean descending) {
+            this.binding = binding;
+            this.descending = descending;
+            this.comparator = binding.getValueHandler().getComparator();
+        }
+
+        void extract(@NotNull List<ResultSetRow> rows) {
+            int rowCount = rows.size();
+            Object[] values = new Object[rowCount];
+            IntStream.range(0, rowCount).parallel().forEach(
+                i -> values[i] = model.getCellValue(binding, rows.get(i)));
+
+            nulls = new BitSet(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                if (DBUtils.isNullValue(values[i])) {
+                    nulls.set(i);
+                    values[i] = null;
+                }
+            }
+            type = comparator != null ? KeyType.OBJECT : detectKeyType(values);
+            switch (type) {
+                case LONG -> {
+                    longKeys = new long[rowCount];
+                    for (int i = 0; i < rowCount; i++) {
+                        if (values[i] != null) longKeys[i] = ((Number) values[i]).longValue();
+                    }
+                }
+                case DOUBLE -> {
+                    doubleKeys = new double[rowCount];
+                    for (int i = 0; i < rowCount; i++) {
+                        if (values[i] != null) doubleKeys[i] = ((Number) values[i]).doubleValue();
+                    }
+                }
+                case TIMESTAMP -> {
+                    longKeys = new long[rowCount];
+                    nanoKeys = new int[rowCount];
+                    for (int i = 0; i < rowCount; i++) {
+                        if (values[i] instanceof Timestamp timestamp) {
+                            // The same as Timestamp.compareTo
+                            longKeys[i] = timestamp.getTime();
+                            nanoKeys[i] = timestamp.getNanos();
+                        }
+                    }
+                }
+                case DATE -> {
+                    longKeys = new long[rowCount];
+                    for (int i = 0; i < rowCount; i++) {
+                        if (values[i] != null) longKeys[i] = ((Date) values[i]).getTime();
+                    }
+                }
+                case STRING -> {
+                    stringKeys = new String[rowCount];
+                    IntStream.range(0, rowCount).parallel().forEach(i -> {
+                        if (values[i] != null) stringKeys[i] = normalizeString((String) values[i]);
+                    });
+                }
+                default -> objectKeys = values;
+            }
+        }
+
+        int compare(int index1, int index2) {
+            boolean null1 = nulls.get(index1), null2 = nulls.get(index2);
+            int result;
+            if (null1 || null2) {
+                // Nulls are the last (like in DBUtils.compareDataValues)
+                result = null1 == null2 ? 0 : (null1 ? 1 : -1);
+            } else {
+                result = switch (type) {
+                    case LONG, DATE -> Long.compare(longKeys[index1], longKeys[index2]);
+                    case DOUBLE -> Double.compare(doubleKeys[index1], doubleKeys[index2]);
+                    case TIMESTAMP -> {
+                        int cmp = Long.compare(longKeys[index1], longKeys[index2]);
+                        yield cmp != 0 ? cmp : Integer.compare(nanoKeys[index1], nanoKeys[index2]);
+                    }
+                    case STRING -> stringKeys[index1].compareTo(stringKeys[index2]);
+                    default -> comparator != null ?
+                        comparator.compare(objectKeys[index1], objectKeys[index2]) :
+                        DBUtils.compareDataValues(objectKeys[index1], objectKeys[index2]);
+                };
+            }
+            return descending ? -result : result;
+        }
+    }
+
+    /**
+     * Detects key type by values. All non-null values must be of the same kind.
+     */
+    @NotNull
+    private static KeyType detectKeyType(@NotNull Object[] values) {
+        KeyType type = null;
+        Class<?> valueClass = null;
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+            KeyType valueType;
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                valueType = KeyType.LONG;
+            } else if (value instanceof Double || value instanceof Float) {
+                valueType = KeyType.DOUBLE;
+            } else if (value instanceof String) {
+                valueType = KeyType.STRING;
+            } else if (value instanceof Timestamp) {
+                valueType = KeyType.TIMESTAMP;
+            } else if (value instanceof Date) {
+                valueType = KeyType.DATE;
+            } else {
+                return KeyType.OBJECT;
+            }
+            if (type == null) {
+                type = valueType;
+                valueClass = value.getClass();
+            } else if (type != valueType) {
+                return KeyType.OBJECT;
+            } else if (valueType == KeyType.TIMESTAMP || valueType == KeyType.DATE) {
+                // Dates of different classes are compared as strings
+                if (valueClass != value.getClass()) {
+                    return KeyType.OBJECT;
+                }
+            }
+        }
+        return type == null ? KeyType.OBJECT : type;
+    }
+
+    /**
+     * Case-insensitive key. Comparison of normalized strings gives the same result as {@link String#compareToIgnoreCase(String)}
+     */
+    @NotNull
+    private static String normalizeString(@NotNull String str) {
+        char[] chars = null;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            char n = Character.toLowerCase(Character.toUpperCase(c));
+            if (n != c) {
+                if (chars == null) {
+                    chars = str.toCharArray();
+                }
+                chars[i] = n;
+            }
+        }
+        return chars == null ? str : new String(chars);
+    }
+
+    private static class SortCanceledException extends RuntimeException {
+        SortCanceledException() {
+            super(null, null, false, false);
+        }
+    }
+
+}
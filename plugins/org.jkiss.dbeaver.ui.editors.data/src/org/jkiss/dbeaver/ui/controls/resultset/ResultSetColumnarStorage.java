@@ -0,0 +1,390 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBUtils;
+
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Columnar storage of result set rows.
+ * Numeric and temporal values are kept in primitive arrays with null bitmaps,
+ * strings are dictionary-encoded. Other values are kept as is.
+ * Row values are materialized on demand, recently materialized rows are cached.
+ * <p>
+ * Column encoding is chosen by the first non-null value. If a value of another type appears later,
+ * the column falls back to plain object storage.
+ */
+class ResultSetColumnarStorage implements ResultSetRowStorage {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MATERIALIZED_CACHE_SIZE = 1000;
+    // Stop dictionary encoding if there are too many distinct values
+    private static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    private final int columnCount;
+    private final Column[] columns;
+    private int rowCount;
+    private int capacity;
+
+    private final Map<Integer, Object[]> materializedRows = new LinkedHashMap<>(MATERIALIZED_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Object[]> eldest) {
+            return size() > MATERIALIZED_CACHE_SIZE;
+        }
+    };
+
+    ResultSetColumnarStorage(int columnCount) {
+        this.columnCount = columnCount;
+        this.columns = new Column[columnCount];
+        this.capacity = INITIAL_CAPACITY;
+    }
+
+    int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * Adds row to the storage
+     *
+     * @return row index in storage
+     */
+    synchronized int addRow(@NotNull Object[] values) {
+        if (rowCount == capacity) {
+            capacity = capacity + (capacity >> 1);
+            for (Column column : columns) {
+                if (column != null) {
+                    column.grow(capacity);
+                }
+            }
+        }
+        int index = rowCount;
+        for (int i = 0; i < columnCount; i++) {
+            Object value = values[i];
+            Column column = columns[i];
+            if (column == null) {
+                if (value == null) {
+                    // Column type is unknown yet
+                    continue;
+                }
+                column = createColumn(value.getClass(), capacity);
+                if (column instanceof PrimitiveColumn primitiveColumn) {
+                    // All previous values were nulls
+                    primitiveColumn.nulls.set(0, index);
+                }
+                columns[i] = column;
+            }
+            if (!column.set(index, value)) {
+                column = new ObjectColumn(column, rowCount, capacity);
+                columns[i] = column;
+                column.set(index, value);
+            }
+        }
+        rowCount++;
+        return index;
+    }
+
+    @NotNull
+    @Override
+    public synchronized Object[] getRowValues(int index) {
+        Object[] values = materializedRows.get(index);
+        if (values == null) {
+            values = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                Column column = columns[i];
+                values[i] = column == null ? null : column.get(index);
+            }
+            materializedRows.put(index, values);
+        }
+        return values;
+    }
+
+    @Override
+    public synchronized void releaseRow(int index) {
+        materializedRows.remove(index);
+        for (Column column : columns) {
+            if (column instanceof ObjectColumn) {
+                DBUtils.releaseValue(column.get(index));
+            }
+        }
+    }
+
+    @NotNull
+    private static Column createColumn(@NotNull Class<?> valueClass, int capacity) {
+        if (valueClass == Long.class || valueClass == Integer.class || valueClass == Short.class || valueClass == Byte.class) {
+            return new LongColumn(valueClass, capacity);
+        } else if (valueClass == Double.class || valueClass == Float.class) {
+            return new DoubleColumn(valueClass, capacity);
+        } else if (valueClass == Timestamp.class) {
+            return new TimestampColumn(capacity);
+        } else if (valueClass == java.sql.Date.class || valueClass == java.sql.Time.class || valueClass == java.util.Date.class) {
+            return new DateColumn(valueClass, capacity);
+        } else if (valueClass == String.class) {
+            return new StringColumn(capacity);
+        } else {
+            return new ObjectColumn(capacity);
+        }
+    }
+
+    private abstract static class Column {
+        /**
+         * Stores value. Returns false if value can't be stored in this column.
+         */
+        abstract boolean set(int index, @Nullable Object value);
+
+        @Nullable
+        abstract Object get(int index);
+
+        abstract void grow(int capacity);
+    }
+
+    private abstract static class PrimitiveColumn extends Column {
+        final Class<?> valueClass;
+        final BitSet nulls = new BitSet();
+
+        PrimitiveColumn(@NotNull Class<?> valueClass) {
+            this.valueClass = valueClass;
+        }
+
+        @Override
+        boolean set(int index, @Nullable Object value) {
+            if (value == null) {
+                nulls.set(index);
+                return true;
+            }
+            if (value.getClass() != valueClass) {
+                return false;
+            }
+            setValue(index, value);
+            return true;
+        }
+
+        @Nullable
+        @Override
+        Object get(int index) {
+            return nulls.get(index) ? null : getValue(index);
+        }
+
+        abstract void setValue(int index, @NotNull Object value);
+
+        @NotNull
+        abstract Object getValue(int index);
+    }
+
+    private static class LongColumn extends PrimitiveColumn {
+        long[] data;
+
+        LongColumn(@NotNull Class<?> valueClass, int capacity) {
+            super(valueClass);
+            data = new long[capacity];
+        }
+
+        @Override
+        void setValue(int index, @NotNull Object value) {
+            data[index] = ((Number) value).longValue();
+        }
+
+        @NotNull
+        @Override
+        Object getValue(int index) {
+            long value = data[index];
+            if (valueClass == Integer.class) {
+                return (int) value;
+            } else if (valueClass == Short.class) {
+                return (short) value;
+            } else if (valueClass == Byte.class) {
+                return (byte) value;
+            }
+            return value;
+        }
+
+        @Override
+        void grow(int capacity) {
+            data = Arrays.copyOf(data, capacity);
+        }
+    }
+
+    private static class DoubleColumn extends PrimitiveColumn {
+        double[] data;
+
+        DoubleColumn(@NotNull Class<?> valueClass, int capacity) {
+            super(valueClass);
+            data = new double[capacity];
+        }
+
+        @Override
+        void setValue(int index, @NotNull Object value) {
+            data[index] = ((Number) value).doubleValue();
+        }
+
+        @NotNull
+        @Override
+        Object getValue(int index) {
+            double value = data[index];
+            return valueClass == Float.class ? (Object) (float) value : (Object) value;
+        }
+
+        @Override
+        void grow(int capacity) {
+            data = Arrays.copyOf(data, capacity);
+        }
+    }
+
+    private static class DateColumn extends PrimitiveColumn {
+        long[] data;
+
+        DateColumn(@NotNull Class<?> valueClass, int capacity) {
+            super(valueClass);
+            data = new long[capacity];
+        }
+
+        @Override
+        void setValue(int index, @NotNull Object value) {
+            data[index] = ((Date) value).getTime();
+        }
+
+        @NotNull
+        @Override
+        Object getValue(int index) {
+            long value = data[index];
+            if (valueClass == java.sql.Date.class) {
+                return new java.sql.Date(value);
+            } else if (valueClass == java.sql.Time.class) {
+                return new java.sql.Time(value);
+            }
+            return new Date(value);
+        }
+
+        @Override
+        void grow(int capacity) {
+            data = Arrays.copyOf(data, capacity);
+        }
+    }
+
+    private static class TimestampColumn extends PrimitiveColumn {
+        long[] millis;
+        int[] nanos;
+
+        TimestampColumn(int capacity) {
+            super(Timestamp.class);
+            millis = new long[capacity];
+            nanos = new int[capacity];
+        }
+
+        @Override
+        void setValue(int index, @NotNull Object value) {
+            Timestamp timestamp = (Timestamp) value;
+            millis[index] = timestamp.getTime();
+            nanos[index] = timestamp.getNanos();
+        }
+
+        @NotNull
+        @Override
+        Object getValue(int index) {
+            Timestamp timestamp = new Timestamp(millis[index]);
+            timestamp.setNanos(nanos[index]);
+            return timestamp;
+        }
+
+        @Override
+        void grow(int capacity) {
+            millis = Arrays.copyOf(millis, capacity);
+            nanos = Arrays.copyOf(nanos, capacity);
+        }
+    }
+
+    private static class StringColumn extends Column {
+        final Map<String, Integer> dictionaryIndex = new HashMap<>();
+        final List<String> dictionary = new ArrayList<>();
+        // Dictionary code + 1, 0 means null
+        int[] codes;
+
+        StringColumn(int capacity) {
+            codes = new int[capacity];
+        }
+
+        @Override
+        boolean set(int index, @Nullable Object value) {
+            if (value == null) {
+                codes[index] = 0;
+                return true;
+            }
+            if (!(value instanceof String strValue)) {
+                return false;
+            }
+            Integer code = dictionaryIndex.get(strValue);
+            if (code == null) {
+                if (dictionary.size() >= MAX_DICTIONARY_SIZE) {
+                    return false;
+                }
+                code = dictionary.size();
+                dictionary.add(strValue);
+                dictionaryIndex.put(strValue, code);
+            }
+            codes[index] = code + 1;
+            return true;
+        }
+
+        @Nullable
+        @Override
+        Object get(int index) {
+            int code = codes[index];
+            return code == 0 ? null : dictionary.get(code - 1);
+        }
+
+        @Override
+        void grow(int capacity) {
+            codes = Arrays.copyOf(codes, capacity);
+        }
+    }
+
+    private static class ObjectColumn extends Column {
+        Object[] data;
+
+        ObjectColumn(int capacity) {
+            data = new Object[capacity];
+        }
+
+        ObjectColumn(@NotNull Column source, int rowCount, int capacity) {
+            data = new Object[capacity];
+            for (int i = 0; i < rowCount; i++) {
+                data[i] = source.get(i);
+            }
+        }
+
+        @Override
+        boolean set(int index, @Nullable Object value) {
+            data[index] = value;
+            return true;
+        }
+
+        @Nullable
+        @Override
+        Object get(int index) {
+            return data[index];
+        }
+
+        @Override
+        void grow(int capacity) {
+            data = Arrays.copyOf(data, capacity);
+        }
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.ui.controls.resultset;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBUtils;
@@ -25,6 +26,7 @@ import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.data.DBDDataReceiverInteractive;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.data.DBDValueError;
+import org.jkiss.dbeaver.model.impl.local.CachedResultSet;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
@@ -49,6 +51,7 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
     private List<Object[]> rows = new ArrayList<>();
     private boolean hasMoreData;
     private boolean nextSegmentRead;
+    private long previousSegmentsMemory;
     private long offset;
     private long maxRows;
 
@@ -60,7 +63,10 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
     private List<Throwable> errorList = new ArrayList<>();
     private int focusRow;
     private DBSDataContainer targetDataContainer;
-    
+    // Key of the results which must be saved in result cache
+    private DBCResultCacheKey resultCacheKey;
+    private List<? extends DBCAttributeMetaData> resultAttributes;
+
     ResultSetDataReceiver(@NotNull ResultSetViewer resultSetViewer) {
         this.resultSetViewer = resultSetViewer;
     }
@@ -75,6 +81,20 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
 
     void setNextSegmentRead(boolean nextSegmentRead) {
         this.nextSegmentRead = nextSegmentRead;
+        // Rows of the next segment share memory budget with rows already read
+        this.previousSegmentsMemory = nextSegmentRead ? resultSetViewer.getModel().getMemoryUsage() : 0;
+    }
+
+    int getColumnsCount() {
+        return columnsCount;
+    }
+
+    /**
+     * Copies columns metadata read by another receiver
+     */
+    void copyMetaData(@NotNull ResultSetDataReceiver source) {
+        this.columnsCount = source.columnsCount;
+        this.metaColumns = source.metaColumns;
     }
 
     void setFocusRow(int focusRow) {
@@ -85,6 +105,10 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
         this.targetDataContainer = targetDataContainer;
     }
 
+    void setResultCacheKey(@Nullable DBCResultCacheKey resultCacheKey) {
+        this.resultCacheKey = resultCacheKey;
+    }
+
     List<Throwable> getErrorList() {
         return errorList;
     }
@@ -93,7 +117,6 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
     public void fetchStart(@NotNull DBCSession session, @NotNull final DBCResultSet resultSet, long offset, long maxRows)
         throws DBCException {
         this.errorList.clear();
-        this.rows.clear();
         this.offset = offset;
         this.maxRows = maxRows;
 
@@ -106,16 +129,32 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
 
             List<? extends DBCAttributeMetaData> rsAttributes = metaData.getAttributes();
             columnsCount = rsAttributes.size();
+            resultAttributes = rsAttributes;
 
             // Extract column info
             metaColumns = DBUtils.getAttributeBindings(session, getDataContainer(), metaData);
 
             resultSetViewer.setMetaData(resultSet, metaColumns);
         }
+        int spillMemoryBudget = resultSetViewer.getPreferenceStore().getInt(ResultSetPreferences.RESULT_SET_SPILL_MEMORY_BUDGET);
+        if (spillMemoryBudget > 0) {
+            this.rows = new ResultSetSpillableRowList(
+                session.getProgressMonitor(),
+                columnsCount,
+                spillMemoryBudget * 1024L * 1024L,
+                previousSegmentsMemory);
+        } else {
+            this.rows = new ArrayList<>();
+        }
     }
 
     @Override
     public void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) {
+        rows.add(readRow(session, resultSet));
+    }
+
+    @NotNull
+    Object[] readRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) {
         Object[] row = new Object[columnsCount];
         for (int i = 0; i < columnsCount; i++) {
             try {
@@ -123,6 +162,11 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
                 if (metaAttribute == null) {
                     continue;
                 }
+                if (resultSet instanceof CachedResultSet) {
+                    // Cached values were already fetched by value handlers
+                    row[i] = resultSet.getAttributeValue(metaColumns[i].getOrdinalPosition());
+                    continue;
+                }
                 row[i] = metaColumns[i].getValueHandler().fetchValueObject(
                     session,
                     resultSet,
@@ -149,7 +193,7 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
                 }
             }
         }
-        rows.add(row);
+        return row;
     }
 
     @Override
@@ -167,6 +211,7 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
                 } catch (Throwable e) {
                     errorList.add(e);
                 }
+                saveResultsInCache(session, resultSet);
             } else {
                 // fetchStart was failed
             }
@@ -207,6 +252,21 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
         });
     }
 
+    private void saveResultsInCache(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) {
+        DBCResultCacheKey cacheKey = resultCacheKey;
+        resultCacheKey = null;
+        if (cacheKey == null || resultAttributes == null || resultSet instanceof CachedResultSet ||
+            !errorList.isEmpty() || session.getProgressMonitor().isCanceled())
+        {
+            // Incomplete or already cached results
+            return;
+        }
+        DBCResultCache resultCache = DBCResultCache.getInstance(session.getDataSource().getContainer());
+        if (resultCache != null) {
+            resultCache.put(cacheKey, resultAttributes, rows);
+        }
+    }
+
     private DBSDataContainer getDataContainer() {
         return targetDataContainer != null ? targetDataContainer : resultSetViewer.getDataContainer();
     }
@@ -217,6 +277,8 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
 
         attrErrors.clear();
         rows = new ArrayList<>();
+        resultCacheKey = null;
+        resultAttributes = null;
     }
 
     @Override
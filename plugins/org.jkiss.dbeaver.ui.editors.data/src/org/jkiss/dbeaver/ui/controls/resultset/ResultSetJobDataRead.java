@@ -23,16 +23,24 @@ import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.ui.progress.UIJob;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.LocalCacheProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.ILoadService;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.dbeaver.model.sql.SQLQueryContainer;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.ProgressLoaderVisualizer;
 import org.jkiss.dbeaver.ui.controls.resultset.internal.ResultSetMessages;
+import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.InvocationTargetException;
 
@@ -46,6 +54,7 @@ abstract class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoa
     private Throwable error;
     private DBCStatistics statistics;
     private boolean refresh;
+    private boolean showProgress = true;
 
     ResultSetJobDataRead(
         @NotNull DBSDataContainer dataContainer,
@@ -71,6 +80,13 @@ abstract class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoa
         this.refresh = refresh;
     }
 
+    /**
+     * Show loading progress over the progress control
+     */
+    public void setShowProgress(boolean showProgress) {
+        this.showProgress = showProgress;
+    }
+
     public Throwable getError() {
         return error;
     }
@@ -87,10 +103,12 @@ abstract class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoa
     @Override
     protected IStatus run(DBRProgressMonitor monitor) {
         error = null;
-        final ProgressLoaderVisualizer<Object> visualizer = new ProgressLoaderVisualizer<>(this, progressControl);
-        DBRProgressMonitor progressMonitor = visualizer.overwriteMonitor(monitor);
-
-        new PumpVisualizer(visualizer).schedule(PROGRESS_VISUALIZE_PERIOD * 2);
+        final ProgressLoaderVisualizer<Object> visualizer = showProgress ? new ProgressLoaderVisualizer<>(this, progressControl) : null;
+        DBRProgressMonitor progressMonitor = monitor;
+        if (visualizer != null) {
+            progressMonitor = visualizer.overwriteMonitor(monitor);
+            new PumpVisualizer(visualizer).schedule(PROGRESS_VISUALIZE_PERIOD * 2);
+        }
 
         long fetchFlags = DBSDataContainer.FLAG_READ_PSEUDO;
         if (offset > 0) {
@@ -112,6 +130,11 @@ abstract class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoa
         final DBSDataContainer dataContainer = executionSource.getDataContainer();
         final DBDDataFilter dataFilter = executionSource.getUseDataFilter();
 
+        DBCResultCache resultCache = DBCResultCache.getInstance(getDataSourceContainer());
+        DBCResultCacheKey cacheKey = resultCache == null ? null : makeResultCacheKey(dataContainer, dataFilter);
+        // Refresh always reads data from the database and updates cached results
+        DBCResultCache.Entry cachedResult = cacheKey == null || refresh ? null : resultCache.get(cacheKey);
+
         progressMonitor.beginTask("Read data", 1);
         if (!getDataSourceContainer().isExtraMetadataReadEnabled()) {
             monitor = new LocalCacheProgressMonitor(monitor);
@@ -122,32 +145,102 @@ abstract class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoa
             dataFilter != null && dataFilter.hasFilters() ? DBCExecutionPurpose.USER_FILTERED : DBCExecutionPurpose.USER,
             NLS.bind(ResultSetMessages.controls_rs_pump_job_context_name, dataContainer.toString())))
         {
-            progressMonitor.subTask("Read data from container");
-            DBExecUtils.tryExecuteRecover(monitor, session.getDataSource(), monitor1 -> {
-                try {
-                    statistics = dataContainer.readData(
-                        executionSource,
-                        session,
-                        executionSource.getExecutionController().getDataReceiver(),
-                        executionSource.getUseDataFilter(),
-                        offset,
-                        maxRows,
-                        finalFlags,
-                        0);
-                } catch (Throwable e) {
-                    throw new InvocationTargetException(e);
+            if (cachedResult != null) {
+                progressMonitor.subTask("Read cached data");
+                statistics = readCachedData(session, cachedResult, cacheKey);
+            } else {
+                if (getDataReceiver() instanceof ResultSetDataReceiver dataReceiver) {
+                    dataReceiver.setResultCacheKey(cacheKey);
                 }
-            });
+                progressMonitor.subTask("Read data from container");
+                DBExecUtils.tryExecuteRecover(monitor, session.getDataSource(), monitor1 -> {
+                    try {
+                        statistics = dataContainer.readData(
+                            executionSource,
+                            session,
+                            getDataReceiver(),
+                            executionSource.getUseDataFilter(),
+                            offset,
+                            maxRows,
+                            finalFlags,
+                            0);
+                    } catch (Throwable e) {
+                        throw new InvocationTargetException(e);
+                    }
+                });
+            }
         } catch (Throwable e) {
             error = e;
         } finally {
-            visualizer.completeLoading(null);
+            if (visualizer != null) {
+                visualizer.completeLoading(null);
+            }
             progressMonitor.done();
         }
 
         return Status.OK_STATUS;
     }
 
+    /**
+     * Makes result cache key. Only first segment of results is cached.
+     * Queries with parameters are not cached because parameter values are known only during execution.
+     */
+    @Nullable
+    private DBCResultCacheKey makeResultCacheKey(@NotNull DBSDataContainer dataContainer, @Nullable DBDDataFilter dataFilter) {
+        if (offset > 0) {
+            return null;
+        }
+        String queryText;
+        if (dataContainer instanceof SQLQueryContainer queryContainer) {
+            if (!(queryContainer.getQuery() instanceof SQLQuery query) || !CommonUtils.isEmpty(query.getParameters())) {
+                return null;
+            }
+            queryText = query.getText();
+        } else if (dataContainer instanceof DBSEntity entity) {
+            queryText = "SELECT * FROM " + DBUtils.getObjectFullName(entity, DBPEvaluationContext.DML); //$NON-NLS-1$
+        } else {
+            return null;
+        }
+        return DBCResultCacheKey.create(getExecutionContext(), queryText, null, dataFilter, offset, maxRows);
+    }
+
+    @NotNull
+    private DBCStatistics readCachedData(
+        @NotNull DBCSession session,
+        @NotNull DBCResultCache.Entry cachedResult,
+        @NotNull DBCResultCacheKey cacheKey
+    ) throws DBCException {
+        DBCStatistics cacheStatistics = new DBCStatistics();
+        cacheStatistics.setQueryText(cacheKey.getQueryText());
+        cacheStatistics.addInfo(DBCResultCache.STAT_CACHED_TIME, cachedResult.getTimestamp());
+        DBDDataReceiver dataReceiver = getDataReceiver();
+        try (DBCResultSet resultSet = cachedResult.openResultSet(session, executionSource, cacheKey.getQueryText())) {
+            dataReceiver.fetchStart(session, resultSet, offset, maxRows);
+            try {
+                long rowCount = 0;
+                while (resultSet.nextRow()) {
+                    dataReceiver.fetchRow(session, resultSet);
+                    rowCount++;
+                }
+                cacheStatistics.setRowsFetched(rowCount);
+            } finally {
+                dataReceiver.fetchEnd(session, resultSet);
+            }
+        } finally {
+            dataReceiver.close();
+        }
+        cacheStatistics.addFetchTime(System.currentTimeMillis() - cacheStatistics.getStartTime());
+        return cacheStatistics;
+    }
+
+    /**
+     * Receiver of fetched rows
+     */
+    @NotNull
+    protected DBDDataReceiver getDataReceiver() {
+        return executionSource.getExecutionController().getDataReceiver();
+    }
+
     @Override
     public String getServiceName() {
         return "ResultSet data pump";
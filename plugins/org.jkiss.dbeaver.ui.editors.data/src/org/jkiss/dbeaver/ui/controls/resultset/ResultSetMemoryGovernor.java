@@ -0,0 +1,294 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCResultCacheKey;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.dbeaver.model.sql.SQLQueryContainer;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.controls.resultset.internal.ResultSetMessages;
+
+import java.util.*;
+
+/**
+ * Memory budget of result sets shown in editor result tabs.
+ * Editors register their viewers. When estimated size of all registered result sets exceeds the budget,
+ * rows of the least recently viewed result sets are moved to disk storage and read back on demand.
+ * Result sets which rows can't be stored (e.g. LOBs or complex values) are released and must be re-read.
+ * Only results of plain reads are released, because the refresh re-executes the query.
+ * Visible, edited or loading result sets are never evicted.
+ * <p>
+ * All methods must be called in UI thread.
+ */
+public class ResultSetMemoryGovernor {
+
+    private static final Log log = Log.getLog(ResultSetMemoryGovernor.class);
+
+    // Result sets smaller than this are never evicted
+    private static final long MIN_EVICT_SIZE = 1024 * 1024;
+
+    private static ResultSetMemoryGovernor instance;
+
+    private final Map<ResultSetViewer, ViewerInfo> viewers = new IdentityHashMap<>();
+    private long viewCounter;
+    private boolean checkScheduled;
+
+    @NotNull
+    public static synchronized ResultSetMemoryGovernor getInstance() {
+        if (instance == null) {
+            instance = new ResultSetMemoryGovernor();
+        }
+        return instance;
+    }
+
+    private ResultSetMemoryGovernor() {
+    }
+
+    /**
+     * Registers viewer. Viewer is unregistered automatically on dispose.
+     */
+    public void register(@NotNull ResultSetViewer viewer) {
+        if (viewers.containsKey(viewer)) {
+            return;
+        }
+        ViewerInfo info = new ViewerInfo(viewer);
+        info.lastView = ++viewCounter;
+        viewers.put(viewer, info);
+        viewer.addListener(info);
+        viewer.getControl().addDisposeListener(e -> viewers.remove(viewer));
+    }
+
+    /**
+     * Marks viewer as recently viewed. Should be called when viewer becomes active.
+     */
+    public void touch(@NotNull ResultSetViewer viewer) {
+        ViewerInfo info = viewers.get(viewer);
+        if (info != null) {
+            info.lastView = ++viewCounter;
+            scheduleCheck();
+        }
+    }
+
+    private void scheduleCheck() {
+        if (!checkScheduled) {
+            checkScheduled = true;
+            UIUtils.asyncExec(this::checkBudget);
+        }
+    }
+
+    private void checkBudget() {
+        checkScheduled = false;
+        long budget = DBWorkbench.getPlatform().getPreferenceStore().getLong(ResultSetPreferences.RESULT_SET_TABS_MEMORY_BUDGET) * 1024 * 1024;
+        if (budget <= 0) {
+            return;
+        }
+        long totalSize = 0;
+        List<ViewerInfo> candidates = new ArrayList<>();
+        for (ViewerInfo info : viewers.values()) {
+            long size = getMemoryUsage(info.viewer);
+            if (info.spillJob != null) {
+                // Rows are being moved to disk
+                size -= info.spillJob.spillSize;
+            } else if (size >= MIN_EVICT_SIZE) {
+                candidates.add(info);
+            }
+            totalSize += size;
+        }
+        if (totalSize <= budget) {
+            return;
+        }
+        candidates.sort(Comparator.comparingLong(info -> info.lastView));
+        for (ViewerInfo info : candidates) {
+            if (totalSize <= budget) {
+                break;
+            }
+            if (isEvictable(info.viewer)) {
+                totalSize -= evict(info);
+            }
+        }
+        if (totalSize > budget) {
+            log.debug("Result tabs memory budget exceeded, but visible, edited or not re-readable result sets can't be evicted");
+        }
+    }
+
+    private static long getMemoryUsage(@NotNull ResultSetViewer viewer) {
+        IResultSetPresentation presentation = viewer.getActivePresentation();
+        return viewer.getModel().getMemoryUsage() + (presentation == null ? 0 : presentation.getCacheMemoryUsage());
+    }
+
+    private static boolean isEvictable(@NotNull ResultSetViewer viewer) {
+        ResultSetModel model = viewer.getModel();
+        return !viewer.getControl().isDisposed() && !viewer.getControl().isVisible() &&
+            model.hasData() && !model.isDirty() && !model.isUpdateInProgress();
+    }
+
+    /**
+     * Moves rows of result set to disk. If rows were already moved then releases the rest, if they can be re-read.
+     *
+     * @return estimated size of freed memory
+     */
+    private long evict(@NotNull ViewerInfo info) {
+        ResultSetModel model = info.viewer.getModel();
+        // Presentation caches are rebuilt when viewer is used again
+        long cacheSize = 0;
+        IResultSetPresentation presentation = info.viewer.getActivePresentation();
+        if (presentation != null) {
+            cacheSize = presentation.getCacheMemoryUsage();
+            presentation.clearCaches();
+        }
+        long size = model.getMemoryUsage();
+        if (info.spilledVersion != model.getDataVersion()) {
+            List<ResultSetRow> rows = model.getSpillableRows();
+            if (!rows.isEmpty()) {
+                info.spillJob = new SpillJob(info, model, rows);
+                info.spillJob.schedule();
+                return cacheSize + info.spillJob.spillSize;
+            }
+        }
+        if (!isReleasable(info.viewer)) {
+            // Refresh would execute statement again
+            return cacheSize;
+        }
+        log.debug("Release result set rows (" + (size / 1024) + "Kb) to free memory");
+        info.viewer.releaseData(ResultSetMessages.controls_resultset_viewer_status_rows_released);
+        return cacheSize + size;
+    }
+
+    /**
+     * Checks whether released rows may be read again by results refresh.
+     * Tables and queries which only read data are re-read. DML with RETURNING clause, procedure calls
+     * and queries with side effects (e.g. sequences) are not.
+     */
+    private static boolean isReleasable(@NotNull ResultSetViewer viewer) {
+        DBSDataContainer dataContainer = viewer.getDataContainer();
+        if (dataContainer == null || dataContainer.isFeatureSupported(DBSDataContainer.FEATURE_DATA_MODIFIED_ON_REFRESH)) {
+            return false;
+        }
+        if (dataContainer instanceof SQLQueryContainer queryContainer) {
+            SQLScriptElement query = queryContainer.getQuery();
+            return query instanceof SQLQuery sqlQuery &&
+                DBCResultCacheKey.isReadOnlyQuery(sqlQuery.getText()) &&
+                !DBCResultCacheKey.hasVolatileFunctions(sqlQuery.getText());
+        }
+        return dataContainer instanceof DBSEntity;
+    }
+
+    private void finishSpill(@NotNull ViewerInfo info, @NotNull SpillJob job, @Nullable ResultSetSpillStorage storage) {
+        info.spillJob = null;
+        if (storage == null) {
+            // Rows can't be written, release them next time
+            info.spilledVersion = job.dataVersion;
+            scheduleCheck();
+            return;
+        }
+        ResultSetModel model = info.viewer.getModel();
+        if (info.viewer.getControl().isDisposed() || info.lastView != job.lastView || model.isDirty() ||
+            !model.moveRowsToStorage(job.dataVersion, job.rows, job.holders, storage)
+        ) {
+            // Result set was viewed or changed meanwhile
+            storage.dispose();
+            return;
+        }
+        info.spilledVersion = job.dataVersion;
+        log.debug("Result set rows (" + (job.spillSize / 1024) + "Kb) were moved to disk to free memory");
+        scheduleCheck();
+    }
+
+    private class ViewerInfo extends ResultSetListenerAdapter {
+        private final ResultSetViewer viewer;
+        private long lastView;
+        // Data version which rows were moved to disk
+        private int spilledVersion = -1;
+        @Nullable
+        private SpillJob spillJob;
+
+        ViewerInfo(@NotNull ResultSetViewer viewer) {
+            this.viewer = viewer;
+        }
+
+        @Override
+        public void handleResultSetLoad() {
+            scheduleCheck();
+        }
+    }
+
+    private class SpillJob extends AbstractJob {
+        private final ViewerInfo info;
+        private final long lastView;
+        private final int dataVersion;
+        private final int columnCount;
+        private final List<ResultSetRow> rows;
+        private final List<Object> holders;
+        private final long spillSize;
+
+        SpillJob(@NotNull ViewerInfo info, @NotNull ResultSetModel model, @NotNull List<ResultSetRow> rows) {
+            super("Move result set rows to disk");
+            setSystem(true);
+            this.info = info;
+            this.lastView = info.lastView;
+            this.dataVersion = model.getDataVersion();
+            this.columnCount = model.getAttributes().length;
+            this.rows = rows;
+            this.holders = new ArrayList<>(rows.size());
+            long size = 0;
+            for (ResultSetRow row : rows) {
+                holders.add(row.getValuesHolder());
+                size += ResultSetSpillableRowList.estimateRowSize(row.getValues());
+            }
+            this.spillSize = size;
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            ResultSetSpillStorage storage = null;
+            try {
+                storage = new ResultSetSpillStorage(
+                    DBWorkbench.getPlatform().getTempFolder(monitor, ResultSetSpillableRowList.SPILL_FOLDER_NAME),
+                    columnCount);
+                for (ResultSetRow row : rows) {
+                    if (monitor.isCanceled()) {
+                        storage.dispose();
+                        UIUtils.asyncExec(() -> info.spillJob = null);
+                        return Status.CANCEL_STATUS;
+                    }
+                    storage.addRow(row.getValues());
+                }
+            } catch (Exception e) {
+                log.error("Error moving result set rows to disk", e);
+                if (storage != null) {
+                    storage.dispose();
+                    storage = null;
+                }
+            }
+            ResultSetSpillStorage spillStorage = storage;
+            UIUtils.asyncExec(() -> finishSpill(info, this, spillStorage));
+            return Status.OK_STATUS;
+        }
+    }
+
+}
@@ -61,7 +61,21 @@ public class ResultSetModel implements DBDResultSetModel {
 
     // Data
     private List<ResultSetRow> curRows = new ArrayList<>();
+    // Storage of fetched rows (if columnar storage is enabled)
+    private boolean useColumnarStorage;
+    @Nullable
+    private ResultSetColumnarStorage columnarStorage;
+    // Disk storages of rows fetched over the memory budget
+    private final List<ResultSetSpillStorage> spillStorages = new ArrayList<>();
+    // Incremented each time when rows are replaced
+    private int dataVersion;
+    // Incremented each time when rows are replaced, edited, saved or refreshed
+    private volatile int modificationCount;
+    // Estimated heap size of in-memory rows, -1 if not calculated
+    private long memoryUsage = -1;
     private Long totalRowCount = null;
+    // Total row count estimated by database statistics
+    private Long estimatedRowCount = null;
     private int changesCount = 0;
     private volatile boolean hasData = false;
     // Flag saying that edited values update is in progress
@@ -213,6 +227,8 @@ public class ResultSetModel implements DBDResultSetModel {
     }
 
     public void refreshChangeCount() {
+        // Called after changes were saved or rejected
+        modificationCount++;
         changesCount = 0;
         for (ResultSetRow row : curRows) {
             if (row.getState() != ResultSetRow.STATE_NORMAL) {
@@ -397,7 +413,7 @@ public class ResultSetModel implements DBDResultSetModel {
 
     @NotNull
     public Object[] getRowData(int index) {
-        return curRows.get(index).values;
+        return curRows.get(index).getValues();
     }
 
     @NotNull
@@ -413,6 +429,14 @@ public class ResultSetModel implements DBDResultSetModel {
         this.totalRowCount = totalRowCount;
     }
 
+    public Long getEstimatedRowCount() {
+        return estimatedRowCount;
+    }
+
+    void setEstimatedRowCount(Long estimatedRowCount) {
+        this.estimatedRowCount = estimatedRowCount;
+    }
+
     @Nullable
     public Object getCellValue(@NotNull ResultSetCellLocation cellLocation) {
         return getCellValue(cellLocation.getAttribute(), cellLocation.getRow(), cellLocation.getRowIndexes(), false);
@@ -467,6 +491,9 @@ public class ResultSetModel implements DBDResultSetModel {
             topAttribute = attr.getTopParent();
             rootIndex = topAttribute.getOrdinalPosition();
         }
+        if (!row.isInMemory() && ResultSetSpillStorage.isReadError(row.getValues())) {
+            throw new DBException("Row values can't be read from disk storage. Refresh results to edit this row");
+        }
         if (row.getState() != ResultSetRow.STATE_NORMAL) {
             updateChanges = false;
         }
@@ -475,7 +502,8 @@ public class ResultSetModel implements DBDResultSetModel {
         }
 
         Object oldHistoricValue = updateChanges ? row.changes.get(topAttribute) : null;
-        Object currentValue = row.values[rootIndex];
+        Object[] rowValues = row.getEditableValues();
+        Object currentValue = rowValues[rootIndex];
         Object valueToEdit = currentValue;
 
         if (currentValue instanceof DBDValue) {
@@ -516,7 +544,8 @@ public class ResultSetModel implements DBDResultSetModel {
         } else {
             valueToEdit = value;
         }
-        row.values[rootIndex] = valueToEdit;
+        rowValues[rootIndex] = valueToEdit;
+        modificationCount++;
 
         if (updateChanges && row.getState() == ResultSetRow.STATE_NORMAL) {
             changesCount++;
@@ -528,6 +557,7 @@ public class ResultSetModel implements DBDResultSetModel {
     void resetCellValue(@NotNull DBDAttributeBinding attr, @NotNull ResultSetRow row, @Nullable int[] rowIndexes) {
         if (row.getState() == ResultSetRow.STATE_REMOVED) {
             row.setState(ResultSetRow.STATE_NORMAL);
+            modificationCount++;
         } else if (row.changes != null && row.changes.containsKey(attr)) {
             DBUtils.resetValue(getCellValue(attr, row, rowIndexes, false));
             try {
@@ -864,18 +894,67 @@ public class ResultSetModel implements DBDResultSetModel {
         }
     }
 
+    public boolean isUseColumnarStorage() {
+        return useColumnarStorage;
+    }
+
+    /**
+     * Keep fetched rows in columnar storage. Affects rows fetched after this call.
+     */
+    public void setUseColumnarStorage(boolean useColumnarStorage) {
+        this.useColumnarStorage = useColumnarStorage;
+    }
+
     void appendData(@NotNull DBRProgressMonitor monitor, @NotNull List<Object[]> rows, boolean resetOldRows) {
         if (resetOldRows) {
             curRows.clear();
+            columnarStorage = null;
+            disposeSpillStorages();
         }
         int rowCount = rows.size();
         int firstRowNum = curRows.size();
         List<ResultSetRow> newRows = new ArrayList<>(rowCount);
+        ResultSetColumnarStorage storage = null;
+        if (useColumnarStorage && attributes.length > 0) {
+            if (columnarStorage == null || columnarStorage.getColumnCount() != attributes.length) {
+                columnarStorage = new ResultSetColumnarStorage(attributes.length);
+            }
+            storage = columnarStorage;
+        }
+        ResultSetSpillableRowList spillableRows = null;
+        if (rows instanceof ResultSetSpillableRowList list && list.getStorage() != null) {
+            // Rows moved to disk stay there
+            spillableRows = list;
+            spillStorages.add(list.getStorage());
+        }
         for (int i = 0; i < rowCount; i++) {
-            newRows.add(
-                new ResultSetRow(firstRowNum + i, rows.get(i)));
+            if (spillableRows != null && spillableRows.isSpilled(i)) {
+                newRows.add(
+                    new ResultSetRow(firstRowNum + i, spillableRows.getStorage(), spillableRows.getSpillIndex(i)));
+                continue;
+            }
+            Object[] rowValues = rows.get(i);
+            if (storage != null && rowValues.length == storage.getColumnCount()) {
+                newRows.add(
+                    new ResultSetRow(firstRowNum + i, storage, storage.addRow(rowValues)));
+            } else {
+                newRows.add(
+                    new ResultSetRow(firstRowNum + i, rowValues));
+            }
         }
         curRows.addAll(newRows);
+        modificationCount++;
+        if (resetOldRows) {
+            dataVersion++;
+            memoryUsage = -1;
+        } else if (memoryUsage >= 0) {
+            // Track usage of appended rows, next segments get the rest of memory budget
+            for (ResultSetRow row : newRows) {
+                if (row.isInMemory()) {
+                    memoryUsage += ResultSetSpillableRowList.estimateRowSize(row.getValues());
+                }
+            }
+        }
 
         updateRowColors(resetOldRows, newRows);
 
@@ -897,12 +976,104 @@ public class ResultSetModel implements DBDResultSetModel {
     void clearData() {
         // Refresh all rows
         this.curRows = new ArrayList<>();
+        this.columnarStorage = null;
+        this.disposeSpillStorages();
+        this.dataVersion++;
+        this.modificationCount++;
+        this.memoryUsage = -1;
         this.totalRowCount = null;
+        this.estimatedRowCount = null;
         this.singleSourceEntity = null;
 
         this.hasData = false;
     }
 
+    int getDataVersion() {
+        return dataVersion;
+    }
+
+    /**
+     * Returns counter which changes each time when rows or row values change
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    void incModificationCount() {
+        modificationCount++;
+    }
+
+    /**
+     * Approximate heap size of row values kept in memory. Changes of values are not taken into account.
+     */
+    long getMemoryUsage() {
+        if (memoryUsage < 0) {
+            long size = 0;
+            for (ResultSetRow row : curRows) {
+                if (row.isInMemory()) {
+                    size += ResultSetSpillableRowList.estimateRowSize(row.getValues());
+                }
+            }
+            memoryUsage = size;
+        }
+        return memoryUsage;
+    }
+
+    /**
+     * Returns unchanged in-memory rows which values can be moved to disk storage
+     */
+    @NotNull
+    List<ResultSetRow> getSpillableRows() {
+        List<ResultSetRow> rows = new ArrayList<>();
+        for (ResultSetRow row : curRows) {
+            if (row.getState() == ResultSetRow.STATE_NORMAL && !row.isChanged() && row.isInMemory() &&
+                row.getValues().length == attributes.length && ResultSetSpillStorage.isStorable(row.getValues())
+            ) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Moves rows to disk storage. Row values were written into storage in the same order.
+     * Rows which were changed or replaced since then are kept in memory.
+     *
+     * @param version data version at the moment of values copying
+     * @param holders row values holders at the moment of values copying
+     * @return false if model data was replaced and storage can't be used
+     */
+    boolean moveRowsToStorage(
+        int version,
+        @NotNull List<ResultSetRow> rows,
+        @NotNull List<Object> holders,
+        @NotNull ResultSetSpillStorage storage
+    ) {
+        if (version != dataVersion) {
+            return false;
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            ResultSetRow row = rows.get(i);
+            if (row.getState() == ResultSetRow.STATE_NORMAL && !row.isChanged() && row.getValuesHolder() == holders.get(i)) {
+                row.moveToStorage(storage, i);
+            }
+        }
+        spillStorages.add(storage);
+        if (columnarStorage != null && curRows.stream().noneMatch(row -> row.isStoredIn(columnarStorage))) {
+            // All columnar rows were moved to disk
+            columnarStorage = null;
+        }
+        memoryUsage = -1;
+        return true;
+    }
+
+    private void disposeSpillStorages() {
+        for (ResultSetSpillStorage spillStorage : spillStorages) {
+            spillStorage.dispose();
+        }
+        spillStorages.clear();
+    }
+
     public boolean hasData() {
         return hasData;
     }
@@ -931,6 +1102,7 @@ public class ResultSetModel implements DBDResultSetModel {
         shiftRows(newRow, 1);
         curRows.add(rowNum, newRow);
         changesCount++;
+        modificationCount++;
         return newRow;
     }
 
@@ -949,11 +1121,13 @@ public class ResultSetModel implements DBDResultSetModel {
             // Mark row as deleted
             row.setState(ResultSetRow.STATE_REMOVED);
             changesCount++;
+            modificationCount++;
             return false;
         }
     }
 
     void cleanupRow(@NotNull ResultSetRow row) {
+        modificationCount++;
         row.release();
         int index = row.getVisualNumber();
         if (this.curRows.size() > index) {
@@ -1124,48 +1298,53 @@ public class ResultSetModel implements DBDResultSetModel {
         updateColorMapping(true);
     }
 
-    public void resetOrdering(@NotNull DBDAttributeBinding columnElement) {
-        final boolean hasOrdering = dataFilter.hasOrdering();
-
+    /**
+     * Sorts rows according to the data filter ordering.
+     * Rows are sorted in original order if there is no ordering.
+     *
+     * @return sorted rows or null if sort was canceled
+     */
+    @Nullable
+    List<ResultSetRow> sortRows(@NotNull DBRProgressMonitor monitor) {
         // First sort in original order to reset multi-column orderings
-        curRows.sort(Comparator.comparingInt(ResultSetRow::getRowNumber));
-
-        if (hasOrdering) {
-            // Sort locally
-            final List<DBDAttributeConstraint> orderConstraints = dataFilter.getOrderConstraints();
-            curRows.sort((row1, row2) -> {
-                int result = 0;
-                for (DBDAttributeConstraint co : orderConstraints) {
-                    final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
-                    if (binding == null) {
-                        continue;
-                    }
-                    Object cell1 = getCellValue(new ResultSetCellLocation(binding, row1));
-                    Object cell2 = getCellValue(new ResultSetCellLocation(binding, row2));
-                    Comparator<Object> comparator = columnElement.getValueHandler().getComparator();
-                    if (comparator != null) {
-                        result = comparator.compare(cell1, cell2);
-                    } else if (cell1 instanceof String && cell2 instanceof String) {
-                    	result = (cell1.toString()).compareToIgnoreCase(cell2.toString());
-                    } else {
-                    	result = DBUtils.compareDataValues(cell1, cell2);
-                    }
-                          
-                    if (co.isOrderDescending()) {
-                        result = -result;
-                    }
-                    if (result != 0) {
-                        break;
-                    }
-                }
-                return result;
-            });
+        List<ResultSetRow> rows = new ArrayList<>(curRows);
+        rows.sort(Comparator.comparingInt(ResultSetRow::getRowNumber));
+        if (!dataFilter.hasOrdering()) {
+            return rows;
+        }
+        // Sort locally
+        ResultSetClientSorter sorter = new ResultSetClientSorter(this);
+        for (DBDAttributeConstraint co : dataFilter.getOrderConstraints()) {
+            final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
+            if (binding != null) {
+                sorter.addSortKey(binding, co.isOrderDescending());
+            }
+        }
+        return sorter.sortRows(monitor, rows);
+    }
+
+    /**
+     * Sets new order of rows
+     */
+    void setRowsOrder(@NotNull List<ResultSetRow> rows) {
+        if (rows.size() != curRows.size()) {
+            log.debug("Rows were changed during sort");
+            return;
         }
+        curRows.clear();
+        curRows.addAll(rows);
         for (int i = 0; i < curRows.size(); i++) {
             curRows.get(i).setVisualNumber(i);
         }
     }
 
+    public void resetOrdering() {
+        List<ResultSetRow> rows = sortRows(new VoidProgressMonitor());
+        if (rows != null) {
+            setRowsOrder(rows);
+        }
+    }
+
     private void fillVisibleAttributes() {
         this.visibleAttributes.clear();
 
@@ -29,6 +29,7 @@ import org.jkiss.dbeaver.model.data.*;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.impl.data.ExecuteBatchGrouper;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.RowDataReceiver;
 import org.jkiss.dbeaver.model.struct.*;
@@ -605,8 +606,9 @@ class ResultSetPersister {
         if (!stat.updatedCells.isEmpty()) {
             for (Map.Entry<Integer, Object> entry : stat.updatedCells.entrySet()) {
                 ResultSetRow row = stat.row;
-                DBUtils.releaseValue(row.values[entry.getKey()]);
-                row.values[entry.getKey()] = entry.getValue();
+                Object[] rowValues = row.getEditableValues();
+                DBUtils.releaseValue(rowValues[entry.getKey()]);
+                rowValues[entry.getKey()] = entry.getValue();
             }
         }
     }
@@ -686,6 +688,7 @@ class ResultSetPersister {
         private final boolean generateScript;
         private final ResultSetSaveSettings settings;
         private final DataUpdateListener listener;
+        private final int batchSize;
         private boolean autocommit;
         private DBCStatistics updateStats, insertStats, deleteStats;
         private DBCSavepoint savepoint;
@@ -696,6 +699,7 @@ class ResultSetPersister {
             this.generateScript = generateScript;
             this.settings = settings;
             this.listener = listener;
+            this.batchSize = Math.max(1, viewer.getPreferenceStore().getInt(ResultSetPreferences.RS_EDIT_SAVE_BATCH_SIZE));
         }
 
         void notifyContainer(DBCExecutionResult result) {
@@ -801,6 +805,8 @@ class ResultSetPersister {
         private Throwable executeStatements(DBCSession session) {
             Map<String, Object> options = new LinkedHashMap<>();
             options.put(DBPScriptObject.OPTION_FULLY_QUALIFIED_NAMES, settings.isUseFullyQualifiedNames());
+            // Statements are grouped into batches of compatible rows, so they may share prepared statement
+            options.put(DBSDataManipulator.OPTION_REUSE_STATEMENT, true);
 
             DBRProgressMonitor monitor = session.getProgressMonitor();
             DBCTransactionManager txnManager = DBUtils.getTransactionManager(getExecutionContext());
@@ -825,99 +831,15 @@ class ResultSetPersister {
                 }
             }
             try {
-                for (DataStatementInfo statement : ResultSetPersister.this.deleteStatements) {
-                    if (monitor.isCanceled()) break;
-                    try {
-                        DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                        try (DBSDataManipulator.ExecuteBatch batch = dataContainer.deleteData(
-                            session,
-                            DBDAttributeValue.getAttributes(statement.keyAttributes),
-                            new ExecutionSource(dataContainer))) {
-                            batch.add(DBDAttributeValue.getValues(statement.keyAttributes));
-                            if (generateScript) {
-                                batch.generatePersistActions(session, script, options);
-                            } else {
-                                DBCStatistics bs = batch.execute(session, options);
-                                // Notify rsv container about statement execute
-                                this.notifyContainer(bs);
-
-                                deleteStats.accumulate(bs);
-                            }
-                        }
-                        processStatementChanges(statement);
-                    } catch (DBException e) {
-                        processStatementError(statement, session);
-                        return e;
-                    }
-                    monitor.worked(1);
+                Throwable error = executeStatementBatches(session, ResultSetPersister.this.deleteStatements, false, options, deleteStats);
+                if (error == null) {
+                    error = executeStatementBatches(session, ResultSetPersister.this.insertStatements, false, options, insertStats);
                 }
-                for (DataStatementInfo statement : ResultSetPersister.this.insertStatements) {
-                    if (monitor.isCanceled()) break;
-                    try {
-                        DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                        try (DBSDataManipulator.ExecuteBatch batch = dataContainer.insertData(
-                            session,
-                            DBDAttributeValue.getAttributes(statement.keyAttributes),
-                            statement.needKeys() ? new KeyDataReceiver(statement) : null,
-                            new ExecutionSource(dataContainer),
-                            options)) {
-                            batch.add(DBDAttributeValue.getValues(statement.keyAttributes));
-                            if (generateScript) {
-                                batch.generatePersistActions(session, script, options);
-                            } else {
-                                DBCStatistics bs = batch.execute(session, options);
-                                // Notify rsv container about statement execute
-                                this.notifyContainer(bs);
-
-                                insertStats.accumulate(bs);
-                            }
-                        }
-                        processStatementChanges(statement);
-                    } catch (DBException e) {
-                        processStatementError(statement, session);
-                        return e;
-                    }
-                    monitor.worked(1);
-                }
-                for (DataStatementInfo statement : ResultSetPersister.this.updateStatements) {
-                    if (monitor.isCanceled()) break;
-                    try {
-                        DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                        try (DBSDataManipulator.ExecuteBatch batch = dataContainer.updateData(
-                            session,
-                            DBDAttributeValue.getAttributes(statement.updateAttributes),
-                            DBDAttributeValue.getAttributes(statement.keyAttributes),
-                            null,
-                            new ExecutionSource(dataContainer))) {
-                            // Make single array of values
-                            Object[] attributes = new Object[statement.updateAttributes.size() + statement.keyAttributes.size()];
-                            for (int i = 0; i < statement.updateAttributes.size(); i++) {
-                                attributes[i] = statement.updateAttributes.get(i).getValue();
-                            }
-                            for (int i = 0; i < statement.keyAttributes.size(); i++) {
-                                attributes[statement.updateAttributes.size() + i] = statement.keyAttributes.get(i).getValue();
-                            }
-                            // Execute
-                            batch.add(attributes);
-                            if (generateScript) {
-                                batch.generatePersistActions(session, script, options);
-                            } else {
-                                DBCStatistics bs = batch.execute(session, options);
-                                // Notify rsv container about statement execute
-                                this.notifyContainer(bs);
-
-                                updateStats.accumulate(bs);
-                            }
-                        }
-                        processStatementChanges(statement);
-                    } catch (DBException e) {
-                        processStatementError(statement, session);
-                        return e;
-                    }
-                    monitor.worked(1);
+                if (error == null) {
+                    // Updates of different rows are independent, so they can be grouped regardless of order
+                    error = executeStatementBatches(session, ResultSetPersister.this.updateStatements, true, options, updateStats);
                 }
-
-                return null;
+                return error;
             } finally {
                 if (!generateScript && txnManager != null && this.savepoint != null) {
                     try {
@@ -930,6 +852,128 @@ class ResultSetPersister {
             }
         }
 
+        @Nullable
+        private Throwable executeStatementBatches(
+            @NotNull DBCSession session,
+            @NotNull List<DataStatementInfo> statements,
+            boolean reorder,
+            @NotNull Map<String, Object> options,
+            @NotNull DBCStatistics statistics
+        ) {
+            DBRProgressMonitor monitor = session.getProgressMonitor();
+            List<List<DataStatementInfo>> batches = ExecuteBatchGrouper.groupStatements(
+                statements,
+                // Generated keys are read for each statement separately
+                statement -> statement.needKeys() ? null : statement.getBatchKey(),
+                reorder,
+                batchSize);
+            for (List<DataStatementInfo> batch : batches) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                Throwable error = executeBatch(session, batch, options, statistics);
+                if (error != null) {
+                    return error;
+                }
+                monitor.worked(batch.size());
+            }
+            return null;
+        }
+
+        @Nullable
+        private Throwable executeBatch(
+            @NotNull DBCSession session,
+            @NotNull List<DataStatementInfo> statements,
+            @NotNull Map<String, Object> options,
+            @NotNull DBCStatistics statistics
+        ) {
+            DataStatementInfo firstStatement = statements.get(0);
+            boolean[] executedRows = null;
+            try {
+                DBSDataManipulator dataContainer = getDataManipulator(firstStatement.entity);
+                try (DBSDataManipulator.ExecuteBatch batch = openBatch(session, dataContainer, firstStatement, options)) {
+                    for (DataStatementInfo statement : statements) {
+                        batch.add(statement.getBatchValues());
+                    }
+                    if (generateScript) {
+                        batch.generatePersistActions(session, script, options);
+                    } else {
+                        try {
+                            DBCStatistics bs = batch.execute(session, options);
+                            // Notify rsv container about statement execute
+                            this.notifyContainer(bs);
+
+                            statistics.accumulate(bs);
+                        } finally {
+                            executedRows = batch.getExecutedRows();
+                        }
+                    }
+                }
+                for (int i = 0; i < statements.size(); i++) {
+                    // Some rows may be skipped if execution was canceled
+                    if (executedRows == null || executedRows[i]) {
+                        processStatementChanges(statements.get(i));
+                    }
+                }
+                return null;
+            } catch (DBException e) {
+                DataStatementInfo failedStatement = null;
+                if (executedRows != null) {
+                    // Rows executed before the failure remain saved in auto-commit mode
+                    for (int i = 0; i < statements.size(); i++) {
+                        if (executedRows[i]) {
+                            processStatementChanges(statements.get(i));
+                        } else if (failedStatement == null) {
+                            failedStatement = statements.get(i);
+                        }
+                    }
+                } else if (statements.size() == 1) {
+                    failedStatement = firstStatement;
+                }
+                processStatementError(failedStatement == null ? firstStatement : failedStatement, session);
+                if (failedStatement == null) {
+                    return e;
+                }
+                return new DBCException(
+                    NLS.bind(
+                        ResultSetMessages.controls_resultset_viewer_error_save_row,
+                        new Object[]{
+                            failedStatement.row.getVisualNumber() + 1,
+                            DBUtils.getObjectFullName(failedStatement.entity, DBPEvaluationContext.UI),
+                            e.getMessage()}),
+                    e);
+            }
+        }
+
+        @NotNull
+        private DBSDataManipulator.ExecuteBatch openBatch(
+            @NotNull DBCSession session,
+            @NotNull DBSDataManipulator dataContainer,
+            @NotNull DataStatementInfo statement,
+            @NotNull Map<String, Object> options
+        ) throws DBCException {
+            if (statement.type == DBSManipulationType.INSERT) {
+                return dataContainer.insertData(
+                    session,
+                    DBDAttributeValue.getAttributes(statement.keyAttributes),
+                    statement.needKeys() ? new KeyDataReceiver(statement) : null,
+                    new ExecutionSource(dataContainer),
+                    options);
+            } else if (statement.type == DBSManipulationType.UPDATE) {
+                return dataContainer.updateData(
+                    session,
+                    DBDAttributeValue.getAttributes(statement.updateAttributes),
+                    DBDAttributeValue.getAttributes(statement.keyAttributes),
+                    null,
+                    new ExecutionSource(dataContainer));
+            } else {
+                return dataContainer.deleteData(
+                    session,
+                    DBDAttributeValue.getAttributes(statement.keyAttributes),
+                    new ExecutionSource(dataContainer));
+            }
+        }
+
         private void processStatementChanges(DataStatementInfo statement) {
             statement.executed = true;
         }
@@ -1046,6 +1090,33 @@ class ResultSetPersister {
             this.entity = entity;
         }
 
+        /**
+         * Values of update attributes followed by key attribute values
+         */
+        @NotNull
+        Object[] getBatchValues() {
+            Object[] values = new Object[updateAttributes.size() + keyAttributes.size()];
+            for (int i = 0; i < updateAttributes.size(); i++) {
+                values[i] = updateAttributes.get(i).getValue();
+            }
+            for (int i = 0; i < keyAttributes.size(); i++) {
+                values[updateAttributes.size() + i] = keyAttributes.get(i).getValue();
+            }
+            return values;
+        }
+
+        /**
+         * Statements with the same entity and the same set of attributes may be executed in a single batch
+         */
+        @NotNull
+        ExecuteBatchGrouper.BatchKey getBatchKey() {
+            return new ExecuteBatchGrouper.BatchKey(
+                type,
+                entity,
+                Arrays.asList(DBDAttributeValue.getAttributes(updateAttributes)),
+                Arrays.asList(DBDAttributeValue.getAttributes(keyAttributes)));
+        }
+
         boolean needKeys() {
             for (DBDAttributeValue col : keyAttributes) {
                 if (col.getAttribute().isAutoGenerated() && DBUtils.isNullValue(col.getValue())) {
@@ -1130,9 +1201,10 @@ class ResultSetPersister {
                     if (!viewer.getControl().isDisposed() && viewer.getModel().getAttributes() == curAttributes) {
                         for (int i = 0; i < rows.size(); i++) {
                             if (refreshValues[i] != null) {
-                                rows.get(i).values = refreshValues[i];
+                                rows.get(i).setValues(refreshValues[i]);
                             }
                         }
+                        viewer.getModel().incModificationCount();
                         viewer.redrawData(false, true);
                     }
                 });
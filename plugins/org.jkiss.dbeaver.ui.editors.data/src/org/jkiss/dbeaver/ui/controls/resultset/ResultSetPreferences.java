@@ -35,11 +35,15 @@ public final class ResultSetPreferences {
     public static final String RS_COMMIT_ON_CONTENT_APPLY = "resultset.commit.oncontentapply"; //$NON-NLS-1$
     public static final String RS_EDIT_NEW_ROWS_AFTER = "resultset.edit.new.row.after";
     public static final String RS_EDIT_REFRESH_AFTER_UPDATE = "resultset.edit.refreshAfterUpdate"; //$NON-NLS-1$
+    public static final String RS_EDIT_SAVE_BATCH_SIZE = "resultset.edit.save.batchSize"; //$NON-NLS-1$
     public static final String RS_GROUPING_DEFAULT_SORTING = "resultset.grouping.defaultSorting"; //$NON-NLS-1$
     public static final String RS_GROUPING_SHOW_DUPLICATES_ONLY = "resultset.grouping.showDuplicatesOnly"; //$NON-NLS-1$
+    public static final String RS_GROUPING_LOCAL = "resultset.grouping.local"; //$NON-NLS-1$
+    public static final String RS_GROUPING_ANALYTIC_ENGINE = "resultset.grouping.analyticEngine"; //$NON-NLS-1$
 
     public static final String RESULT_SET_AUTO_FETCH_NEXT_SEGMENT = "resultset.autofetch.next.segment"; //$NON-NLS-1$
     public static final String RESULT_SET_AUTOMATIC_ROW_COUNT = "resultset.automatic.row.count"; //$NON-NLS-1$
+    public static final String RESULT_SET_ESTIMATE_ROW_COUNT = "resultset.estimate.row.count"; //$NON-NLS-1$
     public static final String RESULT_SET_CANCEL_TIMEOUT = "resultset.cancel.timeout"; //$NON-NLS-1$
     public static final String RESULT_SET_BINARY_EDITOR_TYPE = "resultset.binary.editor"; //$NON-NLS-1$
     public static final String RESULT_SET_ORDERING_MODE = "resultset.order.mode"; //$NON-NLS-1$
@@ -69,6 +73,15 @@ public final class ResultSetPreferences {
     public static final String RESULT_SET_DOUBLE_CLICK = "resultset.behavior.doubleClick"; //$NON-NLS-1$
     public static final String RESULT_SET_INLINE_ENTER = "resultset.behavior.inlineEnter";
     public static final String RESULT_SET_ROW_BATCH_SIZE = "resultset.show.row.batch.size"; //$NON-NLS-1$
+    public static final String RESULT_SET_COLUMNAR_STORAGE = "resultset.storage.columnar"; //$NON-NLS-1$
+    // Memory budget (MB) of fetched rows. Rows over the budget are moved to disk. 0 means no limit
+    public static final String RESULT_SET_SPILL_MEMORY_BUDGET = "resultset.storage.spillMemoryBudget"; //$NON-NLS-1$
+    // Memory budget (MB) of all editor result tabs. Rows of least recently viewed tabs are moved to disk. 0 means no limit
+    public static final String RESULT_SET_TABS_MEMORY_BUDGET = "resultset.storage.tabsMemoryBudget"; //$NON-NLS-1$
+    // Percent of fetched rows after which the next segment is read in background. 0 disables prefetch
+    public static final String RESULT_SET_PREFETCH_THRESHOLD = "resultset.prefetch.threshold"; //$NON-NLS-1$
+    // Index text of fetched rows to speed up find. Index takes up to 64MB per viewer
+    public static final String RESULT_SET_FIND_INDEX = "resultset.find.index"; //$NON-NLS-1$
     public static final String RESULT_SET_MAX_COLUMN_DEF_WIDTH = "resultset.max.column.def.width"; //$NON-NLS-1$
     
     public static final String RESULT_SET_FILTER_AUTO_COMPLETE_PROPOSIAL = "resultset.behavior.autoCompleteProposial"; //$NON-NLS-1$
@@ -50,9 +50,12 @@ public class ResultSetRow implements DBDValueRow {
     private int rowNumber;
     // Row number in grid
     private int visualNumber;
-    // Column values
-    @NotNull
-    public Object[] values;
+    // Column values (null if row is kept in external storage)
+    @Nullable
+    private Object[] values;
+    @Nullable
+    private ResultSetRowStorage storage;
+    private int storageIndex;
     @Nullable
     public Map<DBDAttributeBinding, Object> changes;
     // Row state
@@ -67,12 +70,73 @@ public class ResultSetRow implements DBDValueRow {
         this.state = STATE_NORMAL;
     }
 
+    ResultSetRow(int rowNumber, @NotNull ResultSetRowStorage storage, int storageIndex) {
+        this.rowNumber = rowNumber;
+        this.visualNumber = rowNumber;
+        this.storage = storage;
+        this.storageIndex = storageIndex;
+        this.state = STATE_NORMAL;
+    }
+
+    /**
+     * Returns row values. Values must not be modified, use {@link #getEditableValues()} for that.
+     */
     @Override
     @NotNull
     public Object[] getValues() {
+        Object[] rowValues = values;
+        if (rowValues == null && storage != null) {
+            return storage.getRowValues(storageIndex);
+        }
+        return rowValues;
+    }
+
+    /**
+     * Returns row values which can be modified.
+     * Rows kept in external storage are materialized.
+     */
+    @NotNull
+    public Object[] getEditableValues() {
+        if (values == null && storage != null) {
+            values = storage.getRowValues(storageIndex).clone();
+            storage = null;
+        }
         return values;
     }
 
+    public void setValues(@NotNull Object[] values) {
+        this.values = values;
+        this.storage = null;
+    }
+
+    /**
+     * Returns values array or row storage. Used to detect that row values were replaced.
+     */
+    @Nullable
+    Object getValuesHolder() {
+        return values != null ? values : storage;
+    }
+
+    /**
+     * Checks that values are kept in memory (i.e. not in disk storage)
+     */
+    boolean isInMemory() {
+        return values != null || !(storage instanceof ResultSetSpillStorage);
+    }
+
+    boolean isStoredIn(@NotNull ResultSetRowStorage rowStorage) {
+        return values == null && storage == rowStorage;
+    }
+
+    /**
+     * Moves row values to external storage. Values must be already copied to the storage.
+     */
+    void moveToStorage(@NotNull ResultSetRowStorage rowStorage, int rowStorageIndex) {
+        this.storage = rowStorage;
+        this.storageIndex = rowStorageIndex;
+        this.values = null;
+    }
+
     public boolean isChanged() {
         return changes != null && !changes.isEmpty();
     }
@@ -122,8 +186,12 @@ public class ResultSetRow implements DBDValueRow {
     }
 
     void release() {
-        for (Object value : values) {
-            DBUtils.releaseValue(value);
+        if (values != null) {
+            for (Object value : values) {
+                DBUtils.releaseValue(value);
+            }
+        } else if (storage != null) {
+            storage.releaseRow(storageIndex);
         }
         if (changes != null) {
             for (Object oldValue : changes.values()) {
@@ -0,0 +1,37 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Storage of row values kept outside of {@link ResultSetRow}
+ */
+interface ResultSetRowStorage {
+
+    /**
+     * Returns row values. Returned array must not be modified.
+     */
+    @NotNull
+    Object[] getRowValues(int index);
+
+    /**
+     * Releases complex values of the specified row
+     */
+    void releaseRow(int index);
+
+}
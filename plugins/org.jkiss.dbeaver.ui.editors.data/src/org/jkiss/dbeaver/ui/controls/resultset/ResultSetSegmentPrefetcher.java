@@ -0,0 +1,342 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCResultSetMetaData;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.ui.UIUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads next result set segment in background when user scrolls close to the end of fetched rows.
+ * Prefetched rows are kept in a staging buffer and appended to the model when the next segment is requested.
+ * <p>
+ * Prefetch is canceled when any other data read starts (new query, filter change, refresh).
+ */
+class ResultSetSegmentPrefetcher {
+
+    private static final Log log = Log.getLog(ResultSetSegmentPrefetcher.class);
+
+    // Max memory of staged rows. Rows over this limit are read by regular segment read
+    private static final long MAX_STAGED_MEMORY = 64L * 1024 * 1024;
+    private static final long CANCEL_WAIT_STEP = 500;
+
+    private final ResultSetViewer viewer;
+    @Nullable
+    private PrefetchJob job;
+    private volatile int lastCheckedRow = -1;
+
+    ResultSetSegmentPrefetcher(@NotNull ResultSetViewer viewer) {
+        this.viewer = viewer;
+    }
+
+    /**
+     * Starts prefetch if the visible row passed configured fraction of fetched rows
+     */
+    void checkPrefetch(int visibleRow) {
+        if (visibleRow == lastCheckedRow) {
+            // Called on each scroll
+            return;
+        }
+        lastCheckedRow = visibleRow;
+        int threshold = viewer.getPreferenceStore().getInt(ResultSetPreferences.RESULT_SET_PREFETCH_THRESHOLD);
+        if (threshold <= 0) {
+            return;
+        }
+        ResultSetModel model = viewer.getModel();
+        int rowCount = model.getRowCount();
+        if (rowCount == 0 || visibleRow < (long) rowCount * Math.min(threshold, 100) / 100) {
+            return;
+        }
+        synchronized (this) {
+            if (job != null || !viewer.isHasMoreData() || viewer.isRefreshInProgress() || model.isUpdateInProgress()) {
+                return;
+            }
+            DBSDataContainer dataContainer = viewer.getDataContainer();
+            DBCExecutionContext executionContext = viewer.getExecutionContext();
+            if (dataContainer == null || executionContext == null ||
+                dataContainer.getDataSource() != executionContext.getDataSource() ||
+                dataContainer.isFeatureSupported(DBSDataContainer.FEATURE_DATA_MODIFIED_ON_REFRESH) ||
+                executionContext.getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING))
+            {
+                return;
+            }
+            int segmentSize = viewer.getSegmentMaxRows();
+            if (segmentSize <= 0) {
+                return;
+            }
+            job = new PrefetchJob(
+                dataContainer,
+                new ResultSetExecutionSource(dataContainer, viewer, viewer, model.getDataFilter()),
+                executionContext,
+                rowCount,
+                segmentSize);
+            job.schedule();
+        }
+    }
+
+    /**
+     * Appends prefetched segment to the viewer.
+     * If prefetch is still running then rows are appended once it is finished.
+     *
+     * @param onFinish called after rows are appended
+     * @return false if there is no prefetched segment
+     */
+    synchronized boolean appendPrefetchedSegment(@NotNull Runnable onFinish) {
+        PrefetchJob prefetchJob = job;
+        if (prefetchJob == null) {
+            return false;
+        }
+        if (prefetchJob.offset != viewer.getModel().getRowCount() || prefetchJob.getExecutionSource().getDataContainer() != viewer.getDataContainer()) {
+            // Model was changed after prefetch start
+            cancel();
+            return false;
+        }
+        prefetchJob.onAppend = onFinish;
+        if (prefetchJob.finished) {
+            new AbstractJob("Append prefetched rows") {
+                {
+                    setSystem(true);
+                }
+                @Override
+                protected IStatus run(DBRProgressMonitor monitor) {
+                    appendRows(monitor, prefetchJob);
+                    return Status.OK_STATUS;
+                }
+            }.schedule();
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether prefetch query is being executed
+     */
+    synchronized boolean isReading() {
+        return job != null && !job.finished;
+    }
+
+    /**
+     * Cancels running prefetch and drops staged rows
+     */
+    synchronized void cancel() {
+        PrefetchJob prefetchJob = job;
+        if (prefetchJob == null) {
+            return;
+        }
+        job = null;
+        prefetchJob.cancel();
+        if (prefetchJob.onAppend != null) {
+            prefetchJob.onAppend.run();
+        }
+    }
+
+    /**
+     * Cancels running prefetch and waits until it ends.
+     * Prefetch uses the same execution context, so other reads must not start before that.
+     *
+     * @return false if waiting was canceled by the monitor and prefetch may be still running
+     */
+    boolean cancelAndWait(@NotNull DBRProgressMonitor monitor) {
+        PrefetchJob prefetchJob;
+        synchronized (this) {
+            prefetchJob = job;
+            cancel();
+        }
+        if (prefetchJob == null) {
+            return true;
+        }
+        while (prefetchJob.getState() != Job.NONE) {
+            if (monitor.isCanceled()) {
+                return false;
+            }
+            try {
+                prefetchJob.join(CANCEL_WAIT_STEP, null);
+            } catch (InterruptedException | OperationCanceledException e) {
+                log.debug("Prefetch job wait interrupted", e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void onPrefetchFinished(@NotNull DBRProgressMonitor monitor, @NotNull PrefetchJob prefetchJob) {
+        synchronized (this) {
+            if (job != prefetchJob) {
+                // Canceled
+                return;
+            }
+            prefetchJob.finished = true;
+            if (prefetchJob.getError() != null) {
+                log.debug("Error prefetching next segment", prefetchJob.getError());
+                Runnable onAppend = prefetchJob.onAppend;
+                prefetchJob.onAppend = null;
+                job = null;
+                if (onAppend != null) {
+                    // Segment was already requested, read it in regular way
+                    onAppend.run();
+                    UIUtils.asyncExec(viewer::readNextSegment);
+                }
+                return;
+            }
+            if (prefetchJob.onAppend == null) {
+                // Wait for segment request
+                return;
+            }
+        }
+        appendRows(monitor, prefetchJob);
+    }
+
+    private void appendRows(@NotNull DBRProgressMonitor monitor, @NotNull PrefetchJob prefetchJob) {
+        synchronized (this) {
+            if (job != prefetchJob) {
+                return;
+            }
+            job = null;
+        }
+        PrefetchReceiver receiver = prefetchJob.receiver;
+        Runnable onAppend = prefetchJob.onAppend;
+        try {
+            viewer.appendPrefetchedData(
+                monitor,
+                receiver.rows,
+                receiver.truncated || receiver.rows.size() >= prefetchJob.maxRows);
+        } finally {
+            if (onAppend != null) {
+                onAppend.run();
+            }
+        }
+    }
+
+    private class PrefetchJob extends ResultSetJobDataRead {
+        private final int offset;
+        private final int maxRows;
+        private final PrefetchReceiver receiver;
+        private volatile boolean finished;
+        @Nullable
+        private volatile Runnable onAppend;
+
+        PrefetchJob(
+            @NotNull DBSDataContainer dataContainer,
+            @NotNull ResultSetExecutionSource executionSource,
+            @NotNull DBCExecutionContext executionContext,
+            int offset,
+            int maxRows
+        ) {
+            super(dataContainer, executionSource, executionContext, viewer.getControl());
+            this.offset = offset;
+            this.maxRows = maxRows;
+            this.receiver = new PrefetchReceiver(viewer);
+            setOffset(offset);
+            setMaxRows(maxRows);
+            setShowProgress(false);
+            setSystem(true);
+        }
+
+        @NotNull
+        ResultSetExecutionSource getExecutionSource() {
+            return executionSource;
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            receiver.copyMetaData(viewer.getDataReceiver());
+            IStatus status = super.run(monitor);
+            if (receiver.truncated) {
+                // Fetch was stopped by the receiver, the job itself wasn't canceled
+                monitor.getNestedMonitor().setCanceled(false);
+            }
+            onPrefetchFinished(monitor, this);
+            return status;
+        }
+
+        @NotNull
+        @Override
+        protected DBDDataReceiver getDataReceiver() {
+            return receiver;
+        }
+
+        @Override
+        public void forceDataReadCancel(Throwable error) {
+            setError(error);
+        }
+    }
+
+    /**
+     * Collects rows into staging buffer
+     */
+    private static class PrefetchReceiver extends ResultSetDataReceiver {
+        private final List<Object[]> rows = new ArrayList<>();
+        private long memoryUsed;
+        private boolean truncated;
+
+        PrefetchReceiver(@NotNull ResultSetViewer viewer) {
+            super(viewer);
+        }
+
+        @Override
+        public void fetchStart(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, long offset, long maxRows) throws DBCException {
+            DBCResultSetMetaData metaData = resultSet.getMeta();
+            if (metaData == null || metaData.getAttributes().size() != getColumnsCount()) {
+                throw new DBCException("Result set structure was changed");
+            }
+        }
+
+        @Override
+        public void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) {
+            if (truncated) {
+                return;
+            }
+            Object[] row = readRow(session, resultSet);
+            rows.add(row);
+            memoryUsed += ResultSetSpillableRowList.estimateRowSize(row);
+            if (memoryUsed >= MAX_STAGED_MEMORY) {
+                // The rest will be read by regular segment read.
+                // Stop fetch, data containers check monitor after each row
+                truncated = true;
+                session.getProgressMonitor().getNestedMonitor().setCanceled(true);
+            }
+        }
+
+        @Override
+        public void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) {
+            // Rows are appended on request
+        }
+
+        @Override
+        public void close() {
+            // Keep staged rows
+        }
+    }
+
+}
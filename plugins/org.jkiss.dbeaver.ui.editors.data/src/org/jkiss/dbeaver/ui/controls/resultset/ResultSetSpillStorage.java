@@ -0,0 +1,389 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.impl.data.DBDValueError;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Disk storage of result set rows.
+ * Rows are serialized in pages into a temporary file. Pages are read back on demand,
+ * recently read pages are cached. Cache size is limited by memory of page values, so narrow rows
+ * get more cached pages and random access (e.g. scrolling back and forth) doesn't re-read the file.
+ * <p>
+ * Only rows with simple values (numbers, strings, booleans, dates and binaries) can be stored,
+ * see {@link #isStorable(Object[])}.
+ * If rows can't be read back then all their values are {@link DBDValueError}, see {@link #isReadError(Object[])}.
+ */
+class ResultSetSpillStorage implements ResultSetRowStorage {
+
+    private static final Log log = Log.getLog(ResultSetSpillStorage.class);
+
+    private static final int PAGE_SIZE = 256;
+    // Memory of cached pages values
+    private static final long PAGE_CACHE_MEMORY = 32 * 1024 * 1024;
+    private static final int PAGE_CACHE_MIN_SIZE = 4;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_BOOLEAN = 1;
+    private static final byte TYPE_BYTE = 2;
+    private static final byte TYPE_SHORT = 3;
+    private static final byte TYPE_INTEGER = 4;
+    private static final byte TYPE_LONG = 5;
+    private static final byte TYPE_FLOAT = 6;
+    private static final byte TYPE_DOUBLE = 7;
+    private static final byte TYPE_BIG_DECIMAL = 8;
+    private static final byte TYPE_BIG_INTEGER = 9;
+    private static final byte TYPE_STRING = 10;
+    private static final byte TYPE_BINARY = 11;
+    private static final byte TYPE_TIMESTAMP = 12;
+    private static final byte TYPE_SQL_DATE = 13;
+    private static final byte TYPE_SQL_TIME = 14;
+    private static final byte TYPE_DATE = 15;
+
+    private final int columnCount;
+    private final Path file;
+    private final FileChannel channel;
+
+    private final ByteArrayOutputStream pageBuffer = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream pageOut = new DataOutputStream(pageBuffer);
+    // Rows of the page which is not written yet
+    private final List<Object[]> pendingRows = new ArrayList<>(PAGE_SIZE);
+
+    private long[] pageOffsets = new long[16];
+    private int[] pageLengths = new int[16];
+    // Buffer for page reading, grows to the biggest page size
+    private ByteBuffer readBuffer = ByteBuffer.allocate(64 * 1024);
+    private int pageCount;
+    private int rowCount;
+    private boolean disposed;
+
+    // Access ordered, the least recently used page goes first
+    private final Map<Integer, CachedPage> pageCache = new LinkedHashMap<>(64, 0.75f, true);
+    private long pageCacheMemory;
+
+    private record CachedPage(@NotNull Object[][] rows, long memory) {
+    }
+
+    ResultSetSpillStorage(@NotNull Path folder, int columnCount) throws IOException {
+        this.columnCount = columnCount;
+        this.file = Files.createTempFile(folder, "rows", ".bin");
+        this.file.toFile().deleteOnExit();
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Checks that all row values can be serialized
+     */
+    static boolean isStorable(@NotNull Object[] values) {
+        for (Object value : values) {
+            if (value != null && getValueType(value) == TYPE_NULL) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that row values weren't read from storage
+     */
+    static boolean isReadError(@NotNull Object[] values) {
+        if (values.length == 0) {
+            return false;
+        }
+        for (Object value : values) {
+            if (!(value instanceof DBDValueError)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds row to the storage. Row must be storable.
+     *
+     * @return row index in storage
+     */
+    synchronized int addRow(@NotNull Object[] values) throws IOException {
+        if (disposed) {
+            throw new IOException("Row storage is closed");
+        }
+        if (!isStorable(values)) {
+            throw new IOException("Row contains values which can't be stored");
+        }
+        for (int i = 0; i < columnCount; i++) {
+            writeValue(pageOut, i < values.length ? values[i] : null);
+        }
+        pendingRows.add(values);
+        if (pendingRows.size() == PAGE_SIZE) {
+            flushPage();
+        }
+        return rowCount++;
+    }
+
+    @NotNull
+    @Override
+    public synchronized Object[] getRowValues(int index) {
+        if (disposed) {
+            return makeErrorRow(new DBCException("Row storage is closed"));
+        }
+        int pageIndex = index / PAGE_SIZE;
+        if (pageIndex == pageCount) {
+            return pendingRows.get(index % PAGE_SIZE);
+        }
+        CachedPage page = pageCache.get(pageIndex);
+        if (page == null) {
+            try {
+                page = readPage(pageIndex);
+            } catch (IOException e) {
+                log.error("Error reading rows from '" + file + "'", e);
+                return makeErrorRow(new DBCException("Error reading rows from disk storage", e));
+            }
+            cachePage(pageIndex, page);
+        }
+        return page.rows()[index % PAGE_SIZE];
+    }
+
+    int getCachedPageCount() {
+        return pageCache.size();
+    }
+
+    private void cachePage(int pageIndex, @NotNull CachedPage page) {
+        pageCache.put(pageIndex, page);
+        pageCacheMemory += page.memory();
+        for (Iterator<CachedPage> iter = pageCache.values().iterator();
+             pageCacheMemory > PAGE_CACHE_MEMORY && pageCache.size() > PAGE_CACHE_MIN_SIZE; ) {
+            pageCacheMemory -= iter.next().memory();
+            iter.remove();
+        }
+    }
+
+    @NotNull
+    private Object[] makeErrorRow(@NotNull DBCException error) {
+        Object[] values = new Object[columnCount];
+        Arrays.fill(values, new DBDValueError(error));
+        return values;
+    }
+
+    @Override
+    public void releaseRow(int index) {
+        // Nothing to release, all values are simple
+    }
+
+    /**
+     * Closes and deletes storage file
+     */
+    synchronized void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        pendingRows.clear();
+        pageCache.clear();
+        pageCacheMemory = 0;
+        try {
+            channel.close();
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Error deleting '" + file + "'", e);
+        }
+    }
+
+    private void flushPage() throws IOException {
+        if (pageCount == pageOffsets.length) {
+            pageOffsets = Arrays.copyOf(pageOffsets, pageCount * 2);
+            pageLengths = Arrays.copyOf(pageLengths, pageCount * 2);
+        }
+        pageOut.flush();
+        pageOffsets[pageCount] = channel.size();
+        pageLengths[pageCount] = pageBuffer.size();
+        channel.position(pageOffsets[pageCount]);
+        pageBuffer.writeTo(Channels.newOutputStream(channel));
+        pageCount++;
+        pageBuffer.reset();
+        pendingRows.clear();
+    }
+
+    @NotNull
+    private CachedPage readPage(int pageIndex) throws IOException {
+        if (disposed) {
+            throw new IOException("Row storage is closed");
+        }
+        int pageLength = pageLengths[pageIndex];
+        if (readBuffer.capacity() < pageLength) {
+            readBuffer = ByteBuffer.allocate(pageLength);
+        }
+        ByteBuffer buffer = readBuffer;
+        buffer.clear().limit(pageLength);
+        long position = pageOffsets[pageIndex];
+        while (buffer.hasRemaining()) {
+            int count = channel.read(buffer, position);
+            if (count < 0) {
+                throw new IOException("Unexpected end of row storage file");
+            }
+            position += count;
+        }
+        buffer.flip();
+        Object[][] rows = new Object[PAGE_SIZE][];
+        long memory = 0;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Object[] values = new Object[columnCount];
+            for (int k = 0; k < columnCount; k++) {
+                values[k] = readValue(buffer);
+            }
+            rows[i] = values;
+            memory += ResultSetSpillableRowList.estimateRowSize(values);
+        }
+        return new CachedPage(rows, memory);
+    }
+
+    private static byte getValueType(@NotNull Object value) {
+        Class<?> valueClass = value.getClass();
+        if (valueClass == String.class) {
+            return TYPE_STRING;
+        } else if (valueClass == Integer.class) {
+            return TYPE_INTEGER;
+        } else if (valueClass == Long.class) {
+            return TYPE_LONG;
+        } else if (valueClass == BigDecimal.class) {
+            return TYPE_BIG_DECIMAL;
+        } else if (valueClass == Double.class) {
+            return TYPE_DOUBLE;
+        } else if (valueClass == Timestamp.class) {
+            return TYPE_TIMESTAMP;
+        } else if (valueClass == Boolean.class) {
+            return TYPE_BOOLEAN;
+        } else if (valueClass == java.sql.Date.class) {
+            return TYPE_SQL_DATE;
+        } else if (valueClass == java.sql.Time.class) {
+            return TYPE_SQL_TIME;
+        } else if (valueClass == Date.class) {
+            return TYPE_DATE;
+        } else if (valueClass == Float.class) {
+            return TYPE_FLOAT;
+        } else if (valueClass == Short.class) {
+            return TYPE_SHORT;
+        } else if (valueClass == Byte.class) {
+            return TYPE_BYTE;
+        } else if (valueClass == BigInteger.class) {
+            return TYPE_BIG_INTEGER;
+        } else if (valueClass == byte[].class) {
+            return TYPE_BINARY;
+        }
+        return TYPE_NULL;
+    }
+
+    private static void writeValue(@NotNull DataOutputStream out, @Nullable Object value) throws IOException {
+        byte type = value == null ? TYPE_NULL : getValueType(value);
+        out.writeByte(type);
+        switch (type) {
+            case TYPE_NULL -> {
+                if (value != null) {
+                    throw new IOException("Value of type " + value.getClass().getName() + " can't be stored");
+                }
+            }
+            case TYPE_BOOLEAN -> out.writeBoolean((Boolean) value);
+            case TYPE_BYTE -> out.writeByte((Byte) value);
+            case TYPE_SHORT -> out.writeShort((Short) value);
+            case TYPE_INTEGER -> out.writeInt((Integer) value);
+            case TYPE_LONG -> out.writeLong((Long) value);
+            case TYPE_FLOAT -> out.writeFloat((Float) value);
+            case TYPE_DOUBLE -> out.writeDouble((Double) value);
+            case TYPE_BIG_DECIMAL -> {
+                BigDecimal decimal = (BigDecimal) value;
+                out.writeInt(decimal.scale());
+                writeBytes(out, decimal.unscaledValue().toByteArray());
+            }
+            case TYPE_BIG_INTEGER -> writeBytes(out, ((BigInteger) value).toByteArray());
+            case TYPE_STRING -> writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+            case TYPE_BINARY -> writeBytes(out, (byte[]) value);
+            case TYPE_TIMESTAMP -> {
+                Timestamp timestamp = (Timestamp) value;
+                out.writeLong(timestamp.getTime());
+                out.writeInt(timestamp.getNanos());
+            }
+            case TYPE_SQL_DATE, TYPE_SQL_TIME, TYPE_DATE -> out.writeLong(((Date) value).getTime());
+            default -> throw new IOException("Unsupported value type " + type);
+        }
+    }
+
+    private static void writeBytes(@NotNull DataOutputStream out, @NotNull byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull ByteBuffer buffer) throws IOException {
+        byte type = buffer.get();
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_BOOLEAN -> buffer.get() != 0;
+            case TYPE_BYTE -> buffer.get();
+            case TYPE_SHORT -> buffer.getShort();
+            case TYPE_INTEGER -> buffer.getInt();
+            case TYPE_LONG -> buffer.getLong();
+            case TYPE_FLOAT -> buffer.getFloat();
+            case TYPE_DOUBLE -> buffer.getDouble();
+            case TYPE_BIG_DECIMAL -> {
+                int scale = buffer.getInt();
+                yield new BigDecimal(new BigInteger(readBytes(buffer)), scale);
+            }
+            case TYPE_BIG_INTEGER -> new BigInteger(readBytes(buffer));
+            case TYPE_STRING -> new String(readBytes(buffer), StandardCharsets.UTF_8);
+            case TYPE_BINARY -> readBytes(buffer);
+            case TYPE_TIMESTAMP -> {
+                Timestamp timestamp = new Timestamp(buffer.getLong());
+                timestamp.setNanos(buffer.getInt());
+                yield timestamp;
+            }
+            case TYPE_SQL_DATE -> new java.sql.Date(buffer.getLong());
+            case TYPE_SQL_TIME -> new java.sql.Time(buffer.getLong());
+            case TYPE_DATE -> new Date(buffer.getLong());
+            default -> throw new IOException("Corrupted row storage: unknown value type " + type);
+        };
+    }
+
+    @NotNull
+    private static byte[] readBytes(@NotNull ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * List of fetched rows limited by memory budget.
+ * Rows fetched after the budget is exhausted are moved to {@link ResultSetSpillStorage}.
+ * Rows which can't be serialized are kept in memory.
+ */
+class ResultSetSpillableRowList extends AbstractList<Object[]> {
+
+    private static final Log log = Log.getLog(ResultSetSpillableRowList.class);
+
+    static final String SPILL_FOLDER_NAME = "resultset-spill"; //$NON-NLS-1$
+
+    private final DBRProgressMonitor monitor;
+    private final int columnCount;
+    private final long memoryBudget;
+    private long memoryUsed;
+    private boolean spillDisabled;
+
+    // In-memory rows. Null for rows moved to storage
+    private final List<Object[]> rows = new ArrayList<>();
+    @Nullable
+    private ResultSetSpillStorage storage;
+    // Number of first row moved to storage
+    private int firstSpilledRow = -1;
+    // Storage indexes of rows starting from firstSpilledRow (-1 for in-memory rows)
+    private int[] spillIndexes;
+
+    /**
+     * @param memoryBudget memory budget of all result set rows in bytes
+     * @param memoryUsed   memory already used by previously fetched rows
+     */
+    ResultSetSpillableRowList(@NotNull DBRProgressMonitor monitor, int columnCount, long memoryBudget, long memoryUsed) {
+        this.monitor = monitor;
+        this.columnCount = columnCount;
+        this.memoryBudget = memoryBudget;
+        this.memoryUsed = memoryUsed;
+    }
+
+    @Nullable
+    ResultSetSpillStorage getStorage() {
+        return storage;
+    }
+
+    boolean isSpilled(int index) {
+        return getSpillIndex(index) >= 0;
+    }
+
+    /**
+     * Returns row index in storage or -1 if row is kept in memory
+     */
+    int getSpillIndex(int index) {
+        if (firstSpilledRow < 0 || index < firstSpilledRow) {
+            return -1;
+        }
+        return spillIndexes[index - firstSpilledRow];
+    }
+
+    @Override
+    public boolean add(@NotNull Object[] row) {
+        int spillIndex = -1;
+        if (memoryUsed >= memoryBudget && !spillDisabled && ResultSetSpillStorage.isStorable(row)) {
+            spillIndex = spillRow(row);
+        }
+        if (spillIndex < 0) {
+            memoryUsed += estimateRowSize(row);
+        }
+        if (firstSpilledRow >= 0) {
+            int offset = rows.size() - firstSpilledRow;
+            if (offset == spillIndexes.length) {
+                spillIndexes = Arrays.copyOf(spillIndexes, offset + (offset >> 1));
+            }
+            spillIndexes[offset] = spillIndex;
+        }
+        rows.add(spillIndex < 0 ? row : null);
+        return true;
+    }
+
+    @Override
+    public Object[] get(int index) {
+        Object[] row = rows.get(index);
+        if (row == null && storage != null) {
+            return storage.getRowValues(getSpillIndex(index));
+        }
+        return row;
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    private int spillRow(@NotNull Object[] row) {
+        try {
+            if (storage == null) {
+                storage = new ResultSetSpillStorage(
+                    DBWorkbench.getPlatform().getTempFolder(monitor, SPILL_FOLDER_NAME),
+                    columnCount);
+                firstSpilledRow = rows.size();
+                spillIndexes = new int[1024];
+                log.debug("Result set memory budget exceeded. Rows are moved to disk");
+            }
+            return storage.addRow(row);
+        } catch (IOException e) {
+            log.error("Error writing rows to disk. Rows will be kept in memory", e);
+            spillDisabled = true;
+            return -1;
+        }
+    }
+
+    /**
+     * Approximate heap size of row values
+     */
+    static long estimateRowSize(@NotNull Object[] row) {
+        long size = 16 + 4L * row.length;
+        for (Object value : row) {
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof String str) {
+                size += 40 + str.length();
+            } else if (value instanceof byte[] bytes) {
+                size += 16 + bytes.length;
+            } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+                size += 64;
+            } else if (value instanceof Number || value instanceof Boolean) {
+                size += 16;
+            } else {
+                size += 32;
+            }
+        }
+        return size;
+    }
+
+}
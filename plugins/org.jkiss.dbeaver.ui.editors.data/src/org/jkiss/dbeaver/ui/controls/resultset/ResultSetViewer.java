@@ -124,6 +124,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 /**
  * ResultSetViewer
@@ -201,6 +202,10 @@ public class ResultSetViewer extends Viewer
 
     @NotNull
     private final ResultSetDataReceiver dataReceiver;
+    private final ResultSetSegmentPrefetcher segmentPrefetcher;
+    // Status shown after fetched rows were released to free memory
+    @Nullable
+    private String dataReleaseMessage;
 
     @NotNull
     private final DBPPreferenceListener dataPropertyListener;
@@ -247,6 +252,7 @@ public class ResultSetViewer extends Viewer
         this.container = container;
         this.decorator = container.createResultSetDecorator();
         this.dataReceiver = new ResultSetDataReceiver(this);
+        this.segmentPrefetcher = new ResultSetSegmentPrefetcher(this);
         this.dataPropertyListener = event -> {
             DBPDataSourceContainer dataSourceContainer = null;
             if (event.getSource() instanceof DBPDataSourceContainerProvider) {
@@ -2250,8 +2256,14 @@ public class ResultSetViewer extends Viewer
             } else if (!isHasMoreData()) {
                 rcMessage = ROW_COUNT_FORMAT.format(model.getRowCount());
             } else {
+                Long estimatedRowCount = model.getEstimatedRowCount();
                 if (model.getTotalRowCount() == null) {
-                    rcMessage = ROW_COUNT_FORMAT.format(model.getRowCount()) + "+";
+                    if (estimatedRowCount != null && estimatedRowCount > model.getRowCount()) {
+                        // Exact row count may be calculated on demand
+                        rcMessage = "~" + ROW_COUNT_FORMAT.format(estimatedRowCount);
+                    } else {
+                        rcMessage = ROW_COUNT_FORMAT.format(model.getRowCount()) + "+";
+                    }
                 } else {
                     // We know actual row count
                     rcMessage = ROW_COUNT_FORMAT.format(model.getTotalRowCount());
@@ -2268,7 +2280,9 @@ public class ResultSetViewer extends Viewer
     private void updateStatusInfo(boolean isTooltip) {
         String statusMessage;
         if (model.getRowCount() == 0) {
-            if (model.getVisibleAttributeCount() == 0) {
+            if (dataReleaseMessage != null) {
+                statusMessage = dataReleaseMessage;
+            } else if (model.getVisibleAttributeCount() == 0) {
                 statusMessage =
                     ResultSetMessages.controls_resultset_viewer_status_empty + getExecutionTimeMessage(isTooltip);
             } else {
@@ -2314,6 +2328,11 @@ public class ResultSetViewer extends Viewer
                 statusMessage += " - finished with error";
             }
         }
+        if (model.getStatistics() != null && model.getStatistics().getInfo().get(DBCResultCache.STAT_CACHED_TIME) instanceof Long cachedTime) {
+            statusMessage += " - " + NLS.bind(
+                ResultSetMessages.controls_resultset_viewer_status_cached,
+                RuntimeUtils.formatExecutionTime(System.currentTimeMillis() - cachedTime));
+        }
         if (getPreferenceStore().getBoolean(ResultSetPreferences.RESULT_SET_SHOW_CONNECTION_NAME)) {
             DBSDataContainer dataContainer = getDataContainer();
             if (dataContainer != null) {
@@ -2455,14 +2474,28 @@ public class ResultSetViewer extends Viewer
         if (serverSideOrdering) {
             this.refreshData(null);
         } else {
-            this.reorderLocally(columnElement);
+            this.reorderLocally();
         }
     }
 
-    private void reorderLocally(DBDAttributeBinding columnElement)
+    private void reorderLocally()
     {
         this.rejectChanges();
-        this.getModel().resetOrdering(columnElement);
+        // Sort in background, large result sets may take a while
+        AtomicReference<List<ResultSetRow>> sortedRows = new AtomicReference<>();
+        try {
+            UIUtils.runInProgressService(monitor -> sortedRows.set(model.sortRows(monitor)));
+        } catch (InvocationTargetException e) {
+            DBWorkbench.getPlatformUI().showError("Sort rows", "Error sorting rows", e.getTargetException());
+            return;
+        } catch (InterruptedException e) {
+            return;
+        }
+        if (sortedRows.get() == null) {
+            // Canceled
+            return;
+        }
+        this.model.setRowsOrder(sortedRows.get());
         this.getActivePresentation().refreshData(false, false, true);
         this.updateFiltersText();
     }
@@ -2488,6 +2521,8 @@ public class ResultSetViewer extends Viewer
             return;
         }
         this.curRow = null;
+        this.dataReleaseMessage = null;
+        this.model.setUseColumnarStorage(getPreferenceStore().getBoolean(ResultSetPreferences.RESULT_SET_COLUMNAR_STORAGE));
         this.model.setData(monitor, rows);
         this.curRow = (this.model.getRowCount() > 0 ? this.model.getRow(0) : null);
         if (focusRow > 0 && focusRow < model.getRowCount()) {
@@ -4104,6 +4139,9 @@ public class ResultSetViewer extends Viewer
                 nextSegmentReadingBlocked = false;
                 return;
             }
+            if (segmentPrefetcher.appendPrefetchedSegment(() -> nextSegmentReadingBlocked = false)) {
+                return;
+            }
             DBSDataContainer dataContainer = getDataContainer();
             if (dataContainer != null && !model.isUpdateInProgress()) {
                 dataReceiver.setHasMoreData(false);
@@ -4123,6 +4161,26 @@ public class ResultSetViewer extends Viewer
         });
     }
 
+    @Override
+    public void prefetchNextSegment(int visibleRow) {
+        segmentPrefetcher.checkPrefetch(visibleRow);
+    }
+
+    /**
+     * Appends rows read by background prefetch
+     */
+    void appendPrefetchedData(@NotNull DBRProgressMonitor monitor, @NotNull List<Object[]> rows, boolean hasMoreData) {
+        dataReceiver.setHasMoreData(hasMoreData);
+        appendData(monitor, rows, false);
+        UIUtils.syncExec(() -> {
+            if (getControl().isDisposed()) {
+                return;
+            }
+            activePresentation.refreshData(false, true, true);
+            updateStatusMessage();
+        });
+    }
+
     private boolean verifyQuerySafety() {
         if (container.getDataContainer() == null || !container.getDataContainer().isFeatureSupported(DBSDataContainer.FEATURE_DATA_MODIFIED_ON_REFRESH) ) {
             return true;
@@ -4174,6 +4232,56 @@ public class ResultSetViewer extends Viewer
         }
     }
 
+    /**
+     * Estimates total row count using database statistics in background.
+     * Estimation is cheap (unlike row count calculation) so it is performed after each data read.
+     * Statistics are read in metadata context, so they don't interfere with the main context transaction.
+     */
+    private void estimateRowCount() {
+        final DBCExecutionContext executionContext = getExecutionContext();
+        final DBSDataContainer dataContainer = getDataContainer();
+        if (rowCountLabel == null || executionContext == null || !(dataContainer instanceof DBSDataCountEstimator) ||
+            dataContainer.getDataSource() != executionContext.getDataSource() ||
+            !getPreferenceStore().getBoolean(ResultSetPreferences.RESULT_SET_ESTIMATE_ROW_COUNT) ||
+            !isHasMoreData() || model.getTotalRowCount() != null)
+        {
+            return;
+        }
+        final DBCExecutionContext metaContext = DBUtils.getDefaultContext(dataContainer, true);
+        if (metaContext == null) {
+            return;
+        }
+        final DBDDataFilter dataFilter = new DBDDataFilter(model.getDataFilter());
+        new AbstractJob("Estimate row count") {
+            {
+                setSystem(true);
+            }
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                long estimatedRowCount;
+                try {
+                    estimatedRowCount = DBUtils.estimateRowCount(monitor, metaContext, dataContainer, dataFilter);
+                } catch (Exception e) {
+                    log.debug("Error estimating row count", e);
+                    return Status.OK_STATUS;
+                }
+                if (estimatedRowCount >= 0) {
+                    UIUtils.asyncExec(() -> {
+                        if (getControl().isDisposed() || getDataContainer() != dataContainer ||
+                            !dataFilter.equalFilters(model.getDataFilter(), true))
+                        {
+                            // Another data was read
+                            return;
+                        }
+                        model.setEstimatedRowCount(estimatedRowCount);
+                        updateStatusMessage();
+                    });
+                }
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
     public void setSelectionStatistics(String stats) {
         if (selectionStatLabel == null || selectionStatLabel.isDisposed()) {
             return;
@@ -4341,7 +4449,29 @@ public class ResultSetViewer extends Viewer
         }
     }
 
-    void releaseDataReadLock() {
+    /**
+     * Acquires data read lock for an auxiliary query in the viewer execution context,
+     * so data reads don't use the same context concurrently.
+     * Lock must be released with {@link #releaseDataReadLock()}.
+     *
+     * @return false if data read or prefetch is in progress
+     */
+    public boolean tryAcquireDataReadLock() {
+        synchronized (dataPumpJobQueue) {
+            if (dataPumpRunning.get()) {
+                return false;
+            }
+            dataPumpRunning.set(true);
+        }
+        // Prefetch doesn't start once the lock is acquired, but it may be started before
+        if (segmentPrefetcher.isReading()) {
+            releaseDataReadLock();
+            return false;
+        }
+        return true;
+    }
+
+    public void releaseDataReadLock() {
         synchronized (dataPumpJobQueue) {
             if (!dataPumpRunning.get()) {
                 log.debug("Internal error: data read status is empty");
@@ -4363,6 +4493,7 @@ public class ResultSetViewer extends Viewer
 
     public void clearData(boolean clearMetaData)
     {
+        this.segmentPrefetcher.cancel();
         this.model.releaseAllData();
         this.model.clearData();
         this.curRow = null;
@@ -4373,6 +4504,17 @@ public class ResultSetViewer extends Viewer
         }
     }
 
+    /**
+     * Releases fetched rows to free memory. Rows are shown again after results refresh.
+     */
+    void releaseData(@NotNull String message) {
+        clearData(false);
+        dataReleaseMessage = message;
+        redrawData(false, true);
+        updateEditControls();
+        updateStatusMessage();
+    }
+
     @Override
     public boolean applyChanges(@Nullable DBRProgressMonitor monitor, @NotNull ResultSetSaveSettings settings)
     {
@@ -5056,7 +5198,8 @@ public class ResultSetViewer extends Viewer
 
         @Override
         protected IStatus run(DBRProgressMonitor monitor) {
-            if (!acquireDataReadLock()) {
+            // Background prefetch uses the same connection, so read starts only after it ends
+            if (!segmentPrefetcher.cancelAndWait(monitor) || !acquireDataReadLock()) {
                 // Must run finalizer in any case
                 if (finalizer != null) {
                     finalizer.run();
@@ -5198,6 +5341,9 @@ public class ResultSetViewer extends Viewer
                     if (error == null) {
                         // Update status (update execution statistics)
                         updateStatusMessage();
+                        if (!scroll) {
+                            estimateRowCount();
+                        }
                     }
                     try {
                         fireResultSetLoad();
@@ -44,6 +44,8 @@ public class ResultSetMessages extends NLS {
     public static String controls_resultset_grouping_clear;
     public static String controls_resultset_grouping_default_sorting;
     public static String controls_resultset_grouping_show_duplicates_only;
+    public static String controls_resultset_grouping_local;
+    public static String controls_resultset_grouping_analytic_engine;
     
     public static String controls_resultset_virtual_edit_action;
     public static String controls_resultset_virtual_add_virtual_foreign_key;
@@ -100,11 +102,17 @@ public class ResultSetMessages extends NLS {
     public static String controls_resultset_viewer_action_layout;
     public static String controls_resultset_viewer_monitor_aply_changes;
     public static String controls_resultset_viewer_status_inserted_;
+    public static String controls_resultset_viewer_error_save_row;
     public static String controls_resultset_viewer_status_empty;
     public static String controls_resultset_viewer_status_no_data;
+    public static String controls_resultset_viewer_status_rows_released;
     public static String controls_resultset_viewer_status_row;
     public static String controls_resultset_viewer_status_rows_fetched;
     public static String controls_resultset_viewer_status_rows_updated;
+    public static String controls_resultset_viewer_status_cached;
+    public static String controls_resultset_viewer_status_find_matches;
+    public static String controls_resultset_viewer_status_find_matches_partial;
+    public static String controls_resultset_plaintext_too_large;
     public static String controls_resultset_viewer_status_rows_size;
     public static String controls_resultset_viewer_status_rows_time;
     public static String controls_resultset_viewer_status_rows_time_fetch;
@@ -335,6 +343,8 @@ public class ResultSetMessages extends NLS {
     public static String pref_page_database_resultsets_label_auto_fetch_segment_tip;
     public static String pref_page_database_resultsets_label_automatic_row_count;
     public static String pref_page_database_resultsets_label_automatic_row_count_tip;
+    public static String pref_page_database_resultsets_label_estimate_row_count;
+    public static String pref_page_database_resultsets_label_estimate_row_count_tip;
     public static String pref_page_database_resultsets_label_reread_on_scrolling;
     public static String pref_page_database_resultsets_label_reread_on_scrolling_tip;
     public static String pref_page_database_resultsets_label_use_sql;
@@ -345,6 +355,15 @@ public class ResultSetMessages extends NLS {
     public static String pref_page_database_resultsets_label_order_mode_always_client;
     public static String pref_page_database_resultsets_label_order_mode_always_server;
     public static String pref_page_database_resultsets_label_fetch_size;
+    public static String pref_page_database_resultsets_label_adaptive_fetch_size;
+    public static String pref_page_database_resultsets_label_columnar_storage;
+    public static String pref_page_database_resultsets_label_columnar_storage_tip;
+    public static String pref_page_database_resultsets_label_find_index;
+    public static String pref_page_database_resultsets_label_find_index_tip;
+    public static String pref_page_database_resultsets_label_result_cache_enabled;
+    public static String pref_page_database_resultsets_label_result_cache_enabled_tip;
+    public static String pref_page_database_resultsets_label_result_cache_ttl;
+    public static String pref_page_database_resultsets_label_result_cache_memory_limit;
     public static String pref_page_database_resultsets_label_read_metadata;
     public static String pref_page_database_resultsets_label_read_references;
     public static String pref_page_database_resultsets_group_string;
@@ -356,10 +375,14 @@ public class ResultSetMessages extends NLS {
     public static String pref_page_database_resultsets_label_read_metadata_tip;
     public static String pref_page_database_resultsets_label_read_references_tip;
     public static String pref_page_database_resultsets_label_fetch_size_tip;
+    public static String pref_page_database_resultsets_label_adaptive_fetch_size_tip;
 
     public static String pref_page_content_cache_clob;
     public static String pref_page_content_cache_blob;
     public static String pref_page_database_general_label_cache_max_size;
+    public static String pref_page_database_general_label_preview_max_size;
+    public static String pref_page_database_general_label_preview_max_size_tip;
+    public static String pref_page_content_preview_blob;
     public static String pref_page_database_general_checkbox_keep_cursor;
     public static String pref_page_database_general_group_queries;
     public static String pref_page_database_general_group_transactions;
@@ -367,8 +390,17 @@ public class ResultSetMessages extends NLS {
     public static String pref_page_database_general_label_result_set_max_size;
     public static String pref_page_database_general_label_result_set_cancel_timeout;
     public static String pref_page_database_general_label_result_set_cancel_timeout_tip;
+    public static String pref_page_database_general_label_result_set_spill_memory_budget;
+    public static String pref_page_database_general_label_result_set_spill_memory_budget_tip;
+    public static String pref_page_database_general_label_result_set_tabs_memory_budget;
+    public static String pref_page_database_general_label_result_set_tabs_memory_budget_tip;
+    public static String pref_page_database_general_label_result_set_prefetch_threshold;
+    public static String pref_page_database_general_label_result_set_prefetch_threshold_tip;
+    public static String pref_page_database_general_label_result_set_save_batch_size;
+    public static String pref_page_database_general_label_result_set_save_batch_size_tip;
 
     public static String pref_page_results_group_advanced;
+    public static String pref_page_results_group_result_cache;
     public static String pref_page_sql_editor_group_misc;
     public static String pref_page_database_general_use_column_names;
     public static String pref_page_database_general_use_column_names_tip;
@@ -430,6 +462,7 @@ public class ResultSetMessages extends NLS {
     public static String grouping_panel_error_title;
     public static String grouping_panel_error_change_sort_message;
     public static String grouping_panel_error_change_duplicate_presentation_message;
+    public static String grouping_panel_error_change_local_grouping_message;
 
     public static String refs_label;
     public static String refs_no_refs_text;
@@ -453,6 +486,10 @@ public class ResultSetMessages extends NLS {
     public static String aggregate_columns_reset_text;
     public static String aggregate_columns_copy_value_text;
     public static String aggregate_columns_copy_all_text;
+    public static String aggregate_columns_run_server_queries_text;
+    public static String aggregate_columns_run_server_queries_tip;
+    public static String aggregate_columns_server_function_text;
+    public static String aggregate_columns_server_busy_text;
     public static String result_set_view_menu_text;
     public static String result_set_stat_columns;
     public static String result_set_stat_rows;
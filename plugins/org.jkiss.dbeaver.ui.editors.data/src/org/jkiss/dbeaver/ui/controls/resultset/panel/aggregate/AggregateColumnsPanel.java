@@ -16,10 +16,14 @@
  */
 package org.jkiss.dbeaver.ui.controls.resultset.panel.aggregate;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.action.*;
 import org.eclipse.jface.dialogs.IDialogSettings;
+import org.eclipse.jface.text.Document;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionProvider;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.dnd.TextTransfer;
 import org.eclipse.swt.events.SelectionAdapter;
@@ -27,13 +31,28 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.*;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBIcon;
+import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPImage;
+import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.DBValueFormatting;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.aggregate.IAggregateFunction;
+import org.jkiss.dbeaver.model.data.aggregate.IAggregateFunctionMergeable;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.model.sql.parser.SQLParserContext;
+import org.jkiss.dbeaver.model.sql.parser.SQLRuleManager;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptParser;
+import org.jkiss.dbeaver.model.sql.transformers.SQLQueryTransformerAggregate;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.registry.functions.AggregateFunctionDescriptor;
 import org.jkiss.dbeaver.registry.functions.FunctionsRegistry;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
@@ -42,12 +61,14 @@ import org.jkiss.dbeaver.ui.UIIcon;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.resultset.*;
 import org.jkiss.dbeaver.ui.controls.resultset.internal.ResultSetMessages;
+import org.jkiss.utils.CommonUtils;
 
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.util.List;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * RSV value view panel
@@ -61,21 +82,36 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     public static final String SETTINGS_SECTION_AGGREGATE = "panel-" + PANEL_ID;
     public static final String PARAM_GROUP_BY_COLUMNS = "groupByColumns";
     public static final String PARAM_GROUP_AS_STRINGS = "groupAsStrings";
+    public static final String PARAM_RUN_SERVER_QUERIES = "runServerQueries";
 
     private static final DecimalFormat DOUBLE_FORMAT = new DecimalFormat("###,###,###,###,###,##0.###");
     private static final DecimalFormat INTEGER_FORMAT = new DecimalFormat("###,###,###,###,###,##0");
+    // Approximate results are shown with this prefix
+    private static final String APPROXIMATE_PREFIX = "~";
+    // Large selections are aggregated in parallel chunks
+    private static final int PARALLEL_AGGREGATE_THRESHOLD = 100000;
+    private static final int PARALLEL_AGGREGATE_CHUNK_SIZE = 50000;
+    // Shown while value is being calculated in background
+    private static final String PENDING_VALUE_TEXT = "...";
+    // Delay between attempts to run server query while result set data is being read
+    private static final int SERVER_QUERY_WAIT_DELAY = 200;
+    // Server query is not executed if data read doesn't end in this time
+    private static final long SERVER_QUERY_WAIT_TIMEOUT = 60000;
 
     private IResultSetPresentation presentation;
     private Tree aggregateTable;
 
     private boolean groupByColumns;
     private boolean aggregateAsStrings;
-    //private boolean runServerQueries;
+    private boolean runServerQueries;
 
     private IDialogSettings panelSettings;
 
     private final List<AggregateFunctionDescriptor> enabledFunctions = new ArrayList<>();
     private boolean featureTracked;
+    private AggregateJob aggregateJob;
+    private String parsedQueryText;
+    private boolean parsedQueryHasParameters;
 
     public AggregateColumnsPanel() {
     }
@@ -131,6 +167,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     private void loadSettings() {
         aggregateAsStrings = panelSettings.getBoolean(PARAM_GROUP_AS_STRINGS);
         groupByColumns = panelSettings.getBoolean(PARAM_GROUP_BY_COLUMNS);
+        runServerQueries = panelSettings.getBoolean(PARAM_RUN_SERVER_QUERIES);
         IDialogSettings functionsSection = panelSettings.getSection("functions");
         if (functionsSection != null) {
             final Map<AggregateFunctionDescriptor, Integer> funcIndexes = new HashMap<>();
@@ -168,6 +205,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     private void saveSettings() {
         panelSettings.put(PARAM_GROUP_BY_COLUMNS, groupByColumns);
         panelSettings.put(PARAM_GROUP_AS_STRINGS, aggregateAsStrings);
+        panelSettings.put(PARAM_RUN_SERVER_QUERIES, runServerQueries);
         IDialogSettings functionsSection = UIUtils.getSettingsSection(panelSettings, "functions");
 
         for (AggregateFunctionDescriptor func : FunctionsRegistry.getInstance().getAggregateFunctions()) {
@@ -200,6 +238,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     @Override
     public void refresh(boolean force) {
         aggregateTable.setRedraw(false);
+        cancelAggregation();
         try {
             aggregateTable.removeAll();
             if (this.presentation instanceof ISelectionProvider) {
@@ -230,6 +269,11 @@ public class AggregateColumnsPanel implements IResultSetPanel {
             featureTracked = true;
         }
         ResultSetModel model = presentation.getController().getModel();
+        boolean serverSide = isServerAggregationAvailable();
+        // Server result covers the whole column, so it is used only if all fetched rows of the column are selected
+        int rowCount = model.getRowCount();
+        List<LocalAggregate> localAggregates = new ArrayList<>();
+        List<ServerAggregate> serverAggregates = new ArrayList<>();
         if (groupByColumns) {
             Map<DBDAttributeBinding, List<Object>> attrValues = new LinkedHashMap<>();
             for (Object element : selection.toList()) {
@@ -246,27 +290,51 @@ public class AggregateColumnsPanel implements IResultSetPanel {
                 TreeItem attrItem = new TreeItem(aggregateTable, SWT.NONE);
                 attrItem.setText(entry.getKey().getName());
                 attrItem.setImage(DBeaverIcons.getImage(DBValueFormatting.getObjectImage(entry.getKey())));
-                aggregateValues(attrItem, entry.getValue());
+                boolean wholeColumn = entry.getValue().size() == rowCount;
+                aggregateValues(attrItem, entry.getValue(), serverSide && wholeColumn ? entry.getKey() : null, localAggregates, serverAggregates);
                 attrItem.setExpanded(true);
             }
         } else {
             List<Object> allValues = new ArrayList<>(selection.size());
+            Set<DBDAttributeBinding> allAttributes = new HashSet<>();
             for (Object element : selection.toList()) {
                 DBDAttributeBinding attr = selection.getElementAttribute(element);
                 ResultSetRow row = selection.getElementRow(element);
                 if (row != null) {
                     Object cellValue = model.getCellValue(attr, row);
                     allValues.add(cellValue);
+                    allAttributes.add(attr);
                 }
             }
-            aggregateValues(null, allValues);
+            // Values of different columns can't be aggregated by a single server-side expression
+            DBDAttributeBinding serverAttribute = serverSide && allAttributes.size() == 1 && allValues.size() == rowCount ?
+                allAttributes.iterator().next() : null;
+            aggregateValues(null, allValues, serverAttribute, localAggregates, serverAggregates);
+        }
+        if (!localAggregates.isEmpty() || !serverAggregates.isEmpty()) {
+            aggregateJob = new AggregateJob(localAggregates, serverAggregates);
+            aggregateJob.schedule();
         }
     }
 
-    private void aggregateValues(TreeItem parentItem, Collection<Object> values) {
-        List<AggregateFunctionDescriptor> functions = enabledFunctions;
-        Map<IAggregateFunction, TreeItem> funcMap = new IdentityHashMap<>();
-        for (AggregateFunctionDescriptor funcDesc : functions) {
+    /**
+     * Aggregates values on the client side.
+     * If server attribute is specified then functions which have SQL expressions are evaluated by the server
+     * over all rows of the result set (not just fetched ones). Such functions are labeled accordingly.
+     * Large value lists are aggregated in background.
+     */
+    private void aggregateValues(
+        TreeItem parentItem,
+        List<Object> values,
+        DBDAttributeBinding serverAttribute,
+        List<LocalAggregate> localAggregates,
+        List<ServerAggregate> serverAggregates
+    ) {
+        String serverColumnName = serverAttribute == null ? null : getServerColumnName(serverAttribute);
+        List<AggregateFunctionDescriptor> funcDescriptors = new ArrayList<>();
+        List<IAggregateFunction> funcList = new ArrayList<>();
+        List<TreeItem> funcItems = new ArrayList<>();
+        for (AggregateFunctionDescriptor funcDesc : enabledFunctions) {
             TreeItem funcItem = (parentItem == null) ?
                 new TreeItem(aggregateTable, SWT.NONE) :
                 new TreeItem(parentItem, SWT.NONE);
@@ -276,48 +344,186 @@ public class AggregateColumnsPanel implements IResultSetPanel {
             if (icon != null) {
                 funcItem.setImage(0, DBeaverIcons.getImage(icon));
             }
+            if (serverColumnName != null && funcDesc.getSqlExpression() != null) {
+                funcItem.setText(0, NLS.bind(ResultSetMessages.aggregate_columns_server_function_text, funcDesc.getLabel()));
+                funcItem.setText(1, PENDING_VALUE_TEXT);
+                serverAggregates.add(new ServerAggregate(funcItem, funcDesc.getSqlExpression(serverColumnName)));
+                continue;
+            }
             try {
-                IAggregateFunction func = funcDesc.createFunction();
-                funcMap.put(func, funcItem);
+                funcList.add(funcDesc.createFunction());
+                funcDescriptors.add(funcDesc);
+                funcItems.add(funcItem);
             } catch (DBException e) {
                 log.error(e);
             }
         }
 
-        IAggregateFunction[] funcs = funcMap.keySet().toArray(new IAggregateFunction[funcMap.size()]);
-        int[] funcCount = new int[funcs.length];
-        for (Object element : values) {
-            for (int i = 0; i < funcs.length; i++) {
-                if (funcs[i].accumulate(element, aggregateAsStrings)) {
-                    funcCount[i]++;
-                }
+        IAggregateFunction[] funcs = funcList.toArray(new IAggregateFunction[0]);
+        if (values.size() >= PARALLEL_AGGREGATE_THRESHOLD && funcList.stream().allMatch(f -> f instanceof IAggregateFunctionMergeable)) {
+            for (TreeItem funcItem : funcItems) {
+                funcItem.setText(1, PENDING_VALUE_TEXT);
             }
+            localAggregates.add(new LocalAggregate(funcItems, funcDescriptors, funcs, values));
+            return;
         }
+        int[] funcCount = new int[funcs.length];
+        accumulateValues(funcs, funcCount, values);
+        showResults(funcItems, funcs, funcCount);
+    }
+
+    private void showResults(List<TreeItem> funcItems, IAggregateFunction[] funcs, int[] funcCount) {
         for (int i = 0; i < funcs.length; i++) {
+            TreeItem treeItem = funcItems.get(i);
+            if (treeItem.isDisposed()) {
+                continue;
+            }
             if (funcCount[i] <= 0) {
+                treeItem.setText(1, "");
                 continue;
             }
             IAggregateFunction func = funcs[i];
             Object result = func.getResult(funcCount[i]);
             if (result != null) {
-                TreeItem treeItem = funcMap.get(func);
-                String strValue;
-                if (result instanceof Double || result instanceof Float || result instanceof BigDecimal) {
-                    strValue = DOUBLE_FORMAT.format(result);
-                } else if (result instanceof Integer || result instanceof Long || result instanceof Short) {
-                    strValue = INTEGER_FORMAT.format(result);
-                } else {
-                    strValue = result.toString();
-                }
+                String strValue = formatResult(result);
                 if (strValue != null) {
+                    if (!func.isExactResult()) {
+                        strValue = APPROXIMATE_PREFIX + strValue;
+                    }
                     treeItem.setText(1, strValue);
                 }
             }
         }
     }
 
+    private static String formatResult(@NotNull Object result) {
+        if (result instanceof Double || result instanceof Float || result instanceof BigDecimal) {
+            return DOUBLE_FORMAT.format(result);
+        } else if (result instanceof Integer || result instanceof Long || result instanceof Short) {
+            return INTEGER_FORMAT.format(result);
+        } else {
+            return result.toString();
+        }
+    }
+
+    private void accumulateValues(IAggregateFunction[] funcs, int[] funcCount, List<Object> values) {
+        for (Object element : values) {
+            for (int i = 0; i < funcs.length; i++) {
+                if (funcs[i].accumulate(element, aggregateAsStrings)) {
+                    funcCount[i]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluates functions over value chunks in parallel and merges partial results.
+     *
+     * @return false if evaluation was canceled
+     */
+    private boolean aggregateChunks(
+        DBRProgressMonitor monitor,
+        List<AggregateFunctionDescriptor> funcDescriptors,
+        IAggregateFunction[] funcs,
+        int[] funcCount,
+        List<Object> values
+    ) {
+        int chunkCount = (values.size() + PARALLEL_AGGREGATE_CHUNK_SIZE - 1) / PARALLEL_AGGREGATE_CHUNK_SIZE;
+        IAggregateFunction[][] chunkFuncs = new IAggregateFunction[chunkCount][];
+        int[][] chunkCounts = new int[chunkCount][funcs.length];
+        try {
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                chunkFuncs[chunk] = new IAggregateFunction[funcs.length];
+                for (int i = 0; i < funcs.length; i++) {
+                    chunkFuncs[chunk][i] = funcDescriptors.get(i).createFunction();
+                }
+            }
+        } catch (DBException e) {
+            log.error(e);
+            accumulateValues(funcs, funcCount, values);
+            return true;
+        }
+        IntStream.range(0, chunkCount).parallel().forEach(chunk -> {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            int fromIndex = chunk * PARALLEL_AGGREGATE_CHUNK_SIZE;
+            int toIndex = Math.min(fromIndex + PARALLEL_AGGREGATE_CHUNK_SIZE, values.size());
+            accumulateValues(chunkFuncs[chunk], chunkCounts[chunk], values.subList(fromIndex, toIndex));
+        });
+        if (monitor.isCanceled()) {
+            return false;
+        }
+        // Merge in chunk order, so order-dependent results (e.g. mode) are the same as in sequential evaluation
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            for (int i = 0; i < funcs.length; i++) {
+                ((IAggregateFunctionMergeable) funcs[i]).merge(chunkFuncs[chunk][i]);
+                funcCount[i] += chunkCounts[chunk][i];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Server-side aggregation is possible if result set is not fully fetched
+     * and it was read from a single data container by a query without parameters
+     * (parameter values are not available here).
+     */
+    private boolean isServerAggregationAvailable() {
+        if (!runServerQueries) {
+            return false;
+        }
+        IResultSetController controller = presentation.getController();
+        DBCExecutionContext executionContext = controller.getExecutionContext();
+        DBCStatistics statistics = controller.getModel().getStatistics();
+        return controller instanceof ResultSetViewer &&
+            controller.isHasMoreData() &&
+            executionContext != null &&
+            controller.getDataContainer() != null &&
+            statistics != null && !CommonUtils.isEmpty(statistics.getQueryText()) &&
+            executionContext.getDataSource().getSQLDialect().supportsSubqueries() &&
+            !hasQueryParameters(executionContext.getDataSource(), statistics.getQueryText());
+    }
+
+    private boolean hasQueryParameters(@NotNull DBPDataSource dataSource, @NotNull String queryText) {
+        if (!queryText.equals(parsedQueryText)) {
+            SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+            syntaxManager.init(dataSource.getSQLDialect(), presentation.getController().getPreferenceStore());
+            SQLRuleManager ruleManager = new SQLRuleManager(syntaxManager);
+            ruleManager.loadRules(dataSource, false);
+            SQLParserContext parserContext = new SQLParserContext(dataSource, syntaxManager, ruleManager, new Document(queryText));
+            parsedQueryText = queryText;
+            parsedQueryHasParameters = !CommonUtils.isEmpty(
+                SQLScriptParser.parseParametersAndVariables(parserContext, 0, queryText.length()));
+        }
+        return parsedQueryHasParameters;
+    }
+
+    @Nullable
+    private String getServerColumnName(@NotNull DBDAttributeBinding attribute) {
+        if (attribute.getParentObject() != null || attribute.isPseudoAttribute() || attribute.isCustom()) {
+            return null;
+        }
+        String label = attribute.getLabel();
+        for (DBDAttributeBinding attr : presentation.getController().getModel().getAttributes()) {
+            if (attr != attribute && label.equalsIgnoreCase(attr.getLabel())) {
+                // Ambiguous column reference
+                return null;
+            }
+        }
+        return DBUtils.getQuotedIdentifier(attribute.getDataSource(), label);
+    }
+
+    private void cancelAggregation() {
+        if (aggregateJob != null) {
+            aggregateJob.cancel();
+            aggregateJob = null;
+        }
+    }
+
     public void clearValue()
     {
+        cancelAggregation();
         aggregateTable.removeAll();
     }
 
@@ -329,6 +535,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         contributionManager.add(new Separator());
         contributionManager.add(new GroupByColumnsAction());
         contributionManager.add(new ValueTypeToggleAction());
+        contributionManager.add(new ServerQueriesToggleAction());
     }
 
     private class GroupByColumnsAction extends Action {
@@ -363,6 +570,22 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         }
     }
 
+    private class ServerQueriesToggleAction extends Action {
+        public ServerQueriesToggleAction() {
+            super(ResultSetMessages.aggregate_columns_run_server_queries_text, IAction.AS_CHECK_BOX);
+            setToolTipText(ResultSetMessages.aggregate_columns_run_server_queries_tip);
+            setImageDescriptor(DBeaverIcons.getImageDescriptor(UIIcon.SQL_EXECUTE));
+            setChecked(runServerQueries);
+        }
+
+        @Override
+        public void run() {
+            runServerQueries = !runServerQueries;
+            setChecked(runServerQueries);
+            refresh(false);
+        }
+    }
+
     private class AddFunctionAction extends Action {
         public AddFunctionAction() {
             super(ResultSetMessages.aggregate_columns_add_function_text, DBeaverIcons.getImageDescriptor(UIIcon.ADD));
@@ -488,4 +711,149 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         }
     }
 
+    private record LocalAggregate(
+        @NotNull List<TreeItem> items,
+        @NotNull List<AggregateFunctionDescriptor> descriptors,
+        @NotNull IAggregateFunction[] functions,
+        @NotNull List<Object> values
+    ) {
+    }
+
+    private record ServerAggregate(@NotNull TreeItem item, @NotNull String expression) {
+    }
+
+    /**
+     * Evaluates large value lists in parallel chunks
+     * and aggregate expressions over the whole result set query
+     */
+    private class AggregateJob extends AbstractJob {
+        private final List<LocalAggregate> localAggregates;
+        private final List<ServerAggregate> aggregates;
+        // Job is rescheduled while data read is in progress
+        private boolean localAggregated;
+        private long waitStartTime;
+
+        AggregateJob(@NotNull List<LocalAggregate> localAggregates, @NotNull List<ServerAggregate> aggregates) {
+            super("Calculate aggregates");
+            this.localAggregates = localAggregates;
+            this.aggregates = aggregates;
+            setSkipErrorOnCanceling(true);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            if (!localAggregated) {
+                if (!aggregateLocal(monitor)) {
+                    return Status.CANCEL_STATUS;
+                }
+                localAggregated = true;
+            }
+            if (aggregates.isEmpty() || !(presentation.getController() instanceof ResultSetViewer controller)) {
+                return Status.OK_STATUS;
+            }
+            DBCExecutionContext executionContext = controller.getExecutionContext();
+            DBSDataContainer dataContainer = controller.getDataContainer();
+            DBCStatistics statistics = controller.getModel().getStatistics();
+            if (executionContext == null || dataContainer == null || statistics == null) {
+                return Status.OK_STATUS;
+            }
+            // Query runs in the viewer execution context, so it must not be executed concurrently with data reads.
+            // Wait for the end of data read without holding a worker thread
+            if (!controller.tryAcquireDataReadLock()) {
+                if (monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+                if (waitStartTime == 0) {
+                    waitStartTime = System.currentTimeMillis();
+                }
+                if (System.currentTimeMillis() - waitStartTime < SERVER_QUERY_WAIT_TIMEOUT) {
+                    schedule(SERVER_QUERY_WAIT_DELAY);
+                } else {
+                    showServerResults(new Object[aggregates.size()], ResultSetMessages.aggregate_columns_server_busy_text);
+                }
+                return Status.OK_STATUS;
+            }
+            Object[] results = new Object[aggregates.size()];
+            String error = null;
+            DBPDataSource dataSource = executionContext.getDataSource();
+            try (DBCSession session = executionContext.openSession(monitor, DBCExecutionPurpose.USER, "Calculate aggregates")) {
+                SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+                syntaxManager.init(dataSource.getSQLDialect(), controller.getPreferenceStore());
+                // Statistics contain the query which was used to read current data (with the current data filter)
+                SQLQuery query = new SQLQueryTransformerAggregate(
+                    aggregates.stream().map(ServerAggregate::expression).toList()
+                ).transformQuery(dataSource, syntaxManager, new SQLQuery(dataSource, statistics.getQueryText()));
+                try (DBCStatement dbStat = DBUtils.makeStatement(
+                    new AbstractExecutionSource(dataContainer, executionContext, AggregateColumnsPanel.this),
+                    session,
+                    DBCStatementType.SCRIPT,
+                    query,
+                    0,
+                    0))
+                {
+                    monitor.subTask("Execute aggregate query");
+                    if (dbStat.executeStatement()) {
+                        try (DBCResultSet dbResult = dbStat.openResultSet()) {
+                            if (dbResult != null && dbResult.nextRow()) {
+                                for (int i = 0; i < results.length; i++) {
+                                    results[i] = dbResult.getAttributeValue(i);
+                                }
+                            }
+                        }
+                    }
+                }
+            } catch (Throwable e) {
+                if (monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+                log.debug("Error calculating aggregates on server", e);
+                error = e.getMessage();
+            } finally {
+                controller.releaseDataReadLock();
+            }
+            if (monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+            showServerResults(results, error);
+            return Status.OK_STATUS;
+        }
+
+        private boolean aggregateLocal(@NotNull DBRProgressMonitor monitor) {
+            for (LocalAggregate aggregate : localAggregates) {
+                int[] funcCount = new int[aggregate.functions().length];
+                if (!aggregateChunks(monitor, aggregate.descriptors(), aggregate.functions(), funcCount, aggregate.values())) {
+                    return false;
+                }
+                UIUtils.asyncExec(() -> {
+                    showResults(aggregate.items(), aggregate.functions(), funcCount);
+                    if (!aggregateTable.isDisposed()) {
+                        UIUtils.packColumns(aggregateTable, false, null);
+                    }
+                });
+            }
+            return true;
+        }
+
+        private void showServerResults(@NotNull Object[] results, @Nullable String errorText) {
+            UIUtils.asyncExec(() -> {
+                for (int i = 0; i < aggregates.size(); i++) {
+                    TreeItem item = aggregates.get(i).item();
+                    if (item.isDisposed()) {
+                        continue;
+                    }
+                    if (errorText != null) {
+                        item.setText(1, errorText);
+                    } else {
+                        Object result = results[i];
+                        item.setText(1, result == null ? "" : CommonUtils.notEmpty(formatResult(result)));
+                    }
+                }
+                if (!aggregateTable.isDisposed()) {
+                    UIUtils.packColumns(aggregateTable, false, null);
+                }
+            });
+        }
+    }
+
 }
@@ -0,0 +1,208 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset.panel.grouping;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.sql.SQLConstants;
+import org.jkiss.dbeaver.model.sql.SQLGroupingAttribute;
+import org.jkiss.dbeaver.model.sql.SQLGroupingQueryGenerator;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetAnalyticEngine;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Grouping query over rows table of the embedded analytic database.
+ * Query is generated in the embedded database syntax, grouping attributes and functions of the source database
+ * are not copied as is. Only grouping by result set columns and standard aggregate functions over result set columns
+ * are supported, so the query has the same meaning in both databases. Otherwise the grouping query is executed on the server.
+ * Strings are not grouped or compared locally, because the server collation may ignore case or trailing spaces,
+ * so string columns are not copied to the engine at all.
+ */
+class GroupingAnalyticQuery {
+
+    private static final Pattern FUNCTION_PATTERN = Pattern.compile(
+        "(COUNT|SUM|AVG|MIN|MAX|STDDEV_POP|STDDEV_SAMP|VAR_POP|VAR_SAMP)\\s*\\(\\s*(DISTINCT\\s+)?(.+?)\\s*\\)",
+        Pattern.CASE_INSENSITIVE);
+    private static final Pattern ORDER_PATTERN = Pattern.compile(
+        "(.+?)(?:\\s+(ASC|DESC))?", Pattern.CASE_INSENSITIVE);
+
+    private final DBPDataSource dataSource;
+    private final String query;
+    private final List<String> columnLabels;
+
+    private GroupingAnalyticQuery(@NotNull DBPDataSource dataSource, @NotNull String query, @NotNull List<String> columnLabels) {
+        this.dataSource = dataSource;
+        this.query = query;
+        this.columnLabels = columnLabels;
+    }
+
+    /**
+     * Creates grouping query for engine rows table. Must be called in UI thread.
+     *
+     * @param funcAliases labels of function columns (the same as in grouping query)
+     * @return null if grouping can't be performed by the engine
+     */
+    @Nullable
+    static GroupingAnalyticQuery create(
+        @NotNull DBPDataSource dataSource,
+        @NotNull ResultSetAnalyticEngine engine,
+        @NotNull List<SQLGroupingAttribute> groupAttributes,
+        @NotNull List<String> groupFunctions,
+        @NotNull String[] funcAliases,
+        boolean showDuplicatesOnly
+    ) {
+        if (groupAttributes.isEmpty() || funcAliases.length != groupFunctions.size()) {
+            return null;
+        }
+        List<String> columnLabels = new ArrayList<>();
+        StringBuilder groupBy = new StringBuilder();
+        for (SQLGroupingAttribute attribute : groupAttributes) {
+            if (!(attribute instanceof SQLGroupingAttribute.BoundAttribute boundAttribute)) {
+                // Custom expressions are written in the source database dialect
+                return null;
+            }
+            DBDAttributeBinding binding = engine.getColumnAttribute(boundAttribute.getBinding().getName());
+            if (binding == null) {
+                // Not copied (e.g. string)
+                return null;
+            }
+            if (groupBy.length() > 0) {
+                groupBy.append(", ");
+            }
+            groupBy.append(engine.getColumnName(binding));
+            columnLabels.add(binding.getName());
+        }
+        StringBuilder sql = new StringBuilder("SELECT ").append(groupBy);
+        for (int i = 0; i < groupFunctions.size(); i++) {
+            String function = makeFunction(dataSource, engine, groupFunctions.get(i));
+            if (function == null) {
+                return null;
+            }
+            sql.append(", ").append(function).append(" AS ").append(quoteLabel(funcAliases[i]));
+            columnLabels.add(funcAliases[i]);
+        }
+        sql.append(" FROM ").append(ResultSetAnalyticEngine.TABLE_NAME);
+        sql.append(" GROUP BY ").append(groupBy);
+        if (showDuplicatesOnly && groupFunctions.size() == 1 &&
+            groupFunctions.get(0).equalsIgnoreCase(SQLGroupingQueryGenerator.DEFAULT_FUNCTION)
+        ) {
+            sql.append(" HAVING ").append(SQLGroupingQueryGenerator.DEFAULT_FUNCTION).append(" > 1");
+        }
+        return new GroupingAnalyticQuery(dataSource, sql.toString(), columnLabels);
+    }
+
+    /**
+     * Appends order of data filter to the query.
+     *
+     * @return null if filter can't be applied locally (filter conditions or unknown order columns)
+     */
+    @Nullable
+    String makeQuery(@NotNull DBDDataFilter dataFilter) {
+        if (dataFilter.hasConditions()) {
+            // Conditions are written in the source database dialect
+            return null;
+        }
+        List<String> orderItems = new ArrayList<>();
+        for (DBDAttributeConstraint constraint : dataFilter.getOrderConstraints()) {
+            int index = findColumn(constraint.getAttributeLabel());
+            if (index < 0) {
+                index = findColumn(constraint.getAttributeName());
+            }
+            if (index < 0) {
+                return null;
+            }
+            orderItems.add(makeOrderItem(index, constraint.isOrderDescending()));
+        }
+        String order = dataFilter.getOrder();
+        if (!CommonUtils.isEmptyTrimmed(order)) {
+            for (String orderItem : order.split(",")) {
+                Matcher matcher = ORDER_PATTERN.matcher(orderItem.trim());
+                if (!matcher.matches()) {
+                    return null;
+                }
+                int index = findColumn(matcher.group(1));
+                if (index < 0) {
+                    return null;
+                }
+                orderItems.add(makeOrderItem(index, "DESC".equalsIgnoreCase(matcher.group(2))));
+            }
+        }
+        if (orderItems.isEmpty()) {
+            return query;
+        }
+        return query + " ORDER BY " + String.join(", ", orderItems);
+    }
+
+    private int findColumn(@Nullable String name) {
+        if (CommonUtils.isEmpty(name)) {
+            return -1;
+        }
+        String unquotedName = DBUtils.getUnQuotedIdentifier(dataSource, name);
+        for (int i = 0; i < columnLabels.size(); i++) {
+            if (columnLabels.get(i).equalsIgnoreCase(unquotedName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @NotNull
+    private static String makeOrderItem(int index, boolean descending) {
+        // Result columns are referenced by position, so function aliases needn't be known
+        return (index + 1) + (descending ? " DESC" : " ASC");
+    }
+
+    @Nullable
+    private static String makeFunction(
+        @NotNull DBPDataSource dataSource,
+        @NotNull ResultSetAnalyticEngine engine,
+        @NotNull String function
+    ) {
+        Matcher matcher = FUNCTION_PATTERN.matcher(function.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String name = matcher.group(1).toUpperCase(Locale.ENGLISH);
+        boolean distinct = matcher.group(2) != null;
+        String argument = matcher.group(3);
+        if (SQLConstants.COLUMN_ASTERISK.equals(argument)) {
+            return SQLGroupingQueryGenerator.FUNCTION_COUNT.equals(name) && !distinct ? name + "(*)" : null;
+        }
+        DBDAttributeBinding attribute = engine.getColumnAttribute(DBUtils.getUnQuotedIdentifier(dataSource, argument));
+        if (attribute == null) {
+            return null;
+        }
+        return name + "(" + (distinct ? "DISTINCT " : "") + engine.getColumnName(attribute) + ")";
+    }
+
+    @NotNull
+    private static String quoteLabel(@NotNull String label) {
+        return '"' + label.replace("\"", "\"\"") + '"';
+    }
+
+}
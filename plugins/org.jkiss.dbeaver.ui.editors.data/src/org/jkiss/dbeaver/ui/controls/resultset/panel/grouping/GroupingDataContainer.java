@@ -32,6 +32,7 @@ import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.ui.controls.resultset.IResultSetController;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetAnalyticEngine;
 import org.jkiss.utils.ArrayUtils;
 
 import java.util.Arrays;
@@ -44,6 +45,12 @@ public class GroupingDataContainer implements DBSDataContainer {
     private IResultSetController parentController;
     private String query;
     private SQLGroupingAttribute[] attributes;
+    @Nullable
+    private volatile GroupingLocalAggregator localAggregator;
+    @Nullable
+    private volatile ResultSetAnalyticEngine analyticEngine;
+    @Nullable
+    private volatile GroupingAnalyticQuery analyticQuery;
 
     public GroupingDataContainer(IResultSetController parentController) {
         this.parentController = parentController;
@@ -100,26 +107,39 @@ public class GroupingDataContainer implements DBSDataContainer {
 
         DBRProgressMonitor monitor = session.getProgressMonitor();
 
-        StringBuilder sqlQuery = new StringBuilder(this.query);
-        DBPDataSource dataSource = getDataSource();
-        if (dataSource != null) {
-            SQLUtils.appendQueryOrder(dataSource, sqlQuery, null, dataFilter);
-        }
+        String sql = makeQuery(session, this.query, dataFilter);
 
-        String sql = sqlQuery.toString();
-        if (dataSource != null && dataFilter.hasConditions()) {
-            sqlQuery.setLength(0);
-            String gbAlias = "gbq_";
+        statistics.setQueryText(sql);
+        statistics.addStatementsCount();
+
+        // Try local grouping first. Server is queried if local grouping is not possible or fails.
+        DBCResultSet localResult = null;
+        long localStartTime = System.currentTimeMillis();
+        GroupingLocalAggregator aggregator = localAggregator;
+        if (aggregator != null && aggregator.isFilterSupported(dataFilter)) {
             try {
-                SQLUtils.appendQueryConditions(dataSource, sqlQuery, gbAlias, dataFilter);
-            } catch (DBException e) {
-                throw new DBCException("Can't generate query conditions", e, session.getExecutionContext());
+                localResult = aggregator.aggregate(session, sql, dataFilter, firstRow, maxRows);
+            } catch (DBCException e) {
+                log.debug("Local grouping failed", e);
             }
-            sql = "SELECT * FROM (" + sql + ") " + gbAlias + " " + sqlQuery;
         }
-
-        statistics.setQueryText(sql);
-        statistics.addStatementsCount();
+        ResultSetAnalyticEngine engine = analyticEngine;
+        GroupingAnalyticQuery engineQuery = analyticQuery;
+        String localSql = engineQuery == null ? null : engineQuery.makeQuery(dataFilter);
+        if (localResult == null && engine != null && localSql != null) {
+            try {
+                localResult = engine.executeQuery(session, localSql, firstRow, maxRows);
+                statistics.setQueryText(localSql);
+            } catch (DBCException e) {
+                // E.g. rows can't be copied or values don't fit column types
+                log.debug("Local analytic query failed", e);
+            }
+        }
+        if (localResult != null) {
+            statistics.setExecuteTime(System.currentTimeMillis() - localStartTime);
+            readLocalData(localResult, session, dataReceiver, firstRow, maxRows, statistics);
+            return statistics;
+        }
 
         monitor.subTask(ModelMessages.model_jdbc_fetch_table_data);
 
@@ -170,6 +190,62 @@ public class GroupingDataContainer implements DBSDataContainer {
         }
     }
 
+    @NotNull
+    private String makeQuery(@NotNull DBCSession session, @NotNull String baseQuery, @NotNull DBDDataFilter dataFilter) throws DBCException {
+        StringBuilder sqlQuery = new StringBuilder(baseQuery);
+        DBPDataSource dataSource = getDataSource();
+        if (dataSource != null) {
+            SQLUtils.appendQueryOrder(dataSource, sqlQuery, null, dataFilter);
+        }
+
+        String sql = sqlQuery.toString();
+        if (dataSource != null && dataFilter.hasConditions()) {
+            sqlQuery.setLength(0);
+            String gbAlias = "gbq_";
+            try {
+                SQLUtils.appendQueryConditions(dataSource, sqlQuery, gbAlias, dataFilter);
+            } catch (DBException e) {
+                throw new DBCException("Can't generate query conditions", e, session.getExecutionContext());
+            }
+            sql = "SELECT * FROM (" + sql + ") " + gbAlias + " " + sqlQuery;
+        }
+        return sql;
+    }
+
+    private void readLocalData(
+        @NotNull DBCResultSet localResult,
+        @NotNull DBCSession session,
+        @NotNull DBDDataReceiver dataReceiver,
+        long firstRow,
+        long maxRows,
+        @NotNull DBCStatistics statistics
+    ) throws DBCException {
+        try {
+            try (DBCResultSet dbResult = localResult) {
+                try {
+                    dataReceiver.fetchStart(session, dbResult, firstRow, maxRows);
+
+                    long startTime = System.currentTimeMillis();
+                    long rowCount = 0;
+                    while (dbResult.nextRow()) {
+                        dataReceiver.fetchRow(session, dbResult);
+                        rowCount++;
+                    }
+                    statistics.setFetchTime(System.currentTimeMillis() - startTime);
+                    statistics.setRowsFetched(rowCount);
+                } finally {
+                    try {
+                        dataReceiver.fetchEnd(session, dbResult);
+                    } catch (Throwable e) {
+                        log.error("Error while finishing result set fetch", e); //$NON-NLS-1$
+                    }
+                }
+            }
+        } finally {
+            dataReceiver.close();
+        }
+    }
+
     @Override
     public long countData(@NotNull DBCExecutionSource source, @NotNull DBCSession session, @Nullable DBDDataFilter dataFilter, long flags) throws DBCException {
         return 0;
@@ -188,6 +264,22 @@ public class GroupingDataContainer implements DBSDataContainer {
         this.attributes = attributes;
     }
 
+    /**
+     * Sets aggregator of the parent rows. If set, grouping is performed locally instead of the grouping query.
+     */
+    void setLocalAggregator(@Nullable GroupingLocalAggregator localAggregator) {
+        this.localAggregator = localAggregator;
+    }
+
+    /**
+     * Sets embedded database with the parent rows and grouping query over its rows table.
+     * If set, grouping query is executed locally. Server is queried if local query fails or data filter can't be applied locally.
+     */
+    void setAnalyticEngine(@Nullable ResultSetAnalyticEngine analyticEngine, @Nullable GroupingAnalyticQuery analyticQuery) {
+        this.analyticEngine = analyticEngine;
+        this.analyticQuery = analyticQuery;
+    }
+
     @Nullable
     public SQLGroupingAttribute[] getGroupingAttributes() {
         return this.attributes;
@@ -0,0 +1,536 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset.panel.grouping;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDValue;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.local.LocalResultSet;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLConstants;
+import org.jkiss.dbeaver.model.sql.SQLGroupingAttribute;
+import org.jkiss.dbeaver.model.sql.SQLGroupingQueryGenerator;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetModel;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
+import org.jkiss.utils.CommonUtils;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Grouping engine which aggregates rows already loaded into the parent result set.
+ * Rows are hash-aggregated in parallel chunks (common fork-join pool), so grouping doesn't
+ * re-execute the query on the server.
+ * Only grouping by result set columns and simple aggregate functions (COUNT, SUM, AVG, MIN, MAX)
+ * over result set columns are supported. Otherwise the grouping query is executed on the server.
+ * Numeric values are compared by value (e.g. 1.0 and 1.00 are the same group).
+ * String values are grouped and compared by the server only, because its collation may ignore case
+ * or trailing spaces.
+ */
+class GroupingLocalAggregator {
+
+    private static final Pattern FUNCTION_PATTERN = Pattern.compile(
+        "(COUNT|SUM|AVG|MIN|MAX)\\s*\\(\\s*(DISTINCT\\s+)?(.+?)\\s*\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ORDER_PATTERN = Pattern.compile(
+        "(.+?)(?:\\s+(ASC|DESC))?", Pattern.CASE_INSENSITIVE);
+    // Rows are split in chunks of this size which are aggregated in parallel
+    private static final int PARALLEL_CHUNK_SIZE = 10000;
+    private static final Comparator<Object[]> NO_ORDER = (o1, o2) -> 0;
+
+    private enum FunctionType {
+        COUNT,
+        SUM,
+        AVG,
+        MIN,
+        MAX
+    }
+
+    private record AggregateFunction(
+        @NotNull FunctionType type,
+        @Nullable DBDAttributeBinding attribute,
+        boolean distinct
+    ) {
+    }
+
+    private final DBPDataSource dataSource;
+    private final ResultSetModel model;
+    private final List<ResultSetRow> rows;
+    private final List<DBDAttributeBinding> groupBindings;
+    private final List<AggregateFunction> functions;
+    private final List<String> columnLabels;
+    private final boolean duplicatesOnly;
+    // Groups are calculated once and then sorted and paged on each read
+    @Nullable
+    private volatile List<Object[]> groups;
+
+    private GroupingLocalAggregator(
+        @NotNull DBPDataSource dataSource,
+        @NotNull ResultSetModel model,
+        @NotNull List<DBDAttributeBinding> groupBindings,
+        @NotNull List<AggregateFunction> functions,
+        @NotNull List<String> columnLabels,
+        boolean duplicatesOnly
+    ) {
+        this.dataSource = dataSource;
+        this.model = model;
+        this.rows = new ArrayList<>(model.getAllRows());
+        this.groupBindings = groupBindings;
+        this.functions = functions;
+        this.columnLabels = columnLabels;
+        this.duplicatesOnly = duplicatesOnly;
+    }
+
+    /**
+     * Creates aggregator for model rows. Must be called in UI thread.
+     *
+     * @param funcAliases labels of function columns (the same as in grouping query)
+     * @return null if grouping can't be performed locally
+     */
+    @Nullable
+    static GroupingLocalAggregator create(
+        @NotNull DBPDataSource dataSource,
+        @NotNull ResultSetModel model,
+        @NotNull List<SQLGroupingAttribute> groupAttributes,
+        @NotNull List<String> groupFunctions,
+        @NotNull String[] funcAliases,
+        boolean showDuplicatesOnly
+    ) {
+        if (model.isDirty() || funcAliases.length != groupFunctions.size()) {
+            return null;
+        }
+        List<DBDAttributeBinding> groupBindings = new ArrayList<>();
+        List<String> columnLabels = new ArrayList<>();
+        for (SQLGroupingAttribute attribute : groupAttributes) {
+            if (!(attribute instanceof SQLGroupingAttribute.BoundAttribute boundAttribute)) {
+                // Custom expressions can be evaluated only by the database
+                return null;
+            }
+            DBDAttributeBinding binding = findAttribute(dataSource, model, boundAttribute.getBinding().getName());
+            if (binding == null || binding.getDataKind() == DBPDataKind.STRING) {
+                return null;
+            }
+            groupBindings.add(binding);
+            columnLabels.add(binding.getName());
+        }
+        List<AggregateFunction> functions = new ArrayList<>();
+        for (int i = 0; i < groupFunctions.size(); i++) {
+            AggregateFunction function = parseFunction(dataSource, model, groupFunctions.get(i));
+            if (function == null) {
+                return null;
+            }
+            functions.add(function);
+            columnLabels.add(funcAliases[i]);
+        }
+        boolean duplicatesOnly = showDuplicatesOnly && groupFunctions.size() == 1 &&
+            groupFunctions.get(0).equalsIgnoreCase(SQLGroupingQueryGenerator.DEFAULT_FUNCTION);
+        return new GroupingLocalAggregator(dataSource, model, groupBindings, functions, columnLabels, duplicatesOnly);
+    }
+
+    /**
+     * Checks whether data filter can be applied to local groups.
+     * Filter conditions and unknown order columns require server query.
+     */
+    boolean isFilterSupported(@NotNull DBDDataFilter dataFilter) {
+        return !dataFilter.hasConditions() && makeComparator(dataFilter) != null;
+    }
+
+    /**
+     * Aggregates rows and returns result set of groups.
+     */
+    @NotNull
+    LocalResultSet<LocalStatement> aggregate(
+        @NotNull DBCSession session,
+        @NotNull String queryText,
+        @NotNull DBDDataFilter dataFilter,
+        long firstRow,
+        long maxRows
+    ) throws DBCException {
+        List<Object[]> result = groups;
+        if (result == null) {
+            result = calculateGroups(session.getProgressMonitor());
+            groups = result;
+        }
+        Comparator<Object[]> comparator = makeComparator(dataFilter);
+        if (comparator == null) {
+            throw new DBCException("Order '" + dataFilter.getOrder() + "' is not supported by local grouping");
+        }
+        if (comparator != NO_ORDER) {
+            result = new ArrayList<>(result);
+            result.sort(comparator);
+        }
+
+        LocalResultSet<LocalStatement> resultSet = new LocalResultSet<>(session, new LocalStatement(session, queryText));
+        for (int i = 0; i < groupBindings.size(); i++) {
+            resultSet.addColumn(columnLabels.get(i), groupBindings.get(i));
+        }
+        for (int i = 0; i < functions.size(); i++) {
+            AggregateFunction function = functions.get(i);
+            String label = columnLabels.get(groupBindings.size() + i);
+            if ((function.type == FunctionType.MIN || function.type == FunctionType.MAX) && function.attribute != null) {
+                resultSet.addColumn(label, function.attribute);
+            } else {
+                resultSet.addColumn(label, DBPDataKind.NUMERIC);
+            }
+        }
+        int fromIndex = (int) Math.min(Math.max(firstRow, 0), result.size());
+        int toIndex = maxRows > 0 ? (int) Math.min(fromIndex + maxRows, result.size()) : result.size();
+        for (Object[] group : result.subList(fromIndex, toIndex)) {
+            resultSet.addRow(group);
+        }
+        return resultSet;
+    }
+
+    @NotNull
+    private List<Object[]> calculateGroups(@NotNull DBRProgressMonitor monitor) throws DBCException {
+        int chunkCount = (rows.size() + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+        Map<GroupKey, Accumulator[]> groupMap;
+        try {
+            groupMap = IntStream.range(0, chunkCount)
+                .parallel()
+                .mapToObj(chunk -> aggregateChunk(
+                    monitor,
+                    rows.subList(chunk * PARALLEL_CHUNK_SIZE, Math.min((chunk + 1) * PARALLEL_CHUNK_SIZE, rows.size()))))
+                .reduce(GroupingLocalAggregator::mergeGroups)
+                .orElseGet(LinkedHashMap::new);
+        } catch (CancellationException e) {
+            throw new DBCException("Grouping canceled", e);
+        } catch (IllegalArgumentException e) {
+            throw new DBCException("Can't group rows locally", e);
+        }
+
+        List<Object[]> result = new ArrayList<>(groupMap.size());
+        for (Map.Entry<GroupKey, Accumulator[]> entry : groupMap.entrySet()) {
+            Accumulator[] accumulators = entry.getValue();
+            Object[] group = Arrays.copyOf(entry.getKey().values, groupBindings.size() + functions.size());
+            for (int i = 0; i < accumulators.length; i++) {
+                group[groupBindings.size() + i] = accumulators[i].getResult();
+            }
+            if (duplicatesOnly && (Long) group[groupBindings.size()] <= 1) {
+                // The same as HAVING COUNT(*) > 1
+                continue;
+            }
+            result.add(group);
+        }
+        return result;
+    }
+
+    @NotNull
+    private Map<GroupKey, Accumulator[]> aggregateChunk(@NotNull DBRProgressMonitor monitor, @NotNull List<ResultSetRow> chunk) {
+        Map<GroupKey, Accumulator[]> groupMap = new LinkedHashMap<>();
+        for (ResultSetRow row : chunk) {
+            if (monitor.isCanceled()) {
+                throw new CancellationException();
+            }
+            Object[] keyValues = new Object[groupBindings.size()];
+            for (int i = 0; i < keyValues.length; i++) {
+                Object value = model.getCellValue(groupBindings.get(i), row);
+                if (DBUtils.isNullValue(value)) {
+                    value = null;
+                } else if (value instanceof DBDValue) {
+                    // Complex values (LOBs, structures) have no value semantics
+                    throw new IllegalArgumentException("Grouping by complex values is not supported");
+                }
+                keyValues[i] = value;
+            }
+            Accumulator[] accumulators = groupMap.computeIfAbsent(GroupKey.of(keyValues), key -> createAccumulators());
+            for (int i = 0; i < accumulators.length; i++) {
+                DBDAttributeBinding attribute = functions.get(i).attribute;
+                accumulators[i].add(attribute == null ? row : model.getCellValue(attribute, row));
+            }
+        }
+        return groupMap;
+    }
+
+    @NotNull
+    private static Map<GroupKey, Accumulator[]> mergeGroups(
+        @NotNull Map<GroupKey, Accumulator[]> groups1,
+        @NotNull Map<GroupKey, Accumulator[]> groups2
+    ) {
+        for (Map.Entry<GroupKey, Accumulator[]> entry : groups2.entrySet()) {
+            Accumulator[] accumulators = groups1.get(entry.getKey());
+            if (accumulators == null) {
+                groups1.put(entry.getKey(), entry.getValue());
+            } else {
+                for (int i = 0; i < accumulators.length; i++) {
+                    accumulators[i].merge(entry.getValue()[i]);
+                }
+            }
+        }
+        return groups1;
+    }
+
+    @NotNull
+    private Accumulator[] createAccumulators() {
+        Accumulator[] accumulators = new Accumulator[functions.size()];
+        for (int i = 0; i < accumulators.length; i++) {
+            accumulators[i] = new Accumulator(functions.get(i));
+        }
+        return accumulators;
+    }
+
+    /**
+     * Makes comparator for order constraints and order string of the filter.
+     * Returns null if some order column can't be resolved.
+     */
+    @Nullable
+    private Comparator<Object[]> makeComparator(@NotNull DBDDataFilter dataFilter) {
+        Comparator<Object[]> comparator = null;
+        for (DBDAttributeConstraint constraint : dataFilter.getOrderConstraints()) {
+            int index = findColumn(constraint.getAttributeLabel());
+            if (index < 0) {
+                index = findColumn(constraint.getAttributeName());
+            }
+            if (index < 0) {
+                return null;
+            }
+            comparator = thenComparing(comparator, makeColumnComparator(index, constraint.isOrderDescending()));
+        }
+        String order = dataFilter.getOrder();
+        if (!CommonUtils.isEmptyTrimmed(order)) {
+            for (String orderItem : order.split(",")) {
+                Matcher matcher = ORDER_PATTERN.matcher(orderItem.trim());
+                if (!matcher.matches()) {
+                    return null;
+                }
+                int index = findColumn(matcher.group(1));
+                if (index < 0) {
+                    return null;
+                }
+                boolean descending = "DESC".equalsIgnoreCase(matcher.group(2));
+                comparator = thenComparing(comparator, makeColumnComparator(index, descending));
+            }
+        }
+        return comparator == null ? NO_ORDER : comparator;
+    }
+
+    private int findColumn(@Nullable String name) {
+        if (CommonUtils.isEmpty(name)) {
+            return -1;
+        }
+        String unquotedName = DBUtils.getUnQuotedIdentifier(dataSource, name);
+        for (int i = 0; i < columnLabels.size(); i++) {
+            if (columnLabels.get(i).equalsIgnoreCase(unquotedName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @NotNull
+    private static Comparator<Object[]> makeColumnComparator(int index, boolean descending) {
+        Comparator<Object[]> comparator = (o1, o2) -> DBUtils.compareDataValues(o1[index], o2[index]);
+        return descending ? comparator.reversed() : comparator;
+    }
+
+    @NotNull
+    private static Comparator<Object[]> thenComparing(@Nullable Comparator<Object[]> first, @NotNull Comparator<Object[]> next) {
+        return first == null ? next : first.thenComparing(next);
+    }
+
+    @Nullable
+    private static AggregateFunction parseFunction(
+        @NotNull DBPDataSource dataSource,
+        @NotNull ResultSetModel model,
+        @NotNull String function
+    ) {
+        Matcher matcher = FUNCTION_PATTERN.matcher(function.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        FunctionType type = FunctionType.valueOf(matcher.group(1).toUpperCase(Locale.ENGLISH));
+        boolean distinct = matcher.group(2) != null;
+        String argument = matcher.group(3);
+        if (SQLConstants.COLUMN_ASTERISK.equals(argument)) {
+            return type == FunctionType.COUNT && !distinct ? new AggregateFunction(type, null, false) : null;
+        }
+        DBDAttributeBinding attribute = findAttribute(dataSource, model, argument);
+        if (attribute == null) {
+            return null;
+        }
+        if (attribute.getDataKind() == DBPDataKind.STRING && (distinct || type == FunctionType.MIN || type == FunctionType.MAX)) {
+            // Distinct and min/max strings depend on collation
+            return null;
+        }
+        return new AggregateFunction(type, attribute, distinct);
+    }
+
+    @Nullable
+    private static DBDAttributeBinding findAttribute(
+        @NotNull DBPDataSource dataSource,
+        @NotNull ResultSetModel model,
+        @NotNull String name
+    ) {
+        String unquotedName = DBUtils.getUnQuotedIdentifier(dataSource, name);
+        DBDAttributeBinding result = null;
+        for (DBDAttributeBinding attribute : model.getAttributes()) {
+            if (attribute.getName().equalsIgnoreCase(unquotedName)) {
+                if (result != null) {
+                    // Ambiguous name
+                    return null;
+                }
+                result = attribute;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Values of grouping columns. Keys are compared by normalized values, original values of the first row
+     * of the group are shown in results.
+     */
+    private record GroupKey(@NotNull Object[] values, @NotNull Object[] normalizedValues) {
+        @NotNull
+        static GroupKey of(@NotNull Object[] values) {
+            Object[] normalizedValues = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                normalizedValues[i] = DBUtils.normalizeNumericValue(values[i]);
+            }
+            return new GroupKey(values, normalizedValues);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof GroupKey key && Arrays.deepEquals(normalizedValues, key.normalizedValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.deepHashCode(normalizedValues);
+        }
+    }
+
+    /**
+     * Aggregate function state of one group
+     */
+    private static class Accumulator {
+        private final AggregateFunction function;
+        private long count;
+        @Nullable
+        private BigDecimal sum;
+        @Nullable
+        private Object value;
+        // Normalized value -> original value
+        @Nullable
+        private Map<Object, Object> distinctValues;
+
+        Accumulator(@NotNull AggregateFunction function) {
+            this.function = function;
+            if (function.distinct) {
+                distinctValues = new HashMap<>();
+            }
+        }
+
+        void add(@Nullable Object cellValue) {
+            if (function.attribute == null) {
+                // COUNT(*)
+                count++;
+                return;
+            }
+            if (DBUtils.isNullValue(cellValue)) {
+                return;
+            }
+            if (distinctValues != null) {
+                distinctValues.putIfAbsent(DBUtils.normalizeNumericValue(cellValue), cellValue);
+                return;
+            }
+            addValue(cellValue);
+        }
+
+        void merge(@NotNull Accumulator other) {
+            if (distinctValues != null && other.distinctValues != null) {
+                other.distinctValues.forEach(distinctValues::putIfAbsent);
+                return;
+            }
+            count += other.count;
+            if (other.sum != null) {
+                sum = sum == null ? other.sum : sum.add(other.sum);
+            }
+            if (other.value != null) {
+                mergeValue(other.value);
+            }
+        }
+
+        @Nullable
+        Object getResult() {
+            if (distinctValues != null) {
+                // Distinct values are aggregated only once, when all chunks are merged
+                Collection<Object> values = distinctValues.values();
+                distinctValues = null;
+                for (Object value : values) {
+                    addValue(value);
+                }
+            }
+            return switch (function.type) {
+                case COUNT -> count;
+                case SUM -> sum;
+                case AVG -> sum == null || count == 0 ? null : sum.divide(BigDecimal.valueOf(count), MathContext.DECIMAL128);
+                case MIN, MAX -> value;
+            };
+        }
+
+        private void addValue(@NotNull Object cellValue) {
+            count++;
+            switch (function.type) {
+                case SUM, AVG -> {
+                    BigDecimal number = toDecimal(cellValue);
+                    sum = sum == null ? number : sum.add(number);
+                }
+                case MIN, MAX -> mergeValue(cellValue);
+                default -> {
+                }
+            }
+        }
+
+        private void mergeValue(@NotNull Object cellValue) {
+            if (value == null) {
+                value = cellValue;
+            } else {
+                int result = DBUtils.compareDataValues(cellValue, value);
+                if (function.type == FunctionType.MIN ? result < 0 : result > 0) {
+                    value = cellValue;
+                }
+            }
+        }
+
+        @NotNull
+        private static BigDecimal toDecimal(@NotNull Object value) {
+            if (value instanceof BigDecimal decimal) {
+                return decimal;
+            } else if (value instanceof Double || value instanceof Float) {
+                return BigDecimal.valueOf(((Number) value).doubleValue());
+            } else if (value instanceof Number) {
+                return new BigDecimal(value.toString());
+            }
+            throw new IllegalArgumentException("Non-numeric value '" + value + "' can't be summarized");
+        }
+    }
+
+}
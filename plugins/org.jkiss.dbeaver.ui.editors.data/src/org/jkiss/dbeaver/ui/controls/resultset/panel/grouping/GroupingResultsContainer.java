@@ -52,11 +52,14 @@ public class GroupingResultsContainer implements IResultSetContainer {
     private final ResultSetViewer groupingViewer;
     private final List<SQLGroupingAttribute> groupAttributes = new ArrayList<>();
     private final List<String> groupFunctions = new ArrayList<>();
+    @Nullable
+    private ResultSetAnalyticEngine analyticEngine;
 
     public GroupingResultsContainer(Composite parent, IResultSetPresentation presentation) {
         this.presentation = presentation;
         this.dataContainer = new GroupingDataContainer(presentation.getController());
         this.groupingViewer = new ResultSetViewer(parent, presentation.getController().getSite(), this);
+        this.groupingViewer.getControl().addDisposeListener(e -> closeAnalyticEngine());
 
         initDefaultSettings();
     }
@@ -186,6 +189,9 @@ public class GroupingResultsContainer implements IResultSetContainer {
         groupingViewer.resetHistory();
         dataContainer.setGroupingQuery(null);
         dataContainer.setGroupingAttributes(null);
+        dataContainer.setLocalAggregator(null);
+        dataContainer.setAnalyticEngine(null, null);
+        closeAnalyticEngine();
         if (!(groupingViewer.getActivePresentation() instanceof EmptyPresentation)) {
             groupingViewer.showEmptyPresentation();
         }
@@ -215,6 +221,13 @@ public class GroupingResultsContainer implements IResultSetContainer {
         var groupingQueryGenerator = new SQLGroupingQueryGenerator(dataSource, dbsDataContainer, dialect, syntaxManager, groupAttributes, groupFunctions, isShowDuplicatesOnly);
         dataContainer.setGroupingQuery(groupingQueryGenerator.generateGroupingQuery(queryText));
         dataContainer.setGroupingAttributes(groupAttributes.toArray(SQLGroupingAttribute[]::new));
+        GroupingLocalAggregator localAggregator = createLocalAggregator(dataSource, groupingQueryGenerator, isShowDuplicatesOnly);
+        dataContainer.setLocalAggregator(localAggregator);
+        if (localAggregator == null) {
+            prepareAnalyticEngine(dataSource, groupingQueryGenerator, isShowDuplicatesOnly);
+        } else {
+            dataContainer.setAnalyticEngine(null, null);
+        }
         DBDDataFilter dataFilter;
         if (presentation.getController().getModel().isMetadataChanged()) {
             dataFilter = new DBDDataFilter();
@@ -247,6 +260,71 @@ public class GroupingResultsContainer implements IResultSetContainer {
         //groupingViewer.refresh();
     }
 
+    /**
+     * Creates aggregator of loaded rows if all rows were read from the server.
+     * Partially loaded result set must be grouped by the grouping query.
+     */
+    @Nullable
+    private GroupingLocalAggregator createLocalAggregator(
+        @NotNull DBPDataSource dataSource,
+        @NotNull SQLGroupingQueryGenerator groupingQueryGenerator,
+        boolean isShowDuplicatesOnly
+    ) {
+        if (!dataSource.getContainer().getPreferenceStore().getBoolean(ResultSetPreferences.RS_GROUPING_LOCAL) ||
+            !(presentation.getController() instanceof ResultSetViewer viewer) ||
+            viewer.isHasMoreData()
+        ) {
+            return null;
+        }
+        return GroupingLocalAggregator.create(
+            dataSource,
+            viewer.getModel(),
+            groupAttributes,
+            groupFunctions,
+            groupingQueryGenerator.getFuncAliases(),
+            isShowDuplicatesOnly);
+    }
+
+    /**
+     * Copies loaded rows into embedded database if grouping can't be performed by local aggregator
+     * (e.g. statistical functions are used).
+     */
+    private void prepareAnalyticEngine(
+        @NotNull DBPDataSource dataSource,
+        @NotNull SQLGroupingQueryGenerator groupingQueryGenerator,
+        boolean isShowDuplicatesOnly
+    ) {
+        GroupingAnalyticQuery analyticQuery = null;
+        if (dataSource.getContainer().getPreferenceStore().getBoolean(ResultSetPreferences.RS_GROUPING_ANALYTIC_ENGINE) &&
+            presentation.getController() instanceof ResultSetViewer viewer &&
+            !viewer.isHasMoreData() && !viewer.getModel().isDirty() &&
+            ResultSetAnalyticEngine.isSupported()
+        ) {
+            if (analyticEngine == null || !analyticEngine.isActual(viewer.getModel())) {
+                closeAnalyticEngine();
+                analyticEngine = new ResultSetAnalyticEngine(viewer.getModel());
+            }
+            // Query is generated in the engine syntax. Grouping which depends on the source dialect is done by the server.
+            analyticQuery = GroupingAnalyticQuery.create(
+                dataSource,
+                analyticEngine,
+                groupAttributes,
+                groupFunctions,
+                groupingQueryGenerator.getFuncAliases(),
+                isShowDuplicatesOnly);
+        } else {
+            closeAnalyticEngine();
+        }
+        dataContainer.setAnalyticEngine(analyticQuery == null ? null : analyticEngine, analyticQuery);
+    }
+
+    private void closeAnalyticEngine() {
+        if (analyticEngine != null) {
+            analyticEngine.close();
+            analyticEngine = null;
+        }
+    }
+
     void setGrouping(List<SQLGroupingAttribute> attributes, List<String> functions) {
         groupAttributes.clear();
         addGroupingAttributes(attributes);
@@ -0,0 +1,264 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset.plaintext;
+
+import org.eclipse.swt.custom.StyledTextContent;
+import org.eclipse.swt.custom.TextChangeListener;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.custom.TextChangedEvent;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetModel;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
+import org.jkiss.dbeaver.ui.controls.resultset.internal.ResultSetMessages;
+
+import java.util.*;
+
+/**
+ * Plain text presentation content.
+ * In grid mode rows are not rendered into a text buffer. All row lines have the same width,
+ * so line offsets are calculated and rows are formatted only when text control requests them
+ * (i.e. visible lines, selection or find). Recently formatted lines are cached.
+ * Any other text (e.g. record mode) is kept as is.
+ * Text offsets are int, so rows which don't fit into {@link #MAX_TEXT_LENGTH} are not shown.
+ */
+class PlainTextContent implements StyledTextContent {
+
+    private static final String LINE_DELIMITER = "\n";
+    private static final int LINE_CACHE_SIZE = 1000;
+    private static final long MAX_TEXT_LENGTH = Integer.MAX_VALUE;
+    // Reserved for the notice about rows which are not shown
+    private static final int MAX_NOTICE_LENGTH = 1024;
+
+    private final List<TextChangeListener> listeners = new ArrayList<>();
+
+    // Lines before rows (or all lines for static text)
+    private String[] headerLines = new String[] { "" };
+    private String[] footerLines = new String[0];
+    private int[] headerOffsets = new int[] { 0 };
+    private int[] footerOffsets = new int[0];
+    private int headerLength;
+    private int footerLength;
+
+    private PlainTextFormatter formatter;
+    private ResultSetModel model;
+    private List<DBDAttributeBinding> attributes = Collections.emptyList();
+    private List<ResultSetRow> rows = Collections.emptyList();
+    private int rowLineWidth;
+
+    private final Map<Integer, String> lineCache = new LinkedHashMap<>(LINE_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > LINE_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Shows model rows. Formatter column widths must be calculated.
+     */
+    void setGrid(@NotNull PlainTextFormatter formatter, @NotNull ResultSetModel model) {
+        this.formatter = formatter;
+        this.model = model;
+        this.attributes = new ArrayList<>(model.getVisibleAttributes());
+        List<ResultSetRow> allRows = model.getAllRows();
+        this.rowLineWidth = formatter.getRowLineWidth();
+
+        StringBuilder buffer = new StringBuilder();
+        formatter.printGridHeader(buffer, attributes);
+        String[] header = splitLines(buffer);
+        buffer.setLength(0);
+        if (formatter.isDelimBottom()) {
+            formatter.printSeparator(buffer, formatter.getColWidths());
+        }
+        long maxRowsLength = MAX_TEXT_LENGTH - calcLength(header) - buffer.length() - MAX_NOTICE_LENGTH;
+        int maxRows = (int) Math.min(allRows.size(), Math.max(0, maxRowsLength / (rowLineWidth + 1L)));
+        if (maxRows < allRows.size()) {
+            // Text is too large for the text control
+            buffer.append(NLS.bind(ResultSetMessages.controls_resultset_plaintext_too_large, maxRows, allRows.size()))
+                .append(LINE_DELIMITER);
+            this.rows = new ArrayList<>(allRows.subList(0, maxRows));
+        } else {
+            this.rows = new ArrayList<>(allRows);
+        }
+        setLines(header, buffer.isEmpty() ? new String[0] : splitLines(buffer));
+    }
+
+    @Override
+    public void setText(String text) {
+        formatter = null;
+        model = null;
+        attributes = Collections.emptyList();
+        rows = Collections.emptyList();
+        setLines(text.split("\r\n|\r|\n", -1), new String[0]);
+    }
+
+    private void setLines(@NotNull String[] header, @NotNull String[] footer) {
+        lineCache.clear();
+        headerLines = header;
+        footerLines = footer;
+        headerOffsets = new int[header.length];
+        headerLength = calcOffsets(header, headerOffsets);
+        footerOffsets = new int[footer.length];
+        footerLength = calcOffsets(footer, footerOffsets);
+        TextChangedEvent event = new TextChangedEvent(this);
+        for (TextChangeListener listener : listeners.toArray(new TextChangeListener[0])) {
+            listener.textSet(event);
+        }
+    }
+
+    @Override
+    public void addTextChangeListener(TextChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeTextChangeListener(TextChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public int getCharCount() {
+        // Each line length includes delimiter, but there is no delimiter after the last line
+        return (int) (headerLength + getRowsLength() + footerLength - LINE_DELIMITER.length());
+    }
+
+    @Override
+    public String getLine(int lineIndex) {
+        if (lineIndex < headerLines.length) {
+            return headerLines[lineIndex];
+        }
+        lineIndex -= headerLines.length;
+        if (lineIndex < rows.size()) {
+            return getRowLine(lineIndex);
+        }
+        return footerLines[lineIndex - rows.size()];
+    }
+
+    @Override
+    public int getLineAtOffset(int offset) {
+        if (offset < headerLength || (rows.isEmpty() && footerLines.length == 0)) {
+            return findLine(headerOffsets, offset);
+        }
+        long rowsLength = getRowsLength();
+        if (offset < headerLength + rowsLength || footerLines.length == 0) {
+            return headerLines.length + Math.min((offset - headerLength) / (rowLineWidth + 1), rows.size() - 1);
+        }
+        return headerLines.length + rows.size() + findLine(footerOffsets, (int) (offset - headerLength - rowsLength));
+    }
+
+    @Override
+    public int getLineCount() {
+        return headerLines.length + rows.size() + footerLines.length;
+    }
+
+    @Override
+    public String getLineDelimiter() {
+        return LINE_DELIMITER;
+    }
+
+    @Override
+    public int getOffsetAtLine(int lineIndex) {
+        if (lineIndex < headerLines.length) {
+            return headerOffsets[lineIndex];
+        }
+        lineIndex -= headerLines.length;
+        if (lineIndex < rows.size()) {
+            return (int) (headerLength + (long) lineIndex * (rowLineWidth + 1));
+        }
+        return (int) (headerLength + getRowsLength() + footerOffsets[lineIndex - rows.size()]);
+    }
+
+    @Override
+    public String getTextRange(int start, int length) {
+        StringBuilder result = new StringBuilder(length);
+        for (int lineIndex = getLineAtOffset(start); result.length() < length && lineIndex < getLineCount(); lineIndex++) {
+            int lineOffset = getOffsetAtLine(lineIndex);
+            String line = getLine(lineIndex);
+            int from = Math.max(0, start - lineOffset);
+            if (from < line.length()) {
+                result.append(line, from, Math.min(line.length(), from + length - result.length()));
+            }
+            if (result.length() < length && lineIndex < getLineCount() - 1) {
+                result.append(LINE_DELIMITER);
+            }
+        }
+        return result.toString();
+    }
+
+    @Override
+    public void replaceTextRange(int start, int replaceLength, String text) {
+        // Text control is read-only, so this is never called for grid. Replace whole text.
+        String oldText = getTextRange(0, getCharCount());
+        setText(oldText.substring(0, start) + text + oldText.substring(start + replaceLength));
+    }
+
+    @NotNull
+    private String getRowLine(int rowIndex) {
+        String line = lineCache.get(rowIndex);
+        if (line == null) {
+            StringBuilder buffer = new StringBuilder(rowLineWidth);
+            formatter.printGridRow(buffer, model, attributes, rows.get(rowIndex), rowIndex + 1);
+            // Offsets calculation relies on the same width of all rows
+            if (buffer.length() < rowLineWidth) {
+                buffer.append(" ".repeat(rowLineWidth - buffer.length()));
+            } else {
+                buffer.setLength(rowLineWidth);
+            }
+            line = buffer.toString();
+            lineCache.put(rowIndex, line);
+        }
+        return line;
+    }
+
+    private long getRowsLength() {
+        // Each row line is followed by delimiter
+        return (long) rows.size() * (rowLineWidth + 1);
+    }
+
+    @NotNull
+    private static String[] splitLines(@NotNull StringBuilder buffer) {
+        // Each printed line ends with line feed
+        if (!buffer.isEmpty() && buffer.charAt(buffer.length() - 1) == '\n') {
+            buffer.setLength(buffer.length() - 1);
+        }
+        return buffer.toString().split("\n", -1);
+    }
+
+    private static long calcLength(@NotNull String[] lines) {
+        long length = 0;
+        for (String line : lines) {
+            length += line.length() + LINE_DELIMITER.length();
+        }
+        return length;
+    }
+
+    // Returns total length of lines (each line is followed by delimiter)
+    private static int calcOffsets(@NotNull String[] lines, @NotNull int[] offsets) {
+        int offset = 0;
+        for (int i = 0; i < lines.length; i++) {
+            offsets[i] = offset;
+            offset += lines[i].length() + LINE_DELIMITER.length();
+        }
+        return offset;
+    }
+
+    private static int findLine(@NotNull int[] offsets, int offset) {
+        int index = Arrays.binarySearch(offsets, offset);
+        return Math.max(0, index >= 0 ? index : -index - 2);
+    }
+
+}
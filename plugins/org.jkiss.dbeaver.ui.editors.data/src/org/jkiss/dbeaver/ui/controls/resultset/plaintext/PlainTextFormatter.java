@@ -80,37 +80,94 @@ public class PlainTextFormatter {
         return startOffset;
     }
 
+    public boolean isDelimBottom() {
+        return delimBottom;
+    }
+
     // returns number of rows
     public int printGrid(StringBuilder grid, ResultSetModel model) {
+        List<DBDAttributeBinding> attrs = model.getVisibleAttributes();
+        List<ResultSetRow> allRows = model.getAllRows();
+        calculateColumnWidths(model, 0);
+
+        printGridHeader(grid, attrs);
+
+        // Print rows
+        int i = 1;
+        for (ResultSetRow row : allRows) {
+            printGridRow(grid, model, attrs, row, i);
+            grid.append("\n");
+            i++;
+        }
+        if (delimBottom) {
+            // Print divider after rows
+            this.printSeparator(grid, colWidths);
+        }
+        grid.setLength(grid.length() - 1); // cut last line feed
+        return allRows.size();
+    }
+
+    /**
+     * Calculates column widths (if they were not calculated yet).
+     *
+     * @param maxSampleRows max number of rows used to calculate widths. Rows are taken evenly from the whole result.
+     *                      Values of other rows may be truncated. Zero means all rows.
+     */
+    public void calculateColumnWidths(ResultSetModel model, int maxSampleRows) {
+        if (colWidths != null) {
+            return;
+        }
         List<DBDAttributeBinding> attrs = model.getVisibleAttributes();
         List<ResultSetRow> allRows = model.getAllRows();
         int extraSpacesNum = extraSpaces ? 2 : 0;
-        if (colWidths == null) {
-            // Calculate column widths
-            colWidths = new int[attrs.size()];
-            if (!attrs.isEmpty() && lineNumbers) {
-                startOffset = getStringWidth(String.valueOf(allRows.size() + 1)) + extraSpacesNum + 1;
-            } else {
-                startOffset = 0;
+        int rowStep = maxSampleRows <= 0 || allRows.size() <= maxSampleRows ? 1 : allRows.size() / maxSampleRows;
+        colWidths = new int[attrs.size()];
+        if (!attrs.isEmpty() && lineNumbers) {
+            startOffset = getStringWidth(String.valueOf(allRows.size() + 1)) + extraSpacesNum + 1;
+        } else {
+            startOffset = 0;
+        }
+        for (int i = 0; i < attrs.size(); i++) {
+            DBDAttributeBinding attr = attrs.get(i);
+            colWidths[i] = getAttributeName(attr).length() + extraSpacesNum;
+            if (showNulls && !attr.isRequired()) {
+                colWidths[i] = Math.max(colWidths[i], DBConstants.NULL_VALUE_LABEL.length());
             }
-            for (int i = 0; i < attrs.size(); i++) {
-                DBDAttributeBinding attr = attrs.get(i);
-                colWidths[i] = getAttributeName(attr).length() + extraSpacesNum;
-                if (showNulls && !attr.isRequired()) {
-                    colWidths[i] = Math.max(colWidths[i], DBConstants.NULL_VALUE_LABEL.length());
-                }
-                for (ResultSetRow row : allRows) {
-                    String displayString = this.getCellString(model, attr, row, displayFormat);
-                    colWidths[i] = Math.max(colWidths[i], getStringWidth(displayString) + extraSpacesNum);
-                }
+            for (int rowIndex = 0; rowIndex < allRows.size(); rowIndex += rowStep) {
+                String displayString = this.getCellString(model, attr, allRows.get(rowIndex), displayFormat);
+                colWidths[i] = Math.max(colWidths[i], getStringWidth(displayString) + extraSpacesNum);
             }
-            for (int i = 0; i < colWidths.length; i++) {
-                if (colWidths[i] > maxColumnSize) {
-                    colWidths[i] = maxColumnSize;
-                }
+        }
+        for (int i = 0; i < colWidths.length; i++) {
+            if (colWidths[i] > maxColumnSize) {
+                colWidths[i] = maxColumnSize;
+            }
+        }
+    }
+
+    /**
+     * Returns width of each row line printed by {@link #printGridRow}. Column widths must be calculated.
+     */
+    public int getRowLineWidth() {
+        int width = (delimLeading ? 1 : 0) + (delimTrailing ? 1 : 0);
+        if (startOffset != 0) {
+            width += startOffset - 1;
+        }
+        for (int i = 0; i < colWidths.length; i++) {
+            if (i > 0 || startOffset != 0) {
+                width++;
             }
+            width += colWidths[i];
         }
+        return width;
+    }
 
+    /**
+     * Prints top divider, header and divider after header. Each line ends with line feed.
+     * Column widths must be calculated.
+     */
+    public void printGridHeader(StringBuilder grid, List<DBDAttributeBinding> attrs) {
+        int extraSpacesNum = extraSpaces ? 2 : 0;
         if (delimTop) {
             // Print divider before header
             this.printSeparator(grid, colWidths);
@@ -150,64 +207,62 @@ public class PlainTextFormatter {
 
         // Print divider
         this.printSeparator(grid, colWidths);
+    }
 
-        // Print rows
-        int i = 1;
-        for (ResultSetRow row : allRows) {
-            if (delimLeading) {
+    /**
+     * Prints single row (without line feed). Values are truncated to column widths, so all rows have the same width.
+     * Column widths must be calculated.
+     *
+     * @param rowNumber row number (starting from 1)
+     */
+    public void printGridRow(StringBuilder grid, ResultSetModel model, List<DBDAttributeBinding> attrs, ResultSetRow row, int rowNumber) {
+        int extraSpacesNum = extraSpaces ? 2 : 0;
+        if (delimLeading) {
+            grid.append("|");
+        }
+        if (lineNumbers) {
+            if (extraSpaces) {
+                grid.append(" ");
+            }
+            String displayNumber = String.valueOf(rowNumber);
+            grid.append(displayNumber);
+            int stringWidth = getStringWidth(displayNumber);
+            grid.append(" ".repeat(Math.max(0, startOffset - stringWidth - extraSpacesNum - 1)));
+            if (extraSpaces) {
+                grid.append(" ");
+            }
+        }
+        for (int k = 0; k < attrs.size(); k++) {
+            if (k > 0 || startOffset != 0) {
                 grid.append("|");
             }
-            if (lineNumbers) {
-                if (extraSpaces) {
-                    grid.append(" ");
-                }
-                String displayNumber = String.valueOf(i);
-                grid.append(displayNumber);
-                int stringWidth = getStringWidth(displayNumber);
-                grid.append(" ".repeat(Math.max(0, startOffset - stringWidth - extraSpacesNum - 1)));
-                if (extraSpaces) {
-                    grid.append(" ");
-                }
+            DBDAttributeBinding attr = attrs.get(k);
+            String displayString = this.getCellString(model, attr, row, displayFormat);
+            int valueWidth = Math.max(0, colWidths[k] - extraSpacesNum);
+            if (displayString.length() > valueWidth) {
+                displayString = CommonUtils.truncateString(displayString, valueWidth);
             }
-            for (int k = 0; k < attrs.size(); k++) {
-                if (k > 0 || startOffset != 0) {
-                    grid.append("|");
-                }
-                DBDAttributeBinding attr = attrs.get(k);
-                String displayString = this.getCellString(model, attr, row, displayFormat);
-                if (displayString.length() >= colWidths[k]) {
-                    displayString = CommonUtils.truncateString(displayString, colWidths[k]);
-                }
 
-                int stringWidth = getStringWidth(displayString);
+            int stringWidth = getStringWidth(displayString);
 
-                if (extraSpaces) {
-                    grid.append(" ");
-                }
-                DBPDataKind dataKind = attr.getDataKind();
-                if ((dataKind == DBPDataKind.NUMERIC && rightJustifyNumbers)
-                    || (dataKind == DBPDataKind.DATETIME && rightJustifyDateTime)) {
-                    // Right justify value
-                    grid.append(" ".repeat(Math.max(0, colWidths[k] - stringWidth - extraSpacesNum))).append(displayString);
-                } else {
-                    grid.append(displayString).append(" ".repeat(Math.max(0, colWidths[k] - stringWidth - extraSpacesNum)));
-                }
-                if (extraSpaces) {
-                    grid.append(" ");
-                }
+            if (extraSpaces) {
+                grid.append(" ");
             }
-            if (delimTrailing) {
-                grid.append("|");
+            DBPDataKind dataKind = attr.getDataKind();
+            if ((dataKind == DBPDataKind.NUMERIC && rightJustifyNumbers)
+                || (dataKind == DBPDataKind.DATETIME && rightJustifyDateTime)) {
+                // Right justify value
+                grid.append(" ".repeat(Math.max(0, colWidths[k] - stringWidth - extraSpacesNum))).append(displayString);
+            } else {
+                grid.append(displayString).append(" ".repeat(Math.max(0, colWidths[k] - stringWidth - extraSpacesNum)));
+            }
+            if (extraSpaces) {
+                grid.append(" ");
             }
-            grid.append("\n");
-            i++;
         }
-        if (delimBottom) {
-            // Print divider after rows
-            this.printSeparator(grid, colWidths);
+        if (delimTrailing) {
+            grid.append("|");
         }
-        grid.setLength(grid.length() - 1); // cut last line feed
-        return allRows.size();
     }
 
     public String getCellString(ResultSetModel model, DBDAttributeBinding attr, ResultSetRow row, DBDDisplayFormat displayFormat) {
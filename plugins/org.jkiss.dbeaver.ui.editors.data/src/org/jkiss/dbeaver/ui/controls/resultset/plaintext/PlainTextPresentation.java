@@ -65,8 +65,11 @@ import java.util.Map;
 public class PlainTextPresentation extends AbstractPresentation implements IResultSetDisplayFormatProvider, DBPAdaptable {
 
     public static final int FIRST_ROW_LINE = 2;
+    // Max number of rows used to calculate column widths
+    private static final int COLUMN_WIDTH_SAMPLE_SIZE = 1000;
 
     private StyledText text;
+    private PlainTextContent textContent;
     private DBDAttributeBinding curAttribute;
     private StyledTextFindReplaceTarget findReplaceTarget;
     public boolean activated;
@@ -84,6 +87,8 @@ public class PlainTextPresentation extends AbstractPresentation implements IResu
 
         UIUtils.createHorizontalLine(parent);
         text = new StyledText(parent, SWT.READ_ONLY | SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL);
+        textContent = new PlainTextContent();
+        text.setContent(textContent);
         text.setBlockSelection(true);
         text.setCursor(parent.getDisplay().getSystemCursor(SWT.CURSOR_IBEAM));
         text.setMargins(4, 4, 4, 4);
@@ -216,11 +221,11 @@ public class PlainTextPresentation extends AbstractPresentation implements IResu
     }
 
     private void printGrid(boolean append) {
-        StringBuilder grid = new StringBuilder(512);
-
         PlainTextFormatter formatter = new PlainTextFormatter(getController().getPreferenceStore());
         ResultSetModel model = controller.getModel();
-        totalRows = formatter.printGrid(grid, model);
+        // Rows are formatted on demand, only visible ones
+        formatter.calculateColumnWidths(model, COLUMN_WIDTH_SAMPLE_SIZE);
+        totalRows = model.getRowCount();
         colWidths = formatter.getColWidths();
         startOffset = formatter.getStartOffset();
 
@@ -228,7 +233,7 @@ public class PlainTextPresentation extends AbstractPresentation implements IResu
         final int horizontalIndex = text.getHorizontalIndex();
         final int caretOffset = text.getCaretOffset();
 
-        text.setText(grid.toString());
+        textContent.setGrid(formatter, model);
 
         if (append) {
             // Restore scroll and caret position
@@ -0,0 +1,125 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset.spreadsheet;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDDataFormatterProfile;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of formatted cell values.
+ * Entries are bound to the value object they were made for, so a changed cell value is never taken from cache.
+ * Only immutable values (numbers, dates, booleans) are cached.
+ * Cache is cleared when the formatter profile is modified, see {@link #checkFormatterProfile(DBDDataFormatterProfile)}.
+ * It must be invalidated explicitly when presentation settings or value handlers change.
+ */
+public class SpreadsheetDisplayStringCache {
+
+    private static final int MAX_ENTRIES = 20000;
+
+    private record CellKey(@NotNull ResultSetRow row, @NotNull DBDAttributeBinding attribute, @NotNull DBDDisplayFormat format) {
+    }
+
+    record CellText(@NotNull Object value, @Nullable String text) {
+    }
+
+    private final Map<CellKey, CellText> entries = new LinkedHashMap<>(1000, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CellKey, CellText> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    // Profile which was used to format cached values
+    @Nullable
+    private DBDDataFormatterProfile formatterProfile;
+    private int profileModificationCount;
+    private long hitCount;
+    private long missCount;
+
+    static boolean isCacheable(@Nullable Object value) {
+        return value instanceof Number || value instanceof Date || value instanceof TemporalAccessor || value instanceof Boolean;
+    }
+
+    /**
+     * Clears cache if values were formatted by another profile or profile settings were modified since then
+     */
+    void checkFormatterProfile(@NotNull DBDDataFormatterProfile profile) {
+        int modificationCount = profile.getModificationCount();
+        if (profile != formatterProfile || modificationCount != profileModificationCount) {
+            entries.clear();
+            formatterProfile = profile;
+            profileModificationCount = modificationCount;
+        }
+    }
+
+    /**
+     * Returns cached text or null if there is no text for the specified value
+     */
+    @Nullable
+    CellText get(@NotNull ResultSetRow row, @NotNull DBDAttributeBinding attribute, @NotNull DBDDisplayFormat format, @NotNull Object value) {
+        CellText cellText = entries.get(new CellKey(row, attribute, format));
+        if (cellText != null && cellText.value() == value) {
+            hitCount++;
+            return cellText;
+        }
+        missCount++;
+        return null;
+    }
+
+    void put(@NotNull ResultSetRow row, @NotNull DBDAttributeBinding attribute, @NotNull DBDDisplayFormat format, @NotNull Object value, @Nullable String text) {
+        entries.put(new CellKey(row, attribute, format), new CellText(value, text));
+    }
+
+    void invalidate() {
+        entries.clear();
+        formatterProfile = null;
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Ratio of requests served from cache, from 0 to 1
+     */
+    public double getHitRatio() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "Display strings cache: size=" + entries.size() + ", hits=" + hitCount + ", misses=" + missCount +
+            ", hit ratio=" + String.format("%.2f", getHitRatio());
+    }
+}
@@ -46,8 +46,11 @@ import org.jkiss.dbeaver.ui.UIStyles;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.lightgrid.GridCell;
 import org.jkiss.dbeaver.ui.controls.lightgrid.GridPos;
+import org.jkiss.dbeaver.ui.controls.lightgrid.IGridRow;
 import org.jkiss.dbeaver.ui.controls.resultset.ResultSetCellLocation;
 import org.jkiss.dbeaver.ui.controls.resultset.ResultSetModel;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetPreferences;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
 import org.jkiss.dbeaver.ui.controls.resultset.ResultSetValueController;
 import org.jkiss.dbeaver.ui.data.IValueController;
 import org.jkiss.utils.CommonUtils;
@@ -174,6 +177,10 @@ class SpreadsheetFindReplaceTarget implements IFindReplaceTarget, IFindReplaceTa
         owner.getControl().redraw();
         this.originalSelection = new ArrayList<>(owner.getSpreadsheet().getSelection());
         owner.highlightRows(-1, -1, null);
+        if (!owner.getController().isRecordMode()) {
+            // Start indexing before the first search
+            owner.getSearchIndex().update();
+        }
     }
 
     @Override
@@ -299,6 +306,21 @@ class SpreadsheetFindReplaceTarget implements IFindReplaceTarget, IFindReplaceTa
             findPattern = Pattern.compile(pattern, caseSensitive ? 0 : Pattern.CASE_INSENSITIVE);
         }
         int minColumnNum = owner.getController().isRecordMode() ? -1 : 0;
+        SpreadsheetSearchIndex searchIndex = null;
+        SpreadsheetSearchIndex.Candidates candidates = null;
+        if (!owner.getController().isRecordMode() &&
+            owner.getController().getPreferenceStore().getBoolean(ResultSetPreferences.RESULT_SET_FIND_INDEX))
+        {
+            searchIndex = owner.getSearchIndex();
+            searchIndex.update();
+            if (!regExSearch) {
+                // Regular expressions don't contain the search string as is
+                searchIndex.countMatches(findPattern, findString, wholeWord);
+                candidates = searchIndex.findCandidates(findString);
+            }
+        }
+        boolean skipRows = candidates != null;
+        int checkedRow = -1;
         for (GridPos curPosition = new GridPos(startPosition);;) {
             //Object element = contentProvider.getElement(curPosition);
             if (searchForward) {
@@ -329,6 +351,17 @@ class SpreadsheetFindReplaceTarget implements IFindReplaceTarget, IFindReplaceTa
                     return -1;
                 }
             }
+            if (skipRows && curPosition.row != checkedRow) {
+                checkedRow = curPosition.row;
+                IGridRow gridRow = spreadsheet.getRow(curPosition.row);
+                if (gridRow != null && gridRow.getParent() == null &&
+                    gridRow.getElement() instanceof ResultSetRow row && !searchIndex.mayContain(row, candidates))
+                {
+                    // Skip the whole row
+                    curPosition.col = searchForward ? columnCount - 1 : minColumnNum;
+                    continue;
+                }
+            }
             String cellText;
             if (owner.getController().isRecordMode() && curPosition.col == minColumnNum) {
                 // Header
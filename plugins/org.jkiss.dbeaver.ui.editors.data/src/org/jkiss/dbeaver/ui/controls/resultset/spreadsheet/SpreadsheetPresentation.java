@@ -153,6 +153,8 @@ public class SpreadsheetPresentation extends AbstractPresentation
     private boolean colorizeDataTypes = true;
     private final Map<DBPDataKind, Color> dataTypesForegrounds = new IdentityHashMap<>();
     private DBDDisplayFormat gridValueFormat;
+    private final SpreadsheetDisplayStringCache displayStringCache = new SpreadsheetDisplayStringCache();
+    private final SpreadsheetSearchIndex searchIndex = new SpreadsheetSearchIndex(this);
 
     public Spreadsheet getSpreadsheet() {
         return spreadsheet;
@@ -205,11 +207,16 @@ public class SpreadsheetPresentation extends AbstractPresentation
                     updateGridCursor((GridCell) e.data);
                 }
                 fireSelectionChanged(new SpreadsheetSelectionImpl());
+                checkSegmentPrefetch();
             }
         });
         this.spreadsheet.addMouseWheelListener(e -> {
-
+            // Grid is scrolled after listeners notification
+            UIUtils.asyncExec(this::checkSegmentPrefetch);
         });
+        if (this.spreadsheet.getVerticalBar() != null) {
+            this.spreadsheet.getVerticalBar().addListener(SWT.Selection, e -> checkSegmentPrefetch());
+        }
         spreadsheet.addControlListener(new ControlAdapter() {
             @Override
             public void controlResized(ControlEvent e) {
@@ -233,10 +240,28 @@ public class SpreadsheetPresentation extends AbstractPresentation
         TextEditorUtils.enableHostEditorKeyBindingsSupport(controller.getSite(), spreadsheet);
     }
 
+    /**
+     * Starts background read of the next segment when user scrolls close to the end of fetched rows
+     */
+    private void checkSegmentPrefetch() {
+        if (!autoFetchSegments || spreadsheet.isDisposed() || controller.isRecordMode()) {
+            return;
+        }
+        int bottomRow = spreadsheet.getBottomIndex();
+        if (bottomRow > 0) {
+            controller.prefetchNextSegment(bottomRow);
+        }
+    }
+
     @Override
     public void dispose() {
         closeEditors();
         clearMetaData();
+        if (log.isDebugEnabled() && displayStringCache.getHitCount() > 0) {
+            log.debug(displayStringCache.toString());
+        }
+        displayStringCache.invalidate();
+        searchIndex.invalidate();
 
         UIUtils.dispose(this.cellHeaderSelectionBackground);
         super.dispose();
@@ -888,6 +913,10 @@ public class SpreadsheetPresentation extends AbstractPresentation
         if (spreadsheet.isDisposed()) {
             return;
         }
+        if (refreshMetadata || !append) {
+            // Appended rows are indexed on the next search
+            searchIndex.invalidate();
+        }
         isHighContrastTheme = UIStyles.isHighContrastTheme();
 
         // Cache preferences
@@ -916,6 +945,8 @@ public class SpreadsheetPresentation extends AbstractPresentation
 
         spreadsheet.setColumnScrolling(!getPreferenceStore().getBoolean(ResultSetPreferences.RESULT_SET_USE_SMOOTH_SCROLLING));
         gridValueFormat = CommonUtils.valueOf(DBDDisplayFormat.class, getPreferenceStore().getString(ResultSetPreferences.RESULT_GRID_VALUE_FORMAT), DBDDisplayFormat.UI);
+        // Values, formatter settings or value handlers may be changed
+        displayStringCache.invalidate();
 
         spreadsheet.setRedraw(false);
         try {
@@ -927,6 +958,7 @@ public class SpreadsheetPresentation extends AbstractPresentation
 
     @Override
     public void formatData(boolean refreshData) {
+        displayStringCache.invalidate();
         spreadsheet.refreshData(false, true, false);
     }
 
@@ -2398,10 +2430,24 @@ public class SpreadsheetPresentation extends AbstractPresentation
                 return composite.toString();
             }
             try {
+                DBDDisplayFormat displayFormat = getValueRenderFormat(attr, value);
+                if (SpreadsheetDisplayStringCache.isCacheable(value)) {
+                    DBPDataSource dataSource = attr.getDataSource();
+                    if (dataSource != null) {
+                        displayStringCache.checkFormatterProfile(dataSource.getContainer().getDataFormatterProfile());
+                    }
+                    SpreadsheetDisplayStringCache.CellText cellText = displayStringCache.get(row, attr, displayFormat, value);
+                    if (cellText != null) {
+                        return cellText.text();
+                    }
+                    String text = attr.getValueRenderer().getValueDisplayString(attr.getAttribute(), value, displayFormat);
+                    displayStringCache.put(row, attr, displayFormat, value, text);
+                    return text;
+                }
                 return attr.getValueRenderer().getValueDisplayString(
                     attr.getAttribute(),
                     value,
-                    getValueRenderFormat(attr, value));
+                    displayFormat);
             } catch (Exception e) {
                 return new DBDValueError(e);
             }
@@ -2864,6 +2910,29 @@ public class SpreadsheetPresentation extends AbstractPresentation
         return gridValueFormat;
     }
 
+    /**
+     * Formatted cell values cache (may be used to check its statistics)
+     */
+    @NotNull
+    public SpreadsheetDisplayStringCache getDisplayStringCache() {
+        return displayStringCache;
+    }
+
+    @NotNull
+    @Override
+    public long getCacheMemoryUsage() {
+        return searchIndex.getMemoryUsage();
+    }
+
+    @Override
+    public void clearCaches() {
+        searchIndex.invalidate();
+    }
+
+    SpreadsheetSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
     @Override
     public DBDDisplayFormat getDefaultDisplayFormat() {
         return gridValueFormat;
@@ -2872,6 +2941,7 @@ public class SpreadsheetPresentation extends AbstractPresentation
     @Override
     public void setDefaultDisplayFormat(DBDDisplayFormat displayFormat) {
         this.gridValueFormat = displayFormat;
+        displayStringCache.invalidate();
         getPreferenceStore().setValue(ResultSetPreferences.RESULT_GRID_VALUE_FORMAT, this.gridValueFormat.name());
     }
 
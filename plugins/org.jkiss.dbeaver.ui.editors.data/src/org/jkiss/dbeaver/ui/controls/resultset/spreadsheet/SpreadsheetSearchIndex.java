@@ -0,0 +1,444 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset.spreadsheet;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.osgi.util.NLS;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPMessageType;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetModel;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
+import org.jkiss.dbeaver.ui.controls.resultset.internal.ResultSetMessages;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram index of loaded result set rows used by find/replace.
+ * Each indexed row gets a sequential number. For each trigram (three successive characters of a value,
+ * converted to lower case) index keeps sorted numbers of rows which contain it. Rows which may contain the search string
+ * are the intersection of row lists of all search string trigrams, so find skips other rows
+ * without reading their values. Search strings shorter than a trigram aren't narrowed.
+ * <p>
+ * Index is built in background and is extended when new rows are appended to the model.
+ * Rows which were changed or added after indexing are never skipped.
+ * Index size is limited: rows with very long text and rows which don't fit into {@link #MAX_INDEX_SIZE} aren't indexed
+ * (and thus never skipped).
+ * Index must be invalidated when model rows or visible attributes change.
+ */
+class SpreadsheetSearchIndex {
+
+    private static final Log log = Log.getLog(SpreadsheetSearchIndex.class);
+
+    private static final int TRIGRAM_LENGTH = 3;
+    private static final int MATCH_COUNT_DELAY = 200;
+    // Match count is refreshed each time when this number of rows was indexed
+    private static final int MATCH_COUNT_UPDATE_ROWS = 100000;
+    // Max estimated heap size of the index
+    static final long MAX_INDEX_SIZE = 64 * 1024 * 1024;
+    // Rows with longer text (e.g. with LOB values) aren't indexed
+    private static final int MAX_ROW_TEXT_LENGTH = 64 * 1024;
+    // Row number map entry and row list element
+    private static final int ROW_OVERHEAD = 48;
+    // Trigram map entry, key and row list headers
+    private static final int TRIGRAM_OVERHEAD = 96;
+
+    /**
+     * Sorted numbers of rows which contain a trigram
+     */
+    private static class RowList {
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int rowNumber) {
+            if (size > 0 && rows[size - 1] == rowNumber) {
+                // Trigram occurs several times in a row
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = rowNumber;
+        }
+    }
+
+    /**
+     * Rows which may contain the search string
+     */
+    static class Candidates {
+        private final int indexVersion;
+        private final BitSet rows;
+        private final int indexedRowCount;
+
+        private Candidates(int indexVersion, @NotNull BitSet rows, int indexedRowCount) {
+            this.indexVersion = indexVersion;
+            this.rows = rows;
+            this.indexedRowCount = indexedRowCount;
+        }
+    }
+
+    private final SpreadsheetPresentation presentation;
+    private final List<ResultSetRow> indexedRows = new ArrayList<>();
+    private final Map<ResultSetRow, Integer> rowNumbers = new IdentityHashMap<>();
+    private final Map<Long, RowList> trigramRows = new HashMap<>();
+    // Estimated heap size of the index
+    private long indexSize;
+    // Index doesn't fit into the max size
+    private boolean indexFull;
+    // Incremented on each invalidation
+    private int version;
+    private int totalRowCount;
+    @Nullable
+    private IndexJob indexJob;
+    @Nullable
+    private MatchCountJob matchCountJob;
+    @Nullable
+    private Pattern countPattern;
+    @Nullable
+    private String countString;
+    private boolean countWholeWord;
+
+    SpreadsheetSearchIndex(@NotNull SpreadsheetPresentation presentation) {
+        this.presentation = presentation;
+    }
+
+    /**
+     * Starts indexing of rows which are not indexed yet. Must be called in UI thread.
+     */
+    void update() {
+        ResultSetModel model = presentation.getController().getModel();
+        List<ResultSetRow> rows = model.getAllRows();
+        synchronized (this) {
+            totalRowCount = rows.size();
+            if (indexFull || rowNumbers.size() >= rows.size() || (indexJob != null && indexJob.rows.size() == rows.size())) {
+                return;
+            }
+            if (indexJob != null) {
+                indexJob.cancel();
+            }
+            indexJob = new IndexJob(version, new ArrayList<>(rows), getIndexedAttributes(model));
+            indexJob.schedule();
+        }
+    }
+
+    /**
+     * Finds indexed rows which may contain the search string
+     *
+     * @return null if rows can't be narrowed by the search string
+     */
+    @Nullable
+    synchronized Candidates findCandidates(@NotNull String searchString) {
+        BitSet rows = findRows(searchString);
+        if (rows == null) {
+            return null;
+        }
+        // Rows indexed later are not in the bitset, they are checked cell by cell
+        return new Candidates(version, rows, indexedRows.size());
+    }
+
+    /**
+     * Checks whether row may contain the search string. Must be called in UI thread.
+     *
+     * @return false if row is indexed and definitely doesn't contain the search string
+     */
+    boolean mayContain(@NotNull ResultSetRow row, @NotNull Candidates candidates) {
+        if (row.getState() != ResultSetRow.STATE_NORMAL || row.isChanged()) {
+            return true;
+        }
+        Integer rowNumber;
+        synchronized (this) {
+            if (candidates.indexVersion != version) {
+                // Rows were renumbered
+                return true;
+            }
+            rowNumber = rowNumbers.get(row);
+        }
+        return rowNumber == null || rowNumber >= candidates.indexedRowCount || candidates.rows.get(rowNumber);
+    }
+
+    /**
+     * Counts values which match the pattern in background and shows the count in the viewer status.
+     * Count is refreshed while indexing goes on.
+     *
+     * @param searchString string which is searched by the pattern, used to narrow counted rows
+     */
+    void countMatches(@NotNull Pattern pattern, @NotNull String searchString, boolean wholeWord) {
+        synchronized (this) {
+            countPattern = pattern;
+            countString = searchString;
+            countWholeWord = wholeWord;
+        }
+        scheduleMatchCount();
+    }
+
+    /**
+     * Returns estimated heap size of the index
+     */
+    synchronized long getMemoryUsage() {
+        return indexSize;
+    }
+
+    synchronized void invalidate() {
+        version++;
+        indexedRows.clear();
+        rowNumbers.clear();
+        trigramRows.clear();
+        indexSize = 0;
+        indexFull = false;
+        totalRowCount = 0;
+        countPattern = null;
+        countString = null;
+        if (indexJob != null) {
+            indexJob.cancel();
+            indexJob = null;
+        }
+        if (matchCountJob != null) {
+            matchCountJob.cancel();
+            matchCountJob = null;
+        }
+    }
+
+    private synchronized void scheduleMatchCount() {
+        if (countPattern == null || countString == null) {
+            return;
+        }
+        if (matchCountJob != null) {
+            matchCountJob.cancel();
+        }
+        matchCountJob = new MatchCountJob(version, countPattern, countString, countWholeWord);
+        matchCountJob.schedule(MATCH_COUNT_DELAY);
+    }
+
+    @Nullable
+    private BitSet findRows(@NotNull String searchString) {
+        if (searchString.length() < TRIGRAM_LENGTH) {
+            return null;
+        }
+        BitSet result = null;
+        for (int i = 0; i + TRIGRAM_LENGTH <= searchString.length(); i++) {
+            RowList rows = trigramRows.get(makeTrigram(searchString, i));
+            if (rows == null) {
+                // No indexed row contains this trigram
+                return new BitSet();
+            }
+            BitSet trigramSet = new BitSet(indexedRows.size());
+            for (int k = 0; k < rows.size; k++) {
+                trigramSet.set(rows.rows[k]);
+            }
+            if (result == null) {
+                result = trigramSet;
+            } else {
+                result.and(trigramSet);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static long makeTrigram(@NotNull String text, int offset) {
+        // Chars are converted one by one, so case-insensitive matches have the same trigrams
+        return ((long) Character.toLowerCase(text.charAt(offset)) << 32) |
+            ((long) Character.toLowerCase(text.charAt(offset + 1)) << 16) |
+            Character.toLowerCase(text.charAt(offset + 2));
+    }
+
+    @NotNull
+    private static List<DBDAttributeBinding> getIndexedAttributes(@NotNull ResultSetModel model) {
+        // Leaf attributes are grid columns. Top level attributes are also searched in grid.
+        Set<DBDAttributeBinding> attributes = new LinkedHashSet<>(model.getVisibleLeafAttributes());
+        attributes.addAll(model.getVisibleAttributes());
+        return new ArrayList<>(attributes);
+    }
+
+    private class IndexJob extends AbstractJob {
+        private final int indexVersion;
+        private final List<ResultSetRow> rows;
+        private final List<DBDAttributeBinding> attributes;
+
+        IndexJob(int indexVersion, @NotNull List<ResultSetRow> rows, @NotNull List<DBDAttributeBinding> attributes) {
+            super("Index result set rows");
+            setSystem(true);
+            this.indexVersion = indexVersion;
+            this.rows = rows;
+            this.attributes = attributes;
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            ResultSetModel model = presentation.getController().getModel();
+            List<String> values = new ArrayList<>(attributes.size());
+            Set<Long> rowTrigrams = new HashSet<>();
+            int indexedCount = 0;
+            for (ResultSetRow row : rows) {
+                if (monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+                synchronized (SpreadsheetSearchIndex.this) {
+                    if (version != indexVersion) {
+                        return Status.CANCEL_STATUS;
+                    }
+                    if (rowNumbers.containsKey(row)) {
+                        continue;
+                    }
+                }
+                values.clear();
+                int textLength = 0;
+                try {
+                    for (DBDAttributeBinding attribute : attributes) {
+                        String value = CommonUtils.toString(model.getCellValue(attribute, row));
+                        values.add(value);
+                        textLength += value.length();
+                    }
+                } catch (Exception e) {
+                    // Row won't be skipped by find
+                    log.debug("Error indexing row " + row.getRowNumber(), e);
+                    continue;
+                }
+                if (textLength > MAX_ROW_TEXT_LENGTH) {
+                    continue;
+                }
+                rowTrigrams.clear();
+                for (String value : values) {
+                    for (int i = 0; i + TRIGRAM_LENGTH <= value.length(); i++) {
+                        rowTrigrams.add(makeTrigram(value, i));
+                    }
+                }
+                synchronized (SpreadsheetSearchIndex.this) {
+                    if (version != indexVersion) {
+                        return Status.CANCEL_STATUS;
+                    }
+                    long rowSize = ROW_OVERHEAD;
+                    for (Long trigram : rowTrigrams) {
+                        rowSize += trigramRows.containsKey(trigram) ? Integer.BYTES : TRIGRAM_OVERHEAD;
+                    }
+                    if (indexSize + rowSize > MAX_INDEX_SIZE) {
+                        // The rest of rows will be checked cell by cell
+                        log.debug("Search index size limit reached, " + indexedRows.size() + " rows indexed");
+                        indexFull = true;
+                        break;
+                    }
+                    int rowNumber = indexedRows.size();
+                    for (Long trigram : rowTrigrams) {
+                        trigramRows.computeIfAbsent(trigram, k -> new RowList()).add(rowNumber);
+                    }
+                    indexedRows.add(row);
+                    rowNumbers.put(row, rowNumber);
+                    indexSize += rowSize;
+                }
+                if (++indexedCount % MATCH_COUNT_UPDATE_ROWS == 0) {
+                    scheduleMatchCount();
+                }
+            }
+            scheduleMatchCount();
+            return Status.OK_STATUS;
+        }
+    }
+
+    private class MatchCountJob extends AbstractJob {
+        private final int indexVersion;
+        private final Pattern pattern;
+        private final String searchString;
+        private final boolean wholeWord;
+
+        MatchCountJob(int indexVersion, @NotNull Pattern pattern, @NotNull String searchString, boolean wholeWord) {
+            super("Count result set matches");
+            setSystem(true);
+            this.indexVersion = indexVersion;
+            this.pattern = pattern;
+            this.searchString = searchString;
+            this.wholeWord = wholeWord;
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            List<ResultSetRow> rows;
+            List<DBDAttributeBinding> attributes;
+            ResultSetModel model = presentation.getController().getModel();
+            int indexedRowCount;
+            int totalRows;
+            synchronized (SpreadsheetSearchIndex.this) {
+                if (version != indexVersion) {
+                    return Status.CANCEL_STATUS;
+                }
+                indexedRowCount = indexedRows.size();
+                totalRows = totalRowCount;
+                BitSet candidates = findRows(searchString);
+                if (candidates == null) {
+                    rows = new ArrayList<>(indexedRows);
+                } else {
+                    rows = new ArrayList<>(candidates.cardinality());
+                    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                        rows.add(indexedRows.get(i));
+                    }
+                }
+                attributes = indexJob == null ? getIndexedAttributes(model) : indexJob.attributes;
+            }
+            long matchCount = 0;
+            int matchRowCount = 0;
+            Matcher matcher = pattern.matcher("");
+            for (ResultSetRow row : rows) {
+                if (monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+                int rowMatches = 0;
+                try {
+                    for (DBDAttributeBinding attribute : attributes) {
+                        matcher.reset(CommonUtils.toString(model.getCellValue(attribute, row)));
+                        // The same check as find does for each cell
+                        if (wholeWord ? matcher.matches() : matcher.find()) {
+                            rowMatches++;
+                        }
+                    }
+                } catch (Exception e) {
+                    log.debug("Error counting matches in row " + row.getRowNumber(), e);
+                    continue;
+                }
+                if (rowMatches > 0) {
+                    matchCount += rowMatches;
+                    matchRowCount++;
+                }
+            }
+            String message = indexedRowCount < totalRows ?
+                NLS.bind(ResultSetMessages.controls_resultset_viewer_status_find_matches_partial,
+                    new Object[] {matchCount, matchRowCount, indexedRowCount, totalRows}) :
+                NLS.bind(ResultSetMessages.controls_resultset_viewer_status_find_matches, matchCount, matchRowCount);
+            UIUtils.asyncExec(() -> {
+                synchronized (SpreadsheetSearchIndex.this) {
+                    if (version != indexVersion || countPattern != pattern) {
+                        return;
+                    }
+                }
+                if (!presentation.getControl().isDisposed()) {
+                    presentation.getController().setStatus(message, DBPMessageType.INFORMATION);
+                }
+            });
+            return Status.OK_STATUS;
+        }
+    }
+
+}
@@ -188,7 +188,7 @@ public class ReferenceValueEditor {
         private List<DBDLabelValuePair> loadNonComparableKeyValues(DBSDictionaryAccessor accessor) throws DBException {
             List<DBDLabelValuePair> data;
             if (searchText == null && keyValue != null) { 
-                data = accessor.getValueEntry(keyValue);
+                data = accessor.getValueEntries(Collections.singletonList(keyValue));
                 estimateOnePage(true);
             } else {
                 long offset = currPageNumber * pageSize;
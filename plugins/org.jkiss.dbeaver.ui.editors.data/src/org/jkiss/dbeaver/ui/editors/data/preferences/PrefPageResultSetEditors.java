@@ -55,7 +55,9 @@ public class PrefPageResultSetEditors extends TargetPrefPage
     private Combo encodingCombo;
     private Button contentCacheClob;
     private Button contentCacheBlob;
+    private Button contentPreviewBlob;
     private Spinner contentCacheMaxSize;
+    private Spinner contentPreviewMaxSize;
 
     private Spinner maxTextContentSize;
     private Button editLongAsLobCheck;
@@ -84,6 +86,8 @@ public class PrefPageResultSetEditors extends TargetPrefPage
             store.contains(ModelPreferences.CONTENT_CACHE_CLOB) ||
             store.contains(ModelPreferences.CONTENT_CACHE_BLOB) ||
             store.contains(ModelPreferences.CONTENT_CACHE_MAX_SIZE) ||
+            store.contains(ModelPreferences.CONTENT_PREVIEW_MAX_SIZE) ||
+            store.contains(ModelPreferences.CONTENT_PREVIEW_BLOB) ||
             store.contains(ResultSetPreferences.RS_EDIT_LONG_AS_LOB) ||
 
             store.contains(ResultSetPreferences.RS_EDIT_MAX_TEXT_SIZE) ||
@@ -149,6 +153,12 @@ public class PrefPageResultSetEditors extends TargetPrefPage
             contentCacheMaxSize.setDigits(0);
             contentCacheMaxSize.setIncrement(100000);
             contentCacheMaxSize.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+            contentPreviewMaxSize = UIUtils.createLabelSpinner(binaryGroup, ResultSetMessages.pref_page_database_general_label_preview_max_size, 0, 0, Integer.MAX_VALUE);
+            contentPreviewMaxSize.setDigits(0);
+            contentPreviewMaxSize.setIncrement(100);
+            contentPreviewMaxSize.setToolTipText(ResultSetMessages.pref_page_database_general_label_preview_max_size_tip);
+            contentPreviewMaxSize.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+            contentPreviewBlob = UIUtils.createLabelCheckbox(binaryGroup, ResultSetMessages.pref_page_content_preview_blob, false);
             editLongAsLobCheck = UIUtils.createLabelCheckbox(binaryGroup, ResultSetMessages.pref_page_content_editor_checkbox_edit_long_as_lobs, false);
         }
 
@@ -197,6 +207,8 @@ public class PrefPageResultSetEditors extends TargetPrefPage
             contentCacheClob.setSelection(store.getBoolean(ModelPreferences.CONTENT_CACHE_CLOB));
             contentCacheBlob.setSelection(store.getBoolean(ModelPreferences.CONTENT_CACHE_BLOB));
             contentCacheMaxSize.setSelection(store.getInt(ModelPreferences.CONTENT_CACHE_MAX_SIZE));
+            contentPreviewMaxSize.setSelection(store.getInt(ModelPreferences.CONTENT_PREVIEW_MAX_SIZE));
+            contentPreviewBlob.setSelection(store.getBoolean(ModelPreferences.CONTENT_PREVIEW_BLOB));
             editLongAsLobCheck.setSelection(store.getBoolean(ResultSetPreferences.RS_EDIT_LONG_AS_LOB));
 
             maxTextContentSize.setSelection(store.getInt(ResultSetPreferences.RS_EDIT_MAX_TEXT_SIZE));
@@ -232,6 +244,8 @@ public class PrefPageResultSetEditors extends TargetPrefPage
             store.setValue(ModelPreferences.CONTENT_CACHE_CLOB, contentCacheClob.getSelection());
             store.setValue(ModelPreferences.CONTENT_CACHE_BLOB, contentCacheBlob.getSelection());
             store.setValue(ModelPreferences.CONTENT_CACHE_MAX_SIZE, contentCacheMaxSize.getSelection());
+            store.setValue(ModelPreferences.CONTENT_PREVIEW_MAX_SIZE, contentPreviewMaxSize.getSelection());
+            store.setValue(ModelPreferences.CONTENT_PREVIEW_BLOB, contentPreviewBlob.getSelection());
             store.setValue(ResultSetPreferences.RS_EDIT_LONG_AS_LOB, editLongAsLobCheck.getSelection());
 
             store.setValue(ResultSetPreferences.RS_EDIT_MAX_TEXT_SIZE, maxTextContentSize.getSelection());
@@ -256,6 +270,8 @@ public class PrefPageResultSetEditors extends TargetPrefPage
         store.setToDefault(ModelPreferences.CONTENT_CACHE_CLOB);
         store.setToDefault(ModelPreferences.CONTENT_CACHE_BLOB);
         store.setToDefault(ModelPreferences.CONTENT_CACHE_MAX_SIZE);
+        store.setToDefault(ModelPreferences.CONTENT_PREVIEW_MAX_SIZE);
+        store.setToDefault(ModelPreferences.CONTENT_PREVIEW_BLOB);
         store.setToDefault(ResultSetPreferences.RS_EDIT_LONG_AS_LOB);
 
         store.setToDefault(ResultSetPreferences.RS_EDIT_MAX_TEXT_SIZE);
@@ -275,6 +291,8 @@ public class PrefPageResultSetEditors extends TargetPrefPage
         contentCacheClob.setSelection(store.getDefaultBoolean(ModelPreferences.CONTENT_CACHE_CLOB));
         contentCacheBlob.setSelection(store.getDefaultBoolean(ModelPreferences.CONTENT_CACHE_BLOB));
         contentCacheMaxSize.setSelection(store.getDefaultInt(ModelPreferences.CONTENT_CACHE_MAX_SIZE));
+        contentPreviewMaxSize.setSelection(store.getDefaultInt(ModelPreferences.CONTENT_PREVIEW_MAX_SIZE));
+        contentPreviewBlob.setSelection(store.getDefaultBoolean(ModelPreferences.CONTENT_PREVIEW_BLOB));
         maxTextContentSize.setSelection(store.getDefaultInt(ResultSetPreferences.RS_EDIT_MAX_TEXT_SIZE));
         editLongAsLobCheck.setSelection(store.getDefaultBoolean(ResultSetPreferences.RS_EDIT_LONG_AS_LOB));
         commitOnEditApplyCheck.setSelection(store.getDefaultBoolean(ResultSetPreferences.RS_COMMIT_ON_EDIT_APPLY));
@@ -56,11 +56,16 @@ public class PrefPageResultSetMain extends TargetPrefPage
 
     private Button autoFetchNextSegmentCheck;
     private Button automaticRowCountCheck;
+    private Button estimateRowCountCheck;
     private Button rereadOnScrollingCheck;
     private Text resultSetSize;
     private Button resultSetUseSQLCheck;
     private Combo orderingModeCombo;
     private Text queryCancelTimeout;
+    private Text spillMemoryBudget;
+    private Text tabsMemoryBudget;
+    private Text prefetchThreshold;
+    private Text saveBatchSize;
     private Button filterForceSubselect;
 
     private Button keepStatementOpenCheck;
@@ -75,6 +80,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
     private Button markCellValueOccurrences;
 
     private Button advUseFetchSize;
+    private Button advAdaptiveFetchSize;
+    private Button advColumnarStorage;
+    private Button advFindIndex;
+
+    private Button resultCacheEnabled;
+    private Text resultCacheTimeToLive;
+    private Text resultCacheMemoryLimit;
 
     private Button ignoreColumnLabelCheck;
     private Button useDateTimeEditor;
@@ -95,15 +107,26 @@ public class PrefPageResultSetMain extends TargetPrefPage
             store.contains(ModelPreferences.RESULT_SET_MAX_ROWS) ||
             store.contains(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL) ||
             store.contains(ResultSetPreferences.RESULT_SET_AUTOMATIC_ROW_COUNT) ||
+            store.contains(ResultSetPreferences.RESULT_SET_ESTIMATE_ROW_COUNT) ||
             store.contains(ResultSetPreferences.RESULT_SET_CANCEL_TIMEOUT) ||
             store.contains(ModelPreferences.SQL_FILTER_FORCE_SUBSELECT) ||
             store.contains(ResultSetPreferences.RS_EDIT_USE_ALL_COLUMNS) ||
             store.contains(ResultSetPreferences.RS_EDIT_DISABLE_IF_KEY_MISSING) ||
             store.contains(ResultSetPreferences.RS_EDIT_NEW_ROWS_AFTER) ||
             store.contains(ResultSetPreferences.RS_EDIT_REFRESH_AFTER_UPDATE) ||
+            store.contains(ResultSetPreferences.RS_EDIT_SAVE_BATCH_SIZE) ||
             store.contains(ResultSetPreferences.KEEP_STATEMENT_OPEN) ||
             store.contains(ResultSetPreferences.RESULT_SET_ORDERING_MODE) ||
             store.contains(ModelPreferences.RESULT_SET_USE_FETCH_SIZE) ||
+            store.contains(ModelPreferences.RESULT_SET_ADAPTIVE_FETCH_SIZE) ||
+            store.contains(ResultSetPreferences.RESULT_SET_COLUMNAR_STORAGE) ||
+            store.contains(ResultSetPreferences.RESULT_SET_FIND_INDEX) ||
+            store.contains(ModelPreferences.RESULT_SET_CACHE_ENABLED) ||
+            store.contains(ModelPreferences.RESULT_SET_CACHE_TTL) ||
+            store.contains(ModelPreferences.RESULT_SET_CACHE_MEMORY_LIMIT) ||
+            store.contains(ResultSetPreferences.RESULT_SET_SPILL_MEMORY_BUDGET) ||
+            store.contains(ResultSetPreferences.RESULT_SET_TABS_MEMORY_BUDGET) ||
+            store.contains(ResultSetPreferences.RESULT_SET_PREFETCH_THRESHOLD) ||
             store.contains(ResultSetPreferences.RESULT_SET_USE_NAVIGATOR_FILTERS) ||
             store.contains(ResultSetPreferences.RESULT_SET_CONFIRM_BEFORE_SAVE) ||
             store.contains(ResultSetPreferences.RESULT_SET_SHOW_ERRORS_IN_DIALOG) ||
@@ -147,6 +170,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
             rereadOnScrollingCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_reread_on_scrolling, ResultSetMessages.pref_page_database_resultsets_label_reread_on_scrolling_tip, true, 2);
             resultSetUseSQLCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_use_sql, ResultSetMessages.pref_page_database_resultsets_label_use_sql_tip, false, 2);
             automaticRowCountCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_automatic_row_count, ResultSetMessages.pref_page_database_resultsets_label_automatic_row_count_tip, false, 2);
+            estimateRowCountCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_estimate_row_count, ResultSetMessages.pref_page_database_resultsets_label_estimate_row_count_tip, false, 2);
             orderingModeCombo = UIUtils.createLabelCombo(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_order_mode, ResultSetMessages.pref_page_database_resultsets_label_order_mode_tip, SWT.DROP_DOWN | SWT.READ_ONLY);
             for (ResultSetUtils.OrderingMode mode : ResultSetUtils.OrderingMode.values()) {
                 orderingModeCombo.add(mode.getText());
@@ -155,6 +179,18 @@ public class PrefPageResultSetMain extends TargetPrefPage
             queryCancelTimeout.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.getDefault()));
             queryCancelTimeout.setToolTipText(ResultSetMessages.pref_page_database_general_label_result_set_cancel_timeout_tip);
             queryCancelTimeout.setEnabled(false);
+            spillMemoryBudget = UIUtils.createLabelText(queriesGroup, ResultSetMessages.pref_page_database_general_label_result_set_spill_memory_budget, "0");
+            spillMemoryBudget.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.getDefault()));
+            spillMemoryBudget.setToolTipText(ResultSetMessages.pref_page_database_general_label_result_set_spill_memory_budget_tip);
+            tabsMemoryBudget = UIUtils.createLabelText(queriesGroup, ResultSetMessages.pref_page_database_general_label_result_set_tabs_memory_budget, "0");
+            tabsMemoryBudget.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.getDefault()));
+            tabsMemoryBudget.setToolTipText(ResultSetMessages.pref_page_database_general_label_result_set_tabs_memory_budget_tip);
+            prefetchThreshold = UIUtils.createLabelText(queriesGroup, ResultSetMessages.pref_page_database_general_label_result_set_prefetch_threshold, "0");
+            prefetchThreshold.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.getDefault()));
+            prefetchThreshold.setToolTipText(ResultSetMessages.pref_page_database_general_label_result_set_prefetch_threshold_tip);
+            saveBatchSize = UIUtils.createLabelText(queriesGroup, ResultSetMessages.pref_page_database_general_label_result_set_save_batch_size, "0");
+            saveBatchSize.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.getDefault()));
+            saveBatchSize.setToolTipText(ResultSetMessages.pref_page_database_general_label_result_set_save_batch_size_tip);
 
             filterForceSubselect = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_filter_force_subselect,
                 ResultSetMessages.pref_page_database_resultsets_label_filter_force_subselect_tip, false, 2);
@@ -164,6 +200,24 @@ public class PrefPageResultSetMain extends TargetPrefPage
 
             ignoreColumnLabelCheck = UIUtils.createCheckbox(advGroup, ResultSetMessages.pref_page_database_general_use_column_names, ResultSetMessages.pref_page_database_general_use_column_names_tip, false, 1);
             advUseFetchSize = UIUtils.createCheckbox(advGroup, ResultSetMessages.pref_page_database_resultsets_label_fetch_size, ResultSetMessages.pref_page_database_resultsets_label_fetch_size_tip, false, 1);
+            advAdaptiveFetchSize = UIUtils.createCheckbox(advGroup, ResultSetMessages.pref_page_database_resultsets_label_adaptive_fetch_size, ResultSetMessages.pref_page_database_resultsets_label_adaptive_fetch_size_tip, false, 1);
+            advColumnarStorage = UIUtils.createCheckbox(advGroup, ResultSetMessages.pref_page_database_resultsets_label_columnar_storage, ResultSetMessages.pref_page_database_resultsets_label_columnar_storage_tip, false, 1);
+            advFindIndex = UIUtils.createCheckbox(advGroup, ResultSetMessages.pref_page_database_resultsets_label_find_index, ResultSetMessages.pref_page_database_resultsets_label_find_index_tip, false, 1);
+        }
+        {
+            Group cacheGroup = UIUtils.createControlGroup(leftPane, ResultSetMessages.pref_page_results_group_result_cache, 2, GridData.VERTICAL_ALIGN_BEGINNING, 0);
+
+            resultCacheEnabled = UIUtils.createCheckbox(cacheGroup, ResultSetMessages.pref_page_database_resultsets_label_result_cache_enabled, ResultSetMessages.pref_page_database_resultsets_label_result_cache_enabled_tip, false, 2);
+            resultCacheEnabled.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    updateOptionsEnablement();
+                }
+            });
+            resultCacheTimeToLive = UIUtils.createLabelText(cacheGroup, ResultSetMessages.pref_page_database_resultsets_label_result_cache_ttl, "0");
+            resultCacheTimeToLive.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.getDefault()));
+            resultCacheMemoryLimit = UIUtils.createLabelText(cacheGroup, ResultSetMessages.pref_page_database_resultsets_label_result_cache_memory_limit, "0");
+            resultCacheMemoryLimit.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.getDefault()));
         }
 
 
@@ -242,6 +296,8 @@ public class PrefPageResultSetMain extends TargetPrefPage
         } else {
             disableEditingOnMissingKey.setEnabled(true);
         }
+        resultCacheTimeToLive.setEnabled(resultCacheEnabled.getSelection());
+        resultCacheMemoryLimit.setEnabled(resultCacheEnabled.getSelection());
     }
 
     @Override
@@ -258,8 +314,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
             resultSetSize.setText(String.valueOf(rsSegmentSize));
             resultSetUseSQLCheck.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL));
             automaticRowCountCheck.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_AUTOMATIC_ROW_COUNT));
+            estimateRowCountCheck.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_ESTIMATE_ROW_COUNT));
             orderingModeCombo.select(CommonUtils.valueOf(ResultSetUtils.OrderingMode.class, store.getString(ResultSetPreferences.RESULT_SET_ORDERING_MODE), ResultSetUtils.OrderingMode.SMART).ordinal());
             queryCancelTimeout.setText(store.getString(ResultSetPreferences.RESULT_SET_CANCEL_TIMEOUT));
+            spillMemoryBudget.setText(store.getString(ResultSetPreferences.RESULT_SET_SPILL_MEMORY_BUDGET));
+            tabsMemoryBudget.setText(store.getString(ResultSetPreferences.RESULT_SET_TABS_MEMORY_BUDGET));
+            prefetchThreshold.setText(store.getString(ResultSetPreferences.RESULT_SET_PREFETCH_THRESHOLD));
+            saveBatchSize.setText(store.getString(ResultSetPreferences.RS_EDIT_SAVE_BATCH_SIZE));
             filterForceSubselect.setSelection(store.getBoolean(ModelPreferences.SQL_FILTER_FORCE_SUBSELECT));
             useBrowserCheckbox.setSelection(store.getBoolean(ResultSetPreferences.RESULT_IMAGE_USE_BROWSER_BASED_RENDERER));
 
@@ -271,7 +332,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
             useNavigatorFilters.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_USE_NAVIGATOR_FILTERS));
 
             advUseFetchSize.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE));
+            advAdaptiveFetchSize.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_ADAPTIVE_FETCH_SIZE));
+            advColumnarStorage.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_COLUMNAR_STORAGE));
+            advFindIndex.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_FIND_INDEX));
             ignoreColumnLabelCheck.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL));
+            resultCacheEnabled.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_CACHE_ENABLED));
+            resultCacheTimeToLive.setText(store.getString(ModelPreferences.RESULT_SET_CACHE_TTL));
+            resultCacheMemoryLimit.setText(store.getString(ModelPreferences.RESULT_SET_CACHE_MEMORY_LIMIT));
 
             if (confirmDataSave != null) {
                 confirmDataSave.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_CONFIRM_BEFORE_SAVE));
@@ -294,8 +361,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
             store.setValue(ModelPreferences.RESULT_SET_MAX_ROWS, resultSetSize.getText());
             store.setValue(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL, resultSetUseSQLCheck.getSelection());
             store.setValue(ResultSetPreferences.RESULT_SET_AUTOMATIC_ROW_COUNT, automaticRowCountCheck.getSelection());
+            store.setValue(ResultSetPreferences.RESULT_SET_ESTIMATE_ROW_COUNT, estimateRowCountCheck.getSelection());
             store.setValue(ResultSetPreferences.RESULT_SET_ORDERING_MODE, ResultSetUtils.OrderingMode.values()[orderingModeCombo.getSelectionIndex()].toString());
             store.setValue(ResultSetPreferences.RESULT_SET_CANCEL_TIMEOUT, queryCancelTimeout.getText());
+            store.setValue(ResultSetPreferences.RESULT_SET_SPILL_MEMORY_BUDGET, CommonUtils.toInt(spillMemoryBudget.getText()));
+            store.setValue(ResultSetPreferences.RESULT_SET_TABS_MEMORY_BUDGET, CommonUtils.toInt(tabsMemoryBudget.getText()));
+            store.setValue(ResultSetPreferences.RESULT_SET_PREFETCH_THRESHOLD, Math.min(CommonUtils.toInt(prefetchThreshold.getText()), 100));
+            store.setValue(ResultSetPreferences.RS_EDIT_SAVE_BATCH_SIZE, Math.max(CommonUtils.toInt(saveBatchSize.getText()), 1));
             store.setValue(ModelPreferences.SQL_FILTER_FORCE_SUBSELECT, filterForceSubselect.getSelection());
             store.setValue(ResultSetPreferences.RESULT_IMAGE_USE_BROWSER_BASED_RENDERER, useBrowserCheckbox.getSelection());
 
@@ -307,7 +379,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
             store.setValue(ResultSetPreferences.RESULT_SET_USE_NAVIGATOR_FILTERS, useNavigatorFilters.getSelection());
 
             store.setValue(ModelPreferences.RESULT_SET_USE_FETCH_SIZE, advUseFetchSize.getSelection());
+            store.setValue(ModelPreferences.RESULT_SET_ADAPTIVE_FETCH_SIZE, advAdaptiveFetchSize.getSelection());
+            store.setValue(ResultSetPreferences.RESULT_SET_COLUMNAR_STORAGE, advColumnarStorage.getSelection());
+            store.setValue(ResultSetPreferences.RESULT_SET_FIND_INDEX, advFindIndex.getSelection());
             store.setValue(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL, ignoreColumnLabelCheck.getSelection());
+            store.setValue(ModelPreferences.RESULT_SET_CACHE_ENABLED, resultCacheEnabled.getSelection());
+            store.setValue(ModelPreferences.RESULT_SET_CACHE_TTL, CommonUtils.toInt(resultCacheTimeToLive.getText()));
+            store.setValue(ModelPreferences.RESULT_SET_CACHE_MEMORY_LIMIT, CommonUtils.toInt(resultCacheMemoryLimit.getText()));
 
             if (confirmDataSave != null) {
                 store.setValue(ResultSetPreferences.RESULT_SET_CONFIRM_BEFORE_SAVE, confirmDataSave.getSelection());
@@ -329,8 +407,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
         store.setToDefault(ModelPreferences.RESULT_SET_MAX_ROWS);
         store.setToDefault(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL);
         store.setToDefault(ResultSetPreferences.RESULT_SET_AUTOMATIC_ROW_COUNT);
+        store.setToDefault(ResultSetPreferences.RESULT_SET_ESTIMATE_ROW_COUNT);
         store.setToDefault(ResultSetPreferences.RESULT_SET_ORDERING_MODE);
         store.setToDefault(ResultSetPreferences.RESULT_SET_CANCEL_TIMEOUT);
+        store.setToDefault(ResultSetPreferences.RESULT_SET_SPILL_MEMORY_BUDGET);
+        store.setToDefault(ResultSetPreferences.RESULT_SET_TABS_MEMORY_BUDGET);
+        store.setToDefault(ResultSetPreferences.RESULT_SET_PREFETCH_THRESHOLD);
+        store.setToDefault(ResultSetPreferences.RS_EDIT_SAVE_BATCH_SIZE);
         store.setToDefault(ModelPreferences.SQL_FILTER_FORCE_SUBSELECT);
 
         store.setToDefault(ResultSetPreferences.KEEP_STATEMENT_OPEN);
@@ -341,7 +424,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
         store.setToDefault(ResultSetPreferences.RESULT_SET_USE_NAVIGATOR_FILTERS);
 
         store.setToDefault(ModelPreferences.RESULT_SET_USE_FETCH_SIZE);
+        store.setToDefault(ModelPreferences.RESULT_SET_ADAPTIVE_FETCH_SIZE);
+        store.setToDefault(ResultSetPreferences.RESULT_SET_COLUMNAR_STORAGE);
+        store.setToDefault(ResultSetPreferences.RESULT_SET_FIND_INDEX);
         store.setToDefault(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL);
+        store.setToDefault(ModelPreferences.RESULT_SET_CACHE_ENABLED);
+        store.setToDefault(ModelPreferences.RESULT_SET_CACHE_TTL);
+        store.setToDefault(ModelPreferences.RESULT_SET_CACHE_MEMORY_LIMIT);
 
         store.setToDefault(ResultSetPreferences.RESULT_SET_CONFIRM_BEFORE_SAVE);
         store.setToDefault(ResultSetPreferences.RESULT_SET_SHOW_ERRORS_IN_DIALOG);
@@ -358,8 +447,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
         resultSetSize.setText(String.valueOf(store.getDefaultInt(ModelPreferences.RESULT_SET_MAX_ROWS)));
         resultSetUseSQLCheck.setSelection(store.getDefaultBoolean(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL));
         automaticRowCountCheck.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_SET_AUTOMATIC_ROW_COUNT));
+        estimateRowCountCheck.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_SET_ESTIMATE_ROW_COUNT));
         orderingModeCombo.select(ResultSetUtils.OrderingMode.SMART.ordinal());
         queryCancelTimeout.setText(String.valueOf(store.getDefaultInt(ResultSetPreferences.RESULT_SET_CANCEL_TIMEOUT)));
+        spillMemoryBudget.setText(String.valueOf(store.getDefaultInt(ResultSetPreferences.RESULT_SET_SPILL_MEMORY_BUDGET)));
+        tabsMemoryBudget.setText(String.valueOf(store.getDefaultInt(ResultSetPreferences.RESULT_SET_TABS_MEMORY_BUDGET)));
+        prefetchThreshold.setText(String.valueOf(store.getDefaultInt(ResultSetPreferences.RESULT_SET_PREFETCH_THRESHOLD)));
+        saveBatchSize.setText(String.valueOf(store.getDefaultInt(ResultSetPreferences.RS_EDIT_SAVE_BATCH_SIZE)));
         filterForceSubselect.setSelection(store.getDefaultBoolean(ModelPreferences.SQL_FILTER_FORCE_SUBSELECT));
         keepStatementOpenCheck.setSelection(store.getDefaultBoolean(ResultSetPreferences.KEEP_STATEMENT_OPEN));
         alwaysUseAllColumns.setSelection(store.getDefaultBoolean(ResultSetPreferences.RS_EDIT_USE_ALL_COLUMNS));
@@ -373,7 +467,14 @@ public class PrefPageResultSetMain extends TargetPrefPage
         showErrorsInDialog.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_SET_SHOW_ERRORS_IN_DIALOG));
         markCellValueOccurrences.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_SET_MARK_CELL_VALUE_OCCURRENCES));
         advUseFetchSize.setSelection(store.getDefaultBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE));
+        advAdaptiveFetchSize.setSelection(store.getDefaultBoolean(ModelPreferences.RESULT_SET_ADAPTIVE_FETCH_SIZE));
+        advColumnarStorage.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_SET_COLUMNAR_STORAGE));
+        advFindIndex.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_SET_FIND_INDEX));
         ignoreColumnLabelCheck.setSelection(store.getDefaultBoolean(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL));
+        resultCacheEnabled.setSelection(store.getDefaultBoolean(ModelPreferences.RESULT_SET_CACHE_ENABLED));
+        resultCacheTimeToLive.setText(String.valueOf(store.getDefaultInt(ModelPreferences.RESULT_SET_CACHE_TTL)));
+        resultCacheMemoryLimit.setText(String.valueOf(store.getDefaultInt(ModelPreferences.RESULT_SET_CACHE_MEMORY_LIMIT)));
+        updateOptionsEnablement();
         useDateTimeEditor.setSelection(store.getDefaultBoolean(ModelPreferences.RESULT_SET_USE_DATETIME_EDITOR));
         useBrowserCheckbox.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_IMAGE_USE_BROWSER_BASED_RENDERER));
         super.performDefaults();
@@ -1563,6 +1563,7 @@ public class SQLEditor extends SQLEditorBase implements
     private void setActiveResultsContainer(QueryResultsContainer data) {
         curResultsContainer = data;
         curQueryProcessor = curResultsContainer.queryProcessor;
+        ResultSetMemoryGovernor.getInstance().touch(curResultsContainer.viewer);
     }
 
     private boolean isPinned(CTabItem tabItem) {
@@ -2423,6 +2424,24 @@ public class SQLEditor extends SQLEditorBase implements
     public void setFocus() {
         super.setFocus();
         topBarMan.update(true);
+        // Editor is activated
+        touchResultViewers();
+    }
+
+    /**
+     * Marks results of this editor as recently viewed, so their rows are moved to disk after results of other editors
+     */
+    private void touchResultViewers() {
+        ResultSetMemoryGovernor memoryGovernor = ResultSetMemoryGovernor.getInstance();
+        for (QueryProcessor queryProcessor : queryProcessors) {
+            for (QueryResultsContainer resultsContainer : queryProcessor.getResultContainers()) {
+                memoryGovernor.touch(resultsContainer.viewer);
+            }
+        }
+        if (curResultsContainer != null) {
+            // Active results are the most recent
+            memoryGovernor.touch(curResultsContainer.viewer);
+        }
     }
 
     public void loadQueryPlan() {
@@ -4134,6 +4153,7 @@ public class SQLEditor extends SQLEditorBase implements
 
             this.viewer = new ResultSetViewer(resultSetViewerContainer, getSite(), this);
             this.viewer.addListener(this);
+            ResultSetMemoryGovernor.getInstance().register(viewer);
 
             viewer.getControl().addDisposeListener(e -> {
                 QueryResultsContainer.this.queryProcessor.removeResults(QueryResultsContainer.this);
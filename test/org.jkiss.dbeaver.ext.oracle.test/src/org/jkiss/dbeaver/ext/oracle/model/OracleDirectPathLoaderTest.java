@@ -0,0 +1,172 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.oracle.model;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class OracleDirectPathLoaderTest extends DBeaverUnitTest {
+
+    private static final String LOGGING_QUERY = "ALTER TABLE TEST_SCHEMA.TEST_TABLE LOGGING";
+    private static final String NOLOGGING_QUERY = "ALTER TABLE TEST_SCHEMA.TEST_TABLE NOLOGGING";
+
+    @Mock
+    private DBPDataSourceContainer mockDataSourceContainer;
+    @Mock
+    private DBPConnectionConfiguration mockConnectionConfiguration;
+    @Mock
+    private JDBCSession session;
+    @Mock
+    private JDBCExecutionContext executionContext;
+    @Mock
+    private JDBCPreparedStatement insertStatement;
+    @Mock
+    private JDBCStatement ddlStatement;
+    @Mock
+    private DBCExecutionSource executionSource;
+
+    private OracleTable oracleTable;
+    private DBSAttributeBase[] attributes;
+
+    @Before
+    public void setUp() throws DBException, SQLException {
+        Mockito.when(mockDataSourceContainer.getDriver()).thenReturn(DBWorkbench.getPlatform().getDataSourceProviderRegistry().findDriver("oracle"));
+        Mockito.when(mockDataSourceContainer.getConnectionConfiguration()).thenReturn(mockConnectionConfiguration);
+        Mockito.when(mockDataSourceContainer.getPreferenceStore()).thenReturn(DBWorkbench.getPlatform().getPreferenceStore());
+        OracleDataSource testDataSource = new OracleDataSource(mockDataSourceContainer);
+        OracleSchema testSchema = new OracleSchema(testDataSource, -1, "TEST_SCHEMA");
+        oracleTable = new OracleTable(testSchema, "TEST_TABLE");
+        oracleTable.setPersisted(true);
+        attributes = new DBSAttributeBase[] {
+            OracleTestUtils.addColumn(oracleTable, "COLUMN1", "NUMBER", 1),
+            OracleTestUtils.addColumn(oracleTable, "COLUMN2", "VARCHAR2", 2)
+        };
+
+        Mockito.when(session.getProgressMonitor()).thenReturn(Mockito.mock(DBRProgressMonitor.class));
+        Mockito.when(session.getExecutionContext()).thenReturn(executionContext);
+        Mockito.when(session.getDefaultValueHandler()).thenReturn(Mockito.mock(DBDValueHandler.class));
+        Mockito.when(session.prepareStatement(Mockito.startsWith("INSERT /*+ APPEND_VALUES */"))).thenReturn(insertStatement);
+        Mockito.when(session.createStatement()).thenReturn(ddlStatement);
+        Mockito.when(executionContext.isConnected()).thenReturn(true);
+        Mockito.when(executionContext.isAutoCommit()).thenReturn(false);
+
+        // Table is in LOGGING mode
+        JDBCPreparedStatement loggingQuery = Mockito.mock(JDBCPreparedStatement.class);
+        JDBCResultSet loggingResult = Mockito.mock(JDBCResultSet.class);
+        Mockito.when(session.prepareStatement(Mockito.startsWith("SELECT LOGGING"))).thenReturn(loggingQuery);
+        Mockito.when(loggingQuery.executeQuery()).thenReturn(loggingResult);
+        Mockito.when(loggingResult.next()).thenReturn(true);
+        Mockito.when(loggingResult.getString(1)).thenReturn("YES");
+    }
+
+    @Test
+    public void shouldCommitEachBatch() throws Exception {
+        DBSDataBulkLoader.BulkLoadManager loadManager = createBulkLoad(false);
+        for (int i = 0; i < 5; i++) {
+            loadManager.addRow(session, new Object[] {i, "value" + i});
+        }
+        Mockito.verify(insertStatement, Mockito.times(2)).executeBatch();
+        Mockito.verify(executionContext, Mockito.times(2)).commit(session);
+
+        loadManager.finishBulkLoad(session);
+        loadManager.close();
+        Mockito.verify(insertStatement, Mockito.times(3)).executeBatch();
+        Mockito.verify(executionContext, Mockito.times(3)).commit(session);
+        Mockito.verify(ddlStatement, Mockito.never()).execute(Mockito.anyString());
+    }
+
+    @Test
+    public void shouldRestoreLoggingAfterLastCommit() throws Exception {
+        DBSDataBulkLoader.BulkLoadManager loadManager = createBulkLoad(true);
+        Mockito.verify(ddlStatement).execute(NOLOGGING_QUERY);
+
+        loadManager.addRow(session, new Object[] {1, "value"});
+        loadManager.finishBulkLoad(session);
+        loadManager.close();
+
+        InOrder order = Mockito.inOrder(insertStatement, executionContext, ddlStatement);
+        order.verify(insertStatement).executeBatch();
+        order.verify(executionContext).commit(session);
+        order.verify(ddlStatement).execute(LOGGING_QUERY);
+        // Restored once
+        Mockito.verify(ddlStatement, Mockito.times(1)).execute(LOGGING_QUERY);
+    }
+
+    @Test
+    public void shouldReportLoggingRestoreError() throws Exception {
+        DBSDataBulkLoader.BulkLoadManager loadManager = createBulkLoad(true);
+        Mockito.when(ddlStatement.execute(LOGGING_QUERY)).thenThrow(new SQLException("ORA-00054: resource busy"));
+
+        loadManager.addRow(session, new Object[] {1, "value"});
+        Assert.assertThrows(DBCException.class, () -> loadManager.finishBulkLoad(session));
+        loadManager.close();
+    }
+
+    @Test
+    public void shouldRestoreLoggingInLoaderSessionOnError() throws Exception {
+        DBSDataBulkLoader.BulkLoadManager loadManager = createBulkLoad(true);
+        Mockito.when(insertStatement.executeBatch()).thenThrow(new SQLException("ORA-00001: unique constraint violated"));
+
+        loadManager.addRow(session, new Object[] {1, "value"});
+        Assert.assertThrows(DBCException.class, () -> loadManager.flushRows(session));
+        loadManager.close();
+
+        // Failed batch is rolled back, so DDL doesn't commit it
+        InOrder order = Mockito.inOrder(executionContext, ddlStatement);
+        order.verify(executionContext).rollback(session, null);
+        order.verify(ddlStatement).execute(LOGGING_QUERY);
+        Mockito.verify(executionContext, Mockito.never()).commit(session);
+    }
+
+    private DBSDataBulkLoader.BulkLoadManager createBulkLoad(boolean minimalLogging) throws DBCException {
+        OracleDirectPathLoader loader = new OracleDirectPathLoader(oracleTable.getDataSource());
+        return loader.createBulkLoad(
+            session,
+            oracleTable,
+            attributes,
+            executionSource,
+            2,
+            Map.of(DBSDataBulkLoader.OPTION_MINIMAL_LOGGING, minimalLogging));
+    }
+
+}
@@ -36,6 +36,9 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
 public class DBUtilsTest extends DBeaverUnitTest {
 
     BasicSQLDialect sqlDialect = new BasicSQLDialect() {
@@ -277,4 +280,44 @@ public class DBUtilsTest extends DBeaverUnitTest {
         Assert.assertNotEquals(dbsObject, mockEntity);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testNormalizeNumericValue() {
+        Assert.assertEquals(1L, DBUtils.normalizeNumericValue(1));
+        Assert.assertEquals(1L, DBUtils.normalizeNumericValue((short) 1));
+        Assert.assertEquals(1L, DBUtils.normalizeNumericValue(new BigDecimal("1.00")));
+        Assert.assertEquals(1L, DBUtils.normalizeNumericValue(BigInteger.ONE));
+        Assert.assertEquals(1L, DBUtils.normalizeNumericValue(1.0d));
+        Assert.assertEquals(1000L, DBUtils.normalizeNumericValue(new BigDecimal("1E+3")));
+        Assert.assertEquals(0L, DBUtils.normalizeNumericValue(new BigDecimal("0.000")));
+        Assert.assertEquals(0L, DBUtils.normalizeNumericValue(-0.0d));
+        Assert.assertEquals(Long.MAX_VALUE, DBUtils.normalizeNumericValue(new BigDecimal(Long.MAX_VALUE).setScale(2)));
+
+        Assert.assertEquals(
+            DBUtils.normalizeNumericValue(new BigDecimal("1.5")),
+            DBUtils.normalizeNumericValue(new BigDecimal("1.50")));
+        Assert.assertEquals(
+            DBUtils.normalizeNumericValue(new BigDecimal("0.1")),
+            DBUtils.normalizeNumericValue(0.1d));
+        Assert.assertEquals(
+            DBUtils.normalizeNumericValue(new BigDecimal("0.1")),
+            DBUtils.normalizeNumericValue(0.1f));
+        Assert.assertEquals(
+            DBUtils.normalizeNumericValue(new BigDecimal("1.5")).hashCode(),
+            DBUtils.normalizeNumericValue(new BigDecimal("1.500")).hashCode());
+        Assert.assertNotEquals(
+            DBUtils.normalizeNumericValue(new BigDecimal("1.5")),
+            DBUtils.normalizeNumericValue(new BigDecimal("1.05")));
+
+        // Out of long range
+        BigInteger bigValue = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+        Assert.assertEquals(new BigDecimal(bigValue), DBUtils.normalizeNumericValue(bigValue));
+        Assert.assertEquals(new BigDecimal(bigValue), DBUtils.normalizeNumericValue(new BigDecimal(bigValue).setScale(3)));
+
+        // Values which are not normalized
+        Assert.assertEquals(Double.NaN, DBUtils.normalizeNumericValue(Double.NaN));
+        Assert.assertEquals(Float.POSITIVE_INFINITY, DBUtils.normalizeNumericValue(Float.POSITIVE_INFINITY));
+        Assert.assertEquals("1.0", DBUtils.normalizeNumericValue("1.0"));
+        Assert.assertNull(DBUtils.normalizeNumericValue(null));
+    }
+
+}
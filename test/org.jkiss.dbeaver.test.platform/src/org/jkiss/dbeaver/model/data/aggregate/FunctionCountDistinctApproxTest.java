@@ -0,0 +1,98 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+@RunWith(value = Parameterized.class)
+public class FunctionCountDistinctApproxTest extends DBeaverUnitTest {
+
+    private static final int CHUNK_COUNT = 8;
+
+    @Parameter(value = 0)
+    public int distinctCount;
+
+    @Parameter(value = 1)
+    public boolean stringValues;
+
+    /**
+     * Test data
+     *
+     * @return parameters for test
+     */
+    @Parameters(name = "{index}: Test count of {0} distinct values, strings: {1}")
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+            {1, false},
+            {100, false},
+            {1000, true},
+            {50_000, false},
+            {50_000, true},
+            {1_000_000, false},
+        });
+    }
+
+    @Test
+    public void shouldEstimateDistinctCount() {
+        FunctionCountDistinctApprox func = new FunctionCountDistinctApprox();
+        // Each value is added twice, duplicates must not be counted
+        for (int i = 0; i < distinctCount * 2; i++) {
+            func.accumulate(makeValue(i % distinctCount), false);
+        }
+        long result = (Long) func.getResult(distinctCount * 2);
+        // Standard error for precision 14 is ~0.8%
+        MatcherAssert.assertThat((double) result, Matchers.closeTo(distinctCount, Math.max(1, distinctCount * 0.03)));
+    }
+
+    @Test
+    public void shouldMergeSameAsSequential() {
+        FunctionCountDistinctApprox sequential = new FunctionCountDistinctApprox();
+        FunctionCountDistinctApprox[] chunks = new FunctionCountDistinctApprox[CHUNK_COUNT];
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            chunks[i] = new FunctionCountDistinctApprox();
+        }
+        for (int i = 0; i < distinctCount; i++) {
+            Object value = makeValue(i);
+            sequential.accumulate(value, false);
+            chunks[i % CHUNK_COUNT].accumulate(value, false);
+            // Same value in other chunk
+            chunks[(i + 1) % CHUNK_COUNT].accumulate(value, false);
+        }
+        FunctionCountDistinctApprox merged = new FunctionCountDistinctApprox();
+        for (FunctionCountDistinctApprox chunk : chunks) {
+            merged.merge(chunk);
+        }
+        // Registers merge is lossless, so the result must be exactly the same
+        Assert.assertEquals(sequential.getResult(distinctCount), merged.getResult(distinctCount * 2));
+    }
+
+    private Object makeValue(int index) {
+        return stringValues ? "value-" + index : (Object) (long) index;
+    }
+}
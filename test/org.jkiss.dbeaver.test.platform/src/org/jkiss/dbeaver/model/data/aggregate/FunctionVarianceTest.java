@@ -0,0 +1,123 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+public class FunctionVarianceTest extends DBeaverUnitTest {
+
+    private static final int VALUE_COUNT = 100_000;
+    private static final double RELATIVE_TOLERANCE = 1e-9;
+
+    @Test
+    public void shouldReturnNullForLessThanTwoValues() {
+        FunctionVariance variance = new FunctionVariance();
+        Assert.assertNull(variance.getResult(0));
+        variance.accumulate(5, false);
+        Assert.assertNull(variance.getResult(1));
+        variance.accumulate("not a number", false);
+        Assert.assertNull(variance.getResult(1));
+        variance.accumulate(7, false);
+        Assert.assertEquals(2.0, (Double) variance.getResult(2), 0);
+    }
+
+    @Test
+    public void shouldCalculateSampleVariance() {
+        double[] values = new Random(1).doubles(VALUE_COUNT, -100, 100).toArray();
+        assertVariance(values, sequentialVariance(values, new FunctionVariance()), RELATIVE_TOLERANCE);
+    }
+
+    @Test
+    public void shouldBeStableWithLargeOffset() {
+        // Naive sum of squares loses all significant digits here
+        Random random = new Random(2);
+        double[] values = new double[VALUE_COUNT];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1e9 + random.nextDouble();
+        }
+        assertVariance(values, sequentialVariance(values, new FunctionVariance()), 1e-6);
+    }
+
+    @Test
+    public void shouldMergeSameAsSequential() {
+        Random random = new Random(3);
+        double[] values = new double[VALUE_COUNT];
+        for (int i = 0; i < values.length; i++) {
+            // Chunks with different means
+            values[i] = 1e6 + (i / 1000) * 10 + random.nextGaussian();
+        }
+        double sequential = (Double) sequentialVariance(values, new FunctionVariance());
+        for (int chunkCount : new int[]{2, 7, 64}) {
+            FunctionVariance merged = new FunctionVariance();
+            // Empty chunk must not change result
+            merged.merge(new FunctionVariance());
+            int chunkSize = (values.length + chunkCount - 1) / chunkCount;
+            for (int from = 0; from < values.length; from += chunkSize) {
+                FunctionVariance chunk = new FunctionVariance();
+                for (int i = from; i < Math.min(from + chunkSize, values.length); i++) {
+                    chunk.accumulate(values[i], false);
+                }
+                merged.merge(chunk);
+            }
+            MatcherAssert.assertThat(
+                "Chunks " + chunkCount,
+                (Double) merged.getResult(VALUE_COUNT),
+                Matchers.closeTo(sequential, sequential * RELATIVE_TOLERANCE));
+        }
+    }
+
+    @Test
+    public void shouldCalculateStdDev() {
+        double[] values = new Random(4).doubles(VALUE_COUNT, 0, 10).toArray();
+        double variance = (Double) sequentialVariance(values, new FunctionVariance());
+        double stdDev = (Double) sequentialVariance(values, new FunctionStdDev());
+        Assert.assertEquals(Math.sqrt(variance), stdDev, 0);
+    }
+
+    private static Object sequentialVariance(double[] values, FunctionVariance function) {
+        for (double value : values) {
+            function.accumulate(value, false);
+        }
+        return function.getResult(values.length);
+    }
+
+    private static void assertVariance(double[] values, Object result, double relativeTolerance) {
+        // Exact two-pass variance
+        MathContext mc = MathContext.DECIMAL128;
+        BigDecimal sum = BigDecimal.ZERO;
+        for (double value : values) {
+            sum = sum.add(new BigDecimal(value));
+        }
+        BigDecimal mean = sum.divide(BigDecimal.valueOf(values.length), mc);
+        BigDecimal squares = BigDecimal.ZERO;
+        for (double value : values) {
+            BigDecimal delta = new BigDecimal(value).subtract(mean);
+            squares = squares.add(delta.multiply(delta, mc));
+        }
+        double expected = squares.divide(BigDecimal.valueOf(values.length - 1), mc).doubleValue();
+        MatcherAssert.assertThat((Double) result, Matchers.closeTo(expected, expected * relativeTolerance));
+    }
+}
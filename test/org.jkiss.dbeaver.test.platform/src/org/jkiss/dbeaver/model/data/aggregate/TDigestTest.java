@@ -0,0 +1,140 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class TDigestTest extends DBeaverUnitTest {
+
+    private static final int VALUE_COUNT = 100_000;
+    private static final int CHUNK_COUNT = 8;
+    // Allowed error of quantile rank
+    private static final double RANK_TOLERANCE = 0.01;
+
+    @Test
+    public void shouldEstimateQuantilesOfUniformValues() {
+        double[] values = new Random(1).doubles(VALUE_COUNT, -1000, 1000).toArray();
+        assertQuantiles(values, sequentialDigest(values));
+    }
+
+    @Test
+    public void shouldEstimateQuantilesOfSkewedValues() {
+        Random random = new Random(2);
+        double[] values = new double[VALUE_COUNT];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 2);
+        }
+        assertQuantiles(values, sequentialDigest(values));
+    }
+
+    @Test
+    public void shouldEstimateQuantilesOfMergedChunks() {
+        double[] values = new Random(3).doubles(VALUE_COUNT, 0, 1).toArray();
+        TDigest merged = mergedDigest(values);
+        assertQuantiles(values, merged);
+
+        TDigest sequential = sequentialDigest(values);
+        for (double q : new double[]{0.01, 0.5, 0.95, 0.99}) {
+            MatcherAssert.assertThat(
+                "Quantile " + q,
+                merged.quantile(q),
+                Matchers.closeTo(sequential.quantile(q), 2 * RANK_TOLERANCE));
+        }
+    }
+
+    @Test
+    public void shouldReturnExactMinAndMax() {
+        double[] values = new Random(4).doubles(VALUE_COUNT, 10, 20).toArray();
+        TDigest digest = mergedDigest(values);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        Assert.assertEquals(sorted[0], digest.quantile(0), 0);
+        Assert.assertEquals(sorted[sorted.length - 1], digest.quantile(1), 0);
+    }
+
+    @Test
+    public void shouldHandleEmptyAndSingleValue() {
+        TDigest digest = new TDigest();
+        Assert.assertTrue(digest.isEmpty());
+        Assert.assertTrue(Double.isNaN(digest.quantile(0.5)));
+
+        digest.add(new TDigest());
+        Assert.assertTrue(digest.isEmpty());
+
+        digest.add(42);
+        Assert.assertFalse(digest.isEmpty());
+        Assert.assertEquals(42, digest.quantile(0.5), 0);
+        Assert.assertEquals(42, digest.quantile(0.99), 0);
+    }
+
+    @Test
+    public void shouldEstimateMedianFunction() {
+        double[] values = new Random(5).doubles(VALUE_COUNT, 0, 100).toArray();
+        FunctionMedianApprox sequential = new FunctionMedianApprox();
+        FunctionMedianApprox merged = new FunctionMedianApprox();
+        FunctionMedianApprox chunk = new FunctionMedianApprox();
+        for (int i = 0; i < values.length; i++) {
+            sequential.accumulate(values[i], false);
+            chunk.accumulate(values[i], false);
+            if ((i + 1) % (VALUE_COUNT / CHUNK_COUNT) == 0) {
+                merged.merge(chunk);
+                chunk = new FunctionMedianApprox();
+            }
+        }
+        merged.merge(chunk);
+        Assert.assertNull(new FunctionMedianApprox().getResult(0));
+        Assert.assertEquals(50, (Double) sequential.getResult(VALUE_COUNT), 100 * RANK_TOLERANCE);
+        Assert.assertEquals(50, (Double) merged.getResult(VALUE_COUNT), 100 * RANK_TOLERANCE);
+    }
+
+    private static TDigest sequentialDigest(double[] values) {
+        TDigest digest = new TDigest();
+        for (double value : values) {
+            digest.add(value);
+        }
+        return digest;
+    }
+
+    private static TDigest mergedDigest(double[] values) {
+        TDigest digest = new TDigest();
+        int chunkSize = values.length / CHUNK_COUNT;
+        for (int chunk = 0; chunk < CHUNK_COUNT; chunk++) {
+            digest.add(sequentialDigest(Arrays.copyOfRange(values, chunk * chunkSize, (chunk + 1) * chunkSize)));
+        }
+        return digest;
+    }
+
+    private static void assertQuantiles(double[] values, TDigest digest) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : new double[]{0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99}) {
+            // Compare ranks, so the tolerance doesn't depend on values distribution
+            double estimate = digest.quantile(q);
+            int index = Arrays.binarySearch(sorted, estimate);
+            double rank = (double) (index < 0 ? -index - 1 : index) / sorted.length;
+            MatcherAssert.assertThat("Quantile " + q, rank, Matchers.closeTo(q, RANK_TOLERANCE));
+        }
+    }
+}
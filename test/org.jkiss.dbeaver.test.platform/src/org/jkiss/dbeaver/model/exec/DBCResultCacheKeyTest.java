@@ -0,0 +1,134 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec;
+
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+
+public class DBCResultCacheKeyTest extends DBeaverUnitTest {
+
+    private final DBCExecutionContext context = mock(DBCExecutionContext.class);
+
+    @Test
+    public void testNormalizeQuery() {
+        Assert.assertEquals(
+            "SELECT * FROM t WHERE a = 'x  y'",
+            DBCResultCacheKey.normalizeQuery("  SELECT *\n\tFROM   t\nWHERE a = 'x  y';\n"));
+    }
+
+    @Test
+    public void testReadOnlyQueries() {
+        Assert.assertTrue(DBCResultCacheKey.isReadOnlyQuery("select * from t"));
+        Assert.assertTrue(DBCResultCacheKey.isReadOnlyQuery("WITH x AS (SELECT 1) SELECT * FROM x"));
+        Assert.assertFalse(DBCResultCacheKey.isReadOnlyQuery("SELECT * INTO t2 FROM t"));
+        Assert.assertFalse(DBCResultCacheKey.isReadOnlyQuery("SELECT * FROM t FOR UPDATE"));
+        Assert.assertFalse(DBCResultCacheKey.isReadOnlyQuery("UPDATE t SET a = 1"));
+        Assert.assertNull(DBCResultCacheKey.create(context, "DELETE FROM t", null, null, 0, 200));
+    }
+
+    @Test
+    public void testModifyingWithQueries() {
+        Assert.assertFalse(DBCResultCacheKey.isReadOnlyQuery(
+            "WITH moved AS (DELETE FROM t WHERE a < 10 RETURNING *) SELECT * FROM moved"));
+        Assert.assertFalse(DBCResultCacheKey.isReadOnlyQuery(
+            "WITH x AS (SELECT 1 AS a) INSERT INTO t SELECT a FROM x"));
+        Assert.assertFalse(DBCResultCacheKey.isReadOnlyQuery(
+            "with u as (update t set a = 1 returning id) select count(*) from u"));
+        Assert.assertFalse(DBCResultCacheKey.isReadOnlyQuery(
+            "WITH src AS (SELECT * FROM s) MERGE INTO t USING src ON t.id = src.id WHEN MATCHED THEN DELETE"));
+        Assert.assertNull(DBCResultCacheKey.create(context, "WITH d AS (DELETE FROM t RETURNING id) SELECT * FROM d", null, null, 0, 200));
+        // Keywords in string literals and quoted identifiers
+        Assert.assertTrue(DBCResultCacheKey.isReadOnlyQuery(
+            "WITH x AS (SELECT 'delete' AS \"update\" FROM t) SELECT * FROM x WHERE note <> 'insert into'"));
+        Assert.assertTrue(DBCResultCacheKey.isReadOnlyQuery("SELECT last_updated, deleted FROM t"));
+    }
+
+    @Test
+    public void testVolatileFunctions() {
+        Assert.assertTrue(DBCResultCacheKey.hasVolatileFunctions("SELECT now()"));
+        Assert.assertTrue(DBCResultCacheKey.hasVolatileFunctions("SELECT * FROM t WHERE created > CURRENT_TIMESTAMP - INTERVAL '1' DAY"));
+        Assert.assertTrue(DBCResultCacheKey.hasVolatileFunctions("SELECT nextval('seq')"));
+        Assert.assertTrue(DBCResultCacheKey.hasVolatileFunctions("SELECT seq.NEXTVAL FROM dual"));
+        Assert.assertTrue(DBCResultCacheKey.hasVolatileFunctions("SELECT NEXT VALUE FOR seq"));
+        Assert.assertTrue(DBCResultCacheKey.hasVolatileFunctions("SELECT * FROM t ORDER BY random() LIMIT 10"));
+        Assert.assertTrue(DBCResultCacheKey.hasVolatileFunctions("SELECT TOP 10 * FROM t ORDER BY NEWID()"));
+        Assert.assertTrue(DBCResultCacheKey.hasVolatileFunctions("SELECT SYSDATE FROM dual"));
+        Assert.assertFalse(DBCResultCacheKey.hasVolatileFunctions("SELECT * FROM t WHERE name = 'now()'"));
+        Assert.assertFalse(DBCResultCacheKey.hasVolatileFunctions("SELECT known_at, random_id FROM t"));
+        Assert.assertNull(DBCResultCacheKey.create(context, "SELECT id, now() FROM t", null, null, 0, 200));
+        Assert.assertNull(DBCResultCacheKey.create(context, "SELECT * FROM t ORDER BY rand()", null, null, 0, 200));
+    }
+
+    @Test
+    public void testModifiedTableName() {
+        Assert.assertEquals("orders", DBCResultCacheKey.getModifiedTableName("UPDATE public.orders SET a = 1"));
+        Assert.assertEquals("My Table", DBCResultCacheKey.getModifiedTableName("INSERT INTO s.\"My Table\" VALUES (1)"));
+        Assert.assertEquals("t1", DBCResultCacheKey.getModifiedTableName("DELETE FROM [dbo].[t1] WHERE 1 = 1"));
+        Assert.assertEquals("foo", DBCResultCacheKey.getModifiedTableName("ALTER TABLE IF EXISTS foo ADD c INT"));
+        Assert.assertNull(DBCResultCacheKey.getModifiedTableName("CALL proc()"));
+    }
+
+    @Test
+    public void testKeyEquality() {
+        DBCResultCacheKey key1 = DBCResultCacheKey.create(context, "SELECT * FROM orders o", List.of(1), null, 0, 200);
+        DBCResultCacheKey key2 = DBCResultCacheKey.create(context, "SELECT *\n  FROM orders o;", List.of(1), null, 0, 200);
+        Assert.assertNotNull(key1);
+        Assert.assertEquals(key1, key2);
+        Assert.assertEquals(key1.hashCode(), key2.hashCode());
+        Assert.assertNotEquals(key1, DBCResultCacheKey.create(context, "SELECT * FROM orders o", List.of(2), null, 0, 200));
+        Assert.assertNotEquals(key1, DBCResultCacheKey.create(context, "SELECT * FROM orders o", List.of(1), null, 0, 400));
+    }
+
+    @Test
+    public void testFilterKeyEquality() {
+        DBDDataFilter filter1 = new DBDDataFilter();
+        filter1.setWhere("a > 1");
+        filter1.setOrder("b");
+        DBDDataFilter filter2 = new DBDDataFilter();
+        filter2.setWhere("a > 1");
+        filter2.setOrder("b");
+        DBCResultCacheKey key1 = DBCResultCacheKey.create(context, "SELECT * FROM orders", null, filter1, 0, 200);
+        DBCResultCacheKey key2 = DBCResultCacheKey.create(context, "SELECT * FROM orders", null, filter2, 0, 200);
+        Assert.assertNotNull(key1);
+        Assert.assertEquals(key1, key2);
+        Assert.assertEquals(key1.hashCode(), key2.hashCode());
+
+        filter2.setOrder("c");
+        Assert.assertNotEquals(key1, DBCResultCacheKey.create(context, "SELECT * FROM orders", null, filter2, 0, 200));
+        // Empty filter is the same as no filter
+        Assert.assertEquals(
+            DBCResultCacheKey.create(context, "SELECT * FROM orders", null, null, 0, 200),
+            DBCResultCacheKey.create(context, "SELECT * FROM orders", null, new DBDDataFilter(), 0, 200));
+    }
+
+    @Test
+    public void testRefersTo() {
+        DBCResultCacheKey key = DBCResultCacheKey.create(context, "SELECT * FROM sales.Orders o JOIN items i ON i.order_id = o.id", null, null, 0, 200);
+        Assert.assertNotNull(key);
+        Assert.assertTrue(key.refersTo("orders"));
+        Assert.assertTrue(key.refersTo("ITEMS"));
+        Assert.assertFalse(key.refersTo("order"));
+        Assert.assertFalse(key.refersTo("customers"));
+    }
+
+}
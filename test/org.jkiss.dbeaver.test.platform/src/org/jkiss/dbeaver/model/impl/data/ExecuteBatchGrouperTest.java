@@ -0,0 +1,139 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.rdb.DBSManipulationType;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+public class ExecuteBatchGrouperTest extends DBeaverUnitTest {
+
+    private final DBSEntity table1 = Mockito.mock(DBSEntity.class);
+    private final DBSEntity table2 = Mockito.mock(DBSEntity.class);
+    private final DBSAttributeBase id = Mockito.mock(DBSAttributeBase.class);
+    private final DBSAttributeBase name = Mockito.mock(DBSAttributeBase.class);
+    private final DBSAttributeBase value = Mockito.mock(DBSAttributeBase.class);
+
+    /**
+     * Statement stub: name and batch key
+     */
+    private record Statement(String name, ExecuteBatchGrouper.BatchKey key) {
+    }
+
+    @Test
+    public void shouldCompareBatchKeys() {
+        Assert.assertEquals(
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.UPDATE, table1, List.of(name), List.of(id)),
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.UPDATE, table1, List.of(name), List.of(id)));
+        Assert.assertEquals(
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.UPDATE, table1, List.of(name), List.of(id)).hashCode(),
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.UPDATE, table1, List.of(name), List.of(id)).hashCode());
+        // Different type, entity, changed columns, columns order and key columns
+        Assert.assertNotEquals(
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.UPDATE, table1, List.of(), List.of(id)),
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.DELETE, table1, List.of(), List.of(id)));
+        Assert.assertNotEquals(
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.DELETE, table1, List.of(), List.of(id)),
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.DELETE, table2, List.of(), List.of(id)));
+        Assert.assertNotEquals(
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.UPDATE, table1, List.of(name), List.of(id)),
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.UPDATE, table1, List.of(value), List.of(id)));
+        Assert.assertNotEquals(
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.UPDATE, table1, List.of(name, value), List.of(id)),
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.UPDATE, table1, List.of(value, name), List.of(id)));
+        Assert.assertNotEquals(
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.UPDATE, table1, List.of(value), List.of(id)),
+            new ExecuteBatchGrouper.BatchKey(DBSManipulationType.UPDATE, table1, List.of(value), List.of(id, name)));
+    }
+
+    @Test
+    public void shouldGroupAdjacentStatementsOnly() {
+        List<Statement> statements = List.of(
+            delete("d1", table1),
+            delete("d2", table1),
+            delete("d3", table2),
+            delete("d4", table1),
+            delete("d5", table1));
+        Assert.assertEquals(
+            "[[d1, d2], [d3], [d4, d5]]",
+            format(ExecuteBatchGrouper.groupStatements(statements, Statement::key, false, 100)));
+    }
+
+    @Test
+    public void shouldGroupReorderedStatements() {
+        List<Statement> statements = List.of(
+            update("u1", table1, name),
+            update("u2", table2, name),
+            update("u3", table1, value),
+            update("u4", table1, name),
+            update("u5", table2, name));
+        Assert.assertEquals(
+            "[[u1, u4], [u2, u5], [u3]]",
+            format(ExecuteBatchGrouper.groupStatements(statements, Statement::key, true, 100)));
+    }
+
+    @Test
+    public void shouldExecuteStatementsWithoutKeySeparately() {
+        // Inserts which read generated keys
+        List<Statement> statements = List.of(
+            delete("i1", table1),
+            new Statement("i2", null),
+            new Statement("i3", null),
+            delete("i4", table1));
+        Assert.assertEquals(
+            "[[i1], [i2], [i3], [i4]]",
+            format(ExecuteBatchGrouper.groupStatements(statements, Statement::key, false, 100)));
+        Assert.assertEquals(
+            "[[i1, i4], [i2], [i3]]",
+            format(ExecuteBatchGrouper.groupStatements(statements, Statement::key, true, 100)));
+    }
+
+    @Test
+    public void shouldLimitBatchSize() {
+        List<Statement> statements = List.of(
+            delete("d1", table1),
+            delete("d2", table1),
+            delete("d3", table1),
+            delete("d4", table1),
+            delete("d5", table1));
+        Assert.assertEquals(
+            "[[d1, d2], [d3, d4], [d5]]",
+            format(ExecuteBatchGrouper.groupStatements(statements, Statement::key, false, 2)));
+        Assert.assertEquals(
+            "[[d1], [d2], [d3], [d4], [d5]]",
+            format(ExecuteBatchGrouper.groupStatements(statements, Statement::key, true, 1)));
+        Assert.assertEquals("[]", format(ExecuteBatchGrouper.groupStatements(List.of(), Statement::key, true, 10)));
+    }
+
+    private Statement delete(String name, DBSEntity table) {
+        return new Statement(name, new ExecuteBatchGrouper.BatchKey(DBSManipulationType.DELETE, table, List.of(), List.of(id)));
+    }
+
+    private Statement update(String name, DBSEntity table, DBSAttributeBase attribute) {
+        return new Statement(name, new ExecuteBatchGrouper.BatchKey(DBSManipulationType.UPDATE, table, List.of(attribute), List.of(id)));
+    }
+
+    private static String format(List<List<Statement>> batches) {
+        return batches.stream().map(batch -> batch.stream().map(Statement::name).toList()).toList().toString();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ExecuteBatchImplTest extends DBeaverUnitTest {
+
+    private DBCSession session;
+    private DBCStatement statement;
+    private Map<String, Object> options;
+
+    @Before
+    public void init() {
+        session = Mockito.mock(DBCSession.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(session.getDataSource().getInfo().supportsBatchUpdates()).thenReturn(true);
+        Mockito.when(session.getProgressMonitor()).thenReturn(new VoidProgressMonitor());
+        statement = Mockito.mock(DBCStatement.class);
+        options = new HashMap<>();
+        options.put(DBSDataManipulator.OPTION_VALUE_HANDLERS, new DBDValueHandler[]{Mockito.mock(DBDValueHandler.class)});
+    }
+
+    @Test
+    public void shouldNotReuseStatementByDefault() throws DBCException {
+        TestBatch batch = createBatch(false, 1, 2, 3);
+        batch.execute(session, options);
+        Assert.assertEquals(3, batch.prepareCount);
+        Mockito.verify(statement, Mockito.never()).addToBatch();
+        Mockito.verify(statement, Mockito.times(3)).executeStatement();
+        Assert.assertArrayEquals(new boolean[]{true, true, true}, batch.getExecutedRows());
+    }
+
+    @Test
+    public void shouldReuseStatementWithOption() throws DBCException {
+        options.put(DBSDataManipulator.OPTION_REUSE_STATEMENT, true);
+        TestBatch batch = createBatch(false, 1, 2, 3);
+        batch.execute(session, options);
+        Assert.assertEquals(1, batch.prepareCount);
+        Mockito.verify(statement, Mockito.times(3)).addToBatch();
+        Mockito.verify(statement, Mockito.times(1)).executeStatementBatch();
+        Assert.assertArrayEquals(new boolean[]{true, true, true}, batch.getExecutedRows());
+    }
+
+    @Test
+    public void shouldPrepareStatementWhenNullsChange() throws DBCException {
+        options.put(DBSDataManipulator.OPTION_REUSE_STATEMENT, true);
+        TestBatch batch = createBatch(false, 1, 2, null, null, 5);
+        batch.execute(session, options);
+        // Each NULL pattern needs its own statement (e.g. "IS NULL" condition)
+        Assert.assertEquals(3, batch.prepareCount);
+        Mockito.verify(statement, Mockito.times(3)).executeStatementBatch();
+        Assert.assertArrayEquals(new boolean[]{true, true, true, true, true}, batch.getExecutedRows());
+    }
+
+    @Test
+    public void shouldReportRowsExecutedBeforeBatchFailure() throws DBCException {
+        // Driver stops on the first failed statement
+        options.put(DBSDataManipulator.OPTION_REUSE_STATEMENT, true);
+        Mockito.when(statement.executeStatementBatch()).thenThrow(
+            new DBCException("Batch failed", new BatchUpdateException(new int[]{1, 1}, null)));
+        TestBatch batch = createBatch(false, 1, 2, 3, 4);
+        Assert.assertThrows(DBCException.class, () -> batch.execute(session, options));
+        Assert.assertArrayEquals(new boolean[]{true, true, false, false}, batch.getExecutedRows());
+    }
+
+    @Test
+    public void shouldReportFailedRowsOfContinuedBatch() throws DBCException {
+        // Driver continues after failed statement
+        options.put(DBSDataManipulator.OPTION_REUSE_STATEMENT, true);
+        Mockito.when(statement.executeStatementBatch()).thenThrow(
+            new DBCException("Batch failed", new BatchUpdateException(new int[]{1, Statement.EXECUTE_FAILED, Statement.SUCCESS_NO_INFO, 1}, null)));
+        TestBatch batch = createBatch(false, 1, 2, 3, 4);
+        Assert.assertThrows(DBCException.class, () -> batch.execute(session, options));
+        Assert.assertArrayEquals(new boolean[]{true, false, true, true}, batch.getExecutedRows());
+    }
+
+    @Test
+    public void shouldKeepRowsOfPreviousBatchOnFailure() throws DBCException {
+        // The second batch (after NULL pattern change) fails without update counts
+        options.put(DBSDataManipulator.OPTION_REUSE_STATEMENT, true);
+        Mockito.when(statement.executeStatementBatch())
+            .thenReturn(new long[]{1, 1})
+            .thenThrow(new DBCException("Batch failed"));
+        TestBatch batch = createBatch(false, 1, 2, null, null);
+        Assert.assertThrows(DBCException.class, () -> batch.execute(session, options));
+        Assert.assertArrayEquals(new boolean[]{true, true, false, false}, batch.getExecutedRows());
+    }
+
+    private TestBatch createBatch(boolean reuseStatement, Object... values) throws DBCException {
+        TestBatch batch = new TestBatch(reuseStatement);
+        for (Object value : values) {
+            batch.add(new Object[]{value});
+        }
+        return batch;
+    }
+
+    private class TestBatch extends ExecuteBatchImpl {
+        private int prepareCount;
+
+        TestBatch(boolean reuseStatement) {
+            super(new DBSAttributeBase[]{Mockito.mock(DBSAttributeBase.class)}, null, reuseStatement);
+        }
+
+        @NotNull
+        @Override
+        protected DBCStatement prepareStatement(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) {
+            prepareCount++;
+            return statement;
+        }
+
+        @Override
+        protected void bindStatement(@NotNull DBDValueHandler[] handlers, @NotNull DBCStatement statement, Object[] attributeValues) {
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data.formatters;
+
+import org.jkiss.dbeaver.model.impl.SimpleTypedObject;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.utils.time.ExtendedDateFormat;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.sql.Timestamp;
+import java.text.DateFormat;
+import java.util.*;
+
+/**
+ * Checks that compiled date patterns give the same results as ExtendedDateFormat
+ */
+@RunWith(value = Parameterized.class)
+public class DateTimeDataFormatterTest extends DBeaverUnitTest {
+
+    private static final String[] PATTERNS = {
+        "yyyy-MM-dd",
+        "yyyy-MM-dd HH:mm:ss",
+        "yyyy-MM-dd HH:mm:ss.SSS",
+        "yyyy-MM-dd HH:mm:ss.ffffff",
+        "yyyy-MM-dd HH:mm:ss.fffffffff",
+        "yyyy-MM-dd HH:mm:ss.nnnnnnnnn",
+        "y-M-d H:m:s",
+        "dd MMM yy hh:mm a",
+        "EEEE, d MMMM yyyy",
+        "EEE D K k",
+        "'Date:' yyyy/MM/dd [HH]",
+    };
+
+    private static final Locale[] LOCALES = {
+        Locale.US,
+        Locale.GERMANY,
+        Locale.FRANCE,
+    };
+
+    private static final String[] TIME_ZONES = {
+        "UTC",
+        "Europe/Berlin",
+        "America/New_York",
+        "Asia/Kolkata",
+    };
+
+    // year, month, day, hour, minute, second, millisecond
+    private static final int[][] DATES = {
+        {2024, 3, 31, 2, 30, 0, 0},
+        {2024, 11, 3, 1, 30, 15, 500},
+        {1970, 1, 1, 0, 0, 0, 0},
+        {1969, 12, 31, 23, 59, 59, 999},
+        {1900, 1, 1, 0, 0, 0, 0},
+        {1899, 12, 31, 23, 59, 59, 1},
+        {1582, 10, 4, 12, 0, 0, 0},
+        {1, 1, 1, 0, 0, 0, 0},
+        {9999, 12, 31, 23, 59, 59, 999},
+        {10000, 1, 1, 0, 0, 0, 0},
+    };
+
+    // Sub-millisecond part of timestamp nanoseconds
+    private static final int EXTRA_NANOS = 123456;
+
+    @Parameter(value = 0)
+    public String pattern;
+
+    @Parameter(value = 1)
+    public Locale locale;
+
+    @Parameter(value = 2)
+    public String timeZone;
+
+    /**
+     * Test data
+     *
+     * @return parameters for test
+     */
+    @Parameters(name = "{index}: Format {0} in {1} {2}")
+    public static Collection<Object[]> data() {
+        List<Object[]> data = new ArrayList<>();
+        for (String pattern : PATTERNS) {
+            for (Locale locale : LOCALES) {
+                for (String timeZone : TIME_ZONES) {
+                    data.add(new Object[]{pattern, locale, timeZone});
+                }
+            }
+        }
+        return data;
+    }
+
+    @Test
+    public void shouldFormatSameAsExtendedDateFormat() {
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+        try {
+            DateTimeDataFormatter formatter = new DateTimeDataFormatter();
+            formatter.init(
+                new SimpleTypedObject("TIMESTAMP"),
+                locale,
+                Map.of(DateTimeDataFormatter.PROP_PATTERN, pattern));
+            DateFormat reference = new ExtendedDateFormat(pattern.replace("n", "f"), locale);
+            reference.setLenient(false);
+
+            for (int[] date : DATES) {
+                Calendar calendar = new GregorianCalendar();
+                calendar.clear();
+                calendar.set(date[0], date[1] - 1, date[2], date[3], date[4], date[5]);
+                calendar.set(Calendar.MILLISECOND, date[6]);
+                Date value = calendar.getTime();
+                Timestamp timestamp = new Timestamp(value.getTime());
+                timestamp.setNanos(date[6] * 1000000 + EXTRA_NANOS);
+
+                Assert.assertEquals(Arrays.toString(date), reference.format(value), formatter.formatValue(value));
+                Assert.assertEquals(Arrays.toString(date), reference.format(timestamp), formatter.formatValue(timestamp));
+            }
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+    }
+
+    @Test
+    public void shouldCompileOnlyCompatiblePatterns() {
+        Assert.assertNotNull(DateTimeDataFormatter.compileDatePattern("yyyy-MM-dd HH:mm:ss.SSS", locale));
+        Assert.assertNotNull(DateTimeDataFormatter.compileDatePattern("yyyy-MM-dd HH:mm:ss.fffffffff", locale));
+        Assert.assertNotNull(DateTimeDataFormatter.compileDatePattern("'['yyyy']' {MM} #", locale));
+        // Era, zone, week year, day of week number
+        Assert.assertNull(DateTimeDataFormatter.compileDatePattern("G yyyy", locale));
+        Assert.assertNull(DateTimeDataFormatter.compileDatePattern("yyyy-MM-dd z", locale));
+        Assert.assertNull(DateTimeDataFormatter.compileDatePattern("YYYY-ww", locale));
+        Assert.assertNull(DateTimeDataFormatter.compileDatePattern("u", locale));
+        // Narrow month and non-millisecond fractions have different meaning
+        Assert.assertNull(DateTimeDataFormatter.compileDatePattern("MMMMM", locale));
+        Assert.assertNull(DateTimeDataFormatter.compileDatePattern("HH:mm:ss.SS", locale));
+        Assert.assertNull(DateTimeDataFormatter.compileDatePattern("ffffffffff", locale));
+        // Not terminated quote
+        Assert.assertNull(DateTimeDataFormatter.compileDatePattern("yyyy 'year", locale));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data.formatters;
+
+import org.jkiss.dbeaver.model.impl.SimpleTypedObject;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.*;
+
+/**
+ * Checks that formatter (including its fast path) gives the same results as plain DecimalFormat
+ */
+@RunWith(value = Parameterized.class)
+public class NumberDataFormatterTest extends DBeaverUnitTest {
+
+    private static final Locale[] LOCALES = {
+        Locale.US,
+        Locale.GERMANY,
+        Locale.FRANCE,
+        Locale.forLanguageTag("de-CH"),
+        Locale.forLanguageTag("hi-IN"),
+    };
+
+    // useGrouping, minFractionDigits, maxFractionDigits, roundingMode
+    private static final Object[][] SETTINGS = {
+        {true, 0, 10, RoundingMode.HALF_EVEN},
+        {false, 0, 10, RoundingMode.HALF_EVEN},
+        {true, 2, 4, RoundingMode.HALF_EVEN},
+        {true, 0, 2, RoundingMode.HALF_UP},
+        {false, 3, 3, RoundingMode.DOWN},
+        {true, 0, 0, RoundingMode.CEILING},
+    };
+
+    private static final Object[] VALUES = {
+        0,
+        (byte) -7,
+        (short) 1234,
+        -1,
+        1000,
+        -999999,
+        Integer.MIN_VALUE,
+        123456789L,
+        Long.MAX_VALUE,
+        Long.MIN_VALUE,
+        new BigInteger("-123456789012345678901234567890"),
+        new BigDecimal("12345.6789"),
+        new BigDecimal("-123.45000"),
+        new BigDecimal("0.005"),
+        new BigDecimal("-0.001"),
+        new BigDecimal("-0.00"),
+        new BigDecimal("1E+20"),
+        new BigDecimal("-1.5E-12"),
+        new BigDecimal("99999.995"),
+        0.0,
+        -0.0,
+        12.5,
+        0.125,
+        -2.675,
+        1.0E300,
+        -4.9E-300,
+        3.4028235E38f,
+        -0.1f,
+    };
+
+    @Parameter(value = 0)
+    public Locale locale;
+
+    @Parameter(value = 1)
+    public Object[] settings;
+
+    @Parameter(value = 2)
+    public Object value;
+
+    /**
+     * Test data
+     *
+     * @return parameters for test
+     */
+    @Parameters(name = "{index}: Format {2} in {0}")
+    public static Collection<Object[]> data() {
+        List<Object[]> data = new ArrayList<>();
+        for (Locale locale : LOCALES) {
+            for (Object[] settings : SETTINGS) {
+                for (Object value : VALUES) {
+                    data.add(new Object[]{locale, settings, value});
+                }
+            }
+        }
+        return data;
+    }
+
+    @Test
+    public void shouldFormatSameAsDecimalFormat() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(NumberFormatSample.PROP_USE_GROUPING, settings[0]);
+        properties.put(NumberFormatSample.PROP_MIN_FRACT_DIGITS, settings[1]);
+        properties.put(NumberFormatSample.PROP_MAX_FRACT_DIGITS, settings[2]);
+        properties.put(NumberFormatSample.PROP_ROUNDING_MODE, ((RoundingMode) settings[3]).name());
+        NumberDataFormatter formatter = new NumberDataFormatter();
+        formatter.init(new SimpleTypedObject("NUMERIC"), locale, properties);
+
+        DecimalFormat reference = (DecimalFormat) NumberFormat.getNumberInstance(locale);
+        reference.setGroupingUsed((Boolean) settings[0]);
+        reference.setMinimumFractionDigits((Integer) settings[1]);
+        reference.setMaximumFractionDigits((Integer) settings[2]);
+        reference.setRoundingMode((RoundingMode) settings[3]);
+        // Formatter converts floating point values to decimals by their string representation
+        Object referenceValue = value instanceof Double || value instanceof Float ? new BigDecimal(value.toString()) : value;
+
+        Assert.assertEquals(
+            "Settings " + Arrays.toString(settings),
+            reference.format(referenceValue),
+            formatter.formatValue(value));
+    }
+}
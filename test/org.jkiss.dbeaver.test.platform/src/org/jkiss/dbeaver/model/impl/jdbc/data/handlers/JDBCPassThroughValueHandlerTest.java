@@ -0,0 +1,115 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.data.handlers;
+
+import org.jkiss.dbeaver.model.data.DBDFormatSettings;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+
+public class JDBCPassThroughValueHandlerTest extends DBeaverUnitTest {
+
+    private final DBDFormatSettings formatSettings = Mockito.mock(DBDFormatSettings.class);
+
+    @Test
+    public void shouldPassThroughSameTypeFamily() {
+        Assert.assertNotNull(getHandler(Types.INTEGER, Types.BIGINT, new JDBCNumberValueHandler(null, formatSettings)));
+        Assert.assertNotNull(getHandler(Types.NUMERIC, Types.DECIMAL, new JDBCNumberValueHandler(null, formatSettings)));
+        Assert.assertNotNull(getHandler(Types.VARCHAR, Types.NVARCHAR, JDBCStringValueHandler.INSTANCE));
+    }
+
+    @Test
+    public void shouldConvertOtherTypes() {
+        // Different type families
+        Assert.assertNull(getHandler(Types.INTEGER, Types.DOUBLE, new JDBCNumberValueHandler(null, formatSettings)));
+        Assert.assertNull(getHandler(Types.VARCHAR, Types.BLOB, JDBCStringValueHandler.INSTANCE));
+        // Date/time handlers apply native format and time zone settings
+        JDBCDateTimeValueHandler dateTimeHandler = new JDBCDateTimeValueHandler(formatSettings);
+        Assert.assertNull(getHandler(Types.DATE, Types.DATE, dateTimeHandler));
+        Assert.assertNull(getHandler(Types.TIMESTAMP, Types.TIMESTAMP, dateTimeHandler));
+        // Unsigned values don't fit into long
+        DBSTypedObject unsigned = mockType(Types.BIGINT, "BIGINT UNSIGNED");
+        DBDValueHandler numberHandler = new JDBCNumberValueHandler(null, formatSettings);
+        Assert.assertNull(JDBCPassThroughValueHandler.getPassThroughHandler(unsigned, numberHandler, unsigned, numberHandler));
+        // Missing handlers
+        DBSTypedObject type = mockType(Types.INTEGER, "INTEGER");
+        Assert.assertNull(JDBCPassThroughValueHandler.getPassThroughHandler(type, null, type, numberHandler));
+    }
+
+    @Test
+    public void shouldCopyValuesWithoutConversion() throws Exception {
+        DBSTypedObject sourceType = mockType(Types.DECIMAL, "DECIMAL");
+        DBSTypedObject targetType = mockType(Types.NUMERIC, "NUMERIC");
+        DBDValueHandler handler = getHandler(Types.DECIMAL, Types.NUMERIC, new JDBCNumberValueHandler(null, formatSettings));
+        Assert.assertNotNull(handler);
+
+        JDBCSession session = Mockito.mock(JDBCSession.class);
+        JDBCResultSet resultSet = Mockito.mock(JDBCResultSet.class);
+        BigDecimal value = new BigDecimal("12345678901234567890.123456789");
+        Mockito.when(resultSet.getBigDecimal(3)).thenReturn(value);
+        Object fetched = handler.fetchValueObject(session, resultSet, sourceType, 2);
+        Assert.assertSame(value, fetched);
+
+        JDBCPreparedStatement statement = Mockito.mock(JDBCPreparedStatement.class);
+        handler.bindValueObject(session, statement, targetType, 0, fetched);
+        Mockito.verify(statement).setBigDecimal(1, value);
+        handler.bindValueObject(session, statement, targetType, 1, null);
+        Mockito.verify(statement).setNull(2, Types.NUMERIC);
+    }
+
+    @Test
+    public void shouldKeepNullsOfPrimitiveTypes() throws Exception {
+        DBSTypedObject type = mockType(Types.INTEGER, "INTEGER");
+        DBDValueHandler handler = getHandler(Types.INTEGER, Types.INTEGER, new JDBCNumberValueHandler(null, formatSettings));
+        Assert.assertNotNull(handler);
+
+        JDBCSession session = Mockito.mock(JDBCSession.class);
+        JDBCResultSet resultSet = Mockito.mock(JDBCResultSet.class);
+        Mockito.when(resultSet.getLong(1)).thenReturn(0L);
+        Mockito.when(resultSet.wasNull()).thenReturn(true);
+        Assert.assertNull(handler.fetchValueObject(session, resultSet, type, 0));
+
+        Mockito.when(resultSet.getLong(1)).thenReturn(42L);
+        Mockito.when(resultSet.wasNull()).thenReturn(false);
+        Assert.assertEquals(42L, handler.fetchValueObject(session, resultSet, type, 0));
+    }
+
+    private static DBDValueHandler getHandler(int sourceTypeId, int targetTypeId, DBDValueHandler valueHandler) {
+        return JDBCPassThroughValueHandler.getPassThroughHandler(
+            mockType(sourceTypeId, String.valueOf(sourceTypeId)),
+            valueHandler,
+            mockType(targetTypeId, String.valueOf(targetTypeId)),
+            valueHandler);
+    }
+
+    private static DBSTypedObject mockType(int typeId, String typeName) {
+        DBSTypedObject type = Mockito.mock(DBSTypedObject.class);
+        Mockito.when(type.getTypeID()).thenReturn(typeId);
+        Mockito.when(type.getTypeName()).thenReturn(typeName);
+        return type;
+    }
+
+}
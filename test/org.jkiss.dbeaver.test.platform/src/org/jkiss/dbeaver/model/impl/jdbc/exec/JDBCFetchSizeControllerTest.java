@@ -0,0 +1,119 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+public class JDBCFetchSizeControllerTest extends DBeaverUnitTest {
+
+    private static final int BUDGET = JDBCFetchSizeController.DEFAULT_BYTE_BUDGET;
+
+    @Test
+    public void shouldCalculateFetchSizeFromBudget() {
+        Assert.assertEquals(BUDGET / 500, JDBCFetchSizeController.calculateFetchSize(500, BUDGET, -1));
+        Assert.assertEquals(BUDGET * 2 / 500, JDBCFetchSizeController.calculateFetchSize(500, BUDGET * 2L, -1));
+        Assert.assertEquals(BUDGET / 1000, JDBCFetchSizeController.calculateFetchSize(1000, BUDGET, 0));
+    }
+
+    @Test
+    public void shouldLimitFetchSize() {
+        // Narrow rows
+        Assert.assertEquals(10000, JDBCFetchSizeController.calculateFetchSize(1, BUDGET, -1));
+        Assert.assertEquals(10000, JDBCFetchSizeController.calculateFetchSize(0, BUDGET, -1));
+        Assert.assertEquals(10000, JDBCFetchSizeController.calculateFetchSize(100, BUDGET, -1));
+        Assert.assertEquals(10000, JDBCFetchSizeController.calculateFetchSize(100, BUDGET * 4L, -1));
+        // Wide rows
+        Assert.assertEquals(10, JDBCFetchSizeController.calculateFetchSize(BUDGET, BUDGET, -1));
+        Assert.assertEquals(10, JDBCFetchSizeController.calculateFetchSize(Integer.MAX_VALUE, BUDGET, -1));
+        Assert.assertEquals(10, JDBCFetchSizeController.calculateFetchSize(200_000, BUDGET, -1));
+    }
+
+    @Test
+    public void shouldNotFetchMoreThanRemainingRows() {
+        Assert.assertEquals(200, JDBCFetchSizeController.calculateFetchSize(100, BUDGET, 200));
+        Assert.assertEquals(10, JDBCFetchSizeController.calculateFetchSize(100, BUDGET, 1));
+        Assert.assertEquals(BUDGET / 500, JDBCFetchSizeController.calculateFetchSize(500, BUDGET, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldEstimateFixedWidthColumns() {
+        Assert.assertEquals(1 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.BOOLEAN, 0));
+        Assert.assertEquals(4 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.INTEGER, 10));
+        Assert.assertEquals(8 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.BIGINT, 19));
+        Assert.assertEquals(12 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.TIMESTAMP, 29));
+        Assert.assertEquals(7 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.NUMERIC, 10));
+        // Unknown or huge precision
+        Assert.assertEquals(22 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.NUMERIC, 0));
+        Assert.assertEquals(22 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.DECIMAL, -127));
+        Assert.assertEquals(22 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.DECIMAL, 1000));
+    }
+
+    @Test
+    public void shouldEstimateVariableWidthColumns() {
+        Assert.assertEquals(10 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.CHAR, 10));
+        Assert.assertEquals(50 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.VARCHAR, 100));
+        Assert.assertEquals(1 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.VARCHAR, 1));
+        // Unknown length
+        Assert.assertEquals(256 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.VARCHAR, 0));
+        Assert.assertEquals(256 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.NVARCHAR, -1));
+        Assert.assertEquals(256 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.ARRAY, 0));
+        Assert.assertEquals(256 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.OTHER, 100));
+    }
+
+    @Test
+    public void shouldLimitWideColumns() {
+        Assert.assertEquals(4000 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.CHAR, 1_000_000));
+        Assert.assertEquals(4000 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.VARCHAR, Integer.MAX_VALUE));
+        Assert.assertEquals(4000 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.VARBINARY, 10_000));
+        Assert.assertEquals(4000 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.CLOB, 0));
+        Assert.assertEquals(4000 + 4, JDBCFetchSizeController.estimateColumnWidth(Types.BLOB, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldEstimateRowWidth() throws SQLException {
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(metaData.getColumnCount()).thenReturn(3);
+        Mockito.when(metaData.getColumnType(1)).thenReturn(Types.INTEGER);
+        Mockito.when(metaData.getColumnType(2)).thenReturn(Types.VARCHAR);
+        Mockito.when(metaData.getColumnType(3)).thenReturn(Types.VARCHAR);
+        Mockito.when(metaData.getPrecision(1)).thenReturn(10);
+        Mockito.when(metaData.getPrecision(2)).thenReturn(100);
+        // Some drivers fail to read precision
+        Mockito.when(metaData.getPrecision(3)).thenThrow(new SQLException("Not supported"));
+        Assert.assertEquals(8 + 54 + 260, JDBCFetchSizeController.estimateRowWidth(metaData));
+
+        ResultSetMetaData emptyMetaData = Mockito.mock(ResultSetMetaData.class);
+        Assert.assertEquals(1, JDBCFetchSizeController.estimateRowWidth(emptyMetaData));
+    }
+
+    @Test
+    public void shouldUseMinFetchSizeForLobRows() throws SQLException {
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(metaData.getColumnCount()).thenReturn(300);
+        Mockito.when(metaData.getColumnType(Mockito.anyInt())).thenReturn(Types.CLOB);
+        int rowWidth = JDBCFetchSizeController.estimateRowWidth(metaData);
+        Assert.assertEquals(300 * 4004, rowWidth);
+        Assert.assertEquals(10, JDBCFetchSizeController.calculateFetchSize(rowWidth, BUDGET, -1));
+    }
+}
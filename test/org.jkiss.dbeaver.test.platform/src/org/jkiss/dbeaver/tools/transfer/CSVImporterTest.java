@@ -31,6 +31,8 @@ import org.mockito.Mockito;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
@@ -116,6 +118,38 @@ public class CSVImporterTest  extends DBeaverUnitTest {
         Assert.assertEquals(DBPDataKind.STRING, columnsInfo.get(1).getDataKind());
     }
 
+    @Test
+    public void guessColumnTypesScanWholeFile() throws DBException, IOException {
+        Path file = Files.createTempFile("dbeaver-csv-import", ".csv");
+        try {
+            StringBuilder data = new StringBuilder("id,value,name,flag\n");
+            for (int i = 0; i < 1000; i++) {
+                data.append(i).append(',').append(i).append(",\"row\n").append(i).append("\",true\n");
+            }
+            data.append("9223372036854775807,1.5,last,\n");
+            Files.writeString(file, data);
+
+            properties.put("header", DataImporterCSV.HeaderPosition.top);
+            properties.put("columnTypeSamplesCount", 10);
+            properties.put("columnTypeScanFile", true);
+            List<StreamDataImporterColumnInfo> columnsInfo;
+            try (InputStream is = Files.newInputStream(file)) {
+                columnsInfo = importer.readColumnsInfo(new StreamEntityMapping(file), is);
+            }
+            Assert.assertEquals(4, columnsInfo.size());
+            Assert.assertEquals(DBPDataKind.NUMERIC, columnsInfo.get(0).getDataKind());
+            Assert.assertEquals("BIGINT", columnsInfo.get(0).getTypeName());
+            Assert.assertEquals(DBPDataKind.NUMERIC, columnsInfo.get(1).getDataKind());
+            Assert.assertEquals("NUMERIC", columnsInfo.get(1).getTypeName());
+            Assert.assertEquals(Integer.valueOf(4), columnsInfo.get(1).getPrecision());
+            Assert.assertEquals(Integer.valueOf(1), columnsInfo.get(1).getScale());
+            Assert.assertEquals(DBPDataKind.STRING, columnsInfo.get(2).getDataKind());
+            Assert.assertEquals(DBPDataKind.BOOLEAN, columnsInfo.get(3).getDataKind());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
     private List<StreamDataImporterColumnInfo> readColumnsInfo(String data, boolean isHeaderPresent) throws DBException, IOException {
         properties.put("header", isHeaderPresent ? DataImporterCSV.HeaderPosition.top : DataImporterCSV.HeaderPosition.none);
         try (ByteArrayInputStream is = new ByteArrayInputStream(data.getBytes())) {
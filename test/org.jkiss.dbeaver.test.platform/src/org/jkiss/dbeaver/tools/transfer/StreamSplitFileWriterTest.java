@@ -0,0 +1,140 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamSplitFileWriter;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+public class StreamSplitFileWriterTest extends DBeaverUnitTest {
+
+    private static final OpenOption[] NEW_FILE = {StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW};
+
+    private Path folder;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("split-writer-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void shouldSplitStreamIntoFiles() throws Exception {
+        StreamSplitFileWriter writer = new StreamSplitFileWriter(2);
+        String[] contents = new String[5];
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = makeContents(i);
+            OutputStream out = writer.openChunk(folder.resolve("export_" + i + ".csv"), NEW_FILE, null);
+            out.write(contents[i].getBytes(StandardCharsets.UTF_8));
+            out.close();
+            if (i < contents.length - 1) {
+                writer.completeChunk();
+            }
+        }
+        // The last chunk is completed by finish
+        writer.finish();
+
+        long totalSize = 0;
+        for (int i = 0; i < contents.length; i++) {
+            Path file = folder.resolve("export_" + i + ".csv");
+            Assert.assertEquals(contents[i], Files.readString(file));
+            totalSize += Files.size(file);
+        }
+        Assert.assertEquals(totalSize, writer.getBytesWritten());
+        try (Stream<Path> files = Files.list(folder)) {
+            Assert.assertEquals(contents.length, files.count());
+        }
+    }
+
+    @Test
+    public void shouldCompressFiles() throws Exception {
+        StreamSplitFileWriter writer = new StreamSplitFileWriter(2);
+        String[] contents = new String[3];
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = makeContents(i);
+            OutputStream out = writer.openChunk(folder.resolve("export_" + i + ".zip"), NEW_FILE, "export_" + i + ".csv");
+            out.write(contents[i].getBytes(StandardCharsets.UTF_8));
+            writer.completeChunk();
+        }
+        writer.finish();
+
+        for (int i = 0; i < contents.length; i++) {
+            try (ZipInputStream zipStream = new ZipInputStream(Files.newInputStream(folder.resolve("export_" + i + ".zip")))) {
+                ZipEntry entry = zipStream.getNextEntry();
+                Assert.assertNotNull(entry);
+                Assert.assertEquals("export_" + i + ".csv", entry.getName());
+                Assert.assertEquals(contents[i], new String(zipStream.readAllBytes(), StandardCharsets.UTF_8));
+                Assert.assertNull(zipStream.getNextEntry());
+            }
+        }
+        // Temporary files are removed
+        try (Stream<Path> files = Files.list(folder)) {
+            Assert.assertEquals(contents.length, files.count());
+        }
+    }
+
+    @Test
+    public void shouldReportWriterErrorOnNextWrite() throws Exception {
+        Path existingFile = folder.resolve("export_0.zip");
+        Files.writeString(existingFile, "existing");
+
+        StreamSplitFileWriter writer = new StreamSplitFileWriter(1);
+        // Target file exists, so the background writer fails to create it
+        OutputStream out = writer.openChunk(existingFile, NEW_FILE, "export_0.csv");
+        out.write(makeContents(0).getBytes(StandardCharsets.UTF_8));
+        writer.completeChunk();
+        Assert.assertThrows(DBException.class, writer::waitForChunks);
+        Assert.assertThrows(DBException.class, () -> writer.openChunk(folder.resolve("export_1.zip"), NEW_FILE, "export_1.csv"));
+        Assert.assertThrows(DBException.class, writer::finish);
+
+        try (InputStream in = Files.newInputStream(existingFile)) {
+            Assert.assertEquals("existing", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String makeContents(int fileNumber) {
+        StringBuilder contents = new StringBuilder();
+        for (int row = 0; row < 10000; row++) {
+            contents.append(fileNumber).append(',').append(row).append(",value ").append(row * 31).append('\n');
+        }
+        return contents.toString();
+    }
+
+}
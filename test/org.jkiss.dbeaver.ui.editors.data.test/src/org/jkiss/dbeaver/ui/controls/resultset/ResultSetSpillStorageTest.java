@@ -0,0 +1,136 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.stream.Stream;
+
+public class ResultSetSpillStorageTest extends DBeaverUnitTest {
+
+    private Path folder;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("spill-storage-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void shouldReadStoredValues() throws Exception {
+        Timestamp timestamp = new Timestamp(1700000000123L);
+        timestamp.setNanos(123456789);
+        Object[] values = {
+            null, true, (byte) 1, (short) 2, 3, 4L, 5.5f, 6.5d,
+            new BigDecimal("-12345678901234567890.0123456789"), new BigInteger("98765432109876543210"),
+            "String текст", new byte[]{1, 2, 3}, timestamp,
+            new java.sql.Date(1700000000000L), new java.sql.Time(43200000L), new Date(1700000000456L)
+        };
+        ResultSetSpillStorage storage = new ResultSetSpillStorage(folder, values.length);
+        try {
+            // The last page is not written, it's kept in memory
+            int rowCount = 1000;
+            for (int i = 0; i < rowCount; i++) {
+                Object[] row = values.clone();
+                row[4] = i;
+                Assert.assertEquals(i, storage.addRow(row));
+            }
+            Assert.assertEquals(rowCount, storage.getRowCount());
+            for (int i = rowCount - 1; i >= 0; i--) {
+                Object[] row = storage.getRowValues(i);
+                Assert.assertEquals(values.length, row.length);
+                Assert.assertEquals(i, row[4]);
+                for (int k = 0; k < values.length; k++) {
+                    if (k == 4) {
+                        continue;
+                    }
+                    if (values[k] instanceof byte[] bytes) {
+                        Assert.assertArrayEquals(bytes, (byte[]) row[k]);
+                    } else {
+                        Assert.assertEquals(values[k], row[k]);
+                    }
+                }
+            }
+        } finally {
+            storage.dispose();
+        }
+    }
+
+    @Test
+    public void shouldCacheNarrowPages() throws Exception {
+        ResultSetSpillStorage storage = new ResultSetSpillStorage(folder, 2);
+        try {
+            int rowCount = 100 * 256;
+            for (int i = 0; i < rowCount; i++) {
+                storage.addRow(new Object[]{i, "row " + i});
+            }
+            // Narrow pages are small, all of them fit into the page cache
+            for (int i = 0; i < rowCount; i += 97) {
+                Assert.assertEquals(i, storage.getRowValues(i)[0]);
+            }
+            Assert.assertEquals(rowCount / 256, storage.getCachedPageCount());
+        } finally {
+            storage.dispose();
+        }
+    }
+
+    @Test
+    public void shouldRejectUnstorableRows() throws Exception {
+        Object[] row = {1, new Object()};
+        Assert.assertFalse(ResultSetSpillStorage.isStorable(row));
+        ResultSetSpillStorage storage = new ResultSetSpillStorage(folder, 2);
+        try {
+            Assert.assertThrows(IOException.class, () -> storage.addRow(row));
+            Assert.assertEquals(0, storage.getRowCount());
+        } finally {
+            storage.dispose();
+        }
+    }
+
+    @Test
+    public void shouldReturnErrorRowsAfterDispose() throws Exception {
+        ResultSetSpillStorage storage = new ResultSetSpillStorage(folder, 2);
+        for (int i = 0; i < 300; i++) {
+            storage.addRow(new Object[]{i, null});
+        }
+        storage.dispose();
+        Assert.assertTrue(ResultSetSpillStorage.isReadError(storage.getRowValues(0)));
+        Assert.assertThrows(IOException.class, () -> storage.addRow(new Object[]{1, null}));
+        try (Stream<Path> files = Files.list(folder)) {
+            Assert.assertEquals(0, files.count());
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+public class ResultSetSpillableRowListTest extends DBeaverUnitTest {
+
+    @Test
+    public void shouldSpillRowsOverBudget() {
+        long rowSize = ResultSetSpillableRowList.estimateRowSize(makeRow(0));
+        ResultSetSpillableRowList rows = new ResultSetSpillableRowList(new VoidProgressMonitor(), 3, rowSize * 10, 0);
+        try {
+            for (int i = 0; i < 1000; i++) {
+                rows.add(makeRow(i));
+            }
+            Assert.assertEquals(1000, rows.size());
+            Assert.assertNotNull(rows.getStorage());
+            for (int i = 0; i < 1000; i++) {
+                Assert.assertEquals(i >= 10, rows.isSpilled(i));
+                Assert.assertArrayEquals(makeRow(i), rows.get(i));
+            }
+            Assert.assertEquals(990, rows.getStorage().getRowCount());
+        } finally {
+            disposeStorage(rows);
+        }
+    }
+
+    @Test
+    public void shouldUseRemainingBudget() {
+        long rowSize = ResultSetSpillableRowList.estimateRowSize(makeRow(0));
+        // Rows of previous segments have used the whole budget
+        ResultSetSpillableRowList rows = new ResultSetSpillableRowList(new VoidProgressMonitor(), 3, rowSize * 10, rowSize * 10);
+        try {
+            rows.add(makeRow(0));
+            Assert.assertTrue(rows.isSpilled(0));
+            Assert.assertArrayEquals(makeRow(0), rows.get(0));
+        } finally {
+            disposeStorage(rows);
+        }
+    }
+
+    @Test
+    public void shouldKeepUnstorableRowsInMemory() {
+        ResultSetSpillableRowList rows = new ResultSetSpillableRowList(new VoidProgressMonitor(), 3, 0, 0);
+        try {
+            Object[] unstorable = {1, new Object(), null};
+            rows.add(makeRow(0));
+            rows.add(unstorable);
+            rows.add(makeRow(2));
+            Assert.assertTrue(rows.isSpilled(0));
+            Assert.assertFalse(rows.isSpilled(1));
+            Assert.assertSame(unstorable, rows.get(1));
+            Assert.assertArrayEquals(makeRow(2), rows.get(2));
+            Assert.assertEquals(2, rows.getStorage().getRowCount());
+        } finally {
+            disposeStorage(rows);
+        }
+    }
+
+    @Test
+    public void shouldKeepRowsWithinBudgetInMemory() {
+        ResultSetSpillableRowList rows = new ResultSetSpillableRowList(new VoidProgressMonitor(), 3, Long.MAX_VALUE, 0);
+        for (int i = 0; i < 100; i++) {
+            rows.add(makeRow(i));
+        }
+        Assert.assertNull(rows.getStorage());
+        Assert.assertFalse(rows.isSpilled(99));
+    }
+
+    private static Object[] makeRow(int index) {
+        return new Object[]{index, "row " + index, BigDecimal.valueOf(index, 2)};
+    }
+
+    private static void disposeStorage(ResultSetSpillableRowList rows) {
+        if (rows.getStorage() != null) {
+            rows.getStorage().dispose();
+        }
+    }
+
+}